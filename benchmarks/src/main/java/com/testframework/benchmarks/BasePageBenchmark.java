@@ -0,0 +1,82 @@
+package com.testframework.benchmarks;
+
+import com.testframework.core.BasePage;
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+
+/**
+ * Per-command overhead of BasePage helpers against an instant stub driver
+ */
+@State(Scope.Thread)
+public class BasePageBenchmark {
+    private static final By SEARCH_BOX = By.name("q");
+
+    private BenchPage page;
+
+    @Setup
+    public void setUp() throws IOException {
+        Fixtures.setUp();
+        page = new BenchPage();
+    }
+
+    @Benchmark
+    public Object createPage() {
+        return new BenchPage();
+    }
+
+    @Benchmark
+    public void click() {
+        page.clickElement(SEARCH_BOX);
+    }
+
+    @Benchmark
+    public void type() {
+        page.typeText(SEARCH_BOX, "benchmark");
+    }
+
+    @Benchmark
+    public String getText() {
+        return page.readText(SEARCH_BOX);
+    }
+
+    @Benchmark
+    public boolean isElementDisplayed() {
+        return page.displayed(SEARCH_BOX);
+    }
+
+    @Benchmark
+    public Object rawWait() {
+        return page.rawWait(SEARCH_BOX);
+    }
+
+    /**
+     * Exposes protected helpers to the benchmark
+     */
+    static class BenchPage extends BasePage {
+        void clickElement(By locator) {
+            click(locator);
+        }
+
+        void typeText(By locator, String text) {
+            type(locator, text);
+        }
+
+        String readText(By locator) {
+            return getText(locator);
+        }
+
+        boolean displayed(By locator) {
+            return isElementDisplayed(locator);
+        }
+
+        Object rawWait(By locator) {
+            return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package com.testframework.benchmarks;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.logging.LogEntries;
+import org.openqa.selenium.logging.Logs;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal in-process WebDriver answering every command immediately
+ * Every lookup finds a visible, enabled element, so framework code runs its normal path. Navigation, window,
+ * frame, cookie and timeout commands are accepted and do nothing beyond keeping the URL and cookies.
+ */
+public class BenchmarkDriver implements WebDriver, JavascriptExecutor, TakesScreenshot {
+    private static final Dimension ELEMENT_SIZE = new Dimension(100, 20);
+
+    private final byte[] screenshot;
+    private final Dimension windowSize;
+    private final WebElement element;
+    private final Map<String, Cookie> cookies = new LinkedHashMap<>();
+    private String url = "about:blank";
+    private volatile Path captureDir;
+
+    public BenchmarkDriver(int screenshotWidth, int screenshotHeight) {
+        screenshot = png(screenshotWidth, screenshotHeight);
+        windowSize = new Dimension(screenshotWidth, screenshotHeight);
+        element = new BenchmarkElement(png(ELEMENT_SIZE.getWidth(), ELEMENT_SIZE.getHeight()));
+    }
+
+    private static byte[] png(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, (x * 31 + y * 17) & 0xffffff);
+            }
+        }
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "PNG", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void get(String url) {
+        this.url = url;
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return url;
+    }
+
+    @Override
+    public String getTitle() {
+        return "Benchmark";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return Collections.singletonList(element);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return element;
+    }
+
+    @Override
+    public String getPageSource() {
+        return "<html><body></body></html>";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Collections.singleton("main");
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "main";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        return new BenchmarkTargetLocator();
+    }
+
+    @Override
+    public Navigation navigate() {
+        return new BenchmarkNavigation();
+    }
+
+    @Override
+    public Options manage() {
+        return new BenchmarkOptions();
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        return null;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return null;
+    }
+
+    /**
+     * Write file screenshots to the given directory instead of the system temp directory, so their owner can
+     * delete them; null restores the default
+     */
+    public void setCaptureDir(Path captureDir) {
+        this.captureDir = captureDir;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        Path dir = captureDir;
+        if (target != OutputType.FILE || dir == null) {
+            return target.convertFromPngBytes(screenshot);
+        }
+        try {
+            Path file = Files.write(Files.createTempFile(dir, "screenshot", ".png"), screenshot);
+            return (X) file.toFile();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private class BenchmarkNavigation implements Navigation {
+        @Override
+        public void back() {
+        }
+
+        @Override
+        public void forward() {
+        }
+
+        @Override
+        public void to(String url) {
+            get(url);
+        }
+
+        @Override
+        public void to(URL url) {
+            get(url.toString());
+        }
+
+        @Override
+        public void refresh() {
+        }
+    }
+
+    private class BenchmarkOptions implements Options {
+        @Override
+        public void addCookie(Cookie cookie) {
+            cookies.put(cookie.getName(), cookie);
+        }
+
+        @Override
+        public void deleteCookieNamed(String name) {
+            cookies.remove(name);
+        }
+
+        @Override
+        public void deleteCookie(Cookie cookie) {
+            cookies.remove(cookie.getName());
+        }
+
+        @Override
+        public void deleteAllCookies() {
+            cookies.clear();
+        }
+
+        @Override
+        public Set<Cookie> getCookies() {
+            return new HashSet<>(cookies.values());
+        }
+
+        @Override
+        public Cookie getCookieNamed(String name) {
+            return cookies.get(name);
+        }
+
+        @Override
+        public Timeouts timeouts() {
+            return new BenchmarkTimeouts();
+        }
+
+        @Override
+        public Window window() {
+            return new BenchmarkWindow();
+        }
+
+        @Override
+        public Logs logs() {
+            return new BenchmarkLogs();
+        }
+    }
+
+    private static class BenchmarkLogs implements Logs {
+        @Override
+        public LogEntries get(String logType) {
+            return new LogEntries(Collections.emptyList());
+        }
+
+        @Override
+        public Set<String> getAvailableLogTypes() {
+            return Collections.emptySet();
+        }
+    }
+
+    private static class BenchmarkTimeouts implements Timeouts {
+        @Override
+        public Timeouts implicitlyWait(long time, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public Timeouts implicitlyWait(Duration duration) {
+            return this;
+        }
+
+        @Override
+        public Timeouts setScriptTimeout(long time, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public Timeouts scriptTimeout(Duration duration) {
+            return this;
+        }
+
+        @Override
+        public Timeouts pageLoadTimeout(long time, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public Timeouts pageLoadTimeout(Duration duration) {
+            return this;
+        }
+    }
+
+    private class BenchmarkWindow implements Window {
+        @Override
+        public Dimension getSize() {
+            return windowSize;
+        }
+
+        @Override
+        public void setSize(Dimension targetSize) {
+        }
+
+        @Override
+        public Point getPosition() {
+            return new Point(0, 0);
+        }
+
+        @Override
+        public void setPosition(Point targetPosition) {
+        }
+
+        @Override
+        public void maximize() {
+        }
+
+        @Override
+        public void minimize() {
+        }
+
+        @Override
+        public void fullscreen() {
+        }
+    }
+
+    /**
+     * Frames and windows all lead back to the one page; there are no alerts
+     */
+    private class BenchmarkTargetLocator implements TargetLocator {
+        @Override
+        public WebDriver frame(int index) {
+            return BenchmarkDriver.this;
+        }
+
+        @Override
+        public WebDriver frame(String nameOrId) {
+            return BenchmarkDriver.this;
+        }
+
+        @Override
+        public WebDriver frame(WebElement frameElement) {
+            return BenchmarkDriver.this;
+        }
+
+        @Override
+        public WebDriver parentFrame() {
+            return BenchmarkDriver.this;
+        }
+
+        @Override
+        public WebDriver window(String nameOrHandle) {
+            return BenchmarkDriver.this;
+        }
+
+        @Override
+        public WebDriver newWindow(WindowType typeHint) {
+            return BenchmarkDriver.this;
+        }
+
+        @Override
+        public WebDriver defaultContent() {
+            return BenchmarkDriver.this;
+        }
+
+        @Override
+        public WebElement activeElement() {
+            return element;
+        }
+
+        @Override
+        public Alert alert() {
+            throw new NoAlertPresentException("Benchmark driver has no alerts");
+        }
+    }
+
+    /**
+     * Element that is always present, visible and enabled
+     */
+    private static class BenchmarkElement implements WebElement {
+        private final byte[] screenshot;
+        private String value = "";
+
+        private BenchmarkElement(byte[] screenshot) {
+            this.screenshot = screenshot;
+        }
+
+        @Override
+        public void click() {
+        }
+
+        @Override
+        public void submit() {
+        }
+
+        @Override
+        public void sendKeys(CharSequence... keysToSend) {
+            StringBuilder builder = new StringBuilder(value);
+            for (CharSequence keys : keysToSend) {
+                builder.append(keys);
+            }
+            value = builder.toString();
+        }
+
+        @Override
+        public void clear() {
+            value = "";
+        }
+
+        @Override
+        public String getTagName() {
+            return "input";
+        }
+
+        @Override
+        public String getAttribute(String name) {
+            return "value".equals(name) ? value : null;
+        }
+
+        @Override
+        public boolean isSelected() {
+            return false;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public String getText() {
+            return value;
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            return Collections.singletonList(this);
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            return this;
+        }
+
+        @Override
+        public boolean isDisplayed() {
+            return true;
+        }
+
+        @Override
+        public Point getLocation() {
+            return new Point(0, 0);
+        }
+
+        @Override
+        public Dimension getSize() {
+            return ELEMENT_SIZE;
+        }
+
+        @Override
+        public Rectangle getRect() {
+            return new Rectangle(getLocation(), getSize());
+        }
+
+        @Override
+        public String getCssValue(String propertyName) {
+            return "";
+        }
+
+        @Override
+        public <X> X getScreenshotAs(OutputType<X> target) {
+            return target.convertFromPngBytes(screenshot);
+        }
+    }
+}
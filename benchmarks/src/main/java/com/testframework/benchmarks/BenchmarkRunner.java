@@ -0,0 +1,44 @@
+package com.testframework.benchmarks;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the framework benchmarks and writes JSON results for comparison between versions
+ * Accepts regular JMH command line options, e.g. a benchmark regex or -rff for the result file
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include("com.testframework.benchmarks.*");
+        }
+        if (commandLine.getBenchModes().isEmpty()) {
+            builder.mode(Mode.AverageTime);
+        }
+        Options options = builder
+            .timeUnit(commandLine.getTimeUnit().orElse(TimeUnit.NANOSECONDS))
+            .warmupIterations(commandLine.getWarmupIterations().orElse(3))
+            .warmupTime(commandLine.getWarmupTime().orElse(TimeValue.seconds(1)))
+            .measurementIterations(commandLine.getMeasurementIterations().orElse(5))
+            .measurementTime(commandLine.getMeasurementTime().orElse(TimeValue.seconds(1)))
+            .forks(commandLine.getForkCount().orElse(1))
+            .jvmArgsAppend("-Dlogback.configurationFile=logback-benchmark.xml")
+            .resultFormat(commandLine.getResultFormat().orElse(ResultFormatType.JSON))
+            .result(commandLine.getResult().orElse("target/jmh-results.json"))
+            .build();
+        new Runner(options).run();
+    }
+}
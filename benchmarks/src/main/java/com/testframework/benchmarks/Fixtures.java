@@ -0,0 +1,70 @@
+package com.testframework.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.testframework.core.DriverManager;
+import com.testframework.utils.DataGenerators;
+import com.testframework.utils.RandomDataGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Shared benchmark fixtures
+ * Must run before anything touches TestConfig, since configuration is resolved once per JVM
+ */
+final class Fixtures {
+    static final String DATA_FILE = "bench-data.json";
+    static final int DATA_ROWS = 10_000;
+
+    private static Path workDir;
+    private static BenchmarkDriver driver;
+
+    private Fixtures() {
+    }
+
+    /**
+     * Point the framework at a scratch directory with generated fixture files and a stub driver
+     */
+    static synchronized Path setUp() throws IOException {
+        if (workDir != null) {
+            return workDir;
+        }
+        workDir = Files.createTempDirectory("framework-bench");
+        Path dataDir = Files.createDirectories(workDir.resolve("test-data"));
+        System.setProperty("test.testDataDir", dataDir.toString());
+        System.setProperty("testdata.compiledDir", workDir.resolve("compiled").toString());
+        System.setProperty("test.screenshotDir", workDir.resolve("screenshots").toString());
+        System.setProperty("testdata.seed", "12345");
+
+        writeDataFile(dataDir.resolve(DATA_FILE));
+        driver = new BenchmarkDriver(1280, 720);
+        DriverManager.setDriver(driver);
+        return workDir;
+    }
+
+    /**
+     * Get the driver installed by {@link #setUp()}
+     */
+    static synchronized BenchmarkDriver driver() {
+        return driver;
+    }
+
+    private static void writeDataFile(Path file) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode root = mapper.createObjectNode();
+        ArrayNode users = root.putArray("users");
+        RandomDataGenerator.reseed(1L);
+        for (int i = 0; i < DATA_ROWS; i++) {
+            ObjectNode user = users.addObject();
+            user.put("id", i);
+            user.put("name", RandomDataGenerator.generate(DataGenerators.fullName()));
+            user.put("email", RandomDataGenerator.generate(DataGenerators.email()));
+            user.put("address", RandomDataGenerator.generate(DataGenerators.address()));
+            user.put("iban", RandomDataGenerator.generate(DataGenerators.iban()));
+        }
+        mapper.writeValue(file.toFile(), root);
+    }
+}
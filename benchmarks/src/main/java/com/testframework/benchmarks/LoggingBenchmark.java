@@ -0,0 +1,46 @@
+package com.testframework.benchmarks;
+
+import com.testframework.core.BaseTest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * Cost of the framework logging paths: enabled step logging and disabled debug logging
+ */
+@State(Scope.Thread)
+public class LoggingBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger("com.testframework.core.BasePage");
+
+    private BenchTest test;
+
+    @Setup
+    public void setUp() throws IOException {
+        Fixtures.setUp();
+        test = new BenchTest();
+    }
+
+    @Benchmark
+    public void logStep() {
+        test.step("Enter search term");
+    }
+
+    @Benchmark
+    public void disabledDebug() {
+        logger.debug("Waiting for element: {}", "By.name: q");
+    }
+
+    /**
+     * Exposes protected logging helpers to the benchmark
+     */
+    static class BenchTest extends BaseTest {
+        void step(String step) {
+            logStep(step);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.testframework.benchmarks;
+
+import com.testframework.config.TestConfig;
+import com.testframework.utils.ScreenshotUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Cost of writing a viewport screenshot, excluding browser capture time
+ * Screenshots go to a temporary directory that is emptied after every iteration and deleted after the trial.
+ */
+@State(Scope.Benchmark)
+public class ScreenshotBenchmark {
+    private final AtomicLong counter = new AtomicLong();
+    private Path dir;
+    private String previousScreenshotDir;
+
+    @Setup
+    public void setUp() throws IOException {
+        Fixtures.setUp();
+        dir = Files.createTempDirectory("framework-bench-screenshots");
+        previousScreenshotDir = TestConfig.getInstance().setOverride("test.screenshotDir", dir.toString());
+        Fixtures.driver().setCaptureDir(dir);
+    }
+
+    @Benchmark
+    public String viewportScreenshot() {
+        return ScreenshotUtils.takeViewportScreenshot("bench", "bench_" + counter.getAndIncrement());
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteScreenshots() throws IOException {
+        delete(dir, false);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Fixtures.driver().setCaptureDir(null);
+        TestConfig.getInstance().setOverride("test.screenshotDir", previousScreenshotDir);
+        delete(dir, true);
+    }
+
+    private static void delete(Path dir, boolean includingDir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder())
+                .filter(file -> includingDir || !file.equals(dir))
+                .forEach(file -> file.toFile().delete());
+        }
+    }
+}
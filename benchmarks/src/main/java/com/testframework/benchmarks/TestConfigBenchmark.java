@@ -0,0 +1,50 @@
+package com.testframework.benchmarks;
+
+import com.testframework.config.TestConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+
+/**
+ * Cost of configuration getters, single-threaded and under contention
+ */
+@State(Scope.Benchmark)
+public class TestConfigBenchmark {
+    private TestConfig config;
+
+    @Setup
+    public void setUp() throws IOException {
+        Fixtures.setUp();
+        config = TestConfig.getInstance();
+    }
+
+    @Benchmark
+    public String getBaseUrl() {
+        return config.getBaseUrl();
+    }
+
+    @Benchmark
+    public int getImplicitWait() {
+        return config.getImplicitWait();
+    }
+
+    @Benchmark
+    public boolean isHeadless() {
+        return config.isHeadless();
+    }
+
+    @Benchmark
+    public String getJsonValue() {
+        return config.getJsonValue("browser.options.window");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public int getImplicitWaitContended() {
+        return config.getImplicitWait();
+    }
+}
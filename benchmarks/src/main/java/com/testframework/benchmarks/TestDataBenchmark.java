@@ -0,0 +1,73 @@
+package com.testframework.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.testframework.utils.CompiledTestData;
+import com.testframework.utils.DataGenerators;
+import com.testframework.utils.RandomDataGenerator;
+import com.testframework.utils.TestDataManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Test data loading (JSON parse versus compiled mapping) and random data generators
+ */
+@State(Scope.Benchmark)
+public class TestDataBenchmark {
+    private TestDataManager manager;
+    private Path compiledFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        Fixtures.setUp();
+        manager = TestDataManager.getInstance();
+        compiledFile = manager.loadCompiledTestData(Fixtures.DATA_FILE).getPath();
+    }
+
+    @Benchmark
+    public JsonNode loadJson() {
+        return manager.loadTestData(Fixtures.DATA_FILE);
+    }
+
+    @Benchmark
+    public Object openCompiled() throws IOException {
+        return CompiledTestData.open(compiledFile).getTable("users").getString(Fixtures.DATA_ROWS / 2, "email");
+    }
+
+    @Benchmark
+    public Object[][] compiledDataProvider() {
+        return manager.loadDataProvider(Fixtures.DATA_FILE, "users", "name", "email");
+    }
+
+    @Benchmark
+    public String randomString() {
+        return manager.generateRandomString(16);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String randomStringContended() {
+        return manager.generateRandomString(16);
+    }
+
+    @Benchmark
+    public String randomEmail() {
+        return manager.generateRandomEmail();
+    }
+
+    @Benchmark
+    public String randomIban() {
+        return RandomDataGenerator.generate(DataGenerators.iban());
+    }
+
+    @Benchmark
+    public List<String> bulkNames() {
+        return RandomDataGenerator.generate(DataGenerators.fullName(), 1000);
+    }
+}
@@ -0,0 +1,11 @@
+package com.testframework.auth;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Logs a user in through the application's UI, typically with the page objects
+ */
+@FunctionalInterface
+public interface LoginFlow {
+    void logIn(WebDriver driver, String username, String password);
+}
@@ -0,0 +1,152 @@
+package com.testframework.auth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openqa.selenium.Cookie;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cookies and web storage of a logged-in browser session, with the time the login stops being reused
+ */
+public final class StorageState {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String origin;
+    private final List<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+    private final long createdMillis;
+    private final long expiresMillis;
+
+    public StorageState(String origin, List<Cookie> cookies, Map<String, String> localStorage,
+                        Map<String, String> sessionStorage, long createdMillis, long expiresMillis) {
+        this.origin = origin;
+        this.cookies = Collections.unmodifiableList(new ArrayList<>(cookies));
+        this.localStorage = Collections.unmodifiableMap(new LinkedHashMap<>(localStorage));
+        this.sessionStorage = Collections.unmodifiableMap(new LinkedHashMap<>(sessionStorage));
+        this.createdMillis = createdMillis;
+        this.expiresMillis = expiresMillis;
+    }
+
+    /**
+     * Get origin (scheme, host and port) the storage belongs to
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    public List<Cookie> getCookies() {
+        return cookies;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    public Map<String, String> getSessionStorage() {
+        return sessionStorage;
+    }
+
+    public long getCreatedMillis() {
+        return createdMillis;
+    }
+
+    public long getExpiresMillis() {
+        return expiresMillis;
+    }
+
+    /**
+     * Check if the state is past its expiry at the given time
+     */
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresMillis;
+    }
+
+    /**
+     * Read a state written by {@link #write(Path)}
+     */
+    public static StorageState read(Path file) throws IOException {
+        JsonNode root = MAPPER.readTree(file.toFile());
+        List<Cookie> cookies = new ArrayList<>();
+        for (JsonNode cookie : root.path("cookies")) {
+            Cookie.Builder builder = new Cookie.Builder(cookie.path("name").asText(), cookie.path("value").asText())
+                .path(cookie.path("path").asText("/"))
+                .isSecure(cookie.path("secure").asBoolean())
+                .isHttpOnly(cookie.path("httpOnly").asBoolean());
+            if (cookie.hasNonNull("domain")) {
+                builder.domain(cookie.path("domain").asText());
+            }
+            if (cookie.hasNonNull("expiry")) {
+                builder.expiresOn(new Date(cookie.path("expiry").asLong()));
+            }
+            if (cookie.hasNonNull("sameSite")) {
+                builder.sameSite(cookie.path("sameSite").asText());
+            }
+            cookies.add(builder.build());
+        }
+        return new StorageState(root.path("origin").asText(), cookies, toMap(root.path("localStorage")),
+            toMap(root.path("sessionStorage")), root.path("createdMillis").asLong(),
+            root.path("expiresMillis").asLong());
+    }
+
+    /**
+     * Write the state as JSON, replacing the file atomically where the file system allows
+     */
+    public void write(Path file) throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("origin", origin);
+        root.put("createdMillis", createdMillis);
+        root.put("expiresMillis", expiresMillis);
+        ArrayNode cookieArray = root.putArray("cookies");
+        for (Cookie cookie : cookies) {
+            ObjectNode node = cookieArray.addObject();
+            node.put("name", cookie.getName());
+            node.put("value", cookie.getValue());
+            node.put("domain", cookie.getDomain());
+            node.put("path", cookie.getPath());
+            if (cookie.getExpiry() != null) {
+                node.put("expiry", cookie.getExpiry().getTime());
+            }
+            node.put("secure", cookie.isSecure());
+            node.put("httpOnly", cookie.isHttpOnly());
+            node.put("sameSite", cookie.getSameSite());
+        }
+        ObjectNode local = root.putObject("localStorage");
+        localStorage.forEach(local::put);
+        ObjectNode session = root.putObject("sessionStorage");
+        sessionStorage.forEach(session::put);
+
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), root);
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static Map<String, String> toMap(JsonNode node) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            values.put(field.getKey(), field.getValue().asText());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,231 @@
+package com.testframework.auth;
+
+import com.testframework.config.TestConfig;
+import com.testframework.metrics.TraceRecorder;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Reuses logins across sessions by caching the cookies and web storage of a logged-in browser
+ * The first login per user, environment and origin runs the login flow and stores the state under
+ * test.storageState.dir. Later sessions get the state injected instead and only run the flow again when the
+ * state expired (test.storageState.ttlMinutes, or the earliest cookie expiry) or no longer passes validation.
+ * Sessions logging in the same user at the same time wait for one login instead of each running the flow.
+ */
+public final class StorageStateCache {
+    private static final Logger logger = LoggerFactory.getLogger(StorageStateCache.class);
+    private static final Map<String, Object> LOCKS = new ConcurrentHashMap<>();
+
+    /** Script taking "capture", or "restore" with the localStorage and sessionStorage entries to add */
+    public static final String SCRIPT = "function copy(storage) {\n"
+        + "  var values = {};\n"
+        + "  for (var i = 0; i < storage.length; i++) { var key = storage.key(i); values[key] = storage.getItem(key); }\n"
+        + "  return values;\n"
+        + "}\n"
+        + "if (arguments[0] === 'restore') {\n"
+        + "  for (var l in arguments[1]) { localStorage.setItem(l, arguments[1][l]); }\n"
+        + "  for (var s in arguments[2]) { sessionStorage.setItem(s, arguments[2][s]); }\n"
+        + "  return null;\n"
+        + "}\n"
+        + "return {localStorage: copy(localStorage), sessionStorage: copy(sessionStorage)};";
+
+    private StorageStateCache() {
+    }
+
+    /**
+     * Log the configured user (test.username / test.password) in and open a page
+     * Returns true if a cached login was reused, false if the login flow ran.
+     */
+    public static boolean logIn(WebDriver driver, String url, LoginFlow flow, Predicate<WebDriver> loggedIn) {
+        TestConfig config = TestConfig.getInstance();
+        return logIn(driver, url, config.getUsername(), config.getPassword(), flow, loggedIn);
+    }
+
+    /**
+     * Log a user in and open a page, reusing the user's cached login when it is still valid
+     * The state is injected before the page loads, so it opens logged in; loggedIn checks that on the open
+     * page. Returns true if a cached login was reused, false if the login flow ran.
+     */
+    public static boolean logIn(WebDriver driver, String url, String username, String password, LoginFlow flow,
+                                Predicate<WebDriver> loggedIn) {
+        TestConfig config = TestConfig.getInstance();
+        String origin = origin(url);
+        if (!config.isStorageStateEnabled()) {
+            runFlow(driver, url, username, password, flow, loggedIn);
+            return false;
+        }
+        String key = config.getEnvironment() + "_" + username + "_" + origin;
+        synchronized (LOCKS.computeIfAbsent(key, k -> new Object())) {
+            Path file = stateFile(key);
+            StorageState state = load(file);
+            if (state != null) {
+                TraceRecorder.begin("restore login", "auth", username);
+                try {
+                    restore(driver, state);
+                    driver.get(url);
+                    if (loggedIn.test(driver)) {
+                        logger.info("Reused stored login of {} for {}", username, origin);
+                        return true;
+                    }
+                } finally {
+                    TraceRecorder.end();
+                }
+                logger.info("Stored login of {} for {} is no longer valid, logging in again", username, origin);
+                invalidate(file);
+                clear(driver);
+            }
+            runFlow(driver, url, username, password, flow, loggedIn);
+            save(file, capture(driver, origin));
+            return false;
+        }
+    }
+
+    /**
+     * Forget the stored login of a user, e.g. after changing the user's password
+     */
+    public static void invalidate(String username, String url) {
+        String key = TestConfig.getInstance().getEnvironment() + "_" + username + "_" + origin(url);
+        invalidate(stateFile(key));
+    }
+
+    /**
+     * Capture the cookies and web storage of the page currently open
+     */
+    public static StorageState capture(WebDriver driver, String origin) {
+        long now = System.currentTimeMillis();
+        long expires = now + TimeUnit.MINUTES.toMillis(TestConfig.getInstance().getStorageStateTtlMinutes());
+        List<Cookie> cookies = new ArrayList<>(driver.manage().getCookies());
+        for (Cookie cookie : cookies) {
+            if (cookie.getExpiry() != null) {
+                expires = Math.min(expires, cookie.getExpiry().getTime());
+            }
+        }
+        Map<String, String> local = Collections.emptyMap();
+        Map<String, String> session = Collections.emptyMap();
+        Object storage = ((JavascriptExecutor) driver).executeScript(SCRIPT, "capture");
+        if (storage instanceof Map) {
+            local = strings(((Map<?, ?>) storage).get("localStorage"));
+            session = strings(((Map<?, ?>) storage).get("sessionStorage"));
+        }
+        return new StorageState(origin, cookies, local, session, now, expires);
+    }
+
+    /**
+     * Inject a captured state into a session; opens the state's origin so cookies and storage can be set
+     */
+    public static void restore(WebDriver driver, StorageState state) {
+        driver.get(state.getOrigin() + "/");
+        for (Cookie cookie : state.getCookies()) {
+            driver.manage().addCookie(cookie);
+        }
+        if (!state.getLocalStorage().isEmpty() || !state.getSessionStorage().isEmpty()) {
+            ((JavascriptExecutor) driver).executeScript(SCRIPT, "restore", state.getLocalStorage(),
+                state.getSessionStorage());
+        }
+    }
+
+    private static void runFlow(WebDriver driver, String url, String username, String password, LoginFlow flow,
+                                Predicate<WebDriver> loggedIn) {
+        TraceRecorder.begin("log in", "auth", username);
+        try {
+            flow.logIn(driver, username, password);
+            driver.get(url);
+            if (!loggedIn.test(driver)) {
+                throw new IllegalStateException("Login flow did not log " + username + " in to " + url);
+            }
+            logger.info("Logged in {} through the login flow", username);
+        } finally {
+            TraceRecorder.end();
+        }
+    }
+
+    private static StorageState load(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            StorageState state = StorageState.read(file);
+            if (state.isExpired(System.currentTimeMillis())) {
+                logger.info("Stored login {} has expired", file);
+                invalidate(file);
+                return null;
+            }
+            return state;
+        } catch (IOException e) {
+            logger.warn("Failed to read stored login {}: {}", file, e.getMessage());
+            invalidate(file);
+            return null;
+        }
+    }
+
+    private static void save(Path file, StorageState state) {
+        try {
+            state.write(file);
+            logger.debug("Stored login written to {}", file);
+        } catch (IOException e) {
+            logger.warn("Failed to store login in {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static void invalidate(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete stored login {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Drop what a rejected state left in the session before the login flow runs
+     */
+    private static void clear(WebDriver driver) {
+        driver.manage().deleteAllCookies();
+        try {
+            ((JavascriptExecutor) driver).executeScript("localStorage.clear(); sessionStorage.clear();");
+        } catch (WebDriverException e) {
+            logger.debug("Failed to clear web storage: {}", e.getMessage());
+        }
+    }
+
+    private static Path stateFile(String key) {
+        String name = key.replaceAll("[^A-Za-z0-9._-]", "_");
+        if (name.length() > 120) {
+            name = name.substring(0, 120) + "_" + String.format(Locale.ROOT, "%08x", key.hashCode());
+        }
+        return Paths.get(TestConfig.getInstance().getStorageStateDir(), name + ".json");
+    }
+
+    private static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+
+    private static Map<String, String> strings(Object value) {
+        Map<String, String> strings = new LinkedHashMap<>();
+        if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                strings.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+            }
+        }
+        return strings;
+    }
+}
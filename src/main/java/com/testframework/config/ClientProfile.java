@@ -0,0 +1,116 @@
+package com.testframework.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Emulated client conditions: network latency and throughput, and CPU slowdown
+ * Built-in profiles follow the presets of Chrome DevTools and Lighthouse; more can be defined
+ * with test.emulation.profiles.{name}.* settings.
+ */
+public final class ClientProfile {
+    public static final ClientProfile NONE = new ClientProfile("none", 0, 0, 0, 1);
+
+    private static final Map<String, ClientProfile> BUILT_IN;
+
+    static {
+        Map<String, ClientProfile> profiles = new LinkedHashMap<>();
+        profiles.put(NONE.name, NONE);
+        profiles.put("3g", new ClientProfile("3g", 563, 1440, 675, 1));
+        profiles.put("slow-4g", new ClientProfile("slow-4g", 150, 1638, 750, 1));
+        profiles.put("low-end-mobile", new ClientProfile("low-end-mobile", 150, 1638, 750, 4));
+        BUILT_IN = Collections.unmodifiableMap(profiles);
+    }
+
+    private final String name;
+    private final long latencyMillis;
+    private final long downloadKbps;
+    private final long uploadKbps;
+    private final double cpuSlowdown;
+
+    public ClientProfile(String name, long latencyMillis, long downloadKbps, long uploadKbps, double cpuSlowdown) {
+        if (latencyMillis < 0 || downloadKbps < 0 || uploadKbps < 0) {
+            throw new IllegalArgumentException("Latency and throughput must not be negative");
+        }
+        if (cpuSlowdown < 1) {
+            throw new IllegalArgumentException("CPU slowdown must be at least 1: " + cpuSlowdown);
+        }
+        this.name = name;
+        this.latencyMillis = latencyMillis;
+        this.downloadKbps = downloadKbps;
+        this.uploadKbps = uploadKbps;
+        this.cpuSlowdown = cpuSlowdown;
+    }
+
+    /**
+     * Get built-in profiles by name
+     */
+    public static Map<String, ClientProfile> builtIn() {
+        return BUILT_IN;
+    }
+
+    /**
+     * Get profile name as recorded in results
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get added round-trip latency
+     */
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    /**
+     * Get download throughput in kilobits per second, 0 for unlimited
+     */
+    public long getDownloadKbps() {
+        return downloadKbps;
+    }
+
+    /**
+     * Get upload throughput in kilobits per second, 0 for unlimited
+     */
+    public long getUploadKbps() {
+        return uploadKbps;
+    }
+
+    /**
+     * Get CPU slowdown factor, 1 for full speed
+     */
+    public double getCpuSlowdown() {
+        return cpuSlowdown;
+    }
+
+    /**
+     * Check if the profile changes anything
+     */
+    public boolean isThrottled() {
+        return latencyMillis > 0 || downloadKbps > 0 || uploadKbps > 0 || cpuSlowdown > 1;
+    }
+
+    public ClientProfile withLatencyMillis(long value) {
+        return new ClientProfile(name, value, downloadKbps, uploadKbps, cpuSlowdown);
+    }
+
+    public ClientProfile withDownloadKbps(long value) {
+        return new ClientProfile(name, latencyMillis, value, uploadKbps, cpuSlowdown);
+    }
+
+    public ClientProfile withUploadKbps(long value) {
+        return new ClientProfile(name, latencyMillis, downloadKbps, value, cpuSlowdown);
+    }
+
+    public ClientProfile withCpuSlowdown(double value) {
+        return new ClientProfile(name, latencyMillis, downloadKbps, uploadKbps, value);
+    }
+
+    @Override
+    public String toString() {
+        return name + " (latency " + latencyMillis + "ms, down " + downloadKbps + "kbps, up " + uploadKbps
+            + "kbps, cpu " + cpuSlowdown + "x)";
+    }
+}
@@ -0,0 +1,13 @@
+package com.testframework.config;
+
+/**
+ * Listener notified after the configuration has been reloaded
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+
+    /**
+     * Called with the previous and the newly published snapshot
+     */
+    void onConfigurationChanged(ConfigSnapshot previous, ConfigSnapshot current);
+}
@@ -0,0 +1,223 @@
+package com.testframework.config;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, fully resolved configuration
+ * Values are merged once from all sources and pre-parsed into typed maps,
+ * so lookups on the hot path are plain map reads without locking or parsing.
+ * Instances are safely published through final fields.
+ *
+ * Keys no file or system property sets can still come from an environment variable: the variable of a
+ * key is looked up the first time the key is read, so any key can be introduced from the environment.
+ */
+public final class ConfigSnapshot {
+    private final Map<String, String> values;
+    private final Map<String, String> sources;
+    private final Map<String, Integer> ints;
+    private final Map<String, Long> longs;
+    private final Map<String, Boolean> booleans;
+    private final JsonNode json;
+    private final long createdAt;
+    private final Map<String, String> environment;
+    private final Map<String, Optional<String>> environmentOnly = new ConcurrentHashMap<>();
+    private final Set<String> reportedInvalid = ConcurrentHashMap.newKeySet();
+
+    ConfigSnapshot(Map<String, String> values, Map<String, String> sources, JsonNode json) {
+        this(values, sources, json, Collections.emptyMap());
+    }
+
+    ConfigSnapshot(Map<String, String> values, Map<String, String> sources, JsonNode json,
+                   Map<String, String> environment) {
+        this.values = Collections.unmodifiableMap(new HashMap<>(values));
+        this.sources = Collections.unmodifiableMap(new HashMap<>(sources));
+        this.environment = environment;
+        this.json = json != null ? json.deepCopy() : null;
+        this.createdAt = System.currentTimeMillis();
+
+        Map<String, Integer> parsedInts = new HashMap<>();
+        Map<String, Long> parsedLongs = new HashMap<>();
+        Map<String, Boolean> parsedBooleans = new HashMap<>();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String value = entry.getValue().trim();
+            parsedBooleans.put(entry.getKey(), Boolean.parseBoolean(value));
+            try {
+                long parsed = Long.parseLong(value);
+                parsedLongs.put(entry.getKey(), parsed);
+                if (parsed >= Integer.MIN_VALUE && parsed <= Integer.MAX_VALUE) {
+                    parsedInts.put(entry.getKey(), (int) parsed);
+                }
+            } catch (NumberFormatException e) {
+                // not numeric
+            }
+        }
+        this.ints = Collections.unmodifiableMap(parsedInts);
+        this.longs = Collections.unmodifiableMap(parsedLongs);
+        this.booleans = Collections.unmodifiableMap(parsedBooleans);
+    }
+
+    /**
+     * Get string value, or default if not set
+     */
+    public String getString(String key, String defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            value = environmentValue(key);
+        }
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Get integer value, or null if not set or not an integer
+     */
+    public Integer getInt(String key) {
+        Integer value = ints.get(key);
+        if (value != null || values.containsKey(key)) {
+            return value;
+        }
+        Long parsed = parseLong(environmentValue(key));
+        return parsed != null && parsed >= Integer.MIN_VALUE && parsed <= Integer.MAX_VALUE
+            ? Integer.valueOf(parsed.intValue()) : null;
+    }
+
+    /**
+     * Get long value, or null if not set or not a number
+     */
+    public Long getLong(String key) {
+        Long value = longs.get(key);
+        if (value != null || values.containsKey(key)) {
+            return value;
+        }
+        return parseLong(environmentValue(key));
+    }
+
+    /**
+     * Get boolean value, or null if not set
+     */
+    public Boolean getBoolean(String key) {
+        Boolean value = booleans.get(key);
+        if (value != null) {
+            return value;
+        }
+        String fromEnvironment = environmentValue(key);
+        return fromEnvironment != null ? Boolean.parseBoolean(fromEnvironment.trim()) : null;
+    }
+
+    /**
+     * Check if a key is set
+     */
+    public boolean contains(String key) {
+        return values.containsKey(key) || environmentValue(key) != null;
+    }
+
+    /**
+     * Check if an invalid value of a key is reported for the first time in this snapshot
+     */
+    boolean reportInvalid(String key) {
+        return reportedInvalid.add(key);
+    }
+
+    /**
+     * Get JSON value at a compiled pointer, or null if absent
+     */
+    public JsonNode getJson(JsonPointer pointer) {
+        if (json == null) {
+            return null;
+        }
+        JsonNode node = json.at(pointer);
+        return node.isMissingNode() ? null : node;
+    }
+
+    /**
+     * Get source a key was resolved from
+     */
+    public String getSource(String key) {
+        String source = sources.get(key);
+        if (source == null && environmentValue(key) != null) {
+            source = "environment variable " + TestConfig.toEnvironmentVariable(key);
+        }
+        return source;
+    }
+
+    /**
+     * Get all resolved values
+     */
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    /**
+     * Get a snapshot with programmatic overrides applied on top of this one
+     */
+    ConfigSnapshot withOverrides(Map<String, String> overrides) {
+        if (overrides.isEmpty()) {
+            return this;
+        }
+        Map<String, String> overridden = new HashMap<>(values);
+        Map<String, String> overriddenSources = new HashMap<>(sources);
+        for (Map.Entry<String, String> entry : overrides.entrySet()) {
+            overridden.put(entry.getKey(), entry.getValue());
+            overriddenSources.put(entry.getKey(), "override");
+        }
+        return new ConfigSnapshot(overridden, overriddenSources, json, environment);
+    }
+
+    /**
+     * Get time this snapshot was built
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Dump resolved values with their sources, sorted by key
+     * Values of keys that look like secrets are masked
+     */
+    public List<String> dump() {
+        return new TreeMap<>(values).entrySet().stream()
+            .map(entry -> String.format("%s=%s  [%s]", entry.getKey(), mask(entry.getKey(), entry.getValue()),
+                sources.getOrDefault(entry.getKey(), "unknown")))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the value of the environment variable of a key no other source sets, or null
+     */
+    private String environmentValue(String key) {
+        if (environment.isEmpty()) {
+            return null;
+        }
+        return environmentOnly.computeIfAbsent(key,
+            k -> Optional.ofNullable(environment.get(TestConfig.toEnvironmentVariable(k)))).orElse(null);
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String mask(String key, String value) {
+        String lower = key.toLowerCase();
+        if ((lower.contains("password") || lower.contains("secret") || lower.contains("token")) && !value.isEmpty()) {
+            return "****";
+        }
+        return value;
+    }
+}
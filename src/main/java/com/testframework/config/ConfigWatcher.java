@@ -0,0 +1,112 @@
+package com.testframework.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches configuration files and triggers a reload when one of them changes
+ * Bursts of events (editors often write a file several times) are collapsed into one reload
+ */
+class ConfigWatcher implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigWatcher.class);
+    private static final long DEBOUNCE_MILLIS = 250;
+
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final Set<Path> files = new HashSet<>();
+    private final Runnable onChange;
+    private Thread thread;
+
+    ConfigWatcher(Collection<Path> watchedFiles, Runnable onChange) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.onChange = onChange;
+        for (Path file : watchedFiles) {
+            Path absolute = file.toAbsolutePath().normalize();
+            files.add(absolute);
+            Path dir = absolute.getParent();
+            if (!directories.containsValue(dir)) {
+                WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                directories.put(key, dir);
+            }
+        }
+    }
+
+    /**
+     * Start watching on a daemon thread
+     */
+    void start() {
+        thread = new Thread(this, "config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Watching configuration files: {}", files);
+    }
+
+    /**
+     * Stop watching
+     */
+    void stop() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.debug("Error closing config watch service: {}", e.getMessage());
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                boolean changed = drain(key);
+
+                // Collapse follow-up events into the same reload
+                WatchKey next;
+                while ((next = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(next);
+                }
+
+                if (changed) {
+                    try {
+                        onChange.run();
+                    } catch (RuntimeException e) {
+                        logger.error("Configuration reload failed: {}", e.getMessage(), e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            logger.debug("Configuration watcher stopped");
+        }
+    }
+
+    private boolean drain(WatchKey key) {
+        Path dir = directories.get(key);
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (dir != null && event.context() instanceof Path
+                    && files.contains(dir.resolve((Path) event.context()))) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
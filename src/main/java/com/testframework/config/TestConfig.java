@@ -1,67 +1,201 @@
 package com.testframework.config;
 
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Configuration manager for test framework
  * Handles loading and managing test configuration from various sources
+ *
+ * Sources are applied in order, later ones overriding earlier ones:
+ * config.properties, config-{environment}.properties, system properties, environment variables,
+ * programmatic overrides ({@link #setOverride}).
+ * An environment variable overrides a key when its name is the key upper-cased with dots
+ * replaced by underscores (test.baseUrl -> TEST_BASEURL).
+ * The result is resolved once into an immutable {@link ConfigSnapshot}.
+ *
+ * Files are read from the directory named by the test.config.dir system property
+ * (or TEST_CONFIG_DIR) when set, otherwise from the classpath. With test.config.watch=true
+ * the files are watched and the snapshot is rebuilt and republished when they change.
  */
 public class TestConfig {
     private static final Logger logger = LoggerFactory.getLogger(TestConfig.class);
-    private static TestConfig instance;
-    private Properties properties;
-    private JsonNode configJson;
+    private static final Map<String, JsonPointer> JSON_POINTERS = new ConcurrentHashMap<>();
+    private final List<ConfigChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final Path configDir;
+    private final Properties systemProperties;
+    private final Map<String, String> environmentVariables;
+    private final Map<String, String> overrides = new HashMap<>();
+    private volatile ConfigSnapshot snapshot;
+    private ConfigSnapshot loaded;
+    private Set<Path> sourceFiles = new LinkedHashSet<>();
+    private ConfigWatcher watcher;
     
     private TestConfig() {
-        loadConfiguration();
+        this(configDirOf(System.getProperties(), System.getenv()), System.getProperties(), System.getenv());
     }
     
-    public static TestConfig getInstance() {
-        if (instance == null) {
-            instance = new TestConfig();
+    private TestConfig(Path configDir, Properties systemProperties, Map<String, String> environmentVariables) {
+        this.configDir = configDir;
+        this.systemProperties = systemProperties;
+        this.environmentVariables = environmentVariables;
+        this.loaded = loadConfiguration();
+        this.snapshot = loaded;
+        if (getBooleanProperty("test.config.watch", false)) {
+            startWatching();
         }
-        return instance;
+    }
+    
+    private static class Holder {
+        private static final TestConfig INSTANCE = new TestConfig();
+    }
+    
+    public static TestConfig getInstance() {
+        return Holder.INSTANCE;
+    }
+    
+    /**
+     * Build a configuration of its own from the files in a directory (falling back to the classpath) and the given
+     * system properties and environment, independent of the shared instance; for tools and framework tests
+     */
+    public static TestConfig fromSources(Path configDir, Properties systemProperties,
+                                         Map<String, String> environmentVariables) {
+        return new TestConfig(configDir, systemProperties, environmentVariables);
+    }
+    
+    private static Path configDirOf(Properties systemProperties, Map<String, String> environmentVariables) {
+        String dir = systemProperties.getProperty("test.config.dir",
+            environmentVariables.get(toEnvironmentVariable("test.config.dir")));
+        return dir != null && !dir.isEmpty() ? Paths.get(dir) : null;
     }
     
     /**
      * Load configuration from multiple sources
      */
-    private void loadConfiguration() {
-        properties = new Properties();
+    private ConfigSnapshot loadConfiguration() {
+        Map<String, String> values = new HashMap<>();
+        Map<String, String> sources = new HashMap<>();
+        Set<Path> files = new LinkedHashSet<>();
         
         // Load default properties
-        loadPropertiesFromFile("config.properties");
+        loadPropertiesFromFile("config.properties", values, sources, files);
         
-        // Load environment-specific properties
-        String environment = getEnvironment();
+        // Load environment-specific properties; the environment itself may come from any source
+        String environment = resolveEnvironment(values);
         if (environment != null && !environment.isEmpty()) {
-            loadPropertiesFromFile("config-" + environment + ".properties");
+            loadPropertiesFromFile("config-" + environment + ".properties", values, sources, files);
         }
         
         // Load system properties (override file properties)
-        properties.putAll(System.getProperties());
+        Properties system = systemProperties;
+        for (String key : system.stringPropertyNames()) {
+            put(values, sources, key, system.getProperty(key), "system property");
+        }
+        
+        // Load environment variables (override everything); variables of keys no other source sets are
+        // resolved by the snapshot when the key is read
+        Map<String, String> env = environmentVariables;
+        for (String key : values.keySet().toArray(new String[0])) {
+            String envValue = env.get(toEnvironmentVariable(key));
+            if (envValue != null) {
+                put(values, sources, key, envValue, "environment variable " + toEnvironmentVariable(key));
+            }
+        }
         
         // Load JSON configuration if available
-        loadJsonConfiguration();
+        JsonNode configJson = loadJsonConfiguration(files);
         
+        sourceFiles = files;
         logger.info("Configuration loaded successfully");
+        return new ConfigSnapshot(values, sources, configJson, env);
+    }
+    
+    /**
+     * Get environment variable name overriding a property key
+     */
+    static String toEnvironmentVariable(String key) {
+        return key.toUpperCase().replace('.', '_').replace('-', '_');
+    }
+    
+    private String resolveEnvironment(Map<String, String> fileValues) {
+        String value = environmentVariables.get(toEnvironmentVariable("test.environment"));
+        if (value == null) {
+            value = systemProperties.getProperty("test.environment");
+        }
+        if (value == null) {
+            value = fileValues.getOrDefault("test.environment", "default");
+        }
+        return value;
+    }
+    
+    private static void put(Map<String, String> values, Map<String, String> sources, String key, String value,
+                            String source) {
+        values.put(key, value);
+        sources.put(key, source);
+    }
+    
+    /**
+     * Open a configuration file from the config directory or the classpath, or null if absent
+     * File-backed locations are collected so that they can be watched, including ones that
+     * do not exist yet in the config directory
+     */
+    private InputStream openConfigFile(String filename, Set<Path> files) throws IOException {
+        if (configDir != null) {
+            Path file = configDir.resolve(filename);
+            files.add(file);
+            if (Files.exists(file)) {
+                return Files.newInputStream(file);
+            }
+        }
+        URL resource = getClass().getClassLoader().getResource(filename);
+        if (resource == null) {
+            return null;
+        }
+        if ("file".equals(resource.getProtocol())) {
+            try {
+                files.add(Paths.get(resource.toURI()));
+            } catch (URISyntaxException e) {
+                logger.debug("Cannot watch configuration resource {}: {}", resource, e.getMessage());
+            }
+        }
+        return resource.openStream();
     }
     
     /**
      * Load properties from file
      */
-    private void loadPropertiesFromFile(String filename) {
-        try (InputStream input = getClass().getClassLoader().getResourceAsStream(filename)) {
+    private void loadPropertiesFromFile(String filename, Map<String, String> values, Map<String, String> sources,
+                                        Set<Path> files) {
+        try (InputStream input = openConfigFile(filename, files)) {
             if (input != null) {
+                Properties properties = new Properties();
                 properties.load(input);
+                for (String key : properties.stringPropertyNames()) {
+                    put(values, sources, key, properties.getProperty(key), filename);
+                }
                 logger.info("Loaded properties from: {}", filename);
             } else {
                 logger.debug("Properties file not found: {}", filename);
@@ -74,80 +208,211 @@ public class TestConfig {
     /**
      * Load JSON configuration
      */
-    private void loadJsonConfiguration() {
-        try (InputStream input = getClass().getClassLoader().getResourceAsStream("config.json")) {
+    private JsonNode loadJsonConfiguration(Set<Path> files) {
+        try (InputStream input = openConfigFile("config.json", files)) {
             if (input != null) {
                 ObjectMapper mapper = new ObjectMapper();
-                configJson = mapper.readTree(input);
+                JsonNode configJson = mapper.readTree(input);
                 logger.info("Loaded JSON configuration");
+                return configJson;
             }
         } catch (IOException e) {
             logger.warn("Failed to load JSON configuration: {}", e.getMessage());
         }
+        return null;
+    }
+    
+    /**
+     * Rebuild the configuration from all sources and publish it atomically
+     * Readers see either the old or the new snapshot, never a mix; listeners are notified afterwards
+     */
+    public synchronized ConfigSnapshot reload() {
+        loaded = loadConfiguration();
+        List<String> changed = publish(loaded.withOverrides(overrides));
+        logger.info("Configuration reloaded, changed keys: {}", changed);
+        return snapshot;
+    }
+    
+    /**
+     * Override a key programmatically, above every other source, until the override is removed
+     * Meant for components that repoint configuration while they run, e.g. a fixture server replacing
+     * test.baseUrl. Files are not re-read; listeners are notified if the value changed. A null value removes
+     * the override. Returns the override replaced, or null, so callers can restore it when they finish.
+     */
+    public synchronized String setOverride(String key, String value) {
+        String previous = value != null ? overrides.put(key, value) : overrides.remove(key);
+        if (!Objects.equals(previous, value)) {
+            List<String> changed = publish(loaded.withOverrides(overrides));
+            logger.debug("Configuration override of {} set, changed keys: {}", key, changed);
+        }
+        return previous;
+    }
+    
+    /**
+     * Remove the programmatic override of a key
+     */
+    public void clearOverride(String key) {
+        setOverride(key, null);
+    }
+    
+    /**
+     * Publish a snapshot, notify listeners and return the keys whose values changed
+     */
+    private List<String> publish(ConfigSnapshot current) {
+        ConfigSnapshot previous = snapshot;
+        snapshot = current;
+        
+        List<String> changed = new ArrayList<>();
+        Set<String> keys = new HashSet<>(previous.asMap().keySet());
+        keys.addAll(current.asMap().keySet());
+        for (String key : keys) {
+            if (!Objects.equals(previous.asMap().get(key), current.asMap().get(key))) {
+                changed.add(key);
+            }
+        }
+        
+        for (ConfigChangeListener listener : listeners) {
+            try {
+                listener.onConfigurationChanged(previous, current);
+            } catch (RuntimeException e) {
+                logger.error("Configuration listener failed: {}", e.getMessage(), e);
+            }
+        }
+        return changed;
+    }
+    
+    /**
+     * Register listener notified after each reload and override change
+     */
+    public void addChangeListener(ConfigChangeListener listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Remove a previously registered listener
+     */
+    public void removeChangeListener(ConfigChangeListener listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * Start watching configuration files for changes
+     */
+    public synchronized void startWatching() {
+        if (watcher != null) {
+            return;
+        }
+        if (sourceFiles.isEmpty()) {
+            logger.warn("No file-backed configuration sources to watch");
+            return;
+        }
+        try {
+            watcher = new ConfigWatcher(sourceFiles, this::reload);
+            watcher.start();
+        } catch (IOException e) {
+            logger.error("Failed to watch configuration files: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Stop watching configuration files
+     */
+    public synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.stop();
+            watcher = null;
+        }
+    }
+    
+    /**
+     * Get the resolved configuration snapshot
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
     }
     
     /**
      * Get property value
      */
     public String getProperty(String key) {
-        return getProperty(key, null);
+        return snapshot.getString(key, null);
     }
     
     /**
      * Get property value with default
      */
     public String getProperty(String key, String defaultValue) {
-        String value = properties.getProperty(key, defaultValue);
-        logger.debug("Getting property {} = {}", key, value);
-        return value;
+        return snapshot.getString(key, defaultValue);
     }
     
     /**
      * Get integer property
      */
     public int getIntProperty(String key, int defaultValue) {
-        String value = getProperty(key);
+        ConfigSnapshot current = snapshot;
+        Integer value = current.getInt(key);
         if (value != null) {
-            try {
-                return Integer.parseInt(value);
-            } catch (NumberFormatException e) {
-                logger.warn("Invalid integer value for property {}: {}", key, value);
-            }
+            return value;
+        }
+        if (current.contains(key) && current.reportInvalid(key)) {
+            logger.warn("Invalid integer value for property {}: {}", key, current.getString(key, null));
         }
         return defaultValue;
     }
     
     /**
-     * Get boolean property
+     * Get long property
      */
-    public boolean getBooleanProperty(String key, boolean defaultValue) {
-        String value = getProperty(key);
+    public long getLongProperty(String key, long defaultValue) {
+        ConfigSnapshot current = snapshot;
+        Long value = current.getLong(key);
         if (value != null) {
-            return Boolean.parseBoolean(value);
+            return value;
+        }
+        if (current.contains(key) && current.reportInvalid(key)) {
+            logger.warn("Invalid long value for property {}: {}", key, current.getString(key, null));
         }
         return defaultValue;
     }
     
+    /**
+     * Get boolean property
+     */
+    public boolean getBooleanProperty(String key, boolean defaultValue) {
+        Boolean value = snapshot.getBoolean(key);
+        return value != null ? value : defaultValue;
+    }
+    
     /**
      * Get JSON configuration value
+     * Dotted paths are compiled to JSON pointers once and reused
      */
     public String getJsonValue(String path) {
-        if (configJson != null) {
-            try {
-                String[] keys = path.split("\\.");
-                JsonNode node = configJson;
-                for (String key : keys) {
-                    node = node.get(key);
-                    if (node == null) {
-                        return null;
-                    }
-                }
-                return node.asText();
-            } catch (Exception e) {
-                logger.warn("Failed to get JSON value for path {}: {}", path, e.getMessage());
-            }
+        JsonPointer pointer = JSON_POINTERS.computeIfAbsent(path, TestConfig::compilePath);
+        JsonNode node = snapshot.getJson(pointer);
+        return node != null ? node.asText() : null;
+    }
+    
+    private static JsonPointer compilePath(String path) {
+        StringBuilder pointer = new StringBuilder();
+        for (String key : path.split("\\.")) {
+            pointer.append('/').append(key.replace("~", "~0").replace("/", "~1"));
+        }
+        return JsonPointer.compile(pointer.toString());
+    }
+    
+    /**
+     * Write resolved configuration with sources to a file
+     */
+    public void dumpConfiguration(Path file) {
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Files.write(file, snapshot.dump(), StandardCharsets.UTF_8);
+            logger.info("Configuration dumped to: {}", file);
+        } catch (IOException e) {
+            logger.error("Failed to dump configuration to {}: {}", file, e.getMessage(), e);
         }
-        return null;
     }
     
     /**
@@ -178,6 +443,13 @@ public class TestConfig {
         return getIntProperty("test.implicitWait", 30);
     }
     
+    /**
+     * Get explicit wait timeout used by page objects
+     */
+    public int getExplicitWait() {
+        return getIntProperty("test.explicitWait", 30);
+    }
+    
     /**
      * Get page load timeout
      */
@@ -213,6 +485,203 @@ public class TestConfig {
         return getProperty("test.reportDir", "test-output");
     }
     
+    /**
+     * Check if per-test phase timing is recorded and exported
+     */
+    public boolean isPhaseTimingEnabled() {
+        return getBooleanProperty("test.phaseTiming.enabled", true);
+    }
+    
+    /**
+     * Check if a timeline trace of the run is recorded
+     */
+    public boolean isTraceEnabled() {
+        return getBooleanProperty("test.trace.enabled", false);
+    }
+    
+    /**
+     * Get file the timeline trace is written to
+     */
+    public String getTraceFile() {
+        return getProperty("test.trace.file", getReportDir() + "/trace.json");
+    }
+    
+    /**
+     * Check if page load metrics are captured after navigations
+     */
+    public boolean isPagePerformanceEnabled() {
+        return getBooleanProperty("test.pagePerformance.enabled", false);
+    }
+    
+    /**
+     * Check if pages exceeding their performance budget fail the test (otherwise only logged)
+     */
+    public boolean isPerformanceBudgetEnforced() {
+        return getBooleanProperty("test.pagePerformance.enforceBudgets", true);
+    }
+    
+    /**
+     * Get network archive mode: off, record or replay
+     */
+    public String getNetworkArchiveMode() {
+        return getProperty("test.network.archive.mode", "off").trim().toLowerCase();
+    }
+    
+    /**
+     * Get directory holding one network archive per test
+     */
+    public String getNetworkArchiveDir() {
+        return getProperty("test.network.archive.dir", getTestDataDir() + "/network-archive");
+    }
+    
+    /**
+     * Check if replay fails tests that make requests missing from their archive
+     */
+    public boolean isNetworkArchiveStrict() {
+        return getBooleanProperty("test.network.archive.strict", true);
+    }
+
+    /**
+     * Check if each test's network requests are logged to a HAR file
+     */
+    public boolean isNetworkLogEnabled() {
+        return getBooleanProperty("test.networkLog.enabled", false);
+    }
+
+    /**
+     * Get directory holding one network log per test
+     */
+    public String getNetworkLogDir() {
+        return getProperty("test.networkLog.dir", getReportDir() + "/network");
+    }
+
+    /**
+     * Get number of slowest requests listed in a network log summary
+     */
+    public int getNetworkLogSlowest() {
+        return getIntProperty("test.networkLog.slowest", 5);
+    }
+
+    /**
+     * Check if sessions open a WebDriver BiDi connection that drives waits and navigation by events
+     */
+    public boolean isBidiEnabled() {
+        return getBooleanProperty("test.bidi.enabled", false);
+    }
+
+    /**
+     * Get readiness a BiDi navigation waits for: none, interactive or complete
+     */
+    public String getBidiNavigationWait() {
+        return getProperty("test.bidi.navigationWait", "complete");
+    }
+
+    /**
+     * Get milliseconds an event-driven wait re-checks its condition without an event, as a safety net
+     */
+    public long getBidiFallbackPollMillis() {
+        return getLongProperty("test.bidi.fallbackPollMillis", 2000);
+    }
+
+    /**
+     * Check if console messages and uncaught exceptions of each test's pages are collected
+     */
+    public boolean isConsoleEnabled() {
+        return getBooleanProperty("test.console.enabled", false);
+    }
+
+    /**
+     * Get number of console entries kept per test; older entries are dropped first
+     */
+    public int getConsoleBufferSize() {
+        return getIntProperty("test.console.bufferSize", 200);
+    }
+
+    /**
+     * Get console entries that fail a test: none, exception or error
+     */
+    public String getConsoleFailOn() {
+        return getProperty("test.console.failOn", "none");
+    }
+
+    /**
+     * Get message fragments of console entries that never fail a test
+     */
+    public List<String> getConsoleIgnored() {
+        List<String> fragments = new ArrayList<>();
+        for (String fragment : getProperty("test.console.ignore", "").split(",")) {
+            if (!fragment.trim().isEmpty()) {
+                fragments.add(fragment.trim());
+            }
+        }
+        return fragments;
+    }
+
+    /**
+     * Get directory holding the console entries of failed tests
+     */
+    public String getConsoleDir() {
+        return getProperty("test.console.dir", getReportDir() + "/console");
+    }
+
+    /**
+     * Check if each test's log lines are written to a file of its own, kept only when the test fails
+     */
+    public boolean isTestLogFilesEnabled() {
+        return getBooleanProperty("test.logFiles.enabled", false);
+    }
+
+    /**
+     * Get directory holding the log files of failed tests
+     */
+    public String getTestLogFilesDir() {
+        return getProperty("test.logFiles.dir", getReportDir() + "/logs");
+    }
+
+    /**
+     * Get client conditions emulated in every new browser session (test.emulation.profile)
+     */
+    public ClientProfile getEmulationProfile() {
+        return getClientProfile(getProperty("test.emulation.profile", ClientProfile.NONE.getName()));
+    }
+    
+    /**
+     * Get a built-in or configured client profile by name
+     * Settings under test.emulation.profiles.{name}. override or define a profile.
+     */
+    public ClientProfile getClientProfile(String name) {
+        String prefix = "test.emulation.profiles." + name + ".";
+        ClientProfile profile = ClientProfile.builtIn().get(name);
+        if (profile == null) {
+            boolean configured = snapshot.asMap().keySet().stream().anyMatch(key -> key.startsWith(prefix));
+            if (!configured) {
+                throw new IllegalArgumentException("Unknown client profile '" + name + "'; built-in profiles are "
+                    + ClientProfile.builtIn().keySet());
+            }
+            profile = new ClientProfile(name, 0, 0, 0, 1);
+        }
+        profile = profile
+            .withLatencyMillis(getLongProperty(prefix + "latencyMillis", profile.getLatencyMillis()))
+            .withDownloadKbps(getLongProperty(prefix + "downloadKbps", profile.getDownloadKbps()))
+            .withUploadKbps(getLongProperty(prefix + "uploadKbps", profile.getUploadKbps()));
+        String cpuSlowdown = getProperty(prefix + "cpuSlowdown");
+        if (cpuSlowdown != null && !cpuSlowdown.trim().isEmpty()) {
+            try {
+                profile = profile.withCpuSlowdown(Double.parseDouble(cpuSlowdown.trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid CPU slowdown for {}: {}", prefix + "cpuSlowdown", cpuSlowdown);
+            }
+        }
+        return profile;
+    }
+    
+    /**
+     * Get NDJSON file test results are streamed to
+     */
+    public String getResultStreamFile() {
+        return getProperty("test.resultStreamFile", getReportDir() + "/results.ndjson");
+    }
+    
     /**
      * Get test data directory
      */
@@ -220,6 +689,59 @@ public class TestConfig {
         return getProperty("test.testDataDir", "test-data");
     }
     
+    /**
+     * Get directory for compiled binary test data
+     */
+    public String getCompiledTestDataDir() {
+        return getProperty("testdata.compiledDir", "target/test-data-compiled");
+    }
+    
+    /**
+     * Check if test data should be read from compiled binary files
+     */
+    public boolean isCompiledTestDataEnabled() {
+        return getBooleanProperty("testdata.compiled.enabled", true);
+    }
+    
+    /**
+     * Get seed for random test data, or null to pick a new seed per run
+     */
+    public Long getRandomSeed() {
+        Long seed = snapshot.getLong("testdata.seed");
+        if (seed == null && !getProperty("testdata.seed", "").trim().isEmpty()) {
+            logger.warn("Invalid random seed: {}", getProperty("testdata.seed"));
+        }
+        return seed;
+    }
+    
+    /**
+     * Get directory of HTML fixtures served by the stub driver
+     */
+    public String getStubFixtureDir() {
+        return getProperty("test.stub.fixtureDir", getTestDataDir() + "/fixtures");
+    }
+    
+    /**
+     * Check if the fixture server should be started for the suite
+     */
+    public boolean isFixtureServerEnabled() {
+        return getBooleanProperty("test.fixtureServer.enabled", false);
+    }
+    
+    /**
+     * Get fixture server port, 0 for any free port
+     */
+    public int getFixtureServerPort() {
+        return getIntProperty("test.fixtureServer.port", 0);
+    }
+    
+    /**
+     * Get fixture subdirectory (host) served by the fixture server
+     */
+    public String getFixtureServerSite() {
+        return getProperty("test.fixtureServer.site", "");
+    }
+    
     /**
      * Get username for authentication
      */
@@ -234,6 +756,27 @@ public class TestConfig {
         return getProperty("test.password", "");
     }
     
+    /**
+     * Check if logins are cached as storage state and reused by later sessions
+     */
+    public boolean isStorageStateEnabled() {
+        return getBooleanProperty("test.storageState.enabled", true);
+    }
+    
+    /**
+     * Get directory holding cached logins (cookies and web storage per user, environment and origin)
+     */
+    public String getStorageStateDir() {
+        return getProperty("test.storageState.dir", ".storage-state");
+    }
+    
+    /**
+     * Get minutes a cached login is reused before the login flow runs again
+     */
+    public long getStorageStateTtlMinutes() {
+        return getLongProperty("test.storageState.ttlMinutes", 60);
+    }
+    
     /**
      * Get Selenium Grid URL
      */
@@ -262,6 +805,124 @@ public class TestConfig {
         return getIntProperty("test.parallelThreads", 1);
     }
     
+    /**
+     * Get parallel mode applied to the suite: none, methods, classes, tests or instances
+     * Empty keeps the mode declared in testng.xml.
+     */
+    public String getParallelMode() {
+        return getProperty("test.parallel", "");
+    }
+    
+    /**
+     * Get thread count for data providers declared with parallel = true (0 keeps testng.xml's count)
+     */
+    public int getDataProviderThreads() {
+        return getIntProperty("test.dataProviderThreads", 0);
+    }
+    
+    /**
+     * Get index of the shard this JVM runs (0-based)
+     */
+    public int getShardIndex() {
+        return getIntProperty("test.shardIndex", 0);
+    }
+    
+    /**
+     * Get total number of shards
+     */
+    public int getShardCount() {
+        return getIntProperty("test.shardCount", 1);
+    }
+    
+    /**
+     * Get shard balancing mode: hash or duration
+     */
+    public String getShardBalancing() {
+        return getProperty("test.shardBalancing", "hash");
+    }
+    
+    /**
+     * Get fingerprint of the duration history every shard must read for duration balancing (empty: unchecked)
+     */
+    public String getShardHistoryHash() {
+        return getProperty("test.shardHistoryHash", "");
+    }
+    
+    /**
+     * Get test scheduling mode: declared (testng.xml order) or duration (longest first on recorded durations)
+     */
+    public String getScheduling() {
+        return getProperty("test.scheduling", "duration");
+    }
+    
+    /**
+     * Get file holding recorded test durations
+     */
+    public String getDurationHistoryFile() {
+        return getProperty("test.durationHistoryFile", "target/test-durations.json");
+    }
+    
+    /**
+     * Check if sessions from DriverManager.createSession are isolated browser contexts in shared browser processes
+     */
+    public boolean isBrowserContextsEnabled() {
+        return getBooleanProperty("test.browserContexts.enabled", false);
+    }
+    
+    /**
+     * Get number of browser contexts sharing one browser process
+     */
+    public int getBrowserContextsPerProcess() {
+        return getIntProperty("test.browserContexts.perProcess", 8);
+    }
+    
+    /**
+     * Check if local sessions start from a pre-warmed profile template
+     */
+    public boolean isProfileTemplateEnabled() {
+        return getBooleanProperty("test.profileTemplate.enabled", false);
+    }
+    
+    /**
+     * Get directory holding one profile template per browser
+     */
+    public String getProfileTemplateDir() {
+        return getProperty("test.profileTemplate.dir", ".profile-template");
+    }
+    
+    /**
+     * Check if the profile template is rebuilt at the start of every run instead of reused
+     */
+    public boolean isProfileTemplateRefresh() {
+        return getBooleanProperty("test.profileTemplate.refresh", false);
+    }
+    
+    /**
+     * Get URLs the warm-up session loads into the template; relative ones are resolved against the base URL
+     */
+    public List<String> getProfileTemplateWarmUpUrls() {
+        String baseUrl = getBaseUrl();
+        List<String> urls = new ArrayList<>();
+        for (String url : getProperty("test.profileTemplate.warmUpUrls", "").split(",")) {
+            String trimmed = url.trim();
+            if (!trimmed.isEmpty()) {
+                urls.add(trimmed.contains("://") ? trimmed
+                    : baseUrl.replaceAll("/+$", "") + "/" + trimmed.replaceAll("^/+", ""));
+            }
+        }
+        if (urls.isEmpty()) {
+            urls.add(baseUrl);
+        }
+        return urls;
+    }
+    
+    /**
+     * Get disk cache directory shared by all Chromium sessions, or empty for a cache per session
+     */
+    public String getProfileTemplateSharedCacheDir() {
+        return getProperty("test.profileTemplate.sharedCacheDir", "").trim();
+    }
+    
     /**
      * Check if video recording is enabled
      */
@@ -291,7 +952,11 @@ public class TestConfig {
         logger.info("Page Load Timeout: {} seconds", getPageLoadTimeout());
         logger.info("Script Timeout: {} seconds", getScriptTimeout());
         logger.info("Retry Count: {}", getRetryCount());
-        logger.info("Parallel Threads: {}", getParallelThreads());
+        logger.info("Parallel: {} with {} threads, {} data provider threads",
+            getParallelMode().isEmpty() ? "as in testng.xml" : getParallelMode(), getParallelThreads(),
+            getDataProviderThreads());
+        logger.info("Shard: {} of {} ({})", getShardIndex(), getShardCount(), getShardBalancing());
+        logger.info("Scheduling: {}", getScheduling());
         logger.info("Screenshot Directory: {}", getScreenshotDir());
         logger.info("Report Directory: {}", getReportDir());
         logger.info("Test Data Directory: {}", getTestDataDir());
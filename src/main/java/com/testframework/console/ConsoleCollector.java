@@ -0,0 +1,324 @@
+package com.testframework.console;
+
+import com.testframework.config.TestConfig;
+import com.testframework.reporting.TestArtifacts;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.LogInspector;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Collects the console messages and uncaught exceptions of each test's pages as the browser reports them
+ * Every session is subscribed once: through WebDriver BiDi log.entryAdded where the session has a BiDi
+ * connection, otherwise through the CDP Runtime domain on Chromium, or through {@link HasConsoleEvents}.
+ * Entries are pushed into a bounded buffer of the running test (test.console.bufferSize, oldest dropped
+ * first), so nothing polls the browser. Entries breaking the {@link ConsoleRules} fail the test; when a test
+ * fails its entries are written to {test.console.dir}/&lt;test&gt;.console.log and attached to the result.
+ * Enabled with test.console.enabled.
+ */
+public final class ConsoleCollector {
+    private static final Logger logger = LoggerFactory.getLogger(ConsoleCollector.class);
+    private static final Map<WebDriver, Channel> CHANNELS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final ThreadLocal<Buffer> BUFFER = new ThreadLocal<>();
+    private static final int MAX_NAME_LENGTH = 120;
+    private static final int MAX_REPORTED_VIOLATIONS = 5;
+
+    private ConsoleCollector() {
+    }
+
+    /**
+     * Check if console collection is enabled (test.console.enabled)
+     */
+    public static boolean isEnabled() {
+        return TestConfig.getInstance().isConsoleEnabled();
+    }
+
+    /**
+     * Start collecting the entries a session reports for a test
+     * Entries the session reported before the test are not collected.
+     */
+    public static void begin(WebDriver driver, String testId) {
+        abandon();
+        if (!isEnabled() || driver == null) {
+            return;
+        }
+        TestConfig config = TestConfig.getInstance();
+        Buffer buffer = new Buffer(testId, config.getConsoleBufferSize(), ConsoleRules.fromConfig());
+        Channel channel = channel(driver);
+        buffer.channel = channel;
+        channel.current = buffer;
+        BUFFER.set(buffer);
+    }
+
+    /**
+     * Get the entries collected so far for the current thread's test, oldest first
+     */
+    public static List<ConsoleEntry> getEntries() {
+        Buffer buffer = BUFFER.get();
+        return buffer != null ? buffer.entries() : Collections.emptyList();
+    }
+
+    /**
+     * Fail a passed test whose pages broke the console rules
+     * Called right after the test method returns, before TestNG reports the result.
+     */
+    public static void check(ITestResult result) {
+        Buffer buffer = BUFFER.get();
+        if (buffer == null || result.getStatus() != ITestResult.SUCCESS) {
+            return;
+        }
+        List<ConsoleEntry> violations = buffer.violations();
+        if (violations.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder()
+            .append(buffer.violationCount()).append(" console entries broke the rules (")
+            .append(buffer.rules).append("):");
+        for (ConsoleEntry entry : violations) {
+            message.append("\n  ").append(entry);
+        }
+        result.setStatus(ITestResult.FAILURE);
+        result.setThrowable(new AssertionError(message.toString()));
+    }
+
+    /**
+     * Stop collecting for the current thread's test and attach the summary to its result
+     * The entries are written to a file and attached as an artifact only if the test failed.
+     * Returns null if nothing was being collected.
+     */
+    public static ConsoleSummary finish(ITestResult result) {
+        Buffer buffer = BUFFER.get();
+        if (buffer == null) {
+            return null;
+        }
+        BUFFER.remove();
+        buffer.detach();
+        Path file = null;
+        if (result.getStatus() == ITestResult.FAILURE && buffer.total() > 0) {
+            file = write(buffer);
+            if (file != null) {
+                TestArtifacts.add("console", file.toString());
+            }
+        }
+        ConsoleSummary summary = buffer.summary(file);
+        if (summary.getErrors() > 0) {
+            logger.info("Console: {} entries, {} errors, {} uncaught exceptions{}", summary.getEntries(),
+                summary.getErrors(), summary.getExceptions(), file != null ? " - " + file : "");
+        }
+        result.setAttribute(ConsoleSummary.ATTRIBUTE, summary);
+        return summary;
+    }
+
+    /**
+     * Get the console summary attached to a result, or null
+     */
+    public static ConsoleSummary get(ITestResult result) {
+        Object value = result.getAttribute(ConsoleSummary.ATTRIBUTE);
+        return value instanceof ConsoleSummary ? (ConsoleSummary) value : null;
+    }
+
+    /**
+     * Detach a buffer left by a test that never finished
+     */
+    private static void abandon() {
+        Buffer stale = BUFFER.get();
+        BUFFER.remove();
+        if (stale != null) {
+            stale.detach();
+        }
+    }
+
+    /**
+     * Get the session's channel, subscribing to its console events the first time
+     */
+    private static Channel channel(WebDriver driver) {
+        synchronized (CHANNELS) {
+            Channel channel = CHANNELS.get(driver);
+            if (channel == null) {
+                channel = new Channel();
+                String source = subscribe(unwrap(driver), channel);
+                logger.debug("Console events of session come from {}", source);
+                CHANNELS.put(driver, channel);
+            }
+            return channel;
+        }
+    }
+
+    private static String subscribe(WebDriver driver, Channel channel) {
+        try {
+            if (driver instanceof HasConsoleEvents) {
+                ((HasConsoleEvents) driver).addConsoleListener(channel);
+                return "driver events";
+            }
+            if (driver instanceof HasBiDi && ((HasBiDi) driver).maybeGetBiDi().isPresent()) {
+                LogInspector inspector = new LogInspector(driver);
+                inspector.onConsoleEntry(entry -> channel.accept(
+                    new ConsoleEntry(entry.getTimestamp(), entry.getLevel().toString(), entry.getText(), false)));
+                inspector.onJavaScriptException(entry -> channel.accept(
+                    new ConsoleEntry(entry.getTimestamp(), "error", entry.getText(), true)));
+                return "BiDi log.entryAdded";
+            }
+            if (driver instanceof HasDevTools) {
+                Optional<DevTools> devTools = ((HasDevTools) driver).maybeGetDevTools();
+                if (devTools.isPresent()) {
+                    devTools.get().createSessionIfThereIsNotOne();
+                    devTools.get().getDomains().events().addConsoleListener(event -> channel.accept(
+                        new ConsoleEntry(event.getTimestamp().toEpochMilli(), event.getType(),
+                            String.join(" ", event.getMessages()), false)));
+                    devTools.get().getDomains().events().addJavascriptExceptionListener(exception -> channel.accept(
+                        new ConsoleEntry(System.currentTimeMillis(), "error", exception.getMessage(), true)));
+                    return "CDP Runtime";
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to subscribe to console events, console output is not collected: {}",
+                e.getMessage());
+            return "nowhere";
+        }
+        return "nowhere (browser has neither BiDi nor DevTools)";
+    }
+
+    private static WebDriver unwrap(WebDriver driver) {
+        // Decorators wrap the session; browser context sessions are proxies that must not be unwrapped
+        while (driver instanceof WrapsDriver && !Proxy.isProxyClass(driver.getClass())) {
+            driver = ((WrapsDriver) driver).getWrappedDriver();
+        }
+        return driver;
+    }
+
+    private static Path write(Buffer buffer) {
+        Path file = Paths.get(TestConfig.getInstance().getConsoleDir(), fileName(buffer.testId) + ".console.log");
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                if (buffer.dropped() > 0) {
+                    writer.write("(" + buffer.dropped() + " older entries dropped)\n");
+                }
+                for (ConsoleEntry entry : buffer.entries()) {
+                    writer.write(entry.toString());
+                    writer.write('\n');
+                }
+            }
+            return file;
+        } catch (IOException e) {
+            logger.warn("Failed to write console log {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String fileName(String testId) {
+        String name = testId.replaceAll("[^A-Za-z0-9._-]", "_");
+        if (name.length() > MAX_NAME_LENGTH) {
+            name = name.substring(0, MAX_NAME_LENGTH) + "_" + String.format(Locale.ROOT, "%08x", testId.hashCode());
+        }
+        return name;
+    }
+
+    /**
+     * Routes a session's entries to the buffer of the test currently using the session
+     * Events arrive on the connection's thread, not the test's.
+     */
+    private static final class Channel implements Consumer<ConsoleEntry> {
+        private volatile Buffer current;
+
+        @Override
+        public void accept(ConsoleEntry entry) {
+            Buffer buffer = current;
+            if (buffer != null) {
+                buffer.add(entry);
+            }
+        }
+    }
+
+    private static final class Buffer {
+        private final String testId;
+        private final int capacity;
+        private final ConsoleRules rules;
+        private final Deque<ConsoleEntry> entries = new ArrayDeque<>();
+        private final List<ConsoleEntry> violations = new ArrayList<>();
+        private Channel channel;
+        private int total;
+        private int errors;
+        private int exceptions;
+        private int violationCount;
+
+        Buffer(String testId, int capacity, ConsoleRules rules) {
+            this.testId = testId;
+            this.capacity = Math.max(1, capacity);
+            this.rules = rules;
+        }
+
+        synchronized void add(ConsoleEntry entry) {
+            total++;
+            if (entry.isError()) {
+                errors++;
+            }
+            if (entry.isException()) {
+                exceptions++;
+            }
+            if (rules.violates(entry)) {
+                violationCount++;
+                if (violations.size() < MAX_REPORTED_VIOLATIONS) {
+                    violations.add(entry);
+                }
+            }
+            if (entries.size() == capacity) {
+                entries.removeFirst();
+            }
+            entries.addLast(entry);
+        }
+
+        synchronized List<ConsoleEntry> entries() {
+            return new ArrayList<>(entries);
+        }
+
+        synchronized List<ConsoleEntry> violations() {
+            return new ArrayList<>(violations);
+        }
+
+        synchronized int violationCount() {
+            return violationCount;
+        }
+
+        synchronized int total() {
+            return total;
+        }
+
+        synchronized int dropped() {
+            return total - entries.size();
+        }
+
+        synchronized ConsoleSummary summary(Path file) {
+            return new ConsoleSummary(total, errors, exceptions, violationCount, total - entries.size(), file);
+        }
+
+        void detach() {
+            if (channel != null && channel.current == this) {
+                channel.current = null;
+            }
+        }
+    }
+}
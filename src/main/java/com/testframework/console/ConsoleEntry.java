@@ -0,0 +1,78 @@
+package com.testframework.console;
+
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * A browser console message or uncaught JavaScript exception reported by a page
+ */
+public final class ConsoleEntry {
+    private final long timestampMillis;
+    private final String level;
+    private final String message;
+    private final boolean exception;
+
+    public ConsoleEntry(long timestampMillis, String level, String message, boolean exception) {
+        this.timestampMillis = timestampMillis;
+        this.level = normalizeLevel(level);
+        this.message = message != null ? message : "";
+        this.exception = exception;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    /**
+     * Get level: debug, info, warning or error
+     */
+    public String getLevel() {
+        return level;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Check if the entry is an uncaught exception rather than a console call
+     */
+    public boolean isException() {
+        return exception;
+    }
+
+    /**
+     * Check if the entry is a console error or an uncaught exception
+     */
+    public boolean isError() {
+        return exception || "error".equals(level);
+    }
+
+    /**
+     * Map the level names of CDP console types and BiDi log levels onto debug, info, warning and error
+     */
+    static String normalizeLevel(String level) {
+        String name = level != null ? level.toLowerCase(Locale.ROOT) : "info";
+        switch (name) {
+            case "debug":
+            case "trace":
+            case "verbose":
+                return "debug";
+            case "warn":
+            case "warning":
+                return "warning";
+            case "error":
+            case "assert":
+            case "severe":
+                return "error";
+            default:
+                return "info";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Instant.ofEpochMilli(timestampMillis) + " " + level.toUpperCase(Locale.ROOT)
+            + (exception ? " [uncaught] " : " ") + message;
+    }
+}
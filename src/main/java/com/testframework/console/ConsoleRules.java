@@ -0,0 +1,117 @@
+package com.testframework.console;
+
+import com.testframework.config.TestConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Rules deciding which console entries fail the test that caused them
+ * Immutable; configured with test.console.failOn (none, exception or error) and test.console.ignore,
+ * a comma-separated list of message fragments that never fail a test (third-party noise and the like).
+ */
+public final class ConsoleRules {
+    /**
+     * Entries that fail a test
+     */
+    public enum FailOn {
+        /** Nothing fails a test */
+        NONE,
+        /** Uncaught exceptions fail a test */
+        EXCEPTION,
+        /** Uncaught exceptions and console errors fail a test */
+        ERROR
+    }
+
+    private final FailOn failOn;
+    private final List<String> ignored;
+
+    private ConsoleRules(FailOn failOn, List<String> ignored) {
+        this.failOn = failOn;
+        this.ignored = Collections.unmodifiableList(new ArrayList<>(ignored));
+    }
+
+    /**
+     * Rules that never fail a test
+     */
+    public static ConsoleRules none() {
+        return new ConsoleRules(FailOn.NONE, Collections.emptyList());
+    }
+
+    /**
+     * Rules configured with test.console.failOn and test.console.ignore
+     */
+    public static ConsoleRules fromConfig() {
+        TestConfig config = TestConfig.getInstance();
+        FailOn failOn;
+        try {
+            failOn = FailOn.valueOf(config.getConsoleFailOn().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid test.console.failOn '" + config.getConsoleFailOn()
+                + "'; expected none, exception or error", e);
+        }
+        return new ConsoleRules(failOn, config.getConsoleIgnored());
+    }
+
+    public FailOn getFailOn() {
+        return failOn;
+    }
+
+    public List<String> getIgnored() {
+        return ignored;
+    }
+
+    public ConsoleRules withFailOn(FailOn failOn) {
+        return new ConsoleRules(failOn, ignored);
+    }
+
+    public ConsoleRules withIgnored(List<String> ignored) {
+        return new ConsoleRules(failOn, ignored);
+    }
+
+    /**
+     * Check if an entry fails the test
+     */
+    public boolean violates(ConsoleEntry entry) {
+        boolean failing;
+        switch (failOn) {
+            case EXCEPTION:
+                failing = entry.isException();
+                break;
+            case ERROR:
+                failing = entry.isError();
+                break;
+            default:
+                failing = false;
+        }
+        if (!failing) {
+            return false;
+        }
+        for (String fragment : ignored) {
+            if (entry.getMessage().contains(fragment)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the entries that fail the test
+     */
+    public List<ConsoleEntry> violations(List<ConsoleEntry> entries) {
+        List<ConsoleEntry> violations = new ArrayList<>();
+        for (ConsoleEntry entry : entries) {
+            if (violates(entry)) {
+                violations.add(entry);
+            }
+        }
+        return violations;
+    }
+
+    @Override
+    public String toString() {
+        return "failOn=" + failOn.name().toLowerCase(Locale.ROOT) + (ignored.isEmpty() ? "" : ", ignore=" + ignored);
+    }
+}
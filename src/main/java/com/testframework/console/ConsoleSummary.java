@@ -0,0 +1,69 @@
+package com.testframework.console;
+
+import java.nio.file.Path;
+
+/**
+ * Counts of the console entries a test's pages reported, with the file they were written to if the test failed
+ */
+public final class ConsoleSummary {
+    /** Result attribute holding the console summary of a test */
+    public static final String ATTRIBUTE = "testframework.console";
+
+    private final int entries;
+    private final int errors;
+    private final int exceptions;
+    private final int violations;
+    private final int dropped;
+    private final Path file;
+
+    ConsoleSummary(int entries, int errors, int exceptions, int violations, int dropped, Path file) {
+        this.entries = entries;
+        this.errors = errors;
+        this.exceptions = exceptions;
+        this.violations = violations;
+        this.dropped = dropped;
+        this.file = file;
+    }
+
+    /**
+     * Get number of entries reported, including dropped ones
+     */
+    public int getEntries() {
+        return entries;
+    }
+
+    /**
+     * Get number of console errors and uncaught exceptions
+     */
+    public int getErrors() {
+        return errors;
+    }
+
+    /**
+     * Get number of uncaught exceptions
+     */
+    public int getExceptions() {
+        return exceptions;
+    }
+
+    /**
+     * Get number of entries that broke the console rules
+     */
+    public int getViolations() {
+        return violations;
+    }
+
+    /**
+     * Get number of older entries dropped because the buffer was full
+     */
+    public int getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Get file the entries were written to, or null if they were not kept
+     */
+    public Path getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,11 @@
+package com.testframework.console;
+
+import java.util.function.Consumer;
+
+/**
+ * Driver that pushes its pages' console messages and uncaught exceptions to listeners
+ * Implemented by drivers without DevTools or BiDi, such as the stub driver, so they are collected the same way.
+ */
+public interface HasConsoleEvents {
+    void addConsoleListener(Consumer<ConsoleEntry> listener);
+}
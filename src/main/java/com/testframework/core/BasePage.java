@@ -1,5 +1,10 @@
 package com.testframework.core;
 
+import com.testframework.events.BrowserEvents;
+import com.testframework.metrics.PagePerformanceCollector;
+import com.testframework.network.NetworkLogCollector;
+import com.testframework.metrics.PerformanceBudget;
+import com.testframework.metrics.TraceRecorder;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -7,8 +12,8 @@ import org.openqa.selenium.interactions.Actions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.Duration;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Base page object class providing common web element interactions
@@ -19,11 +24,42 @@ public abstract class BasePage {
     protected WebDriver driver;
     protected WebDriverWait wait;
     protected Actions actions;
+    private final String pageName;
     
     public BasePage() {
         this.driver = DriverManager.getDriver();
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(30));
+        this.wait = new TimedWait(driver);
         this.actions = new Actions(driver);
+        this.pageName = getClass().getSimpleName().isEmpty() ? "BasePage" : getClass().getSimpleName();
+    }
+    
+    /**
+     * Run a page-object call as a span of the run's timeline
+     * With tracing off the call runs directly, without building the span's name or detail.
+     */
+    private <T> T traced(String action, Object target, Supplier<T> call) {
+        if (!TraceRecorder.isEnabled()) {
+            return call.get();
+        }
+        TraceRecorder.begin(pageName + "." + action, "page", String.valueOf(target));
+        try {
+            return call.get();
+        } finally {
+            TraceRecorder.end();
+        }
+    }
+    
+    /**
+     * Load a URL as this page, checking the page's {@link PerformanceBudget} when performance capture is enabled
+     */
+    protected void open(String url) {
+        logger.debug("Opening {} at {}", pageName, url);
+        if (!BrowserEvents.navigate(driver, url)) {
+            driver.get(url);
+        }
+        PagePerformanceCollector.enforce(PagePerformanceCollector.capture(driver, pageName),
+            getClass().getAnnotation(PerformanceBudget.class));
+        NetworkLogCollector.drain();
     }
     
     /**
@@ -55,13 +91,16 @@ public abstract class BasePage {
      */
     protected void click(By locator) {
         logger.debug("Clicking element: {}", locator);
-        WebElement element = waitForElement(locator);
-        try {
-            element.click();
-        } catch (ElementClickInterceptedException e) {
-            logger.warn("Element click intercepted, trying JavaScript click");
-            clickWithJavaScript(element);
-        }
+        traced("click", locator, () -> {
+            WebElement element = waitForElement(locator);
+            try {
+                element.click();
+            } catch (ElementClickInterceptedException e) {
+                logger.warn("Element click intercepted, trying JavaScript click");
+                clickWithJavaScript(element);
+            }
+            return null;
+        });
     }
     
     /**
@@ -77,9 +116,12 @@ public abstract class BasePage {
      */
     protected void type(By locator, String text) {
         logger.debug("Typing '{}' into element: {}", text, locator);
-        WebElement element = waitForElement(locator);
-        element.clear();
-        element.sendKeys(text);
+        traced("type", locator, () -> {
+            WebElement element = waitForElement(locator);
+            element.clear();
+            element.sendKeys(text);
+            return null;
+        });
     }
     
     /**
@@ -87,8 +129,10 @@ public abstract class BasePage {
      */
     protected String getText(By locator) {
         logger.debug("Getting text from element: {}", locator);
-        WebElement element = waitForElementVisible(locator);
-        return element.getText();
+        return traced("getText", locator, () -> {
+            WebElement element = waitForElementVisible(locator);
+            return element.getText();
+        });
     }
     
     /**
@@ -96,32 +140,38 @@ public abstract class BasePage {
      */
     protected String getAttribute(By locator, String attribute) {
         logger.debug("Getting attribute '{}' from element: {}", attribute, locator);
-        WebElement element = waitForElementPresent(locator);
-        return element.getAttribute(attribute);
+        return traced("getAttribute", locator, () -> {
+            WebElement element = waitForElementPresent(locator);
+            return element.getAttribute(attribute);
+        });
     }
     
     /**
      * Check if element is displayed
      */
     protected boolean isElementDisplayed(By locator) {
-        try {
-            return waitForElementVisible(locator).isDisplayed();
-        } catch (TimeoutException e) {
-            logger.debug("Element not displayed: {}", locator);
-            return false;
-        }
+        return traced("isElementDisplayed", locator, () -> {
+            try {
+                return waitForElementVisible(locator).isDisplayed();
+            } catch (TimeoutException e) {
+                logger.debug("Element not displayed: {}", locator);
+                return false;
+            }
+        });
     }
     
     /**
      * Check if element is enabled
      */
     protected boolean isElementEnabled(By locator) {
-        try {
-            return waitForElement(locator).isEnabled();
-        } catch (TimeoutException e) {
-            logger.debug("Element not enabled: {}", locator);
-            return false;
-        }
+        return traced("isElementEnabled", locator, () -> {
+            try {
+                return waitForElement(locator).isEnabled();
+            } catch (TimeoutException e) {
+                logger.debug("Element not enabled: {}", locator);
+                return false;
+            }
+        });
     }
     
     /**
@@ -153,9 +203,12 @@ public abstract class BasePage {
      */
     protected void scrollToElement(By locator) {
         logger.debug("Scrolling to element: {}", locator);
-        WebElement element = waitForElementPresent(locator);
-        JavascriptExecutor js = (JavascriptExecutor) driver;
-        js.executeScript("arguments[0].scrollIntoView(true);", element);
+        traced("scrollToElement", locator, () -> {
+            WebElement element = waitForElementPresent(locator);
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            js.executeScript("arguments[0].scrollIntoView(true);", element);
+            return null;
+        });
     }
     
     /**
@@ -163,8 +216,11 @@ public abstract class BasePage {
      */
     protected void hoverOver(By locator) {
         logger.debug("Hovering over element: {}", locator);
-        WebElement element = waitForElement(locator);
-        actions.moveToElement(element).perform();
+        traced("hoverOver", locator, () -> {
+            WebElement element = waitForElement(locator);
+            actions.moveToElement(element).perform();
+            return null;
+        });
     }
     
     /**
@@ -172,8 +228,11 @@ public abstract class BasePage {
      */
     protected void doubleClick(By locator) {
         logger.debug("Double clicking element: {}", locator);
-        WebElement element = waitForElement(locator);
-        actions.doubleClick(element).perform();
+        traced("doubleClick", locator, () -> {
+            WebElement element = waitForElement(locator);
+            actions.doubleClick(element).perform();
+            return null;
+        });
     }
     
     /**
@@ -181,8 +240,11 @@ public abstract class BasePage {
      */
     protected void rightClick(By locator) {
         logger.debug("Right clicking element: {}", locator);
-        WebElement element = waitForElement(locator);
-        actions.contextClick(element).perform();
+        traced("rightClick", locator, () -> {
+            WebElement element = waitForElement(locator);
+            actions.contextClick(element).perform();
+            return null;
+        });
     }
     
     /**
@@ -190,9 +252,12 @@ public abstract class BasePage {
      */
     protected void dragAndDrop(By source, By target) {
         logger.debug("Dragging element {} to {}", source, target);
-        WebElement sourceElement = waitForElement(source);
-        WebElement targetElement = waitForElement(target);
-        actions.dragAndDrop(sourceElement, targetElement).perform();
+        traced("dragAndDrop", source, () -> {
+            WebElement sourceElement = waitForElement(source);
+            WebElement targetElement = waitForElement(target);
+            actions.dragAndDrop(sourceElement, targetElement).perform();
+            return null;
+        });
     }
     
     /**
@@ -200,9 +265,12 @@ public abstract class BasePage {
      */
     protected void selectByVisibleText(By locator, String text) {
         logger.debug("Selecting '{}' from dropdown: {}", text, locator);
-        WebElement element = waitForElement(locator);
-        org.openqa.selenium.support.ui.Select select = new org.openqa.selenium.support.ui.Select(element);
-        select.selectByVisibleText(text);
+        traced("selectByVisibleText", locator, () -> {
+            WebElement element = waitForElement(locator);
+            org.openqa.selenium.support.ui.Select select = new org.openqa.selenium.support.ui.Select(element);
+            select.selectByVisibleText(text);
+            return null;
+        });
     }
     
     /**
@@ -210,9 +278,12 @@ public abstract class BasePage {
      */
     protected void selectByValue(By locator, String value) {
         logger.debug("Selecting value '{}' from dropdown: {}", value, locator);
-        WebElement element = waitForElement(locator);
-        org.openqa.selenium.support.ui.Select select = new org.openqa.selenium.support.ui.Select(element);
-        select.selectByValue(value);
+        traced("selectByValue", locator, () -> {
+            WebElement element = waitForElement(locator);
+            org.openqa.selenium.support.ui.Select select = new org.openqa.selenium.support.ui.Select(element);
+            select.selectByValue(value);
+            return null;
+        });
     }
     
     /**
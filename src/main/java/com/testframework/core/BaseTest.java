@@ -1,20 +1,34 @@
 package com.testframework.core;
 
+import com.testframework.config.ClientProfile;
+import com.testframework.config.TestConfig;
+import com.testframework.console.ConsoleCollector;
+import com.testframework.logging.TestLogContext;
+import com.testframework.metrics.Phase;
+import com.testframework.metrics.PhaseTimer;
+import com.testframework.metrics.TestTiming;
+import com.testframework.metrics.TraceRecorder;
+import com.testframework.network.NetworkLogCollector;
+import com.testframework.reporting.TestArtifacts;
+import com.testframework.utils.RandomDataGenerator;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.ITestResult;
+import org.testng.Reporter;
 import org.testng.annotations.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.Method;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 
 /**
  * Base test class providing test lifecycle management and utilities
@@ -23,6 +37,7 @@ import java.time.format.DateTimeFormatter;
 public abstract class BaseTest {
     protected static final Logger logger = LoggerFactory.getLogger(BaseTest.class);
     protected WebDriver driver;
+    private final ThreadLocal<ClientProfile> restoreProfile = new ThreadLocal<>();
     
     @BeforeClass
     public void setUpClass() {
@@ -32,27 +47,95 @@ public abstract class BaseTest {
     @AfterClass
     public void tearDownClass() {
         logger.info("Tearing down test class: {}", this.getClass().getSimpleName());
-        // Quit driver after all tests in the class are complete
-        DriverManager.quitDriver();
+        // Quit driver after all tests in the class are complete; timed as a class teardown, not a test
+        PhaseTimer.startClassTeardown(getClass().getSimpleName());
+        boolean quit = false;
+        PhaseTimer.begin(Phase.TEARDOWN);
+        try {
+            DriverManager.quitDriver();
+            quit = true;
+        } finally {
+            PhaseTimer.end(Phase.TEARDOWN);
+            PhaseTimer.finishTest(quit ? "passed" : "failed");
+        }
     }
     
     @BeforeMethod
-    public void setUpMethod() {
-        logger.info("Setting up test method");
-        driver = DriverManager.initializeDriver();
+    public void setUpMethod(Method method, Object[] parameters) {
+        logger.info("Setting up test method: {}", method.getName());
+        String testName = getClass().getSimpleName() + "." + method.getName();
+        String testId = parameters.length > 0 ? testName + Arrays.toString(parameters) : testName;
+        PhaseTimer.startTest(testId);
+        PhaseTimer.begin(Phase.SETUP);
+        try {
+            // Keyed by the test id, so every data provider row gets its own stream
+            RandomDataGenerator.reseedForTest(testId);
+            driver = DriverManager.initializeDriver();
+            TestLogContext.begin(testId, driver);
+            Emulate emulate = method.getAnnotation(Emulate.class);
+            if (emulate == null) {
+                emulate = getClass().getAnnotation(Emulate.class);
+            }
+            if (emulate != null) {
+                ClientProfile sessionProfile = ClientEmulation.getActive(driver);
+                if (ClientEmulation.apply(driver, TestConfig.getInstance().getClientProfile(emulate.value()))) {
+                    restoreProfile.set(sessionProfile);
+                }
+            }
+            NetworkLogCollector.begin(driver, testId);
+            ConsoleCollector.begin(driver, testId);
+        } finally {
+            PhaseTimer.end(Phase.SETUP);
+        }
     }
     
     @AfterMethod
     public void tearDownMethod(ITestResult result) {
         logger.info("Tearing down test method: {}", result.getName());
         
-        // Take screenshot on failure
-        if (result.getStatus() == ITestResult.FAILURE) {
-            takeScreenshot(result.getName());
+        // Artifacts written here belong to the test, not to this configuration method
+        ITestResult configurationResult = Reporter.getCurrentTestResult();
+        Reporter.setCurrentTestResult(result);
+        PhaseTimer.begin(Phase.TEARDOWN);
+        try {
+            // Take screenshot on failure
+            if (result.getStatus() == ITestResult.FAILURE) {
+                takeScreenshot(result.getName());
+            }
+            NetworkLogCollector.finish();
+            ConsoleCollector.finish(result);
+            
+            result.setAttribute(ClientEmulation.ATTRIBUTE, ClientEmulation.getActive(driver).getName());
+            ClientProfile sessionProfile = restoreProfile.get();
+            if (sessionProfile != null) {
+                restoreProfile.remove();
+                ClientEmulation.apply(driver, sessionProfile);
+            }
+            
+            // Don't quit driver after each test method to allow for test reuse
+            // Driver will be quit in @AfterClass
+        } finally {
+            PhaseTimer.end(Phase.TEARDOWN);
+            TestTiming timing = PhaseTimer.finishTest(statusOf(result));
+            if (timing != null) {
+                result.setAttribute(TestTiming.ATTRIBUTE, timing);
+            }
+            TestLogContext.finish(result);
+            Reporter.setCurrentTestResult(configurationResult);
+        }
+    }
+    
+    private static String statusOf(ITestResult result) {
+        switch (result.getStatus()) {
+            case ITestResult.SUCCESS:
+                return "passed";
+            case ITestResult.FAILURE:
+                return "failed";
+            case ITestResult.SKIP:
+                return "skipped";
+            default:
+                return "unknown";
         }
-        
-        // Don't quit driver after each test method to allow for test reuse
-        // Driver will be quit in @AfterClass
     }
     
     /**
@@ -76,7 +159,13 @@ public abstract class BaseTest {
                 Path screenshotPath = screenshotsDir.resolve(filename);
                 
                 // Copy screenshot to destination
-                Files.copy(screenshot.toPath(), screenshotPath);
+                TraceRecorder.begin("write screenshot", "artifact", filename);
+                try {
+                    Files.copy(screenshot.toPath(), screenshotPath);
+                } finally {
+                    TraceRecorder.end();
+                }
+                TestArtifacts.add("screenshot", screenshotPath.toString());
                 logger.info("Screenshot saved: {}", screenshotPath);
             }
         } catch (IOException e) {
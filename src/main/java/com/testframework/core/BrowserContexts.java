@@ -0,0 +1,437 @@
+package com.testframework.core;
+
+import com.testframework.config.TestConfig;
+import com.testframework.metrics.TraceRecorder;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Isolated browser contexts handed out as lightweight sessions inside shared browser processes
+ * A context has cookies and storage of its own like a separate browser, but shares its process with up to
+ * test.browserContexts.perProcess - 1 other contexts. Contexts are created through the DevTools Target domain,
+ * so they need Chrome, Edge or the stub driver. Only sessions from DriverManager.createSession, such as load-mode
+ * users, are contexts; the drivers tests run on are full sessions.
+ *
+ * Classic WebDriver runs one command at a time per process: commands of contexts sharing a process are
+ * serialized, and the process switches to the context's window before each one. Implicit waits are done by
+ * the context between attempts, so a context waiting for an element does not hold up the others. Time spent
+ * waiting for the process is counted per thread, see {@link #getLockWaitNanos()}.
+ */
+public final class BrowserContexts {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserContexts.class);
+    private static final List<Host> HOSTS = new ArrayList<>();
+    private static final long IMPLICIT_WAIT_POLL_MILLIS = 100;
+    private static final ThreadLocal<long[]> LOCK_WAIT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private static int processIds;
+    private static int peakProcesses;
+
+    private BrowserContexts() {
+    }
+
+    /**
+     * Open an isolated context in a browser process with room for it, starting a process if none has
+     * Throws UnsupportedCommandException if the browser cannot create contexts.
+     */
+    static WebDriver open(String browser, int timeoutSeconds, boolean headless) {
+        Host host = reserve(browser, timeoutSeconds, headless);
+        try {
+            String contextId;
+            String targetId;
+            synchronized (host) {
+                HasCdp cdp = (HasCdp) host.driver;
+                contextId = String.valueOf(cdp.executeCdpCommand("Target.createBrowserContext",
+                    new HashMap<>()).get("browserContextId"));
+                Map<String, Object> target = new HashMap<>();
+                target.put("url", "about:blank");
+                target.put("browserContextId", contextId);
+                targetId = String.valueOf(cdp.executeCdpCommand("Target.createTarget", target).get("targetId"));
+            }
+            Context context = new Context(host, contextId, targetId, Duration.ofSeconds(timeoutSeconds));
+            logger.info("Browser context {} opened in {} process {} ({}/{} contexts)", contextId, browser,
+                host.id, host.contexts, host.capacity);
+            return context.session;
+        } catch (WebDriverException e) {
+            release(host);
+            throw e;
+        }
+    }
+
+    /**
+     * Get total time commands of the current thread have waited for their context's process, in nanoseconds
+     * Callers timing their own work take the difference around it, to tell waiting for other contexts sharing
+     * the process from the work itself.
+     */
+    public static long getLockWaitNanos() {
+        return LOCK_WAIT.get()[0];
+    }
+
+    /**
+     * Get number of browser processes currently hosting contexts
+     */
+    public static synchronized int getProcessCount() {
+        return HOSTS.size();
+    }
+
+    /**
+     * Get number of open contexts over all processes
+     */
+    public static synchronized int getContextCount() {
+        int contexts = 0;
+        for (Host host : HOSTS) {
+            contexts += host.contexts;
+        }
+        return contexts;
+    }
+
+    /**
+     * Get the largest number of processes that hosted contexts at the same time since the last reset
+     */
+    public static synchronized int getPeakProcessCount() {
+        return peakProcesses;
+    }
+
+    /**
+     * Start measuring the peak process count afresh from the processes running now
+     */
+    public static synchronized void resetPeakProcessCount() {
+        peakProcesses = HOSTS.size();
+    }
+
+    /**
+     * Take a place in a process with room for one more context, starting a process if none has
+     * The place is taken under the class lock; the browser is started outside it, so other contexts keep opening
+     * and closing meanwhile, and contexts placed in a process that is still starting wait for it.
+     */
+    private static Host reserve(String browser, int timeoutSeconds, boolean headless) {
+        Host host = null;
+        boolean launch = false;
+        synchronized (BrowserContexts.class) {
+            for (Host candidate : HOSTS) {
+                if (candidate.browser.equals(browser) && candidate.headless == headless
+                    && candidate.contexts < candidate.capacity) {
+                    host = candidate;
+                    break;
+                }
+            }
+            if (host != null) {
+                host.contexts++;
+            } else {
+                int capacity = Math.max(1, TestConfig.getInstance().getBrowserContextsPerProcess());
+                host = new Host(++processIds, browser, headless, capacity);
+                host.contexts++;
+                HOSTS.add(host);
+                peakProcesses = Math.max(peakProcesses, HOSTS.size());
+                launch = true;
+            }
+        }
+        if (launch) {
+            start(host, timeoutSeconds);
+        } else {
+            host.awaitStarted();
+        }
+        return host;
+    }
+
+    /**
+     * Start the browser of a reserved process; on failure the process is dropped and its waiting contexts fail too
+     */
+    private static void start(Host host, int timeoutSeconds) {
+        try {
+            // Process start is reported like any session start; its own window stays unused
+            WebDriver driver = TraceRecorder.span("browser process start", "session",
+                () -> DriverManager.createDriver(host.browser, timeoutSeconds, host.headless));
+            if (!(driver instanceof HasCdp)) {
+                driver.quit();
+                throw new UnsupportedCommandException(host.browser + " sessions cannot create browser contexts");
+            }
+            driver.manage().timeouts().implicitlyWait(0, TimeUnit.SECONDS);
+            host.driver = driver;
+            logger.info("Started {} process {} for up to {} browser contexts", host.browser, host.id, host.capacity);
+            host.started.complete(null);
+        } catch (RuntimeException e) {
+            synchronized (BrowserContexts.class) {
+                HOSTS.remove(host);
+            }
+            host.started.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Give up a context's place in its process; the process quits when its last context is gone
+     */
+    private static void release(Host host) {
+        synchronized (BrowserContexts.class) {
+            host.contexts--;
+            if (host.contexts > 0) {
+                return;
+            }
+            HOSTS.remove(host);
+        }
+        try {
+            DriverManager.quitSession(host.driver);
+            logger.info("Quit {} process {}: no browser contexts left", host.browser, host.id);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to quit {} process {}: {}", host.browser, host.id, e.getMessage());
+        }
+    }
+
+    /**
+     * Browser process shared by contexts; its monitor serializes their commands
+     */
+    private static final class Host {
+        private final int id;
+        private final String browser;
+        private final boolean headless;
+        private final int capacity;
+        private final CompletableFuture<Void> started = new CompletableFuture<>();
+        private volatile WebDriver driver;
+        private int contexts;
+        private String focused;
+
+        private Host(int id, String browser, boolean headless, int capacity) {
+            this.id = id;
+            this.browser = browser;
+            this.headless = headless;
+            this.capacity = capacity;
+        }
+
+        /**
+         * Wait until the process's browser has started, failing like its start did
+         */
+        private void awaitStarted() {
+            try {
+                started.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        /**
+         * Make a context's window the process's current window; caller holds the monitor
+         */
+        private void focus(String handle) {
+            if (!handle.equals(focused)) {
+                driver.switchTo().window(handle);
+                focused = handle;
+            }
+        }
+    }
+
+    /**
+     * One isolated context, used through a session proxy over the process's driver
+     */
+    private static final class Context {
+        private final Host host;
+        private final String contextId;
+        private final String handle;
+        private final WebDriver session;
+        private volatile Duration implicitWait;
+        private volatile boolean closed;
+
+        private Context(Host host, String contextId, String handle, Duration implicitWait) {
+            this.host = host;
+            this.contextId = contextId;
+            this.handle = handle;
+            this.implicitWait = implicitWait;
+            this.session = (WebDriver) wrap(host.driver);
+        }
+
+        /**
+         * Close the context's window and storage; the context's session cannot be used afterwards
+         */
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                synchronized (host) {
+                    HasCdp cdp = (HasCdp) host.driver;
+                    cdp.executeCdpCommand("Target.closeTarget", Collections.singletonMap("targetId", handle));
+                    cdp.executeCdpCommand("Target.disposeBrowserContext",
+                        Collections.singletonMap("browserContextId", contextId));
+                    if (handle.equals(host.focused)) {
+                        host.focused = null;
+                    }
+                }
+                logger.info("Browser context {} closed", contextId);
+            } catch (WebDriverException e) {
+                logger.warn("Failed to close browser context {}: {}", contextId, e.getMessage());
+            } finally {
+                release(host);
+            }
+        }
+
+        /**
+         * Proxy an object of the process's driver so its calls run in this context
+         */
+        private Object wrap(Object target) {
+            Set<Class<?>> interfaces = new LinkedHashSet<>();
+            for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+                collectInterfaces(type, interfaces);
+            }
+            if (target instanceof WebElement) {
+                interfaces.add(WrapsElement.class);
+            }
+            return Proxy.newProxyInstance(BrowserContexts.class.getClassLoader(),
+                interfaces.toArray(new Class<?>[0]), new Handler(target));
+        }
+
+        private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (Modifier.isPublic(candidate.getModifiers())) {
+                    interfaces.add(candidate);
+                }
+                collectInterfaces(candidate, interfaces);
+            }
+        }
+
+        private Object wrapResult(Object result) {
+            if (result instanceof WebDriver) {
+                return session;
+            }
+            if (result instanceof WebElement || result instanceof WebDriver.Options
+                || result instanceof WebDriver.Navigation || result instanceof WebDriver.TargetLocator
+                || result instanceof WebDriver.Timeouts || result instanceof WebDriver.Window) {
+                return wrap(result);
+            }
+            if (result instanceof List) {
+                List<Object> wrapped = new ArrayList<>();
+                for (Object item : (List<?>) result) {
+                    wrapped.add(item instanceof WebElement ? wrap(item) : item);
+                }
+                return wrapped;
+            }
+            return result;
+        }
+
+        private static Object[] unwrapArguments(Object[] args) {
+            if (args == null) {
+                return null;
+            }
+            Object[] unwrapped = args.clone();
+            for (int i = 0; i < unwrapped.length; i++) {
+                if (unwrapped[i] instanceof Proxy && unwrapped[i] instanceof WrapsElement) {
+                    unwrapped[i] = ((WrapsElement) unwrapped[i]).getWrappedElement();
+                } else if (unwrapped[i] instanceof Object[]) {
+                    unwrapped[i] = unwrapArguments((Object[]) unwrapped[i]);
+                }
+            }
+            return unwrapped;
+        }
+
+        private final class Handler implements InvocationHandler {
+            private final Object target;
+
+            private Handler(Object target) {
+                this.target = target;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if (method.getDeclaringClass() == Object.class) {
+                    switch (name) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            return "browser context " + contextId;
+                    }
+                }
+                if (name.equals("getWrappedElement") && target instanceof WebElement) {
+                    return target;
+                }
+                if (target == host.driver) {
+                    switch (name) {
+                        case "quit":
+                        case "close":
+                            close();
+                            return null;
+                        case "getWindowHandle":
+                            return handle;
+                        case "getWindowHandles":
+                            return Collections.singleton(handle);
+                        default:
+                            break;
+                    }
+                }
+                if (target instanceof WebDriver.Timeouts && name.equals("implicitlyWait")) {
+                    implicitWait = args[0] instanceof Duration ? (Duration) args[0]
+                        : Duration.ofMillis(((TimeUnit) args[1]).toMillis((Long) args[0]));
+                    return proxy;
+                }
+                if (closed) {
+                    throw new WebDriverException("Browser context " + contextId + " has been closed");
+                }
+                if (name.equals("findElement") || name.equals("findElements")) {
+                    return find(method, args);
+                }
+                return wrapResult(call(method, args));
+            }
+
+            /**
+             * Look up elements, retrying until the implicit wait runs out without holding the process
+             */
+            private Object find(Method method, Object[] args) throws Throwable {
+                long deadline = System.nanoTime() + implicitWait.toNanos();
+                while (true) {
+                    try {
+                        Object found = call(method, args);
+                        if (!(found instanceof List) || !((List<?>) found).isEmpty() || System.nanoTime() >= deadline) {
+                            return wrapResult(found);
+                        }
+                    } catch (NoSuchElementException e) {
+                        if (System.nanoTime() >= deadline) {
+                            throw e;
+                        }
+                    }
+                    TimeUnit.MILLISECONDS.sleep(IMPLICIT_WAIT_POLL_MILLIS);
+                }
+            }
+
+            private Object call(Method method, Object[] args) throws Throwable {
+                long waiting = System.nanoTime();
+                synchronized (host) {
+                    LOCK_WAIT.get()[0] += System.nanoTime() - waiting;
+                    host.focus(handle);
+                    try {
+                        return method.invoke(target, unwrapArguments(args));
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            }
+        }
+    }
+}
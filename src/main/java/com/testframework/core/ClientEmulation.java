@@ -0,0 +1,71 @@
+package com.testframework.core;
+
+import com.testframework.config.ClientProfile;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Applies client profiles to browser sessions through the Chrome DevTools Protocol
+ * Only Chromium-based sessions (Chrome, Edge) and the stub driver support emulation; other
+ * browsers keep running unthrottled with a warning.
+ */
+public final class ClientEmulation {
+    private static final Logger logger = LoggerFactory.getLogger(ClientEmulation.class);
+
+    /** Result attribute holding the name of the profile a test ran under */
+    public static final String ATTRIBUTE = "testframework.clientProfile";
+
+    private static final Map<WebDriver, ClientProfile> ACTIVE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private ClientEmulation() {
+    }
+
+    /**
+     * Apply a profile to a session, replacing the one active before
+     * Returns false if the session does not support emulation.
+     */
+    public static boolean apply(WebDriver driver, ClientProfile profile) {
+        if (!(driver instanceof HasCdp)) {
+            if (profile.isThrottled()) {
+                logger.warn("Client profile {} not applied: {} does not support DevTools emulation",
+                    profile.getName(), driver.getClass().getSimpleName());
+            }
+            return false;
+        }
+        HasCdp cdp = (HasCdp) driver;
+        Map<String, Object> conditions = new HashMap<>();
+        conditions.put("offline", false);
+        conditions.put("latency", profile.getLatencyMillis());
+        conditions.put("downloadThroughput", bytesPerSecond(profile.getDownloadKbps()));
+        conditions.put("uploadThroughput", bytesPerSecond(profile.getUploadKbps()));
+        cdp.executeCdpCommand("Network.enable", new HashMap<>());
+        cdp.executeCdpCommand("Network.emulateNetworkConditions", conditions);
+        cdp.executeCdpCommand("Emulation.setCPUThrottlingRate",
+            Collections.singletonMap("rate", profile.getCpuSlowdown()));
+        ACTIVE.put(driver, profile);
+        logger.info("Client profile {} applied", profile);
+        return true;
+    }
+
+    /**
+     * Get profile active in a session
+     */
+    public static ClientProfile getActive(WebDriver driver) {
+        ClientProfile profile = ACTIVE.get(driver);
+        return profile != null ? profile : ClientProfile.NONE;
+    }
+
+    /**
+     * Throughput in bytes per second as DevTools expects it; -1 disables throttling
+     */
+    private static long bytesPerSecond(long kbps) {
+        return kbps > 0 ? kbps * 1000 / 8 : -1;
+    }
+}
@@ -1,6 +1,20 @@
 package com.testframework.core;
 
+import com.testframework.config.ClientProfile;
+import com.testframework.config.TestConfig;
+import com.testframework.events.BrowserEvents;
+import com.testframework.metrics.PagePerformanceCollector;
+import com.testframework.metrics.Phase;
+import com.testframework.metrics.PhaseTimer;
+import com.testframework.metrics.PhaseTimingListener;
+import com.testframework.metrics.TraceRecorder;
+import com.testframework.network.NetworkControl;
+import com.testframework.network.NetworkLogCollector;
+import com.testframework.network.NetworkRecording;
+import com.testframework.network.NetworkRules;
+import com.testframework.stub.StubWebDriver;
 import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.UnsupportedCommandException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -8,15 +22,34 @@ import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
 import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.safari.SafariOptions;
+import org.openqa.selenium.remote.Augmenter;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 
 /**
  * Core WebDriver management class for the testing framework
@@ -25,57 +58,180 @@ import java.util.concurrent.TimeUnit;
 public class DriverManager {
     private static final Logger logger = LoggerFactory.getLogger(DriverManager.class);
     private static WebDriver driver;
-    private static final String DEFAULT_BROWSER = "chrome";
+    private static final ThreadLocal<WebDriver> THREAD_DRIVER = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriver> WORKER_DRIVER = new ThreadLocal<>();
+    private static final Set<WebDriver> WORKER_DRIVERS = ConcurrentHashMap.newKeySet();
+    private static volatile boolean driverPerWorker;
     private static final int DEFAULT_TIMEOUT = 30;
+    private static final List<String> TIMEOUT_KEYS =
+        Arrays.asList("test.implicitWait", "test.pageLoadTimeout", "test.scriptTimeout");
+    private static final AtomicLong TIMEOUT_GENERATION = new AtomicLong();
+    private static final Map<WebDriver, Long> APPLIED_TIMEOUTS = Collections.synchronizedMap(new WeakHashMap<>());
+    
+    static {
+        // A live reload only marks the timeouts as changed; drivers are not thread-safe, so each session
+        // picks the new values up the next time its own thread gets it
+        TestConfig.getInstance().addChangeListener((previous, current) -> {
+            for (String key : TIMEOUT_KEYS) {
+                if (!Objects.equals(previous.getString(key, null), current.getString(key, null))) {
+                    TIMEOUT_GENERATION.incrementAndGet();
+                    return;
+                }
+            }
+        });
+    }
     
     /**
-     * Initialize WebDriver with default configuration
+     * Initialize WebDriver with configured browser and timeout
      */
     public static WebDriver initializeDriver() {
-        return initializeDriver(DEFAULT_BROWSER, DEFAULT_TIMEOUT);
+        TestConfig config = TestConfig.getInstance();
+        return initializeDriver(config.getBrowser(), config.getImplicitWait());
     }
     
     /**
      * Initialize WebDriver with specified browser and timeout
      */
     public static WebDriver initializeDriver(String browser, int timeoutSeconds) {
-        if (driver != null) {
+        WebDriver current = sharedDriver();
+        if (current != null) {
             logger.info("WebDriver already initialized, returning existing instance");
-            return driver;
+            TraceRecorder.sessionUsed(current);
+            return withCurrentTimeouts(current);
         }
         
         logger.info("Initializing WebDriver for browser: {}", browser);
         
+        PhaseTimer.begin(Phase.DRIVER_START);
         try {
-            switch (browser.toLowerCase()) {
-                case "chrome":
-                    driver = createChromeDriver();
-                    break;
-                case "firefox":
-                    driver = createFirefoxDriver();
-                    break;
-                case "edge":
-                    driver = createEdgeDriver();
-                    break;
-                case "safari":
-                    driver = createSafariDriver();
-                    break;
-                default:
-                    logger.warn("Unsupported browser: {}, falling back to Chrome", browser);
-                    driver = createChromeDriver();
-            }
-            
-            driver.manage().timeouts().implicitlyWait(timeoutSeconds, TimeUnit.SECONDS);
-            driver.manage().timeouts().pageLoadTimeout(timeoutSeconds, TimeUnit.SECONDS);
-            driver.manage().timeouts().setScriptTimeout(timeoutSeconds, TimeUnit.SECONDS);
-            driver.manage().window().maximize();
-            
+            current = createDriver(browser, timeoutSeconds, TestConfig.getInstance().isHeadless());
+            setSharedDriver(current);
+            TraceRecorder.sessionStarted(current, browser);
             logger.info("WebDriver initialized successfully");
-            return driver;
+            return current;
             
         } catch (Exception e) {
             logger.error("Failed to initialize WebDriver: {}", e.getMessage(), e);
             throw new RuntimeException("WebDriver initialization failed", e);
+        } finally {
+            PhaseTimer.end(Phase.DRIVER_START);
+        }
+    }
+    
+    /**
+     * Create a new browser session that is not managed as the shared driver
+     * The caller owns the session and must quit it.
+     */
+    public static WebDriver createDriver(String browser, int timeoutSeconds, boolean headless) {
+        Path profile = null;
+        WebDriver created;
+        try {
+            if (ProfileTemplate.appliesTo(browser)) {
+                profile = ProfileTemplate.newSessionProfile(browser);
+            }
+            created = launch(browser, headless, profile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to prepare browser profile", e);
+        } catch (RuntimeException e) {
+            if (profile != null) {
+                ProfileTemplate.delete(profile);
+            }
+            throw e;
+        }
+        
+        created = decorate(created, timeoutSeconds);
+        if (profile != null) {
+            ProfileTemplate.register(created, profile);
+        }
+        configureSession(created);
+        return created;
+    }
+    
+    /**
+     * Apply timeouts and window size to a new local or remote session and wrap it in the framework's decorator
+     */
+    private static WebDriver decorate(WebDriver created, int timeoutSeconds) {
+        created.manage().timeouts().implicitlyWait(timeoutSeconds, TimeUnit.SECONDS);
+        created.manage().timeouts().pageLoadTimeout(timeoutSeconds, TimeUnit.SECONDS);
+        created.manage().timeouts().setScriptTimeout(timeoutSeconds, TimeUnit.SECONDS);
+        created.manage().window().maximize();
+        
+        // Sort every driver call into a phase of the running test
+        TestConfig config = TestConfig.getInstance();
+        if (config.isPhaseTimingEnabled() || config.isTraceEnabled()) {
+            created = new EventFiringDecorator<>(new PhaseTimingListener()).decorate(created);
+        }
+        APPLIED_TIMEOUTS.put(created, TIMEOUT_GENERATION.get());
+        return created;
+    }
+    
+    /**
+     * Start a browser, in the given profile directory if not null
+     */
+    static WebDriver launch(String browser, boolean headless, Path profile) {
+        switch (browser.toLowerCase()) {
+            case "chrome":
+                return createChromeDriver(headless, profile);
+            case "firefox":
+                return createFirefoxDriver(headless, profile);
+            case "edge":
+                return createEdgeDriver(headless, profile);
+            case "safari":
+                return createSafariDriver();
+            case "stub":
+                return new StubWebDriver();
+            default:
+                logger.warn("Unsupported browser: {}, falling back to Chrome", browser);
+                return createChromeDriver(headless, profile);
+        }
+    }
+    
+    /**
+     * Create a session for a concurrent user, such as a load-mode virtual user
+     * With test.browserContexts.enabled=true this is an isolated browser context in a shared browser process,
+     * falling back to a full session when the browser cannot create contexts. Close it with {@link #quitSession}.
+     * Drivers of tests ({@link #initializeDriver}) are always full sessions, whatever the setting.
+     */
+    public static WebDriver createSession(String browser, int timeoutSeconds, boolean headless) {
+        if (!TestConfig.getInstance().isBrowserContextsEnabled()) {
+            return createDriver(browser, timeoutSeconds, headless);
+        }
+        try {
+            WebDriver context = BrowserContexts.open(browser, timeoutSeconds, headless);
+            configureSession(context);
+            return context;
+        } catch (UnsupportedCommandException e) {
+            logger.warn("Browser contexts not available, starting a full session: {}", e.getMessage());
+            return createDriver(browser, timeoutSeconds, headless);
+        }
+    }
+    
+    /**
+     * Quit a session created with {@link #createDriver} or {@link #createSession}
+     */
+    public static void quitSession(WebDriver session) {
+        BrowserEvents.close(session);
+        NetworkControl.release(session);
+        try {
+            session.quit();
+        } finally {
+            ProfileTemplate.release(session);
+            TraceRecorder.sessionEnded(session);
+        }
+    }
+    
+    /**
+     * Apply the configured client profile and network rules to a new session
+     */
+    private static void configureSession(WebDriver session) {
+        BrowserEvents.open(session);
+        ClientProfile profile = TestConfig.getInstance().getEmulationProfile();
+        if (profile.isThrottled()) {
+            ClientEmulation.apply(session, profile);
+        }
+        NetworkRules rules = NetworkRules.fromConfig();
+        if (!rules.isEmpty() || NetworkRecording.isEnabled()) {
+            NetworkControl.apply(session, rules);
         }
     }
     
@@ -86,13 +242,24 @@ public class DriverManager {
         try {
             DesiredCapabilities capabilities = new DesiredCapabilities();
             capabilities.setBrowserName(browser);
+            boolean bidi = TestConfig.getInstance().isBidiEnabled();
+            if (bidi) {
+                capabilities.setCapability("webSocketUrl", true);
+            }
             
-            driver = new RemoteWebDriver(new URL(gridUrl), capabilities);
-            driver.manage().timeouts().implicitlyWait(DEFAULT_TIMEOUT, TimeUnit.SECONDS);
-            driver.manage().window().maximize();
+            WebDriver remote = new RemoteWebDriver(new URL(gridUrl), capabilities);
+            if (bidi) {
+                // The grid hands out a plain RemoteWebDriver; augmenting adds the BiDi connection
+                remote = new Augmenter().augment(remote);
+            }
+            // Same decoration and session configuration as a local session
+            remote = decorate(remote, DEFAULT_TIMEOUT);
+            configureSession(remote);
+            setSharedDriver(remote);
+            TraceRecorder.sessionStarted(remote, browser);
             
             logger.info("Remote WebDriver initialized successfully");
-            return driver;
+            return remote;
             
         } catch (Exception e) {
             logger.error("Failed to initialize remote WebDriver: {}", e.getMessage(), e);
@@ -100,28 +267,81 @@ public class DriverManager {
         }
     }
     
-    private static WebDriver createChromeDriver() {
+    private static WebDriver createChromeDriver(boolean headless, Path profile) {
         WebDriverManager.chromedriver().setup();
         ChromeOptions options = new ChromeOptions();
         options.addArguments("--no-sandbox");
         options.addArguments("--disable-dev-shm-usage");
         options.addArguments("--disable-gpu");
         options.addArguments("--disable-extensions");
+        if (headless) {
+            options.addArguments("--headless=new");
+        }
+        options.addArguments(profileArguments(profile));
+        if (TestConfig.getInstance().isNetworkLogEnabled()) {
+            options.setCapability("goog:loggingPrefs", performanceLogging());
+        }
+        if (TestConfig.getInstance().isBidiEnabled()) {
+            options.setCapability("webSocketUrl", true);
+        }
         return new ChromeDriver(options);
     }
     
-    private static WebDriver createFirefoxDriver() {
+    private static WebDriver createFirefoxDriver(boolean headless, Path profile) {
         WebDriverManager.firefoxdriver().setup();
         FirefoxOptions options = new FirefoxOptions();
+        if (headless) {
+            options.addArguments("-headless");
+        }
+        if (profile != null) {
+            options.addArguments("-profile", profile.toAbsolutePath().toString());
+        }
+        if (TestConfig.getInstance().isBidiEnabled()) {
+            options.setCapability("webSocketUrl", true);
+        }
         return new FirefoxDriver(options);
     }
     
-    private static WebDriver createEdgeDriver() {
+    private static WebDriver createEdgeDriver(boolean headless, Path profile) {
         WebDriverManager.edgedriver().setup();
         EdgeOptions options = new EdgeOptions();
+        if (headless) {
+            options.addArguments("--headless=new");
+        }
+        options.addArguments(profileArguments(profile));
+        if (TestConfig.getInstance().isNetworkLogEnabled()) {
+            options.setCapability("ms:loggingPrefs", performanceLogging());
+        }
+        if (TestConfig.getInstance().isBidiEnabled()) {
+            options.setCapability("webSocketUrl", true);
+        }
         return new EdgeDriver(options);
     }
     
+    /**
+     * Chromium arguments for the session's profile directory and the shared disk cache, if configured
+     */
+    private static List<String> profileArguments(Path profile) {
+        List<String> arguments = new ArrayList<>();
+        if (profile != null) {
+            arguments.add("--user-data-dir=" + profile.toAbsolutePath());
+        }
+        String sharedCache = TestConfig.getInstance().getProfileTemplateSharedCacheDir();
+        if (!sharedCache.isEmpty()) {
+            arguments.add("--disk-cache-dir=" + Paths.get(sharedCache).toAbsolutePath());
+        }
+        return arguments;
+    }
+    
+    /**
+     * Logging preferences making Chromium report DevTools network events through the performance log
+     */
+    private static LoggingPreferences performanceLogging() {
+        LoggingPreferences logging = new LoggingPreferences();
+        logging.enable(LogType.PERFORMANCE, Level.ALL);
+        return logging;
+    }
+    
     private static WebDriver createSafariDriver() {
         SafariOptions options = new SafariOptions();
         return new SafariDriver(options);
@@ -131,25 +351,131 @@ public class DriverManager {
      * Get current WebDriver instance
      */
     public static WebDriver getDriver() {
-        if (driver == null) {
+        WebDriver bound = THREAD_DRIVER.get();
+        if (bound != null) {
+            return bound;
+        }
+        WebDriver current = sharedDriver();
+        if (current == null) {
             logger.warn("WebDriver not initialized, creating new instance");
             return initializeDriver();
         }
-        return driver;
+        return withCurrentTimeouts(current);
+    }
+    
+    /**
+     * Apply timeouts changed by a live configuration reload to a managed session that still has the old ones
+     */
+    private static WebDriver withCurrentTimeouts(WebDriver session) {
+        long generation = TIMEOUT_GENERATION.get();
+        // Sessions set from outside keep their own timeouts until the configuration changes
+        if (APPLIED_TIMEOUTS.getOrDefault(session, 0L) == generation) {
+            return session;
+        }
+        TestConfig config = TestConfig.getInstance();
+        WebDriver.Timeouts timeouts = session.manage().timeouts();
+        timeouts.implicitlyWait(config.getImplicitWait(), TimeUnit.SECONDS);
+        timeouts.pageLoadTimeout(config.getPageLoadTimeout(), TimeUnit.SECONDS);
+        timeouts.setScriptTimeout(config.getScriptTimeout(), TimeUnit.SECONDS);
+        APPLIED_TIMEOUTS.put(session, generation);
+        logger.info("Applied changed timeouts to session: implicit wait {}s, page load {}s, script {}s",
+            config.getImplicitWait(), config.getPageLoadTimeout(), config.getScriptTimeout());
+        return session;
+    }
+    
+    /**
+     * Use an externally created WebDriver instance
+     */
+    public static void setDriver(WebDriver webDriver) {
+        setSharedDriver(webDriver);
+    }
+    
+    /**
+     * Give every worker thread its own shared driver instead of one driver for the whole run
+     * Set for parallel runs, where test classes on different threads must not drive the same browser.
+     */
+    public static void setDriverPerWorker(boolean perWorker) {
+        driverPerWorker = perWorker;
+    }
+    
+    /**
+     * Check if every worker thread has its own shared driver
+     */
+    public static boolean isDriverPerWorker() {
+        return driverPerWorker;
+    }
+    
+    /**
+     * Quit the shared drivers of all worker threads that are still open, e.g. at the end of a parallel run
+     */
+    public static void quitWorkerDrivers() {
+        for (WebDriver worker : new ArrayList<>(WORKER_DRIVERS)) {
+            WORKER_DRIVERS.remove(worker);
+            try {
+                quitSession(worker);
+                logger.info("Worker WebDriver quit at the end of the run");
+            } catch (RuntimeException e) {
+                logger.warn("Error quitting worker WebDriver: {}", e.getMessage());
+            }
+        }
+    }
+    
+    private static WebDriver sharedDriver() {
+        return driverPerWorker ? WORKER_DRIVER.get() : driver;
+    }
+    
+    private static void setSharedDriver(WebDriver webDriver) {
+        if (!driverPerWorker) {
+            driver = webDriver;
+            return;
+        }
+        WebDriver previous = WORKER_DRIVER.get();
+        if (previous != null) {
+            WORKER_DRIVERS.remove(previous);
+        }
+        if (webDriver == null) {
+            WORKER_DRIVER.remove();
+        } else {
+            WORKER_DRIVER.set(webDriver);
+            WORKER_DRIVERS.add(webDriver);
+        }
+    }
+    
+    /**
+     * Make page objects created on the current thread use a session of their own instead of the shared driver
+     */
+    public static void bindDriver(WebDriver webDriver) {
+        THREAD_DRIVER.set(webDriver);
+        TraceRecorder.sessionUsed(webDriver);
+    }
+    
+    /**
+     * Return the current thread to the shared driver
+     */
+    public static void unbindDriver() {
+        THREAD_DRIVER.remove();
+        TraceRecorder.sessionUsed(sharedDriver());
     }
     
     /**
      * Quit and cleanup WebDriver
      */
     public static void quitDriver() {
-        if (driver != null) {
+        WebDriver current = sharedDriver();
+        if (current != null) {
+            PhaseTimer.begin(Phase.DRIVER_QUIT);
             try {
-                driver.quit();
+                BrowserEvents.close(current);
+                NetworkControl.release(current);
+                current.quit();
                 logger.info("WebDriver quit successfully");
             } catch (Exception e) {
                 logger.error("Error quitting WebDriver: {}", e.getMessage(), e);
             } finally {
-                driver = null;
+                ProfileTemplate.release(current);
+                setSharedDriver(null);
+                PhaseTimer.end(Phase.DRIVER_QUIT);
+                TraceRecorder.sessionEnded(current);
             }
         }
     }
@@ -159,7 +485,12 @@ public class DriverManager {
      */
     public static void navigateTo(String url) {
         logger.info("Navigating to: {}", url);
-        getDriver().get(url);
+        WebDriver current = getDriver();
+        if (!BrowserEvents.navigate(current, url)) {
+            current.get(url);
+        }
+        PagePerformanceCollector.capture(current, "navigateTo");
+        NetworkLogCollector.drain();
     }
     
     /**
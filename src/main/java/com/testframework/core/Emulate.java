@@ -0,0 +1,19 @@
+package com.testframework.core;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Run a test (or every test of a class) under a named client profile such as "3g" or "low-end-mobile"
+ * The session's own profile is restored after the test.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface Emulate {
+    /** Profile name, see {@link com.testframework.config.TestConfig#getClientProfile(String)} */
+    String value();
+}
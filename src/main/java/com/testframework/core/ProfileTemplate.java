@@ -0,0 +1,208 @@
+package com.testframework.core;
+
+import com.testframework.config.TestConfig;
+import com.testframework.metrics.TraceRecorder;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pre-warmed browser profile that new sessions start from instead of an empty one
+ * The template is built once per browser by a warm-up session visiting the application's entry URLs
+ * (test.profileTemplate.warmUpUrls, default test.baseUrl), so its HTTP cache already holds the static assets.
+ * Every session gets a private copy of the template, made copy-on-write where the file system supports
+ * reflinks, and the copy is deleted when the session quits. Supported for Chrome, Edge and Firefox.
+ */
+final class ProfileTemplate {
+    private static final Logger logger = LoggerFactory.getLogger(ProfileTemplate.class);
+    private static final Set<String> LOCK_FILES = new HashSet<>(Arrays.asList(
+        "SingletonLock", "SingletonSocket", "SingletonCookie", "lockfile", "parent.lock", ".parentlock", "lock"));
+    private static final Set<String> BUILT = Collections.synchronizedSet(new HashSet<>());
+    private static final Map<WebDriver, Path> SESSION_PROFILES = Collections.synchronizedMap(new WeakHashMap<>());
+    private static volatile Boolean reflinks;
+
+    private ProfileTemplate() {
+    }
+
+    /**
+     * Check if sessions of a browser start from the template
+     */
+    static boolean appliesTo(String browser) {
+        if (!TestConfig.getInstance().isProfileTemplateEnabled()) {
+            return false;
+        }
+        switch (browser.toLowerCase(Locale.ROOT)) {
+            case "chrome":
+            case "edge":
+            case "firefox":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Copy the browser's template into a new profile directory for one session, building the template first
+     * if this run has no template yet
+     */
+    static Path newSessionProfile(String browser) throws IOException {
+        Path template = templateDir(browser);
+        synchronized (BUILT) {
+            if (!BUILT.contains(browser)) {
+                if (TestConfig.getInstance().isProfileTemplateRefresh() || !Files.isDirectory(template)) {
+                    warmUp(browser, template);
+                }
+                BUILT.add(browser);
+            }
+        }
+        Path session = Files.createTempDirectory("profile-" + browser + "-");
+        TraceRecorder.begin("copy profile template", "session", browser);
+        try {
+            copy(template, session);
+        } finally {
+            TraceRecorder.end();
+        }
+        return session;
+    }
+
+    /**
+     * Remember the profile directory a session runs in, so it can be deleted when the session quits
+     */
+    static void register(WebDriver session, Path profile) {
+        SESSION_PROFILES.put(session, profile);
+    }
+
+    /**
+     * Delete the profile directory of a session that has quit
+     */
+    static void release(WebDriver session) {
+        Path profile = SESSION_PROFILES.remove(session);
+        if (profile != null) {
+            delete(profile);
+        }
+    }
+
+    /**
+     * Delete a session profile directory
+     */
+    static void delete(Path profile) {
+        try {
+            Files.walkFileTree(profile, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                    Files.deleteIfExists(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                    Files.deleteIfExists(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Failed to delete session profile {}: {}", profile, e.getMessage());
+        }
+    }
+
+    private static Path templateDir(String browser) {
+        return Paths.get(TestConfig.getInstance().getProfileTemplateDir(), browser.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Build the template: a headless session in the template directory loads every warm-up URL
+     * Quitting the session flushes the cache to disk.
+     */
+    private static void warmUp(String browser, Path template) throws IOException {
+        TestConfig config = TestConfig.getInstance();
+        List<String> urls = config.getProfileTemplateWarmUpUrls();
+        logger.info("Building {} profile template in {} from {} warm-up URLs", browser, template, urls.size());
+        if (Files.isDirectory(template)) {
+            delete(template);
+        }
+        Files.createDirectories(template);
+        TraceRecorder.begin("warm up profile template", "session", browser);
+        WebDriver warmUp = DriverManager.launch(browser, true, template);
+        try {
+            warmUp.manage().timeouts().pageLoadTimeout(config.getPageLoadTimeout(), TimeUnit.SECONDS);
+            for (String url : urls) {
+                try {
+                    warmUp.get(url);
+                } catch (RuntimeException e) {
+                    logger.warn("Warm-up of {} failed: {}", url, e.getMessage());
+                }
+            }
+        } finally {
+            warmUp.quit();
+            TraceRecorder.end();
+        }
+    }
+
+    /**
+     * Copy a directory tree, skipping the browser's lock files
+     * Uses cp --reflink=auto where available, so copies share unchanged blocks with the template.
+     */
+    private static void copy(Path source, Path target) throws IOException {
+        if (!Boolean.FALSE.equals(reflinks) && copyWithReflinks(source, target)) {
+            return;
+        }
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                if (!LOCK_FILES.contains(file.getFileName().toString())) {
+                    Files.copy(file, target.resolve(source.relativize(file).toString()),
+                        StandardCopyOption.COPY_ATTRIBUTES, StandardCopyOption.REPLACE_EXISTING);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static boolean copyWithReflinks(Path source, Path target) {
+        try {
+            Process cp = new ProcessBuilder("cp", "-R", "--reflink=auto", source + "/.", target.toString())
+                .redirectErrorStream(true)
+                .start();
+            cp.getInputStream().readAllBytes();
+            if (cp.waitFor() != 0) {
+                reflinks = false;
+                return false;
+            }
+            reflinks = true;
+            for (String lock : LOCK_FILES) {
+                Files.deleteIfExists(target.resolve(lock));
+            }
+            return true;
+        } catch (IOException e) {
+            reflinks = false;
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.testframework.core;
+
+import com.testframework.config.TestConfig;
+import com.testframework.events.BrowserEvents;
+import com.testframework.metrics.Phase;
+import com.testframework.metrics.PhaseTimer;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * WebDriverWait that reports the time spent waiting as the wait phase
+ * On sessions with {@link BrowserEvents} the condition is re-checked as soon as the browser reports an event,
+ * and otherwise only every test.bidi.fallbackPollMillis; other sessions poll every 500 ms.
+ * Waits created without a timeout use test.explicitWait as configured when each wait starts, so a live
+ * configuration reload reaches page objects that already exist.
+ */
+class TimedWait extends WebDriverWait {
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(500);
+
+    private final BrowserEvents.EventSleeper sleeper;
+    private final boolean configuredTimeout;
+
+    TimedWait(WebDriver driver) {
+        this(driver, explicitWait(), BrowserEvents.get(driver), true);
+    }
+
+    TimedWait(WebDriver driver, Duration timeout) {
+        this(driver, timeout, BrowserEvents.get(driver), false);
+    }
+
+    private TimedWait(WebDriver driver, Duration timeout, BrowserEvents events, boolean configuredTimeout) {
+        this(driver, timeout, events != null ? events.newSleeper() : null, configuredTimeout);
+    }
+
+    private TimedWait(WebDriver driver, Duration timeout, BrowserEvents.EventSleeper sleeper,
+                      boolean configuredTimeout) {
+        super(driver, timeout,
+            sleeper != null ? Duration.ofMillis(TestConfig.getInstance().getBidiFallbackPollMillis()) : POLL_INTERVAL,
+            Clock.systemDefaultZone(), sleeper != null ? sleeper : Sleeper.SYSTEM_SLEEPER);
+        this.sleeper = sleeper;
+        this.configuredTimeout = configuredTimeout;
+    }
+
+    private static Duration explicitWait() {
+        return Duration.ofSeconds(TestConfig.getInstance().getExplicitWait());
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        PhaseTimer.begin(Phase.WAIT);
+        try {
+            if (configuredTimeout) {
+                withTimeout(explicitWait());
+            }
+            if (sleeper != null) {
+                sleeper.reset();
+            }
+            return super.until(isTrue);
+        } finally {
+            PhaseTimer.end(Phase.WAIT);
+        }
+    }
+}
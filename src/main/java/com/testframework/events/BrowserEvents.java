@@ -0,0 +1,260 @@
+package com.testframework.events;
+
+import com.testframework.config.TestConfig;
+import com.testframework.metrics.Phase;
+import com.testframework.metrics.PhaseTimer;
+import com.testframework.metrics.TraceRecorder;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.bidi.BiDi;
+import org.openqa.selenium.bidi.BrowsingContextInspector;
+import org.openqa.selenium.bidi.Event;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.Network;
+import org.openqa.selenium.bidi.Script;
+import org.openqa.selenium.bidi.browsingcontext.BrowsingContext;
+import org.openqa.selenium.bidi.browsingcontext.ReadinessState;
+import org.openqa.selenium.bidi.script.ChannelValue;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+/**
+ * Page events a browser session pushes over its WebDriver BiDi connection
+ * With test.bidi.enabled sessions are started with a BiDi WebSocket next to the classic HTTP session, and
+ * navigation, load, network response and DOM mutation events are counted as they arrive. Waits sleep until
+ * the next event instead of for a fixed poll interval ({@link #newSleeper()}), and navigations return when the
+ * browser reports the configured readiness (test.bidi.navigationWait). Sessions without BiDi keep classic
+ * polling and navigation; drivers implementing {@link HasPageEvents} report their events directly.
+ */
+public final class BrowserEvents {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserEvents.class);
+    private static final Map<WebDriver, BrowserEvents> SESSIONS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final String DOM_CHANNEL = "testframework-dom";
+
+    // Preload script: reports DOM mutations on the channel, at most once per task
+    private static final String MUTATION_SCRIPT = "(channel) => {\n"
+        + "  let queued = false;\n"
+        + "  new MutationObserver(() => {\n"
+        + "    if (!queued) { queued = true; setTimeout(() => { queued = false; channel('mutation'); }, 0); }\n"
+        + "  }).observe(document, {subtree: true, childList: true, attributes: true, characterData: true});\n"
+        + "}";
+
+    private final Object lock = new Object();
+    private final String source;
+    private final WebDriver bidiDriver;
+    private final AutoCloseable[] inspectors;
+    private long generation;
+    private String lastEvent;
+
+    private BrowserEvents(String source, WebDriver bidiDriver, AutoCloseable... inspectors) {
+        this.source = source;
+        this.bidiDriver = bidiDriver;
+        this.inspectors = inspectors;
+    }
+
+    /**
+     * Check if sessions are started with a BiDi connection and waits are event-driven (test.bidi.enabled)
+     */
+    public static boolean isEnabled() {
+        return TestConfig.getInstance().isBidiEnabled();
+    }
+
+    /**
+     * Subscribe to the page events of a new session
+     * Returns null, leaving the session on classic polling, when disabled or the session has no event source.
+     */
+    public static BrowserEvents open(WebDriver driver) {
+        if (!isEnabled() || driver == null) {
+            return null;
+        }
+        WebDriver raw = unwrap(driver);
+        BrowserEvents events;
+        try {
+            events = subscribe(raw);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to subscribe to BiDi events, waits keep polling: {}", e.getMessage());
+            return null;
+        }
+        if (events == null) {
+            logger.info("Browser session has no BiDi connection, waits keep polling");
+            return null;
+        }
+        SESSIONS.put(driver, events);
+        logger.info("Page events of session come from {}", events.source);
+        return events;
+    }
+
+    /**
+     * Get the page events of a session, or null if its waits poll
+     */
+    public static BrowserEvents get(WebDriver driver) {
+        return driver != null ? SESSIONS.get(driver) : null;
+    }
+
+    /**
+     * Unsubscribe from the page events of a session that is quitting
+     */
+    public static void close(WebDriver driver) {
+        BrowserEvents events = driver != null ? SESSIONS.remove(driver) : null;
+        if (events != null) {
+            for (AutoCloseable inspector : events.inspectors) {
+                try {
+                    inspector.close();
+                } catch (Exception e) {
+                    logger.debug("Failed to unsubscribe from {}: {}", events.source, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Navigate over BiDi, returning once the page reaches test.bidi.navigationWait
+     * Returns false if the session has no BiDi connection; the caller then navigates classically.
+     */
+    public static boolean navigate(WebDriver driver, String url) {
+        BrowserEvents events = get(driver);
+        if (events == null || events.bidiDriver == null) {
+            return false;
+        }
+        ReadinessState readiness = readiness(TestConfig.getInstance().getBidiNavigationWait());
+        PhaseTimer.begin(Phase.NAVIGATION);
+        TraceRecorder.begin("navigate", "bidi", url);
+        try {
+            new BrowsingContext(events.bidiDriver, events.bidiDriver.getWindowHandle()).navigate(url, readiness);
+            return true;
+        } finally {
+            TraceRecorder.end();
+            PhaseTimer.end(Phase.NAVIGATION);
+        }
+    }
+
+    /**
+     * Get number of events received so far; changes whenever the browser reports something
+     */
+    public long generation() {
+        synchronized (lock) {
+            return generation;
+        }
+    }
+
+    /**
+     * Get the name of the last event received, or null
+     */
+    public String getLastEvent() {
+        synchronized (lock) {
+            return lastEvent;
+        }
+    }
+
+    /**
+     * Wait until an event arrives after the given generation or the timeout passes; returns the generation then
+     */
+    public long awaitAfter(long seen, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (lock) {
+            long remaining;
+            while (generation == seen && (remaining = deadline - System.nanoTime()) > 0) {
+                lock.wait(Math.max(1, remaining / 1_000_000));
+            }
+            return generation;
+        }
+    }
+
+    /**
+     * Create a sleeper for one wait: each sleep ends at the first event since the previous sleep
+     */
+    public EventSleeper newSleeper() {
+        return new EventSleeper();
+    }
+
+    private void signal(String event) {
+        synchronized (lock) {
+            generation++;
+            lastEvent = event;
+            lock.notifyAll();
+        }
+    }
+
+    private static BrowserEvents subscribe(WebDriver raw) {
+        if (raw instanceof HasPageEvents) {
+            BrowserEvents events = new BrowserEvents("driver events", null);
+            ((HasPageEvents) raw).addPageEventListener(events::signal);
+            return events;
+        }
+        if (!(raw instanceof HasBiDi)) {
+            return null;
+        }
+        Optional<BiDi> bidi = ((HasBiDi) raw).maybeGetBiDi();
+        if (!bidi.isPresent()) {
+            return null;
+        }
+        BrowsingContextInspector contexts = new BrowsingContextInspector(raw);
+        Network network = new Network(raw);
+        BrowserEvents events = new BrowserEvents("BiDi", raw, contexts, network);
+        contexts.onNavigationStarted(info -> events.signal("navigationStarted"));
+        contexts.onFragmentNavigated(info -> events.signal("fragmentNavigated"));
+        contexts.onDomContentLoaded(info -> events.signal("domContentLoaded"));
+        contexts.onBrowsingContextLoaded(info -> events.signal("load"));
+        contexts.onUserPromptOpened(prompt -> events.signal("userPromptOpened"));
+        network.onResponseCompleted(response -> events.signal("responseCompleted"));
+        try {
+            new Script(raw).addPreloadScript(MUTATION_SCRIPT, Collections.singletonList(new ChannelValue(DOM_CHANNEL)));
+            bidi.get().addListener(new Event<>("script.message", params -> params),
+                message -> events.signal("mutation"));
+        } catch (RuntimeException e) {
+            logger.debug("Browser cannot report DOM mutations over BiDi: {}", e.getMessage());
+        }
+        return events;
+    }
+
+    private static ReadinessState readiness(String name) {
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "none":
+                return ReadinessState.NONE;
+            case "interactive":
+                return ReadinessState.INTERACTIVE;
+            case "complete":
+                return ReadinessState.COMPLETE;
+            default:
+                throw new IllegalArgumentException("Invalid test.bidi.navigationWait '" + name
+                    + "'; expected none, interactive or complete");
+        }
+    }
+
+    private static WebDriver unwrap(WebDriver driver) {
+        // Decorators wrap the session; browser context sessions are proxies that must not be unwrapped
+        while (driver instanceof WrapsDriver && !Proxy.isProxyClass(driver.getClass())) {
+            driver = ((WrapsDriver) driver).getWrappedDriver();
+        }
+        return driver;
+    }
+
+    /**
+     * Sleeper ending each sleep early when the browser reports an event, so a wait re-checks its condition
+     * right after the page changed instead of at the next poll
+     */
+    public final class EventSleeper implements Sleeper {
+        private long seen = generation();
+
+        /**
+         * Forget earlier events; called when a wait starts
+         */
+        public void reset() {
+            seen = generation();
+        }
+
+        @Override
+        public void sleep(Duration duration) throws InterruptedException {
+            seen = awaitAfter(seen, duration);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.testframework.events;
+
+import java.util.function.Consumer;
+
+/**
+ * Driver that pushes page events (navigationStarted, domContentLoaded, load, mutation) to listeners
+ * Implemented by drivers without a BiDi connection, such as the stub driver, so waits can be event-driven too.
+ */
+public interface HasPageEvents {
+    void addPageEventListener(Consumer<String> listener);
+}
@@ -0,0 +1,21 @@
+package com.testframework.listeners;
+
+import com.testframework.console.ConsoleCollector;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+/**
+ * TestNG listener that fails tests whose pages broke the console rules (test.console.failOn)
+ * Runs after the test method returns and before the result is reported, so the failure counts
+ * in every report and the test's console entries are kept as an artifact.
+ */
+public class ConsoleErrorListener implements IInvokedMethodListener {
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            ConsoleCollector.check(testResult);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.testframework.listeners;
+
+import com.testframework.utils.DataSharding;
+import com.testframework.utils.DurationHistory;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+/**
+ * TestNG listener that records test durations into the duration history
+ * Data-driven invocations are recorded per row so that shards can be balanced by cost
+ */
+public class DurationRecordingListener implements ITestListener {
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        DurationHistory.getInstance().save();
+    }
+
+    private void record(ITestResult result) {
+        String methodKey = DataSharding.testKey(result.getMethod().getConstructorOrMethod().getMethod());
+        String key = DataSharding.testKey(methodKey, result.getParameters());
+        DurationHistory.getInstance().record(key, result.getEndMillis() - result.getStartMillis());
+    }
+}
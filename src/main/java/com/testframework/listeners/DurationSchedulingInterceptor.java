@@ -0,0 +1,137 @@
+package com.testframework.listeners;
+
+import com.testframework.config.TestConfig;
+import com.testframework.utils.DataSharding;
+import com.testframework.utils.DurationHistory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.xml.XmlSuite.ParallelMode;
+import org.testng.xml.XmlTest;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * TestNG method interceptor that hands the longest work to the workers of a parallel run first
+ * Costs come from the duration history (test.durationHistoryFile), recorded by
+ * {@link DurationRecordingListener}; methods without history cost the average. Methods of one class share its
+ * driver and run on one worker, so classes (instances with parallel instances) are scheduled as a unit, by their
+ * total cost, and keep their declared method order; only with parallel methods are methods ordered one by one.
+ * Free workers take the next unit, so the longest units start first and short ones fill the gaps at the end.
+ * Runs on one thread, or with test.scheduling=declared, keep the declared order.
+ */
+public class DurationSchedulingInterceptor implements IMethodInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(DurationSchedulingInterceptor.class);
+
+    private final DurationHistory history;
+
+    public DurationSchedulingInterceptor() {
+        this(null);
+    }
+
+    /**
+     * Schedule on the given history instead of the run's (test.durationHistoryFile)
+     */
+    public DurationSchedulingInterceptor(DurationHistory history) {
+        this.history = history;
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        XmlTest test = context.getCurrentXmlTest();
+        ParallelMode mode = test.getParallel();
+        int workers = test.getThreadCount();
+        if (!"duration".equals(TestConfig.getInstance().getScheduling().trim().toLowerCase(Locale.ROOT))
+            || mode == ParallelMode.NONE || mode == ParallelMode.TESTS || workers < 2) {
+            return methods;
+        }
+        List<Unit> units = units(methods, mode);
+        DurationHistory history = this.history != null ? this.history : DurationHistory.getInstance();
+        if (units.size() < 2 || history.size() == 0) {
+            return methods;
+        }
+        double defaultCost = history.getAverageDuration(1.0);
+
+        for (Unit unit : units) {
+            for (IMethodInstance method : unit.methods) {
+                Method javaMethod = method.getMethod().getConstructorOrMethod().getMethod();
+                Double recorded = javaMethod != null
+                    ? history.getMethodDuration(DataSharding.testKey(javaMethod)) : null;
+                unit.cost += recorded != null ? recorded : defaultCost;
+            }
+        }
+        double declared = makespan(units, workers);
+        // Stable sort: units of equal cost keep their declared order
+        units.sort(Comparator.comparingDouble((Unit unit) -> -unit.cost));
+        double scheduled = makespan(units, workers);
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods.size());
+        for (Unit unit : units) {
+            ordered.addAll(unit.methods);
+        }
+        logger.info("Test {}: {} scheduling units longest first on {} workers, expected wall time {} ms"
+            + " instead of {} ms in declared order", test.getName(), units.size(), workers,
+            Math.round(scheduled), Math.round(declared));
+        return ordered;
+    }
+
+    /**
+     * Group the methods into units that must run on one worker, in order of first appearance
+     */
+    private static List<Unit> units(List<IMethodInstance> methods, ParallelMode mode) {
+        List<Unit> units = new ArrayList<>();
+        Map<Object, Unit> byOwner = mode == ParallelMode.INSTANCES ? new IdentityHashMap<>() : new LinkedHashMap<>();
+        for (IMethodInstance method : methods) {
+            if (mode == ParallelMode.METHODS) {
+                Unit unit = new Unit();
+                unit.methods.add(method);
+                units.add(unit);
+                continue;
+            }
+            Object owner = mode == ParallelMode.INSTANCES ? method.getInstance() : method.getMethod().getRealClass();
+            Unit unit = byOwner.get(owner);
+            if (unit == null) {
+                unit = new Unit();
+                byOwner.put(owner, unit);
+                units.add(unit);
+            }
+            unit.methods.add(method);
+        }
+        return units;
+    }
+
+    /**
+     * Expected wall time when every free worker takes the next unit in order
+     */
+    private static double makespan(List<Unit> units, int workers) {
+        double[] load = new double[workers];
+        for (Unit unit : units) {
+            int target = 0;
+            for (int w = 1; w < workers; w++) {
+                if (load[w] < load[target]) {
+                    target = w;
+                }
+            }
+            load[target] += unit.cost;
+        }
+        double makespan = 0;
+        for (double value : load) {
+            makespan = Math.max(makespan, value);
+        }
+        return makespan;
+    }
+
+    private static final class Unit {
+        private final List<IMethodInstance> methods = new ArrayList<>();
+        private double cost;
+    }
+}
@@ -0,0 +1,56 @@
+package com.testframework.listeners;
+
+import com.testframework.config.TestConfig;
+import com.testframework.stub.FixtureServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * TestNG listener that runs the fixture server for the duration of a suite
+ * Enabled with test.fixtureServer.enabled=true; while it runs, test.baseUrl points at the server.
+ */
+public class FixtureServerListener implements ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(FixtureServerListener.class);
+    private static final String BASE_URL_KEY = "test.baseUrl";
+
+    private static volatile FixtureServer server;
+    private boolean owner;
+    private String previousBaseUrl;
+
+    /**
+     * Get the running fixture server, or null if none is running
+     */
+    public static FixtureServer getServer() {
+        return server;
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        TestConfig config = TestConfig.getInstance();
+        if (!config.isFixtureServerEnabled() || server != null) {
+            return;
+        }
+        FixtureServer started = FixtureServer.fromConfig();
+        started.start(config.getFixtureServerPort());
+        server = started;
+        owner = true;
+
+        // The override ranks above system properties and environment variables, so the run stays hermetic
+        previousBaseUrl = config.setOverride(BASE_URL_KEY, started.getBaseUrl());
+        logger.info("Suite {} using fixture server at {}", suite.getName(), config.getBaseUrl());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (!owner) {
+            return;
+        }
+        server.stop();
+        server = null;
+        owner = false;
+        TestConfig.getInstance().setOverride(BASE_URL_KEY, previousBaseUrl);
+        previousBaseUrl = null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.testframework.listeners;
+
+import com.testframework.network.NetworkRecording;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * TestNG listener that records or replays each test method's network traffic
+ * Archives are named after the test class, method and parameters. A strict replay that hit requests
+ * missing from the archive fails the test with the list of those requests.
+ */
+public class NetworkArchiveListener implements IInvokedMethodListener {
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            NetworkRecording.begin(testId(testResult));
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        List<String> misses = NetworkRecording.finish();
+        if (misses.isEmpty() || testResult.getStatus() == ITestResult.SKIP) {
+            return;
+        }
+        StringBuilder message = new StringBuilder("Requests not found in the network archive of ")
+            .append(testId(testResult)).append(":");
+        for (String miss : misses) {
+            message.append("\n  ").append(miss);
+        }
+        AssertionError error = new AssertionError(message.toString());
+        if (testResult.getThrowable() != null) {
+            error.addSuppressed(testResult.getThrowable());
+        }
+        testResult.setStatus(ITestResult.FAILURE);
+        testResult.setThrowable(error);
+    }
+
+    private static String testId(ITestResult result) {
+        String name = result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        Object[] parameters = result.getParameters();
+        return parameters.length > 0 ? name + Arrays.toString(parameters) : name;
+    }
+}
@@ -0,0 +1,52 @@
+package com.testframework.listeners;
+
+import com.testframework.config.TestConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * TestNG listener that lets a suite declare its own network rules
+ * Suite parameters named test.network.* (for example test.network.block) override the configured
+ * values while the suite runs, so each suite XML can carry its own blocklist and route stubs.
+ * Values given as system properties on the command line or as environment variables still win.
+ */
+public class NetworkRulesListener implements ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkRulesListener.class);
+    private static final String PREFIX = "test.network.";
+
+    // Keys this suite overrides, with the override each one replaced
+    private final Map<String, String> previous = new LinkedHashMap<>();
+
+    @Override
+    public void onStart(ISuite suite) {
+        TestConfig config = TestConfig.getInstance();
+        for (Map.Entry<String, String> parameter : suite.getXmlSuite().getParameters().entrySet()) {
+            String key = parameter.getKey();
+            if (key.startsWith(PREFIX) && !isGivenOnCommandLine(config, key)) {
+                previous.put(key, config.setOverride(key, parameter.getValue()));
+            }
+        }
+        if (!previous.isEmpty()) {
+            logger.info("Suite {} network rules: {}", suite.getName(), previous.keySet());
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        TestConfig config = TestConfig.getInstance();
+        for (Map.Entry<String, String> entry : previous.entrySet()) {
+            config.setOverride(entry.getKey(), entry.getValue());
+        }
+        previous.clear();
+    }
+
+    private static boolean isGivenOnCommandLine(TestConfig config, String key) {
+        String source = config.getSnapshot().getSource(key);
+        return source != null && (source.equals("system property") || source.startsWith("environment variable"));
+    }
+}
@@ -0,0 +1,165 @@
+package com.testframework.listeners;
+
+import com.testframework.config.TestConfig;
+import com.testframework.core.BaseTest;
+import com.testframework.core.DriverManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlSuite.ParallelMode;
+import org.testng.xml.XmlTest;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * TestNG listener that applies the configured parallelism to the suite before it runs
+ * test.parallel (none, methods, classes, tests or instances; empty keeps the suite's mode), test.parallelThreads
+ * and test.dataProviderThreads (0 keeps the suite's count) replace the suite's values in testng.xml; a
+ * {@code <test>} with a parallel mode or thread count of its own keeps it. Combinations that
+ * would let two threads drive the same browser are refused before any test starts: methods of one
+ * {@link BaseTest} class share its driver, so they cannot run in parallel, and neither can the rows of a
+ * parallel data provider feeding one. When any test runs on more than one thread, or the suite runs its tests at the
+ * same time, every worker thread gets its own driver.
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener, ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelSuiteListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        TestConfig config = TestConfig.getInstance();
+        String mode = config.getParallelMode().trim().toLowerCase(Locale.ROOT);
+        int threads = config.getParallelThreads();
+        int dataProviderThreads = config.getDataProviderThreads();
+        if (threads < 1) {
+            throw new IllegalStateException("Invalid test.parallelThreads " + threads + "; expected 1 or more");
+        }
+        if (dataProviderThreads < 0) {
+            throw new IllegalStateException("Invalid test.dataProviderThreads " + dataProviderThreads
+                + "; expected 1 or more, or 0 to keep the suite's count");
+        }
+        boolean perWorker = false;
+        for (XmlSuite suite : suites) {
+            if (!mode.isEmpty()) {
+                suite.setParallel(parallelMode(mode));
+            }
+            suite.setThreadCount(threads);
+            if (dataProviderThreads > 0) {
+                suite.setDataProviderThreadCount(dataProviderThreads);
+            }
+            for (XmlTest test : suite.getTests()) {
+                // A test falls back to the suite's values only for what it does not set itself
+                if (test.getParallel() != suite.getParallel() || test.getThreadCount() != suite.getThreadCount()) {
+                    logger.info("Test {} keeps its own parallel {} with {} threads", test.getName(),
+                        test.getParallel(), test.getThreadCount());
+                }
+                check(suite, test);
+                perWorker |= test.getParallel() != ParallelMode.NONE && test.getThreadCount() > 1;
+            }
+            perWorker |= suite.getParallel() == ParallelMode.TESTS && suite.getThreadCount() > 1
+                && suite.getTests().size() > 1;
+            logger.info("Suite {}: parallel {} with {} threads, {} data provider threads", suite.getName(),
+                suite.getParallel(), suite.getThreadCount(), suite.getDataProviderThreadCount());
+        }
+        DriverManager.setDriverPerWorker(perWorker);
+        if (perWorker) {
+            logger.info("Every worker thread gets its own WebDriver");
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        // A class quits its driver on the thread that ran it; drivers of workers that never did are left
+        if (DriverManager.isDriverPerWorker()) {
+            DriverManager.quitWorkerDrivers();
+        }
+    }
+
+    private static ParallelMode parallelMode(String mode) {
+        switch (mode) {
+            case "none":
+                return ParallelMode.NONE;
+            case "methods":
+                return ParallelMode.METHODS;
+            case "classes":
+                return ParallelMode.CLASSES;
+            case "tests":
+                return ParallelMode.TESTS;
+            case "instances":
+                return ParallelMode.INSTANCES;
+            default:
+                throw new IllegalStateException("Invalid test.parallel '" + mode
+                    + "'; expected none, methods, classes, tests or instances");
+        }
+    }
+
+    /**
+     * Refuse a test whose parallelism would share a BaseTest driver between threads
+     */
+    private static void check(XmlSuite suite, XmlTest test) {
+        boolean parallelMethods = test.getParallel() == ParallelMode.METHODS && test.getThreadCount() > 1;
+        boolean parallelRows = suite.getDataProviderThreadCount() > 1;
+        if (!parallelMethods && !parallelRows) {
+            return;
+        }
+        List<String> sharing = new ArrayList<>();
+        List<String> parallelProviders = new ArrayList<>();
+        for (XmlClass xmlClass : test.getXmlClasses()) {
+            Class<?> testClass = xmlClass.getSupportClass();
+            if (testClass == null || !BaseTest.class.isAssignableFrom(testClass)) {
+                continue;
+            }
+            if (parallelMethods) {
+                sharing.add(testClass.getSimpleName());
+            }
+            if (parallelRows) {
+                parallelProviders.addAll(parallelDataProviders(testClass));
+            }
+        }
+        if (!sharing.isEmpty()) {
+            throw new IllegalStateException("Test '" + test.getName() + "' runs methods in parallel on "
+                + test.getThreadCount() + " threads, but the methods of " + String.join(", ", sharing)
+                + " share one WebDriver. Run with test.parallel=classes (or tests), or test.parallelThreads=1.");
+        }
+        if (!parallelProviders.isEmpty()) {
+            throw new IllegalStateException("Test '" + test.getName() + "' runs data provider rows on "
+                + suite.getDataProviderThreadCount() + " threads, but the rows of "
+                + String.join(", ", parallelProviders)
+                + " share one WebDriver. Remove parallel = true from the data provider, or run with"
+                + " test.dataProviderThreads=1.");
+        }
+    }
+
+    /**
+     * Get the test methods of a class fed by a data provider declared with parallel = true
+     */
+    private static List<String> parallelDataProviders(Class<?> testClass) {
+        List<String> methods = new ArrayList<>();
+        for (Method method : testClass.getMethods()) {
+            Test test = method.getAnnotation(Test.class);
+            if (test == null || test.dataProvider().isEmpty()) {
+                continue;
+            }
+            Class<?> providerClass = test.dataProviderClass() != Object.class ? test.dataProviderClass() : testClass;
+            for (Method provider : providerClass.getMethods()) {
+                DataProvider annotation = provider.getAnnotation(DataProvider.class);
+                if (annotation == null) {
+                    continue;
+                }
+                String name = annotation.name().isEmpty() ? provider.getName() : annotation.name();
+                if (name.equals(test.dataProvider()) && annotation.parallel()) {
+                    methods.add(testClass.getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+        return methods;
+    }
+}
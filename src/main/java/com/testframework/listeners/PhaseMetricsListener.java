@@ -0,0 +1,37 @@
+package com.testframework.listeners;
+
+import com.testframework.config.TestConfig;
+import com.testframework.metrics.PhaseMetricsExporter;
+import com.testframework.metrics.PhaseTimer;
+import com.testframework.metrics.TestTiming;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IReporter;
+import org.testng.ISuite;
+import org.testng.xml.XmlSuite;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * TestNG reporter that exports the per-test phase timings of the run
+ * Files are written to the report directory once all suites have finished.
+ */
+public class PhaseMetricsListener implements IReporter {
+    private static final Logger logger = LoggerFactory.getLogger(PhaseMetricsListener.class);
+
+    @Override
+    public void generateReport(List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
+        List<TestTiming> timings = PhaseTimer.getCompleted();
+        List<TestTiming> classTeardowns = PhaseTimer.getClassTeardowns();
+        if (timings.isEmpty() && classTeardowns.isEmpty()) {
+            return;
+        }
+        try {
+            PhaseMetricsExporter.export(timings, classTeardowns, Paths.get(TestConfig.getInstance().getReportDir()));
+        } catch (IOException e) {
+            logger.error("Failed to export phase timings: {}", e.getMessage(), e);
+        }
+    }
+}
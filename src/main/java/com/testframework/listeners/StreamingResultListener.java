@@ -0,0 +1,286 @@
+package com.testframework.listeners;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.testframework.config.TestConfig;
+import com.testframework.console.ConsoleCollector;
+import com.testframework.console.ConsoleSummary;
+import com.testframework.core.ClientEmulation;
+import com.testframework.metrics.PageMetric;
+import com.testframework.metrics.PagePerformance;
+import com.testframework.metrics.PagePerformanceCollector;
+import com.testframework.metrics.Phase;
+import com.testframework.metrics.TestTiming;
+import com.testframework.network.NetworkLogCollector;
+import com.testframework.network.NetworkSummary;
+import com.testframework.reporting.ResultStream;
+import com.testframework.reporting.StreamReportGenerator;
+import com.testframework.reporting.TestArtifacts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IReporter;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TestNG listener that appends one NDJSON record per test result as soon as the test ends
+ * Records carry timings, parameters, artifact references and failure details. Once all suites
+ * have finished, HTML and JUnit XML views are generated from the stream.
+ *
+ * TestNG reports a result before the test's @AfterMethod runs, so the record is held back until
+ * the after-method has finished and phase timings and failure screenshots can be included.
+ */
+public class StreamingResultListener implements ISuiteListener, ITestListener, IInvokedMethodListener, IReporter {
+    private static final Logger logger = LoggerFactory.getLogger(StreamingResultListener.class);
+
+    private final Map<Thread, ITestResult> pending = new ConcurrentHashMap<>();
+    private ResultStream stream;
+    private long runStart;
+
+    @Override
+    public synchronized void onStart(ISuite suite) {
+        // The run starts with its first suite, not with its first result
+        if (runStart == 0) {
+            runStart = System.currentTimeMillis();
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        hold(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        hold(result);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        hold(result);
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        hold(result);
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isConfigurationMethod() && method.getTestMethod().isAfterMethodConfiguration()) {
+            flush();
+        }
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        flushAll();
+    }
+
+    private void hold(ITestResult result) {
+        flush();
+        pending.put(Thread.currentThread(), result);
+    }
+
+    private void flush() {
+        ITestResult result = pending.remove(Thread.currentThread());
+        if (result != null) {
+            append(result, statusOf(result));
+        }
+    }
+
+    private void flushAll() {
+        for (Thread thread : pending.keySet()) {
+            ITestResult result = pending.remove(thread);
+            if (result != null) {
+                append(result, statusOf(result));
+            }
+        }
+    }
+
+    private static String statusOf(ITestResult result) {
+        switch (result.getStatus()) {
+            case ITestResult.SUCCESS:
+            case ITestResult.SUCCESS_PERCENTAGE_FAILURE:
+                return "passed";
+            case ITestResult.FAILURE:
+                return "failed";
+            default:
+                return "skipped";
+        }
+    }
+
+    @Override
+    public void generateReport(List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
+        flushAll();
+        ResultStream current;
+        long start;
+        synchronized (this) {
+            current = stream;
+            stream = null;
+            start = runStart;
+            runStart = 0;
+        }
+        if (current == null) {
+            return;
+        }
+        ObjectNode end = ResultStream.newRecord("run-end");
+        end.put("results", current.getCount() - 1);
+        end.put("durationMs", System.currentTimeMillis() - start);
+        current.append(end);
+        try {
+            current.close();
+            new StreamReportGenerator(current.getFile()).generate(current.getFile().toAbsolutePath().getParent());
+        } catch (IOException e) {
+            logger.error("Failed to generate reports from {}: {}", current.getFile(), e.getMessage(), e);
+        }
+    }
+
+    private void append(ITestResult result, String status) {
+        ResultStream target = open(result);
+        if (target == null) {
+            return;
+        }
+
+        ObjectNode record = ResultStream.newRecord("test");
+        record.put("suite", result.getTestContext().getSuite().getName());
+        record.put("test", result.getTestContext().getName());
+        record.put("className", result.getTestClass().getName());
+        record.put("method", result.getMethod().getMethodName());
+        record.put("testId", testId(result));
+        record.put("status", status);
+        record.put("thread", Thread.currentThread().getName());
+        if (result.getMethod().getDescription() != null) {
+            record.put("description", result.getMethod().getDescription());
+        }
+        record.put("startMillis", result.getStartMillis());
+        record.put("endMillis", result.getEndMillis());
+        record.put("durationMs", result.getEndMillis() - result.getStartMillis());
+
+        ArrayNode parameters = record.putArray("parameters");
+        for (Object parameter : result.getParameters()) {
+            parameters.add(String.valueOf(parameter));
+        }
+
+        Object clientProfile = result.getAttribute(ClientEmulation.ATTRIBUTE);
+        if (clientProfile != null) {
+            record.put("clientProfile", clientProfile.toString());
+        }
+
+        Object timing = result.getAttribute(TestTiming.ATTRIBUTE);
+        if (timing instanceof TestTiming) {
+            ObjectNode phases = record.putObject("phases");
+            for (Phase phase : Phase.values()) {
+                phases.put(phase.getLabel(), Math.round(((TestTiming) timing).getMillis(phase) * 1000) / 1000.0);
+            }
+        }
+
+        List<PagePerformance> captures = PagePerformanceCollector.get(result);
+        if (!captures.isEmpty()) {
+            ArrayNode pages = record.putArray("pages");
+            for (PagePerformance capture : captures) {
+                ObjectNode page = pages.addObject();
+                page.put("page", capture.getPage());
+                page.put("url", capture.getUrl());
+                for (Map.Entry<PageMetric, Double> metric : capture.getValues().entrySet()) {
+                    page.put(metric.getKey().getLabel(), metric.getValue());
+                }
+            }
+        }
+
+        NetworkSummary network = NetworkLogCollector.get(result);
+        if (network != null) {
+            ObjectNode summary = record.putObject("network");
+            summary.put("requests", network.getRequests());
+            summary.put("failed", network.getFailed());
+            summary.put("bytes", network.getBytes());
+            summary.put("blockingRequests", network.getBlocking());
+            summary.put("blockingMs", Math.round(network.getBlockingMillis() * 1000) / 1000.0);
+            ArrayNode slowest = summary.putArray("slowest");
+            for (NetworkSummary.Request request : network.getSlowest()) {
+                ObjectNode entry = slowest.addObject();
+                entry.put("method", request.getMethod());
+                entry.put("url", request.getUrl());
+                entry.put("status", request.getStatus());
+                entry.put("durationMs", Math.round(request.getMillis() * 1000) / 1000.0);
+                entry.put("blocking", request.isBlocking());
+            }
+        }
+
+        ConsoleSummary console = ConsoleCollector.get(result);
+        if (console != null && console.getEntries() > 0) {
+            ObjectNode summary = record.putObject("console");
+            summary.put("entries", console.getEntries());
+            summary.put("errors", console.getErrors());
+            summary.put("exceptions", console.getExceptions());
+            summary.put("violations", console.getViolations());
+            summary.put("dropped", console.getDropped());
+        }
+
+        ArrayNode artifacts = record.putArray("artifacts");
+        for (String artifact : TestArtifacts.get(result)) {
+            artifacts.add(artifact);
+        }
+
+        Throwable throwable = result.getThrowable();
+        if (throwable != null) {
+            ObjectNode failure = record.putObject("failure");
+            failure.put("type", throwable.getClass().getName());
+            failure.put("message", String.valueOf(throwable.getMessage()));
+            StringWriter trace = new StringWriter();
+            throwable.printStackTrace(new PrintWriter(trace));
+            failure.put("stackTrace", trace.toString());
+        }
+        target.append(record);
+    }
+
+    private synchronized ResultStream open(ITestResult result) {
+        if (stream != null) {
+            return stream;
+        }
+        Path file = Paths.get(TestConfig.getInstance().getResultStreamFile());
+        try {
+            stream = new ResultStream(file);
+        } catch (IOException e) {
+            logger.error("Failed to open result stream {}: {}", file, e.getMessage(), e);
+            return null;
+        }
+        if (runStart == 0) {
+            runStart = System.currentTimeMillis();
+        }
+        ObjectNode start = ResultStream.newRecord("run-start");
+        start.put("timestamp", runStart);
+        start.put("name", result.getTestContext().getSuite().getName());
+        start.put("environment", TestConfig.getInstance().getEnvironment());
+        start.put("browser", TestConfig.getInstance().getBrowser());
+        stream.append(start);
+        return stream;
+    }
+
+    private static String testId(ITestResult result) {
+        String name = result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        if (result.getParameters().length == 0) {
+            return name;
+        }
+        StringBuilder id = new StringBuilder(name).append('[');
+        for (int i = 0; i < result.getParameters().length; i++) {
+            id.append(i > 0 ? ", " : "").append(result.getParameters()[i]);
+        }
+        return id.append(']').toString();
+    }
+}
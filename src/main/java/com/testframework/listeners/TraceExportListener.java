@@ -0,0 +1,32 @@
+package com.testframework.listeners;
+
+import com.testframework.config.TestConfig;
+import com.testframework.metrics.TraceRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IReporter;
+import org.testng.ISuite;
+import org.testng.xml.XmlSuite;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * TestNG reporter that writes the run's timeline trace once all suites have finished
+ */
+public class TraceExportListener implements IReporter {
+    private static final Logger logger = LoggerFactory.getLogger(TraceExportListener.class);
+
+    @Override
+    public void generateReport(List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
+        if (!TraceRecorder.hasEvents()) {
+            return;
+        }
+        try {
+            TraceRecorder.write(Paths.get(TestConfig.getInstance().getTraceFile()));
+        } catch (IOException e) {
+            logger.error("Failed to write trace: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.testframework.load;
+
+/**
+ * A user flow run repeatedly by every virtual user of a load run
+ * Journeys drive ordinary page objects; wrap each page-object call in
+ * {@link VirtualUser#step(String, Runnable)} to have it reported separately.
+ */
+@FunctionalInterface
+public interface Journey {
+    void run(VirtualUser user) throws Exception;
+}
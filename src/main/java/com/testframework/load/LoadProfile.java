@@ -0,0 +1,122 @@
+package com.testframework.load;
+
+import com.testframework.config.TestConfig;
+
+import java.time.Duration;
+
+/**
+ * Shape of a load run: how many users, how fast they start and how long they keep going
+ * A run ends after the given number of iterations per user, or after the duration when
+ * iterations is 0. Instances are immutable; use the with-methods to derive variants.
+ */
+public final class LoadProfile {
+    private final int users;
+    private final Duration rampUp;
+    private final Duration duration;
+    private final int iterations;
+    private final Duration thinkTime;
+    private final String browser;
+
+    private LoadProfile(int users, Duration rampUp, Duration duration, int iterations, Duration thinkTime,
+                        String browser) {
+        if (users < 1) {
+            throw new IllegalArgumentException("Load run needs at least one user: " + users);
+        }
+        if (iterations < 0 || (iterations == 0 && duration.isZero())) {
+            throw new IllegalArgumentException("Load run needs an iteration count or a duration");
+        }
+        this.users = users;
+        this.rampUp = rampUp;
+        this.duration = duration;
+        this.iterations = iterations;
+        this.thinkTime = thinkTime;
+        this.browser = browser;
+    }
+
+    /**
+     * Create a profile from test.load.* settings
+     */
+    public static LoadProfile fromConfig() {
+        TestConfig config = TestConfig.getInstance();
+        return new LoadProfile(
+            config.getIntProperty("test.load.users", 5),
+            Duration.ofMillis(config.getLongProperty("test.load.rampUpMillis", 10000)),
+            Duration.ofMillis(config.getLongProperty("test.load.durationMillis", 60000)),
+            config.getIntProperty("test.load.iterations", 0),
+            Duration.ofMillis(config.getLongProperty("test.load.thinkTimeMillis", 0)),
+            config.getProperty("test.load.browser", config.getBrowser()));
+    }
+
+    /**
+     * Get number of concurrent users
+     */
+    public int getUsers() {
+        return users;
+    }
+
+    /**
+     * Get time over which user starts are spread
+     */
+    public Duration getRampUp() {
+        return rampUp;
+    }
+
+    /**
+     * Get how long users keep running once all have started (ignored when iterations is set)
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Get journeys run by each user, or 0 to run for the duration
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Get pause between a user's journeys
+     */
+    public Duration getThinkTime() {
+        return thinkTime;
+    }
+
+    /**
+     * Get browser the users' sessions run in (always headless)
+     */
+    public String getBrowser() {
+        return browser;
+    }
+
+    public LoadProfile withUsers(int users) {
+        return new LoadProfile(users, rampUp, duration, iterations, thinkTime, browser);
+    }
+
+    public LoadProfile withRampUp(Duration rampUp) {
+        return new LoadProfile(users, rampUp, duration, iterations, thinkTime, browser);
+    }
+
+    public LoadProfile withDuration(Duration duration) {
+        return new LoadProfile(users, rampUp, duration, 0, thinkTime, browser);
+    }
+
+    public LoadProfile withIterations(int iterations) {
+        return new LoadProfile(users, rampUp, duration, iterations, thinkTime, browser);
+    }
+
+    public LoadProfile withThinkTime(Duration thinkTime) {
+        return new LoadProfile(users, rampUp, duration, iterations, thinkTime, browser);
+    }
+
+    public LoadProfile withBrowser(String browser) {
+        return new LoadProfile(users, rampUp, duration, iterations, thinkTime, browser);
+    }
+
+    @Override
+    public String toString() {
+        return users + " users, ramp-up " + rampUp.toMillis() + "ms, "
+            + (iterations > 0 ? iterations + " iterations each" : "duration " + duration.toMillis() + "ms")
+            + ", think time " + thinkTime.toMillis() + "ms, " + browser;
+    }
+}
@@ -0,0 +1,81 @@
+package com.testframework.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects step latencies from all users of a load run, and the time steps waited for a shared browser process
+ */
+final class LoadRecorder {
+    private final Map<String, Samples> steps = new ConcurrentHashMap<>();
+    private final Map<String, Integer> order = new LinkedHashMap<>();
+
+    void record(String step, long nanos, boolean ok) {
+        record(step, nanos, 0, ok);
+    }
+
+    void record(String step, long nanos, long lockWaitNanos, boolean ok) {
+        Samples samples = steps.get(step);
+        if (samples == null) {
+            synchronized (order) {
+                order.putIfAbsent(step, order.size());
+                samples = steps.computeIfAbsent(step, name -> new Samples());
+            }
+        }
+        samples.add(nanos, lockWaitNanos, ok);
+    }
+
+    /**
+     * Get samples per step in the order steps were first seen
+     */
+    Map<String, Samples> snapshot() {
+        Map<String, Samples> snapshot = new LinkedHashMap<>();
+        synchronized (order) {
+            for (String step : order.keySet()) {
+                snapshot.put(step, steps.get(step));
+            }
+        }
+        return snapshot;
+    }
+
+    static final class Samples {
+        private long[] nanos = new long[64];
+        private int count;
+        private int errors;
+        private long lockWait;
+        private long maxLockWait;
+
+        synchronized void add(long value, long lockWaitNanos, boolean ok) {
+            if (!ok) {
+                errors++;
+                return;
+            }
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = value;
+            lockWait += lockWaitNanos;
+            maxLockWait = Math.max(maxLockWait, lockWaitNanos);
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(nanos, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized int getErrors() {
+            return errors;
+        }
+
+        synchronized long getLockWaitNanos() {
+            return lockWait;
+        }
+
+        synchronized long getMaxLockWaitNanos() {
+            return maxLockWait;
+        }
+    }
+}
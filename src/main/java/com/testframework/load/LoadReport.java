@@ -0,0 +1,240 @@
+package com.testframework.load;
+
+import com.testframework.metrics.PhaseMetricsExporter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency percentiles of a finished load run, per journey step
+ * When users ran in browser contexts, commands of contexts sharing a process were serialized: latencies leave
+ * out the time spent waiting for the process, which is reported as lock wait, and throughput is bounded by the
+ * processes rather than by the site.
+ */
+public final class LoadReport {
+    private final LoadProfile profile;
+    private final long elapsedNanos;
+    private final int iterations;
+    private final int failedIterations;
+    private final boolean browserContexts;
+    private final List<StepSummary> steps;
+
+    LoadReport(LoadProfile profile, long elapsedNanos, int iterations, int failedIterations, boolean browserContexts,
+               LoadRecorder recorder) {
+        this.profile = profile;
+        this.elapsedNanos = elapsedNanos;
+        this.iterations = iterations;
+        this.failedIterations = failedIterations;
+        this.browserContexts = browserContexts;
+        double seconds = Math.max(elapsedNanos, 1) / (double) TimeUnit.SECONDS.toNanos(1);
+        List<StepSummary> summaries = new ArrayList<>();
+        for (Map.Entry<String, LoadRecorder.Samples> step : recorder.snapshot().entrySet()) {
+            summaries.add(new StepSummary(step.getKey(), step.getValue(), seconds));
+        }
+        this.steps = Collections.unmodifiableList(summaries);
+    }
+
+    /**
+     * Get profile the run was made with
+     */
+    public LoadProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Get wall-clock time from first user start to last user finish in milliseconds
+     */
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    /**
+     * Get number of journeys completed without error
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Get number of journeys that threw
+     */
+    public int getFailedIterations() {
+        return failedIterations;
+    }
+
+    /**
+     * Get completed journeys per second
+     */
+    public double getThroughput() {
+        return iterations / (Math.max(elapsedNanos, 1) / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Check if users ran in browser contexts sharing browser processes
+     */
+    public boolean isBrowserContexts() {
+        return browserContexts;
+    }
+
+    /**
+     * Get summaries in the order steps were first run
+     */
+    public List<StepSummary> getSteps() {
+        return steps;
+    }
+
+    /**
+     * Get summary of a step, or null if it never ran
+     */
+    public StepSummary getStep(String name) {
+        for (StepSummary step : steps) {
+            if (step.getName().equals(name)) {
+                return step;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Write one row per step to a CSV file
+     */
+    public void writeCsv(Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("step,count,errors,throughput_per_s,mean_ms,p50_ms,p90_ms,p95_ms,p99_ms,max_ms,"
+                + "lock_wait_mean_ms,lock_wait_max_ms\n");
+            for (StepSummary step : steps) {
+                out.write(String.format(Locale.ROOT, "\"%s\",%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                    step.name.replace("\"", "\"\""), step.count, step.errors, step.throughput, step.mean,
+                    step.p50, step.p90, step.p95, step.p99, step.max, step.lockWaitMean, step.lockWaitMax));
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "Load run (%s): %d journeys, %d failed, %.2f/s in %.1f s%n",
+            profile, iterations, failedIterations, getThroughput(), getElapsedMillis() / 1000.0));
+        if (browserContexts) {
+            text.append(String.format("Users shared browser processes as browser contexts: their commands were "
+                + "serialized per process, latencies leave out the lock wait and throughput is bound by the processes%n"));
+        }
+        text.append(String.format(Locale.ROOT, "%-40s %7s %6s %8s %9s %9s %9s %9s %9s%n",
+            "step", "count", "errors", "per s", "p50 ms", "p90 ms", "p99 ms", "max ms", "lock ms"));
+        for (StepSummary step : steps) {
+            text.append(String.format(Locale.ROOT, "%-40s %7d %6d %8.2f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                step.name, step.count, step.errors, step.throughput, step.p50, step.p90, step.p99, step.max,
+                step.lockWaitMean));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Latency and throughput of one journey step across all users
+     * Latencies cover successful calls only; failed calls are counted as errors. Time a call waited for a browser
+     * process shared with other contexts is not part of its latency but reported as lock wait.
+     */
+    public static final class StepSummary {
+        private final String name;
+        private final int count;
+        private final int errors;
+        private final double throughput;
+        private final double mean;
+        private final double p50;
+        private final double p90;
+        private final double p95;
+        private final double p99;
+        private final double max;
+        private final double lockWaitMean;
+        private final double lockWaitMax;
+
+        private StepSummary(String name, LoadRecorder.Samples samples, double seconds) {
+            long[] sorted = samples.sorted();
+            this.name = name;
+            this.count = sorted.length;
+            this.errors = samples.getErrors();
+            this.throughput = sorted.length / seconds;
+            long sum = 0;
+            for (long value : sorted) {
+                sum += value;
+            }
+            this.mean = sorted.length == 0 ? 0 : millis(sum) / sorted.length;
+            this.p50 = millis(PhaseMetricsExporter.percentile(sorted, 0.5));
+            this.p90 = millis(PhaseMetricsExporter.percentile(sorted, 0.9));
+            this.p95 = millis(PhaseMetricsExporter.percentile(sorted, 0.95));
+            this.p99 = millis(PhaseMetricsExporter.percentile(sorted, 0.99));
+            this.max = sorted.length == 0 ? 0 : millis(sorted[sorted.length - 1]);
+            this.lockWaitMean = sorted.length == 0 ? 0 : millis(samples.getLockWaitNanos()) / sorted.length;
+            this.lockWaitMax = millis(samples.getMaxLockWaitNanos());
+        }
+
+        private static double millis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public int getErrors() {
+            return errors;
+        }
+
+        /**
+         * Get successful calls per second over the whole run
+         */
+        public double getThroughput() {
+            return throughput;
+        }
+
+        public double getMeanMillis() {
+            return mean;
+        }
+
+        public double getP50Millis() {
+            return p50;
+        }
+
+        public double getP90Millis() {
+            return p90;
+        }
+
+        public double getP95Millis() {
+            return p95;
+        }
+
+        public double getP99Millis() {
+            return p99;
+        }
+
+        public double getMaxMillis() {
+            return max;
+        }
+
+        /**
+         * Get mean time a call waited for a browser process shared with other contexts
+         */
+        public double getLockWaitMeanMillis() {
+            return lockWaitMean;
+        }
+
+        public double getLockWaitMaxMillis() {
+            return lockWaitMax;
+        }
+    }
+}
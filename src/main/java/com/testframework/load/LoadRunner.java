@@ -0,0 +1,158 @@
+package com.testframework.load;
+
+import com.testframework.config.TestConfig;
+import com.testframework.core.DriverManager;
+import com.testframework.logging.TestLogContext;
+import com.testframework.metrics.TraceRecorder;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a journey as concurrent virtual users to generate browser-level load
+ * Each user gets its own headless session, created when the user starts (spread over the ramp-up)
+ * and reused for all of that user's journeys. Session start is reported as its own step. With
+ * test.browserContexts.enabled=true the sessions are isolated contexts sharing browser processes.
+ */
+public class LoadRunner {
+    private static final Logger logger = LoggerFactory.getLogger(LoadRunner.class);
+    private static final String SESSION_START = "session start";
+
+    private final LoadProfile profile;
+    private final Journey journey;
+    private final LoadRecorder recorder = new LoadRecorder();
+    private final AtomicInteger iterations = new AtomicInteger();
+    private final AtomicInteger failedIterations = new AtomicInteger();
+
+    public LoadRunner(LoadProfile profile, Journey journey) {
+        this.profile = profile;
+        this.journey = journey;
+    }
+
+    /**
+     * Run the load, log the report and write it to load-summary.csv in the report directory
+     */
+    public LoadReport run() {
+        logger.info("Starting load run: {}", profile);
+        TestConfig config = TestConfig.getInstance();
+        boolean browserContexts = config.isBrowserContextsEnabled();
+        if (browserContexts) {
+            logger.warn("Load users run as browser contexts, up to {} per browser process: commands of a process are "
+                + "serialized, so latencies leave out the lock wait and throughput is bound by the processes",
+                config.getBrowserContextsPerProcess());
+        }
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService users = Executors.newFixedThreadPool(profile.getUsers(), runnable -> {
+            Thread thread = new Thread(runnable, "load-user-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long start = System.nanoTime();
+        long deadline = start + profile.getRampUp().toNanos() + profile.getDuration().toNanos();
+        List<Future<?>> running = new ArrayList<>();
+        for (int id = 1; id <= profile.getUsers(); id++) {
+            long startAt = start + profile.getRampUp().toNanos() * (id - 1) / profile.getUsers();
+            int userId = id;
+            running.add(users.submit(() -> runUser(userId, startAt, deadline)));
+        }
+        try {
+            for (Future<?> user : running) {
+                user.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for load users", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load user crashed", e.getCause());
+        } finally {
+            users.shutdownNow();
+        }
+
+        LoadReport report = new LoadReport(profile, System.nanoTime() - start, iterations.get(),
+            failedIterations.get(), browserContexts, recorder);
+        logger.info("{}", report);
+        try {
+            report.writeCsv(Paths.get(config.getReportDir(), "load-summary.csv"));
+        } catch (IOException e) {
+            logger.error("Failed to write load summary: {}", e.getMessage());
+        }
+        return report;
+    }
+
+    private void runUser(int id, long startAt, long deadline) {
+        if (!sleepUntil(startAt)) {
+            return;
+        }
+        TestConfig config = TestConfig.getInstance();
+        WebDriver session;
+        long sessionStart = System.nanoTime();
+        try {
+            session = TraceRecorder.span(SESSION_START, "load",
+                () -> DriverManager.createSession(profile.getBrowser(), config.getImplicitWait(), true));
+            recorder.record(SESSION_START, System.nanoTime() - sessionStart, true);
+        } catch (RuntimeException e) {
+            recorder.record(SESSION_START, System.nanoTime() - sessionStart, false);
+            logger.error("Load user {} could not start a session: {}", id, e.getMessage());
+            return;
+        }
+
+        VirtualUser user = new VirtualUser(id, session, recorder);
+        DriverManager.bindDriver(session);
+        TestLogContext.beginWorker("user-" + id, session);
+        try {
+            for (int iteration = 1; !Thread.currentThread().isInterrupted(); iteration++) {
+                if (profile.getIterations() > 0 ? iteration > profile.getIterations() : System.nanoTime() >= deadline) {
+                    break;
+                }
+                user.setIteration(iteration);
+                TraceRecorder.begin("journey", "load", "user " + id + " iteration " + iteration);
+                try {
+                    journey.run(user);
+                    iterations.incrementAndGet();
+                } catch (Exception | AssertionError e) {
+                    failedIterations.incrementAndGet();
+                    logger.warn("Load user {} iteration {} failed: {}", id, iteration, e.getMessage());
+                } finally {
+                    TraceRecorder.end();
+                }
+                if (!profile.getThinkTime().isZero() && !sleepUntil(System.nanoTime() + profile.getThinkTime().toNanos())) {
+                    break;
+                }
+            }
+        } finally {
+            TestLogContext.clear();
+            DriverManager.unbindDriver();
+            try {
+                DriverManager.quitSession(session);
+            } catch (RuntimeException e) {
+                logger.warn("Load user {} failed to quit its session: {}", id, e.getMessage());
+            }
+        }
+    }
+
+    private static boolean sleepUntil(long nanoTime) {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
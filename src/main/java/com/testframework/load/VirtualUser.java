@@ -0,0 +1,80 @@
+package com.testframework.load;
+
+import com.testframework.core.BrowserContexts;
+import org.openqa.selenium.WebDriver;
+
+import java.util.function.Supplier;
+
+/**
+ * One simulated user of a load run, owning a browser session for the whole run
+ * Page objects created on the user's thread use this session.
+ */
+public final class VirtualUser {
+    private final int id;
+    private final WebDriver driver;
+    private final LoadRecorder recorder;
+    private int iteration;
+
+    VirtualUser(int id, WebDriver driver, LoadRecorder recorder) {
+        this.id = id;
+        this.driver = driver;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Get user number, starting at 1
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Get journey iteration in progress, starting at 1
+     */
+    public int getIteration() {
+        return iteration;
+    }
+
+    void setIteration(int iteration) {
+        this.iteration = iteration;
+    }
+
+    /**
+     * Get the user's browser session
+     */
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    /**
+     * Run a step and record its latency under a name such as "GoogleHomePage.search"
+     */
+    public void step(String name, Runnable action) {
+        step(name, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run a step that returns a value and record its latency
+     * In a browser context, time spent waiting for other contexts of the process is recorded apart from the latency.
+     */
+    public <T> T step(String name, Supplier<T> action) {
+        long start = System.nanoTime();
+        long lockWait = BrowserContexts.getLockWaitNanos();
+        try {
+            T value = action.get();
+            record(name, start, lockWait, true);
+            return value;
+        } catch (RuntimeException | Error e) {
+            record(name, start, lockWait, false);
+            throw e;
+        }
+    }
+
+    private void record(String name, long start, long lockWaitBefore, boolean ok) {
+        long waited = BrowserContexts.getLockWaitNanos() - lockWaitBefore;
+        recorder.record(name, System.nanoTime() - start - waited, waited, ok);
+    }
+}
@@ -0,0 +1,18 @@
+package com.testframework.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Async appender that only ever drops DEBUG and TRACE lines
+ * Logback's AsyncAppender discards everything below WARN once the queue is past its discarding threshold;
+ * step logging is INFO, so this keeps INFO lines and drops only the debug chatter when the writer falls behind.
+ */
+public class DebugDiscardingAsyncAppender extends AsyncAppender {
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        return event.getLevel().toInt() <= Level.DEBUG_INT;
+    }
+}
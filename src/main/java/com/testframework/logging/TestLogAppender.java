@@ -0,0 +1,120 @@
+package com.testframework.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.encoder.Encoder;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes each line logged by a test to the test's own file
+ * Lines are routed by the MDC test tag and only for tests whose file {@link TestLogContext} opened, so the
+ * appender does nothing unless test.logFiles.enabled is set. It is not wrapped in an async appender: closing
+ * the file at the end of the test must see every line the test logged.
+ */
+public class TestLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+    private static final Map<String, TestLogFile> FILES = new ConcurrentHashMap<>();
+    private static volatile TestLogAppender instance;
+
+    private Encoder<ILoggingEvent> encoder;
+
+    public void setEncoder(Encoder<ILoggingEvent> encoder) {
+        this.encoder = encoder;
+    }
+
+    @Override
+    public void start() {
+        if (encoder == null) {
+            addError("No encoder set for the appender named \"" + name + "\".");
+            return;
+        }
+        instance = this;
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (instance == this) {
+            instance = null;
+        }
+        super.stop();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (FILES.isEmpty()) {
+            return;
+        }
+        String testId = event.getMDCPropertyMap().get(TestLogContext.TEST);
+        TestLogFile file = testId != null ? FILES.get(testId) : null;
+        if (file != null) {
+            file.write(encoder.encode(event));
+        }
+    }
+
+    /**
+     * Start a test's log file; does nothing if logback is not configured with this appender
+     */
+    static void open(String testId, Path path) {
+        if (instance == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            TestLogFile previous = FILES.put(testId, new TestLogFile(path, Files.newOutputStream(path)));
+            if (previous != null) {
+                previous.close();
+            }
+        } catch (IOException e) {
+            instance.addError("Failed to open test log " + path, e);
+        }
+    }
+
+    /**
+     * Close a test's log file and return its path, or null if the test had none
+     */
+    static Path close(String testId) {
+        TestLogFile file = FILES.remove(testId);
+        if (file == null) {
+            return null;
+        }
+        file.close();
+        return file.path;
+    }
+
+    private static final class TestLogFile {
+        private final Path path;
+        private final OutputStream out;
+        private boolean failed;
+
+        TestLogFile(Path path, OutputStream out) {
+            this.path = path;
+            this.out = new BufferedOutputStream(out);
+        }
+
+        synchronized void write(byte[] bytes) {
+            if (failed) {
+                return;
+            }
+            try {
+                out.write(bytes);
+            } catch (IOException e) {
+                failed = true;
+            }
+        }
+
+        synchronized void close() {
+            try {
+                out.close();
+            } catch (IOException e) {
+                failed = true;
+            }
+        }
+    }
+}
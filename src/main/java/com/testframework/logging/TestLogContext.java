@@ -0,0 +1,110 @@
+package com.testframework.logging;
+
+import com.testframework.config.TestConfig;
+import com.testframework.reporting.TestArtifacts;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Tags log lines with the test, browser session and worker thread they belong to
+ * The values are kept in the MDC of the test's thread, so every logger the test calls into picks them up.
+ * With test.logFiles.enabled the test's lines are also written to {test.logFiles.dir}/&lt;test&gt;.log, which is
+ * kept and attached to the result when the test fails and deleted otherwise.
+ */
+public final class TestLogContext {
+    public static final String TEST = "test";
+    public static final String SESSION = "session";
+    public static final String WORKER = "worker";
+
+    private static final Logger logger = LoggerFactory.getLogger(TestLogContext.class);
+    private static final int MAX_NAME_LENGTH = 120;
+
+    private TestLogContext() {
+    }
+
+    /**
+     * Tag the current thread's log lines with a test and its session, and start the test's log file if enabled
+     */
+    public static void begin(String testId, WebDriver driver) {
+        MDC.put(TEST, testId);
+        MDC.put(WORKER, Thread.currentThread().getName());
+        if (driver != null) {
+            MDC.put(SESSION, sessionId(driver));
+        }
+        TestConfig config = TestConfig.getInstance();
+        if (config.isTestLogFilesEnabled()) {
+            TestLogAppender.open(testId, Paths.get(config.getTestLogFilesDir(), fileName(testId) + ".log"));
+        }
+    }
+
+    /**
+     * Tag the current thread's log lines with a worker that is not a test, e.g. a load mode user
+     */
+    public static void beginWorker(String worker, WebDriver driver) {
+        MDC.put(WORKER, worker);
+        if (driver != null) {
+            MDC.put(SESSION, sessionId(driver));
+        }
+    }
+
+    /**
+     * Close the test's log file, keeping and attaching it only if the test failed, and clear the tags
+     */
+    public static void finish(ITestResult result) {
+        String testId = MDC.get(TEST);
+        try {
+            Path file = testId != null ? TestLogAppender.close(testId) : null;
+            if (file != null) {
+                if (result.getStatus() == ITestResult.FAILURE) {
+                    TestArtifacts.add("log", file.toString());
+                } else {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to delete test log of {}: {}", testId, e.getMessage());
+        } finally {
+            clear();
+        }
+    }
+
+    /**
+     * Remove all tags from the current thread
+     */
+    public static void clear() {
+        MDC.remove(TEST);
+        MDC.remove(SESSION);
+        MDC.remove(WORKER);
+    }
+
+    private static String sessionId(WebDriver driver) {
+        // Decorators wrap the session; browser context sessions are proxies that must not be unwrapped
+        while (driver instanceof WrapsDriver && !Proxy.isProxyClass(driver.getClass())) {
+            driver = ((WrapsDriver) driver).getWrappedDriver();
+        }
+        if (driver instanceof RemoteWebDriver && ((RemoteWebDriver) driver).getSessionId() != null) {
+            return ((RemoteWebDriver) driver).getSessionId().toString();
+        }
+        return String.format(Locale.ROOT, "%08x", System.identityHashCode(driver));
+    }
+
+    private static String fileName(String testId) {
+        String name = testId.replaceAll("[^A-Za-z0-9._-]", "_");
+        if (name.length() > MAX_NAME_LENGTH) {
+            name = name.substring(0, MAX_NAME_LENGTH) + "_" + String.format(Locale.ROOT, "%08x", testId.hashCode());
+        }
+        return name;
+    }
+}
@@ -0,0 +1,45 @@
+package com.testframework.metrics;
+
+/**
+ * Page load metrics captured from the browser after a navigation
+ */
+public enum PageMetric {
+    /** Time to first byte of the document */
+    TTFB("ttfb", "ms"),
+    /** First contentful paint */
+    FCP("fcp", "ms"),
+    DOM_CONTENT_LOADED("dom_content_loaded", "ms"),
+    LOAD("load", "ms"),
+    /** Largest contentful paint so far */
+    LCP("lcp", "ms"),
+    /** Sum of layout shifts not caused by user input */
+    CLS("cls", ""),
+    /** Longest interaction so far, as an approximation of interaction to next paint */
+    INP("inp", "ms"),
+    /** Bytes transferred for the document and all its resources */
+    TRANSFER_BYTES("transfer_bytes", "bytes"),
+    /** Number of requests for the document and all its resources */
+    REQUESTS("requests", "");
+
+    private final String label;
+    private final String unit;
+
+    PageMetric(String label, String unit) {
+        this.label = label;
+        this.unit = unit;
+    }
+
+    /**
+     * Get name used in captured data and exported results
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Get unit of the metric, empty for counts and scores
+     */
+    public String getUnit() {
+        return unit;
+    }
+}
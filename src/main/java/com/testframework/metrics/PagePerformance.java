@@ -0,0 +1,92 @@
+package com.testframework.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Page load metrics of one navigation
+ * Metrics the browser does not report (paint timings outside Chromium, interactions on a page
+ * nobody touched) are absent rather than zero.
+ */
+public final class PagePerformance {
+    private final String page;
+    private final String url;
+    private final Map<PageMetric, Double> values;
+
+    PagePerformance(String page, String url, Map<PageMetric, Double> values) {
+        this.page = page;
+        this.url = url;
+        this.values = values.isEmpty()
+            ? Collections.emptyMap() : Collections.unmodifiableMap(new EnumMap<>(values));
+    }
+
+    /**
+     * Build from the map returned by the capture script, keyed by metric label
+     */
+    static PagePerformance fromScript(String page, String url, Map<?, ?> raw) {
+        Map<PageMetric, Double> values = new EnumMap<>(PageMetric.class);
+        for (PageMetric metric : PageMetric.values()) {
+            Object value = raw.get(metric.getLabel());
+            if (value instanceof Number && ((Number) value).doubleValue() >= 0) {
+                values.put(metric, ((Number) value).doubleValue());
+            }
+        }
+        return new PagePerformance(page, url, values);
+    }
+
+    /**
+     * Get page object (or navigation) the metrics belong to
+     */
+    public String getPage() {
+        return page;
+    }
+
+    /**
+     * Get URL that was loaded
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Check if the browser reported a metric
+     */
+    public boolean has(PageMetric metric) {
+        return values.containsKey(metric);
+    }
+
+    /**
+     * Get value of a metric, or -1 if it was not reported
+     */
+    public double get(PageMetric metric) {
+        Double value = values.get(metric);
+        return value != null ? value : -1;
+    }
+
+    /**
+     * Get all reported metrics
+     */
+    public Map<PageMetric, Double> getValues() {
+        return values;
+    }
+
+    /**
+     * Format a metric value with its unit
+     */
+    public static String format(PageMetric metric, double value) {
+        String number = metric == PageMetric.CLS
+            ? String.format(Locale.ROOT, "%.3f", value) : String.format(Locale.ROOT, "%.0f", value);
+        return metric.getUnit().isEmpty() ? number : number + " " + metric.getUnit();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(page).append(" ").append(url).append(":");
+        for (Map.Entry<PageMetric, Double> entry : values.entrySet()) {
+            text.append(" ").append(entry.getKey().getLabel()).append("=").append(format(entry.getKey(), entry.getValue()));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,206 @@
+package com.testframework.metrics;
+
+import com.testframework.config.TestConfig;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Captures page load metrics from the browser after navigations and checks them against budgets
+ * Metrics come from the Navigation Timing, Resource Timing, Paint Timing, Largest Contentful Paint,
+ * Layout Instability and Event Timing APIs. Captures are attached to the running test's result and
+ * end up in the result stream. Enabled with test.pagePerformance.enabled=true.
+ */
+public final class PagePerformanceCollector {
+    private static final Logger logger = LoggerFactory.getLogger(PagePerformanceCollector.class);
+
+    /** Result attribute holding the captures of a test */
+    public static final String ATTRIBUTE = "testframework.pagePerformance";
+
+    /** Script returning the metrics of the current page; buffered observers hand over earlier entries */
+    public static final String SCRIPT = "var result = {};\n"
+        + "var nav = performance.getEntriesByType('navigation')[0];\n"
+        + "var bytes = 0;\n"
+        + "if (nav) {\n"
+        + "  result.ttfb = nav.responseStart;\n"
+        + "  result.dom_content_loaded = nav.domContentLoadedEventEnd;\n"
+        + "  result.load = nav.loadEventEnd;\n"
+        + "  bytes = nav.transferSize || 0;\n"
+        + "} else if (performance.timing) {\n"
+        + "  var t = performance.timing;\n"
+        + "  result.ttfb = t.responseStart - t.navigationStart;\n"
+        + "  result.dom_content_loaded = t.domContentLoadedEventEnd - t.navigationStart;\n"
+        + "  result.load = t.loadEventEnd > 0 ? t.loadEventEnd - t.navigationStart : -1;\n"
+        + "}\n"
+        + "var resources = performance.getEntriesByType('resource');\n"
+        + "for (var i = 0; i < resources.length; i++) { bytes += resources[i].transferSize || 0; }\n"
+        + "result.transfer_bytes = bytes;\n"
+        + "result.requests = resources.length + 1;\n"
+        + "var paints = performance.getEntriesByType('paint');\n"
+        + "for (var p = 0; p < paints.length; p++) {\n"
+        + "  if (paints[p].name === 'first-contentful-paint') { result.fcp = paints[p].startTime; }\n"
+        + "}\n"
+        + "function entries(options) {\n"
+        + "  try {\n"
+        + "    var observer = new PerformanceObserver(function () {});\n"
+        + "    options.buffered = true;\n"
+        + "    observer.observe(options);\n"
+        + "    var records = observer.takeRecords();\n"
+        + "    observer.disconnect();\n"
+        + "    return records;\n"
+        + "  } catch (e) { return null; }\n"
+        + "}\n"
+        + "var lcp = entries({type: 'largest-contentful-paint'});\n"
+        + "if (lcp && lcp.length) { result.lcp = lcp[lcp.length - 1].startTime; }\n"
+        + "var shifts = entries({type: 'layout-shift'});\n"
+        + "if (shifts) {\n"
+        + "  var cls = 0;\n"
+        + "  for (var s = 0; s < shifts.length; s++) { if (!shifts[s].hadRecentInput) { cls += shifts[s].value; } }\n"
+        + "  result.cls = cls;\n"
+        + "}\n"
+        + "var events = entries({type: 'event', durationThreshold: 16});\n"
+        + "if (events) {\n"
+        + "  for (var e = 0; e < events.length; e++) {\n"
+        + "    if (events[e].interactionId) { result.inp = Math.max(result.inp || 0, events[e].duration); }\n"
+        + "  }\n"
+        + "}\n"
+        + "return result;";
+
+    private PagePerformanceCollector() {
+    }
+
+    /**
+     * Check if page performance capture is enabled (test.pagePerformance.enabled)
+     */
+    public static boolean isEnabled() {
+        return TestConfig.getInstance().isPagePerformanceEnabled();
+    }
+
+    /**
+     * Capture metrics of the page currently loaded and attach them to the running test
+     * Returns null if capture is disabled or the browser cannot run the capture script.
+     */
+    public static PagePerformance capture(WebDriver driver, String page) {
+        if (!isEnabled() || !(driver instanceof JavascriptExecutor)) {
+            return null;
+        }
+        TraceRecorder.begin("capture page performance", "page", page);
+        try {
+            Object raw = ((JavascriptExecutor) driver).executeScript(SCRIPT);
+            if (!(raw instanceof Map)) {
+                logger.debug("No page performance data for {}", page);
+                return null;
+            }
+            PagePerformance performance = PagePerformance.fromScript(page, driver.getCurrentUrl(), (Map<?, ?>) raw);
+            logger.info("Page performance {}", performance);
+            attach(performance);
+            return performance;
+        } catch (WebDriverException e) {
+            logger.warn("Failed to capture page performance for {}: {}", page, e.getMessage());
+            return null;
+        } finally {
+            TraceRecorder.end();
+        }
+    }
+
+    /**
+     * Get captures attached to a result, in navigation order
+     */
+    @SuppressWarnings("unchecked")
+    public static List<PagePerformance> get(ITestResult result) {
+        Object value = result.getAttribute(ATTRIBUTE);
+        return value instanceof List ? (List<PagePerformance>) value : Collections.emptyList();
+    }
+
+    /**
+     * Get budget limits declared by an annotation, skipping unchecked ones
+     */
+    public static Map<PageMetric, Double> limits(PerformanceBudget budget) {
+        Map<PageMetric, Double> limits = new EnumMap<>(PageMetric.class);
+        if (budget == null) {
+            return limits;
+        }
+        putLimit(limits, PageMetric.TTFB, budget.ttfbMillis());
+        putLimit(limits, PageMetric.FCP, budget.fcpMillis());
+        putLimit(limits, PageMetric.DOM_CONTENT_LOADED, budget.domContentLoadedMillis());
+        putLimit(limits, PageMetric.LOAD, budget.loadMillis());
+        putLimit(limits, PageMetric.LCP, budget.lcpMillis());
+        putLimit(limits, PageMetric.CLS, budget.cls());
+        putLimit(limits, PageMetric.INP, budget.inpMillis());
+        putLimit(limits, PageMetric.TRANSFER_BYTES, budget.transferKb() < 0 ? -1 : budget.transferKb() * 1024);
+        putLimit(limits, PageMetric.REQUESTS, budget.requests());
+        return limits;
+    }
+
+    /**
+     * Describe every metric over its limit, one line each
+     */
+    public static List<String> violations(PagePerformance performance, Map<PageMetric, Double> limits) {
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<PageMetric, Double> limit : limits.entrySet()) {
+            PageMetric metric = limit.getKey();
+            if (performance.has(metric) && performance.get(metric) > limit.getValue()) {
+                violations.add(metric.getLabel() + " " + PagePerformance.format(metric, performance.get(metric))
+                    + " exceeds budget of " + PagePerformance.format(metric, limit.getValue()));
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Fail the running test if a capture exceeds its page's budget
+     * Violations are only logged when test.pagePerformance.enforceBudgets=false.
+     */
+    public static void enforce(PagePerformance performance, PerformanceBudget budget) {
+        if (performance == null || budget == null) {
+            return;
+        }
+        List<String> violations = violations(performance, limits(budget));
+        if (violations.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder("Performance budget of ").append(performance.getPage())
+            .append(" exceeded loading ").append(performance.getUrl()).append(":");
+        for (String violation : violations) {
+            message.append("\n  ").append(violation);
+        }
+        if (!TestConfig.getInstance().isPerformanceBudgetEnforced()) {
+            logger.warn(message.toString());
+            return;
+        }
+        throw new AssertionError(message.toString());
+    }
+
+    private static void putLimit(Map<PageMetric, Double> limits, PageMetric metric, double limit) {
+        if (limit >= 0) {
+            limits.put(metric, limit);
+        }
+    }
+
+    private static void attach(PagePerformance performance) {
+        ITestResult result = Reporter.getCurrentTestResult();
+        if (result == null) {
+            return;
+        }
+        synchronized (result) {
+            Object value = result.getAttribute(ATTRIBUTE);
+            if (!(value instanceof List)) {
+                value = new ArrayList<PagePerformance>();
+                result.setAttribute(ATTRIBUTE, value);
+            }
+            @SuppressWarnings("unchecked")
+            List<PagePerformance> captures = (List<PagePerformance>) value;
+            captures.add(performance);
+        }
+    }
+}
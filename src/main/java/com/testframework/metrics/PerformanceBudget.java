@@ -0,0 +1,34 @@
+package com.testframework.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Page load budget of a page object, checked every time the page is opened
+ * Limits left at -1 are not checked. Metrics the browser does not report are not checked either.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface PerformanceBudget {
+    double ttfbMillis() default -1;
+
+    double fcpMillis() default -1;
+
+    double domContentLoadedMillis() default -1;
+
+    double loadMillis() default -1;
+
+    double lcpMillis() default -1;
+
+    double cls() default -1;
+
+    double inpMillis() default -1;
+
+    double transferKb() default -1;
+
+    double requests() default -1;
+}
@@ -0,0 +1,41 @@
+package com.testframework.metrics;
+
+/**
+ * Lifecycle phases a test's time is broken down into
+ * Container phases only report time not spent in nested phases; all other phases absorb
+ * whatever runs inside them (driver commands polled by a wait count as waiting).
+ */
+public enum Phase {
+    SETUP("setup", true),
+    DRIVER_START("driver_start", false),
+    NAVIGATION("navigation", false),
+    WAIT("wait", false),
+    COMMAND("command", false),
+    SCREENSHOT("screenshot", false),
+    TEARDOWN("teardown", true),
+    DRIVER_QUIT("driver_quit", false),
+    /** Test code and framework overhead outside any other phase */
+    OTHER("other", true);
+
+    private final String label;
+    private final boolean container;
+
+    Phase(String label, boolean container) {
+        this.label = label;
+        this.container = container;
+    }
+
+    /**
+     * Get name used in exported metrics
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Check if nested phases are reported separately
+     */
+    public boolean isContainer() {
+        return container;
+    }
+}
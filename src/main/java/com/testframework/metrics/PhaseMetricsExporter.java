@@ -0,0 +1,170 @@
+package com.testframework.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes per-test phase breakdowns and suite-wide percentiles
+ * Produces phase-timings.csv (one row per test), phase-summary.csv (percentiles per phase),
+ * phase-timings.prom (OpenMetrics text format, readable by Prometheus) and class-teardowns.csv (one row per
+ * class teardown, which is not counted as a test)
+ */
+public final class PhaseMetricsExporter {
+    private static final Logger logger = LoggerFactory.getLogger(PhaseMetricsExporter.class);
+    private static final double[] QUANTILES = {0.5, 0.9, 0.95, 0.99};
+
+    private PhaseMetricsExporter() {
+    }
+
+    /**
+     * Write all export files into a directory
+     */
+    public static void export(List<TestTiming> timings, List<TestTiming> classTeardowns, Path dir)
+        throws IOException {
+        Files.createDirectories(dir);
+        writeCsv(timings, dir.resolve("phase-timings.csv"));
+        writeSummaryCsv(timings, dir.resolve("phase-summary.csv"));
+        writeOpenMetrics(timings, dir.resolve("phase-timings.prom"));
+        if (!classTeardowns.isEmpty()) {
+            writeCsv(classTeardowns, "class", dir.resolve("class-teardowns.csv"));
+        }
+        logger.info("Phase timings for {} tests and {} class teardowns exported to {}", timings.size(),
+            classTeardowns.size(), dir.toAbsolutePath());
+    }
+
+    /**
+     * Write one row per test with milliseconds per phase
+     */
+    public static void writeCsv(List<TestTiming> timings, Path file) throws IOException {
+        writeCsv(timings, "test", file);
+    }
+
+    private static void writeCsv(List<TestTiming> timings, String idColumn, Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(idColumn + ",status,total_ms");
+            for (Phase phase : Phase.values()) {
+                out.write("," + phase.getLabel() + "_ms");
+            }
+            out.write("\n");
+            for (TestTiming timing : timings) {
+                out.write(csv(timing.getTestId()) + "," + timing.getStatus() + "," + millis(timing.getTotalNanos()));
+                for (Phase phase : Phase.values()) {
+                    out.write("," + millis(timing.getNanos(phase)));
+                }
+                out.write("\n");
+            }
+        }
+    }
+
+    /**
+     * Write count, sum, mean, percentiles and maximum per phase across all tests
+     */
+    public static void writeSummaryCsv(List<TestTiming> timings, Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("phase,count,sum_ms,mean_ms,p50_ms,p90_ms,p95_ms,p99_ms,max_ms\n");
+            for (Map.Entry<String, long[]> entry : samples(timings).entrySet()) {
+                long[] values = entry.getValue();
+                long sum = Arrays.stream(values).sum();
+                out.write(entry.getKey() + "," + values.length + "," + millis(sum) + ","
+                    + millis(values.length > 0 ? sum / values.length : 0));
+                for (double quantile : QUANTILES) {
+                    out.write("," + millis(percentile(values, quantile)));
+                }
+                out.write("," + millis(values.length > 0 ? values[values.length - 1] : 0) + "\n");
+            }
+        }
+    }
+
+    /**
+     * Write phase summaries and test counts in OpenMetrics text format
+     */
+    public static void writeOpenMetrics(List<TestTiming> timings, Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("# TYPE test_phase_seconds summary\n");
+            out.write("# UNIT test_phase_seconds seconds\n");
+            out.write("# HELP test_phase_seconds Time a test spends in each lifecycle phase.\n");
+            for (Map.Entry<String, long[]> entry : samples(timings).entrySet()) {
+                if (entry.getKey().equals("total")) {
+                    continue;
+                }
+                writeSummary(out, "test_phase_seconds", "phase=\"" + entry.getKey() + "\",", entry.getValue());
+            }
+
+            out.write("# TYPE test_duration_seconds summary\n");
+            out.write("# UNIT test_duration_seconds seconds\n");
+            out.write("# HELP test_duration_seconds Total time per test from setup to teardown.\n");
+            writeSummary(out, "test_duration_seconds", "", samples(timings).get("total"));
+
+            Map<String, Integer> statuses = new TreeMap<>();
+            for (TestTiming timing : timings) {
+                statuses.merge(timing.getStatus(), 1, Integer::sum);
+            }
+            out.write("# TYPE tests counter\n");
+            out.write("# HELP tests Tests run, by result.\n");
+            for (Map.Entry<String, Integer> entry : statuses.entrySet()) {
+                out.write("tests_total{status=\"" + entry.getKey() + "\"} " + entry.getValue() + "\n");
+            }
+            out.write("# EOF\n");
+        }
+    }
+
+    private static void writeSummary(Writer out, String name, String labels, long[] values) throws IOException {
+        for (double quantile : QUANTILES) {
+            out.write(name + "{" + labels + "quantile=\"" + quantile + "\"} "
+                + seconds(percentile(values, quantile)) + "\n");
+        }
+        String plain = labels.isEmpty() ? "" : "{" + labels.substring(0, labels.length() - 1) + "}";
+        out.write(name + "_sum" + plain + " " + seconds(Arrays.stream(values).sum()) + "\n");
+        out.write(name + "_count" + plain + " " + values.length + "\n");
+    }
+
+    /**
+     * Sorted per-test samples by phase label, plus "total"
+     */
+    private static Map<String, long[]> samples(List<TestTiming> timings) {
+        Map<String, long[]> samples = new TreeMap<>();
+        for (Phase phase : Phase.values()) {
+            samples.put(phase.getLabel(), timings.stream().mapToLong(t -> t.getNanos(phase)).sorted().toArray());
+        }
+        samples.put("total", timings.stream().mapToLong(TestTiming::getTotalNanos).sorted().toArray());
+        return samples;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values, 0 when empty
+     */
+    public static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1];
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.6f", nanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static String csv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
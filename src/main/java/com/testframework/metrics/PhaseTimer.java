@@ -0,0 +1,218 @@
+package com.testframework.metrics;
+
+import com.testframework.config.TestConfig;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Records how long each test spends in each lifecycle phase
+ * State is per thread, so parallel tests are timed independently. Phases nest: a container phase
+ * (setup, teardown) reports only its own time, any other phase absorbs everything inside it.
+ * Phases begun while no test is being timed are ignored. A class's teardown after its last test is timed the
+ * same way but kept apart from the tests. Tests and phases are also recorded as spans by the
+ * {@link TraceRecorder} when tracing is enabled.
+ */
+public final class PhaseTimer {
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+    private static final Queue<TestTiming> COMPLETED = new ConcurrentLinkedQueue<>();
+    private static final Queue<TestTiming> CLASS_TEARDOWNS = new ConcurrentLinkedQueue<>();
+
+    private PhaseTimer() {
+    }
+
+    /**
+     * Check if phase timing is enabled (test.phaseTiming.enabled)
+     */
+    public static boolean isEnabled() {
+        return TestConfig.getInstance().isPhaseTimingEnabled();
+    }
+
+    /**
+     * Start timing a test on the current thread
+     */
+    public static void startTest(String testId) {
+        start(testId, "test", false);
+    }
+
+    /**
+     * Start timing the teardown of a test class on the current thread; finish it with {@link #finishTest}
+     * The breakdown is kept with {@link #getClassTeardowns()}, not with the tests.
+     */
+    public static void startClassTeardown(String className) {
+        start(className, "class", true);
+    }
+
+    private static void start(String id, String category, boolean classTeardown) {
+        State state = STATE.get();
+        state.reset();
+        state.traceDepth = TraceRecorder.depth();
+        TraceRecorder.begin(id, category);
+        if (!isEnabled()) {
+            return;
+        }
+        state.testId = id;
+        state.classTeardown = classTeardown;
+        state.start = System.nanoTime();
+    }
+
+    /**
+     * Finish timing the current thread's test and keep its breakdown for export
+     * Time not covered by any phase is reported as {@link Phase#OTHER}
+     */
+    public static TestTiming finishTest(String status) {
+        State state = STATE.get();
+        int traceDepth = state.traceDepth;
+        try {
+            if (state.testId == null) {
+                return null;
+            }
+            while (!state.frames.isEmpty()) {
+                end(state.frames.peek().phase);
+            }
+            long total = System.nanoTime() - state.start;
+            long covered = 0;
+            for (long nanos : state.nanos) {
+                covered += nanos;
+            }
+            state.nanos[Phase.OTHER.ordinal()] = Math.max(0, total - covered);
+
+            TestTiming timing = new TestTiming(state.testId, status, total, state.nanos);
+            (state.classTeardown ? CLASS_TEARDOWNS : COMPLETED).add(timing);
+            return timing;
+        } finally {
+            state.reset();
+            if (traceDepth >= 0) {
+                TraceRecorder.unwind(traceDepth);
+            }
+        }
+    }
+
+    /**
+     * Enter a phase; must be paired with {@link #end(Phase)} in a finally block
+     */
+    public static void begin(Phase phase) {
+        begin(phase, phase.getLabel(), null);
+    }
+
+    /**
+     * Enter a phase, naming the operation and its detail in the trace
+     */
+    public static void begin(Phase phase, String name, String detail) {
+        TraceRecorder.begin(name, phase.getLabel(), detail);
+        State state = STATE.get();
+        if (state.testId == null) {
+            return;
+        }
+        Frame top = state.frames.peek();
+        if (state.absorbed > 0 || (top != null && !top.phase.isContainer())) {
+            state.absorbed++;
+            return;
+        }
+        state.frames.push(new Frame(phase, System.nanoTime()));
+    }
+
+    /**
+     * Leave a phase
+     */
+    public static void end(Phase phase) {
+        TraceRecorder.end();
+        State state = STATE.get();
+        if (state.absorbed > 0) {
+            state.absorbed--;
+            return;
+        }
+        Frame frame = state.frames.poll();
+        if (frame == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - frame.start;
+        state.nanos[frame.phase.ordinal()] += frame.phase.isContainer() ? elapsed - frame.childNanos : elapsed;
+        Frame parent = state.frames.peek();
+        if (parent != null) {
+            parent.childNanos += elapsed;
+        }
+    }
+
+    /**
+     * Run an action inside a phase
+     */
+    public static void time(Phase phase, Runnable action) {
+        begin(phase);
+        try {
+            action.run();
+        } finally {
+            end(phase);
+        }
+    }
+
+    /**
+     * Compute a value inside a phase
+     */
+    public static <T> T time(Phase phase, Supplier<T> action) {
+        begin(phase);
+        try {
+            return action.get();
+        } finally {
+            end(phase);
+        }
+    }
+
+    /**
+     * Get breakdowns of all finished tests
+     */
+    public static List<TestTiming> getCompleted() {
+        return new ArrayList<>(COMPLETED);
+    }
+
+    /**
+     * Get breakdowns of all finished class teardowns, identified by class name
+     */
+    public static List<TestTiming> getClassTeardowns() {
+        return new ArrayList<>(CLASS_TEARDOWNS);
+    }
+
+    /**
+     * Discard finished breakdowns
+     */
+    public static void clear() {
+        COMPLETED.clear();
+        CLASS_TEARDOWNS.clear();
+    }
+
+    private static final class State {
+        private final long[] nanos = new long[Phase.values().length];
+        private final Deque<Frame> frames = new ArrayDeque<>();
+        private String testId;
+        private boolean classTeardown;
+        private long start;
+        private int absorbed;
+        private int traceDepth = -1;
+
+        private void reset() {
+            Arrays.fill(nanos, 0);
+            frames.clear();
+            testId = null;
+            classTeardown = false;
+            absorbed = 0;
+            traceDepth = -1;
+        }
+    }
+
+    private static final class Frame {
+        private final Phase phase;
+        private final long start;
+        private long childNanos;
+
+        private Frame(Phase phase, long start) {
+            this.phase = phase;
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.testframework.metrics;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * WebDriver listener that sorts every driver and element call into a phase
+ * Navigation calls count as navigation, screenshots as screenshot and everything else as command.
+ * When tracing, each call becomes a span named after the method with its first argument as detail.
+ */
+public class PhaseTimingListener implements WebDriverListener {
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        String detail = null;
+        // Typed text is left out so that credentials never end up in a trace file
+        if (args != null && args.length > 0 && !method.getName().equals("sendKeys") && TraceRecorder.isEnabled()) {
+            detail = String.valueOf(args[0]);
+        }
+        PhaseTimer.begin(phaseOf(target, method), method.getName(), detail);
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        PhaseTimer.end(phaseOf(target, method));
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        PhaseTimer.end(phaseOf(target, method));
+    }
+
+    static Phase phaseOf(Object target, Method method) {
+        String name = method.getName();
+        if (target instanceof WebDriver.Navigation || (target instanceof WebDriver && name.equals("get"))) {
+            return Phase.NAVIGATION;
+        }
+        if (name.equals("getScreenshotAs")) {
+            return Phase.SCREENSHOT;
+        }
+        if (target instanceof WebDriver && name.equals("quit")) {
+            return Phase.DRIVER_QUIT;
+        }
+        return Phase.COMMAND;
+    }
+}
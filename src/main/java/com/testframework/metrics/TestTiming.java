@@ -0,0 +1,58 @@
+package com.testframework.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Phase breakdown of one test invocation
+ */
+public final class TestTiming {
+    /** Result attribute holding the breakdown of a finished test */
+    public static final String ATTRIBUTE = "testframework.phaseTiming";
+
+    private final String testId;
+    private final String status;
+    private final long totalNanos;
+    private final long[] phaseNanos;
+
+    TestTiming(String testId, String status, long totalNanos, long[] phaseNanos) {
+        this.testId = testId;
+        this.status = status;
+        this.totalNanos = totalNanos;
+        this.phaseNanos = phaseNanos.clone();
+    }
+
+    /**
+     * Get test identifier
+     */
+    public String getTestId() {
+        return testId;
+    }
+
+    /**
+     * Get result status (passed, failed, skipped)
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Get total time from setup start to teardown end
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Get time spent in a phase
+     */
+    public long getNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * Get time spent in a phase in milliseconds
+     */
+    public double getMillis(Phase phase) {
+        return getNanos(phase) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
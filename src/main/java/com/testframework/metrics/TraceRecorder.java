@@ -0,0 +1,291 @@
+package com.testframework.metrics;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.testframework.config.TestConfig;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Records a timeline of the run in Chrome trace-event format
+ * Spans are recorded per worker thread; browser sessions get their own tracks showing the session
+ * lifetime and the tests and navigations that used it. A thread's spans go to the track of the session it
+ * last started or picked up, so parallel workers with drivers of their own keep separate session tracks. The written file opens in chrome://tracing,
+ * Perfetto and other trace viewers. Enabled with test.trace.enabled=true.
+ */
+public final class TraceRecorder {
+    private static final Logger logger = LoggerFactory.getLogger(TraceRecorder.class);
+    private static final int WORKERS_PID = 1;
+    private static final int SESSIONS_PID = 2;
+    private static final long ORIGIN = System.nanoTime();
+
+    private static final Queue<Event> EVENTS = new ConcurrentLinkedQueue<>();
+    private static final Map<Long, String> THREADS = new ConcurrentHashMap<>();
+    private static final Map<Integer, String> SESSIONS = new ConcurrentHashMap<>();
+    private static final AtomicInteger SESSION_IDS = new AtomicInteger();
+    private static final Map<WebDriver, SessionTrack> TRACKS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final ThreadLocal<Deque<Span>> STACK = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<SessionTrack> THREAD_SESSION = new ThreadLocal<>();
+
+    private TraceRecorder() {
+    }
+
+    /**
+     * Check if tracing is enabled (test.trace.enabled)
+     */
+    public static boolean isEnabled() {
+        return TestConfig.getInstance().isTraceEnabled();
+    }
+
+    /**
+     * Open a span on the current thread; must be paired with {@link #end()} in a finally block
+     */
+    public static void begin(String name, String category) {
+        begin(name, category, null);
+    }
+
+    /**
+     * Open a span with a detail shown in the viewer's argument panel
+     */
+    public static void begin(String name, String category, String detail) {
+        if (!isEnabled()) {
+            return;
+        }
+        Thread thread = Thread.currentThread();
+        THREADS.putIfAbsent(thread.getId(), thread.getName());
+        STACK.get().push(new Span(name, category, detail, System.nanoTime()));
+    }
+
+    /**
+     * Close the innermost open span on the current thread
+     */
+    public static void end() {
+        Span span = STACK.get().poll();
+        if (span == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        EVENTS.add(new Event(span, now, WORKERS_PID, Thread.currentThread().getId()));
+
+        // Show which tests and navigations used the browser session
+        SessionTrack session = THREAD_SESSION.get();
+        if (session != null && (span.category.equals("test") || span.category.equals(Phase.NAVIGATION.getLabel()))) {
+            EVENTS.add(new Event(span, now, SESSIONS_PID, session.id));
+        }
+    }
+
+    /**
+     * Get number of open spans on the current thread
+     */
+    public static int depth() {
+        return STACK.get().size();
+    }
+
+    /**
+     * Close open spans on the current thread until the given depth is reached
+     */
+    public static void unwind(int depth) {
+        while (STACK.get().size() > depth) {
+            end();
+        }
+    }
+
+    /**
+     * Run an action inside a span
+     */
+    public static void span(String name, String category, Runnable action) {
+        begin(name, category);
+        try {
+            action.run();
+        } finally {
+            end();
+        }
+    }
+
+    /**
+     * Compute a value inside a span
+     */
+    public static <T> T span(String name, String category, Supplier<T> action) {
+        begin(name, category);
+        try {
+            return action.get();
+        } finally {
+            end();
+        }
+    }
+
+    /**
+     * Mark the start of a browser session, used by the current thread from now on
+     */
+    public static void sessionStarted(WebDriver driver, String browser) {
+        if (!isEnabled()) {
+            return;
+        }
+        int id = SESSION_IDS.incrementAndGet();
+        SESSIONS.put(id, "session " + id + " (" + browser + ")");
+        SessionTrack track = new SessionTrack(id, System.nanoTime());
+        TRACKS.put(driver, track);
+        THREAD_SESSION.set(track);
+    }
+
+    /**
+     * Mark a session started earlier, possibly on another thread, as the one the current thread uses
+     * The thread's spans leave session tracks alone if the session was not started with tracing on.
+     */
+    public static void sessionUsed(WebDriver driver) {
+        if (!isEnabled()) {
+            return;
+        }
+        SessionTrack track = driver != null ? TRACKS.get(driver) : null;
+        if (track != null) {
+            THREAD_SESSION.set(track);
+        } else {
+            THREAD_SESSION.remove();
+        }
+    }
+
+    /**
+     * Mark the end of a browser session; sessions that were not started with tracing on are ignored
+     */
+    public static void sessionEnded(WebDriver driver) {
+        SessionTrack track = TRACKS.remove(driver);
+        if (track == null) {
+            return;
+        }
+        if (THREAD_SESSION.get() == track) {
+            THREAD_SESSION.remove();
+        }
+        EVENTS.add(new Event(new Span(SESSIONS.get(track.id), "session", null, track.start), System.nanoTime(),
+            SESSIONS_PID, track.id));
+    }
+
+    /**
+     * Check if any events were recorded
+     */
+    public static boolean hasEvents() {
+        return !EVENTS.isEmpty();
+    }
+
+    /**
+     * Discard recorded events
+     */
+    public static void clear() {
+        EVENTS.clear();
+    }
+
+    /**
+     * Write recorded events as a trace-event JSON file
+     */
+    public static void write(Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        int count = 0;
+        try (JsonGenerator json = new JsonFactory().createGenerator(file.toFile(), JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeStringField("displayTimeUnit", "ms");
+            json.writeArrayFieldStart("traceEvents");
+
+            writeMetadata(json, "process_name", WORKERS_PID, 0, "Test workers");
+            writeMetadata(json, "process_name", SESSIONS_PID, 0, "Browser sessions");
+            for (Map.Entry<Long, String> thread : new TreeMap<>(THREADS).entrySet()) {
+                writeMetadata(json, "thread_name", WORKERS_PID, thread.getKey(), thread.getValue());
+            }
+            for (Map.Entry<Integer, String> session : new TreeMap<>(SESSIONS).entrySet()) {
+                writeMetadata(json, "thread_name", SESSIONS_PID, session.getKey(), session.getValue());
+            }
+
+            for (Event event : EVENTS) {
+                json.writeStartObject();
+                json.writeStringField("name", event.span.name);
+                json.writeStringField("cat", event.span.category);
+                json.writeStringField("ph", "X");
+                json.writeNumberField("ts", micros(event.span.start - ORIGIN));
+                json.writeNumberField("dur", micros(event.end - event.span.start));
+                json.writeNumberField("pid", event.pid);
+                json.writeNumberField("tid", event.tid);
+                if (event.span.detail != null) {
+                    json.writeObjectFieldStart("args");
+                    json.writeStringField("detail", event.span.detail);
+                    json.writeEndObject();
+                }
+                json.writeEndObject();
+                count++;
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        logger.info("Trace with {} events written to {}", count, file.toAbsolutePath());
+    }
+
+    private static void writeMetadata(JsonGenerator json, String name, int pid, long tid, String value)
+            throws IOException {
+        json.writeStartObject();
+        json.writeStringField("name", name);
+        json.writeStringField("ph", "M");
+        json.writeNumberField("pid", pid);
+        json.writeNumberField("tid", tid);
+        json.writeObjectFieldStart("args");
+        json.writeStringField("name", value);
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+
+    private static final class Span {
+        private final String name;
+        private final String category;
+        private final String detail;
+        private final long start;
+
+        private Span(String name, String category, String detail, long start) {
+            this.name = name;
+            this.category = category;
+            this.detail = detail;
+            this.start = start;
+        }
+    }
+
+    private static final class SessionTrack {
+        private final int id;
+        private final long start;
+
+        private SessionTrack(int id, long start) {
+            this.id = id;
+            this.start = start;
+        }
+    }
+
+    private static final class Event {
+        private final Span span;
+        private final long end;
+        private final int pid;
+        private final long tid;
+
+        private Event(Span span, long end, int pid, long tid) {
+            this.span = span;
+            this.end = end;
+            this.pid = pid;
+            this.tid = tid;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.testframework.network;
+
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One recorded request and its response
+ */
+public final class ArchiveEntry {
+    private final String method;
+    private final String url;
+    private final int status;
+    private final List<Map.Entry<String, String>> headers;
+    private final byte[] body;
+    private final long timeMillis;
+
+    public ArchiveEntry(String method, String url, int status, List<Map.Entry<String, String>> headers, byte[] body,
+                        long timeMillis) {
+        this.method = method;
+        this.url = url;
+        this.status = status;
+        this.headers = Collections.unmodifiableList(new ArrayList<>(headers));
+        this.body = body.clone();
+        this.timeMillis = timeMillis;
+    }
+
+    /**
+     * Check if a response header is worth keeping; the recorded body is already decoded and
+     * replayed in one piece, so encoding and length headers would be wrong
+     */
+    static boolean isRecordedHeader(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        return !lower.equals("content-encoding") && !lower.equals("content-length")
+            && !lower.equals("transfer-encoding") && !lower.equals("connection");
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public List<Map.Entry<String, String>> getHeaders() {
+        return headers;
+    }
+
+    public byte[] getBody() {
+        return body.clone();
+    }
+
+    /**
+     * Get time the response took when it was recorded
+     */
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * Get content type header, or an empty string
+     */
+    public String getMimeType() {
+        for (Map.Entry<String, String> header : headers) {
+            if (header.getKey().equalsIgnoreCase("content-type")) {
+                return header.getValue();
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Build the response served when replaying
+     */
+    HttpResponse toResponse() {
+        HttpResponse response = new HttpResponse().setStatus(status);
+        for (Map.Entry<String, String> header : headers) {
+            response.addHeader(header.getKey(), header.getValue());
+        }
+        return response.setContent(Contents.bytes(body));
+    }
+}
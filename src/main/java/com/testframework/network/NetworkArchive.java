@@ -0,0 +1,147 @@
+package com.testframework.network;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Recorded network traffic of one test, stored as gzip-compressed HAR 1.2
+ * Replay matches requests by method and URL; repeated requests get the recorded responses in
+ * order, and the last one again once they run out.
+ */
+public final class NetworkArchive {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<ArchiveEntry> entries = new ArrayList<>();
+    private final Map<String, List<ArchiveEntry>> byRequest = new HashMap<>();
+    private final Map<String, Integer> served = new HashMap<>();
+
+    /**
+     * Read an archive written by {@link #write(Path)}
+     */
+    public static NetworkArchive read(Path file) throws IOException {
+        NetworkArchive archive = new NetworkArchive();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            for (JsonNode entry : MAPPER.readTree(in).path("log").path("entries")) {
+                JsonNode response = entry.path("response");
+                List<Map.Entry<String, String>> headers = new ArrayList<>();
+                for (JsonNode header : response.path("headers")) {
+                    headers.add(new AbstractMap.SimpleImmutableEntry<>(header.path("name").asText(),
+                        header.path("value").asText()));
+                }
+                JsonNode content = response.path("content");
+                String text = content.path("text").asText("");
+                byte[] body = content.path("encoding").asText().equals("base64")
+                    ? Base64.getDecoder().decode(text) : text.getBytes(StandardCharsets.UTF_8);
+                archive.add(new ArchiveEntry(entry.path("request").path("method").asText(),
+                    entry.path("request").path("url").asText(), response.path("status").asInt(), headers, body,
+                    entry.path("time").asLong()));
+            }
+        }
+        return archive;
+    }
+
+    /**
+     * Add a recorded exchange
+     */
+    public synchronized void add(ArchiveEntry entry) {
+        entries.add(entry);
+        byRequest.computeIfAbsent(key(entry.getMethod(), entry.getUrl()), k -> new ArrayList<>()).add(entry);
+    }
+
+    /**
+     * Get the next recorded response for a request, or null if it was never recorded
+     */
+    public synchronized ArchiveEntry next(String method, String url) {
+        String key = key(method, url);
+        List<ArchiveEntry> recorded = byRequest.get(key);
+        if (recorded == null) {
+            return null;
+        }
+        int index = served.merge(key, 1, Integer::sum) - 1;
+        return recorded.get(Math.min(index, recorded.size() - 1));
+    }
+
+    /**
+     * Get recorded exchanges in request order
+     */
+    public synchronized List<ArchiveEntry> getEntries() {
+        return Collections.unmodifiableList(new ArrayList<>(entries));
+    }
+
+    /**
+     * Write the archive, replacing any earlier recording
+     */
+    public synchronized void write(Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        ObjectNode root = MAPPER.createObjectNode();
+        ObjectNode log = root.putObject("log");
+        log.put("version", "1.2");
+        log.putObject("creator").put("name", "web-testing-framework").put("version", "1.0");
+        ArrayNode list = log.putArray("entries");
+        for (ArchiveEntry entry : entries) {
+            ObjectNode item = list.addObject();
+            item.put("time", entry.getTimeMillis());
+            item.putObject("request").put("method", entry.getMethod()).put("url", entry.getUrl());
+            ObjectNode response = item.putObject("response");
+            response.put("status", entry.getStatus());
+            ArrayNode headers = response.putArray("headers");
+            for (Map.Entry<String, String> header : entry.getHeaders()) {
+                headers.addObject().put("name", header.getKey()).put("value", header.getValue());
+            }
+            ObjectNode content = response.putObject("content");
+            byte[] body = entry.getBody();
+            content.put("size", body.length);
+            content.put("mimeType", entry.getMimeType());
+            if (isText(entry.getMimeType()) && isUtf8(body)) {
+                content.put("text", new String(body, StandardCharsets.UTF_8));
+            } else {
+                content.put("text", Base64.getEncoder().encodeToString(body));
+                content.put("encoding", "base64");
+            }
+        }
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            MAPPER.writeValue(out, root);
+        }
+    }
+
+    private static boolean isText(String mimeType) {
+        String type = mimeType.toLowerCase(Locale.ROOT);
+        return type.startsWith("text/") || type.contains("json") || type.contains("javascript")
+            || type.contains("xml") || type.contains("svg");
+    }
+
+    private static boolean isUtf8(byte[] body) {
+        try {
+            StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(body));
+            return true;
+        } catch (CharacterCodingException e) {
+            return false;
+        }
+    }
+
+    private static String key(String method, String url) {
+        return method.toUpperCase(Locale.ROOT) + " " + url;
+    }
+}
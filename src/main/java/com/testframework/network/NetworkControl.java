@@ -0,0 +1,97 @@
+package com.testframework.network;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Applies network rules to browser sessions
+ * Blocked URLs fail in the browser with ERR_BLOCKED_BY_CLIENT (Network.setBlockedURLs); route stubs are
+ * answered from fixtures through request interception, which also records and replays network archives.
+ * All of these need a Chromium-based session; the stub driver honours the blocklist for page loads.
+ */
+public final class NetworkControl {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkControl.class);
+
+    private static final Map<WebDriver, NetworkInterceptor> INTERCEPTORS =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
+    private NetworkControl() {
+    }
+
+    /**
+     * Apply rules to a session, replacing rules applied before
+     * Network archives of the session are those of the tests running on the calling thread.
+     */
+    public static void apply(WebDriver driver, NetworkRules rules) {
+        release(driver);
+        if (!rules.getBlocked().isEmpty()) {
+            if (driver instanceof HasCdp) {
+                HasCdp cdp = (HasCdp) driver;
+                cdp.executeCdpCommand("Network.enable", new HashMap<>());
+                cdp.executeCdpCommand("Network.setBlockedURLs",
+                    Collections.singletonMap("urls", rules.getBlocked()));
+            } else {
+                logger.warn("URL blocklist not applied: {} does not support DevTools", driver.getClass().getSimpleName());
+            }
+        }
+        if (!rules.getStubs().isEmpty() || NetworkRecording.isEnabled()) {
+            if (driver instanceof HasDevTools) {
+                Filter recording = NetworkRecording.filter();
+                Filter filter = next -> {
+                    HttpHandler recorded = recording.apply(next);
+                    return request -> {
+                        RouteStub stub = rules.stubFor(request.getUri());
+                        return stub != null ? respond(stub, request.getUri()) : recorded.execute(request);
+                    };
+                };
+                INTERCEPTORS.put(driver, new NetworkInterceptor(driver, filter));
+            } else {
+                logger.warn("Route stubs and network archives not applied: {} does not support request interception",
+                    driver.getClass().getSimpleName());
+            }
+        }
+        logger.info("Network rules applied: {}", rules);
+    }
+
+    /**
+     * Stop intercepting requests of a session; call before quitting it
+     */
+    public static void release(WebDriver driver) {
+        NetworkInterceptor interceptor = INTERCEPTORS.remove(driver);
+        if (interceptor != null) {
+            try {
+                interceptor.close();
+            } catch (RuntimeException e) {
+                logger.debug("Failed to stop request interception: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static HttpResponse respond(RouteStub stub, String url) {
+        try {
+            logger.debug("Stubbing {} with {}", url, stub.getFixture());
+            return new HttpResponse()
+                .setStatus(stub.getStatus())
+                .addHeader("Content-Type", stub.getContentType())
+                .addHeader("Access-Control-Allow-Origin", "*")
+                .setContent(Contents.bytes(stub.body()));
+        } catch (IOException e) {
+            logger.error("Failed to read stub fixture {}: {}", stub.getFixture(), e.getMessage());
+            return new HttpResponse().setStatus(500);
+        }
+    }
+}
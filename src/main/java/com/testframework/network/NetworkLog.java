@@ -0,0 +1,293 @@
+package com.testframework.network;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * HAR file of one test, written request by request from DevTools network events
+ * Only requests still in flight are held in memory; each request is appended to the file as soon as
+ * it finishes or fails, and summary statistics are kept as running totals.
+ */
+public final class NetworkLog implements AutoCloseable {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path file;
+    private final JsonGenerator json;
+    private final int slowestCount;
+    private final Map<String, Pending> inFlight = new HashMap<>();
+    private final PriorityQueue<NetworkSummary.Request> slowest =
+        new PriorityQueue<>(Comparator.comparingDouble(NetworkSummary.Request::getMillis));
+    private int requests;
+    private int failed;
+    private int blocking;
+    private double blockingMillis;
+    private long bytes;
+
+    public NetworkLog(Path file, int slowestCount) throws IOException {
+        this.file = file;
+        this.slowestCount = slowestCount;
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        this.json = new JsonFactory().createGenerator(file.toFile(), JsonEncoding.UTF8);
+        json.writeStartObject();
+        json.writeObjectFieldStart("log");
+        json.writeStringField("version", "1.2");
+        json.writeObjectFieldStart("creator");
+        json.writeStringField("name", "web-testing-framework");
+        json.writeStringField("version", "1.0");
+        json.writeEndObject();
+        json.writeArrayFieldStart("entries");
+    }
+
+    /**
+     * Get file being written
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Process one performance log message ({"message":{"method":"Network...","params":{...}}})
+     */
+    public void accept(String message) throws IOException {
+        JsonNode event = MAPPER.readTree(message).path("message");
+        String method = event.path("method").asText();
+        JsonNode params = event.path("params");
+        String requestId = params.path("requestId").asText();
+        switch (method) {
+            case "Network.requestWillBeSent":
+                Pending redirected = inFlight.remove(requestId);
+                if (redirected != null && params.has("redirectResponse")) {
+                    redirected.response(params.path("redirectResponse"));
+                    write(redirected, params.path("timestamp").asDouble(), null);
+                }
+                inFlight.put(requestId, new Pending(params));
+                break;
+            case "Network.responseReceived":
+                Pending received = inFlight.get(requestId);
+                if (received != null) {
+                    received.response(params.path("response"));
+                }
+                break;
+            case "Network.loadingFinished":
+                Pending finished = inFlight.remove(requestId);
+                if (finished != null) {
+                    finished.encodedBytes = params.path("encodedDataLength").asLong(finished.encodedBytes);
+                    write(finished, params.path("timestamp").asDouble(), null);
+                }
+                break;
+            case "Network.loadingFailed":
+                Pending lost = inFlight.remove(requestId);
+                if (lost != null) {
+                    write(lost, params.path("timestamp").asDouble(), params.path("errorText").asText("failed"));
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Finish the file; requests still in flight are written without a response
+     */
+    public NetworkSummary finish() throws IOException {
+        for (Pending pending : new ArrayList<>(inFlight.values())) {
+            write(pending, pending.timestamp, "unfinished");
+        }
+        inFlight.clear();
+        close();
+        List<NetworkSummary.Request> ranked = new ArrayList<>(slowest);
+        ranked.sort(Comparator.comparingDouble(NetworkSummary.Request::getMillis).reversed());
+        return new NetworkSummary(requests, failed, bytes, blocking, blockingMillis, ranked, file);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!json.isClosed()) {
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndObject();
+            json.close();
+        }
+    }
+
+    private void write(Pending pending, double endTimestamp, String error) throws IOException {
+        double total = Math.max(0, (endTimestamp - pending.timestamp) * 1000);
+        Timings timings = new Timings(pending.timing, pending.timestamp, endTimestamp, total);
+
+        json.writeStartObject();
+        json.writeStringField("startedDateTime", Instant.ofEpochMilli((long) (pending.wallTime * 1000)).toString());
+        json.writeNumberField("time", round(total));
+        json.writeObjectFieldStart("request");
+        json.writeStringField("method", pending.method);
+        json.writeStringField("url", pending.url);
+        writeEmptyMessageFields(pending.protocol);
+        json.writeArrayFieldStart("queryString");
+        json.writeEndArray();
+        json.writeNumberField("bodySize", -1);
+        json.writeEndObject();
+        json.writeObjectFieldStart("response");
+        json.writeNumberField("status", pending.status);
+        json.writeStringField("statusText", pending.statusText);
+        writeEmptyMessageFields(pending.protocol);
+        json.writeObjectFieldStart("content");
+        json.writeStringField("mimeType", pending.mimeType);
+        json.writeNumberField("size", pending.encodedBytes);
+        json.writeEndObject();
+        json.writeStringField("redirectURL", "");
+        json.writeNumberField("bodySize", -1);
+        json.writeNumberField("_transferSize", pending.encodedBytes);
+        if (error != null) {
+            json.writeStringField("_error", error);
+        }
+        json.writeEndObject();
+        json.writeObjectFieldStart("cache");
+        json.writeEndObject();
+        json.writeObjectFieldStart("timings");
+        json.writeNumberField("blocked", round(timings.blocked));
+        json.writeNumberField("dns", round(timings.dns));
+        json.writeNumberField("connect", round(timings.connect));
+        json.writeNumberField("ssl", round(timings.ssl));
+        json.writeNumberField("send", round(timings.send));
+        json.writeNumberField("wait", round(timings.wait));
+        json.writeNumberField("receive", round(timings.receive));
+        json.writeEndObject();
+        json.writeStringField("_resourceType", pending.type);
+        json.writeStringField("_priority", pending.priority);
+        json.writeBooleanField("_renderBlocking", pending.isBlocking());
+        json.writeEndObject();
+        json.flush();
+
+        requests++;
+        bytes += pending.encodedBytes;
+        if (error != null || pending.status >= 400) {
+            failed++;
+        }
+        if (pending.isBlocking()) {
+            blocking++;
+            blockingMillis += total;
+        }
+        slowest.add(new NetworkSummary.Request(pending.method, pending.url, pending.status, total, pending.isBlocking()));
+        if (slowest.size() > slowestCount) {
+            slowest.poll();
+        }
+    }
+
+    /**
+     * Fields HAR requires on requests and responses; headers and cookies are not taken from the events
+     */
+    private void writeEmptyMessageFields(String protocol) throws IOException {
+        json.writeStringField("httpVersion", protocol);
+        json.writeArrayFieldStart("cookies");
+        json.writeEndArray();
+        json.writeArrayFieldStart("headers");
+        json.writeEndArray();
+        json.writeNumberField("headersSize", -1);
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 1000) / 1000.0;
+    }
+
+    /**
+     * A request seen in the event stream but not finished yet
+     */
+    private static final class Pending {
+        private final String method;
+        private final String url;
+        private final String type;
+        private final String priority;
+        private final double timestamp;
+        private final double wallTime;
+        private int status;
+        private String statusText = "";
+        private String mimeType = "";
+        private String protocol = "";
+        private long encodedBytes;
+        private JsonNode timing;
+
+        private Pending(JsonNode params) {
+            JsonNode request = params.path("request");
+            this.method = request.path("method").asText("GET");
+            this.url = request.path("url").asText();
+            this.type = params.path("type").asText("Other");
+            this.priority = request.path("initialPriority").asText("");
+            this.timestamp = params.path("timestamp").asDouble();
+            this.wallTime = params.path("wallTime").asDouble();
+        }
+
+        private void response(JsonNode response) {
+            status = response.path("status").asInt();
+            statusText = response.path("statusText").asText("");
+            mimeType = response.path("mimeType").asText("");
+            protocol = response.path("protocol").asText("");
+            encodedBytes = response.path("encodedDataLength").asLong(encodedBytes);
+            timing = response.has("timing") ? response.path("timing") : null;
+        }
+
+        /**
+         * Documents, stylesheets and high-priority scripts hold up rendering of the page
+         */
+        private boolean isBlocking() {
+            return type.equals("Document") || type.equals("Stylesheet")
+                || (type.equals("Script") && (priority.equals("VeryHigh") || priority.equals("High")));
+        }
+    }
+
+    /**
+     * HAR timing phases derived from a DevTools ResourceTiming, in milliseconds
+     */
+    private static final class Timings {
+        private double blocked;
+        private double dns = -1;
+        private double connect = -1;
+        private double ssl = -1;
+        private double send;
+        private double wait;
+        private double receive;
+
+        private Timings(JsonNode timing, double start, double end, double total) {
+            if (timing == null) {
+                wait = total;
+                return;
+            }
+            // Offsets are relative to requestTime (seconds); -1 means the phase did not happen
+            double offset = (timing.path("requestTime").asDouble(start) - start) * 1000;
+            double dnsStart = timing.path("dnsStart").asDouble(-1);
+            double connectStart = timing.path("connectStart").asDouble(-1);
+            double sslStart = timing.path("sslStart").asDouble(-1);
+            double sendStart = timing.path("sendStart").asDouble(0);
+            double sendEnd = timing.path("sendEnd").asDouble(sendStart);
+            double headersEnd = timing.path("receiveHeadersEnd").asDouble(sendEnd);
+
+            double firstPhase = dnsStart >= 0 ? dnsStart : connectStart >= 0 ? connectStart : sendStart;
+            blocked = Math.max(0, offset + firstPhase);
+            if (dnsStart >= 0) {
+                dns = Math.max(0, timing.path("dnsEnd").asDouble(dnsStart) - dnsStart);
+            }
+            if (connectStart >= 0) {
+                connect = Math.max(0, timing.path("connectEnd").asDouble(connectStart) - connectStart);
+            }
+            if (sslStart >= 0) {
+                ssl = Math.max(0, timing.path("sslEnd").asDouble(sslStart) - sslStart);
+            }
+            send = Math.max(0, sendEnd - sendStart);
+            wait = Math.max(0, headersEnd - sendEnd);
+            receive = Math.max(0, (end - start) * 1000 - offset - headersEnd);
+        }
+    }
+}
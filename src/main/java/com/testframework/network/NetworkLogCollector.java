@@ -0,0 +1,144 @@
+package com.testframework.network;
+
+import com.testframework.config.TestConfig;
+import com.testframework.reporting.TestArtifacts;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Logs each test's network requests from the browser's DevTools network events
+ * Chromium sessions report the events through the performance log, which is drained after navigations
+ * and when the test finishes. Requests are streamed to {networkLogDir}/{test}.har as they complete; the
+ * summary is attached to the test's result and the HAR file added as an artifact.
+ * Enabled with test.networkLog.enabled=true.
+ */
+public final class NetworkLogCollector {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkLogCollector.class);
+    private static final ThreadLocal<Session> SESSION = new ThreadLocal<>();
+
+    private NetworkLogCollector() {
+    }
+
+    /**
+     * Check if network logging is enabled (test.networkLog.enabled)
+     */
+    public static boolean isEnabled() {
+        return TestConfig.getInstance().isNetworkLogEnabled();
+    }
+
+    /**
+     * Start logging the requests a test makes through a driver
+     * Events the session reported before the test are discarded.
+     */
+    public static void begin(WebDriver driver, String testId) {
+        abandon();
+        if (!isEnabled() || driver == null) {
+            return;
+        }
+        try {
+            if (!driver.manage().logs().getAvailableLogTypes().contains(LogType.PERFORMANCE)) {
+                logger.debug("Browser session has no performance log, not logging network of {}", testId);
+                return;
+            }
+            driver.manage().logs().get(LogType.PERFORMANCE);
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            logger.debug("Browser session has no performance log: {}", e.getMessage());
+            return;
+        }
+        TestConfig config = TestConfig.getInstance();
+        Path file = Paths.get(config.getNetworkLogDir(), NetworkRecording.fileName(testId) + ".har");
+        try {
+            SESSION.set(new Session(driver, new NetworkLog(file, config.getNetworkLogSlowest())));
+        } catch (IOException e) {
+            logger.error("Failed to open network log {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Write requests reported so far by the current thread's test to its log
+     */
+    public static void drain() {
+        Session session = SESSION.get();
+        if (session == null) {
+            return;
+        }
+        try {
+            for (LogEntry entry : session.driver.manage().logs().get(LogType.PERFORMANCE)) {
+                session.log.accept(entry.getMessage());
+            }
+        } catch (WebDriverException | IOException e) {
+            logger.warn("Failed to read network events: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Finish the current thread's log and attach its summary to the running test
+     * Returns null if no log was being written.
+     */
+    public static NetworkSummary finish() {
+        Session session = SESSION.get();
+        if (session == null) {
+            return null;
+        }
+        drain();
+        SESSION.remove();
+        try {
+            NetworkSummary summary = session.log.finish();
+            logger.info("Network: {} requests, {} failed, {} KB, {} render-blocking ({} ms) - {}",
+                summary.getRequests(), summary.getFailed(), summary.getBytes() / 1024, summary.getBlocking(),
+                Math.round(summary.getBlockingMillis()), summary.getFile());
+            ITestResult result = Reporter.getCurrentTestResult();
+            if (result != null) {
+                result.setAttribute(NetworkSummary.ATTRIBUTE, summary);
+            }
+            TestArtifacts.add("har", summary.getFile().toString());
+            return summary;
+        } catch (IOException e) {
+            logger.error("Failed to finish network log {}: {}", session.log.getFile(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Get the network summary attached to a result, or null
+     */
+    public static NetworkSummary get(ITestResult result) {
+        Object value = result.getAttribute(NetworkSummary.ATTRIBUTE);
+        return value instanceof NetworkSummary ? (NetworkSummary) value : null;
+    }
+
+    /**
+     * Close a log left open by a test that never finished
+     */
+    private static void abandon() {
+        Session stale = SESSION.get();
+        SESSION.remove();
+        if (stale != null) {
+            try {
+                stale.log.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close network log {}: {}", stale.log.getFile(), e.getMessage());
+            }
+        }
+    }
+
+    private static final class Session {
+        private final WebDriver driver;
+        private final NetworkLog log;
+
+        private Session(WebDriver driver, NetworkLog log) {
+            this.driver = driver;
+            this.log = log;
+        }
+    }
+}
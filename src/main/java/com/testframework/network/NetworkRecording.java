@@ -0,0 +1,197 @@
+package com.testframework.network;
+
+import com.testframework.config.TestConfig;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the network traffic of each test into an archive, or serves it back from one
+ * Set test.network.archive.mode to record to capture every request and response while tests run, and to
+ * replay to serve the browser exclusively from the archives. In strict replay a request missing from the
+ * archive is answered with 404 and fails the test. A session's traffic belongs to the test running on the thread
+ * that set the session up, so parallel workers record and replay their own archives.
+ */
+public final class NetworkRecording {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkRecording.class);
+    private static final int MAX_NAME_LENGTH = 120;
+
+    private static final ThreadLocal<Channel> CHANNEL = ThreadLocal.withInitial(Channel::new);
+
+    private NetworkRecording() {
+    }
+
+    /**
+     * Check if sessions need to intercept traffic for recording or replay
+     */
+    public static boolean isEnabled() {
+        String mode = TestConfig.getInstance().getNetworkArchiveMode();
+        return mode.equals("record") || mode.equals("replay");
+    }
+
+    /**
+     * Get a request filter serving the tests of the current thread from their archives, or recording them
+     * Bound to the thread's channel, which carries the recording of the test running on it, so install it on
+     * the thread that sets the session up.
+     */
+    public static Filter filter() {
+        Channel channel = CHANNEL.get();
+        return next -> request -> handle(channel, request, next);
+    }
+
+    /**
+     * Start recording or replaying the traffic of the current thread's test
+     */
+    public static void begin(String testId) {
+        TestConfig config = TestConfig.getInstance();
+        String mode = config.getNetworkArchiveMode();
+        if (!isEnabled()) {
+            return;
+        }
+        Path file = archiveFile(testId);
+        boolean replay = mode.equals("replay");
+        NetworkArchive archive = new NetworkArchive();
+        if (replay) {
+            if (Files.isRegularFile(file)) {
+                try {
+                    archive = NetworkArchive.read(file);
+                } catch (IOException e) {
+                    logger.error("Failed to read network archive {}: {}", file, e.getMessage());
+                }
+            } else {
+                logger.warn("No network archive for {} at {}", testId, file);
+            }
+        }
+        CHANNEL.get().current = new Recording(testId, file, replay, config.isNetworkArchiveStrict(), archive);
+    }
+
+    /**
+     * Stop recording or replaying; writes the archive when recording
+     * Returns requests a strict replay could not serve, empty otherwise.
+     */
+    public static List<String> finish() {
+        Channel channel = CHANNEL.get();
+        Recording recording = channel.current;
+        channel.current = null;
+        if (recording == null) {
+            return Collections.emptyList();
+        }
+        if (!recording.replay) {
+            try {
+                recording.archive.write(recording.file);
+                logger.info("Recorded {} requests of {} to {}", recording.archive.getEntries().size(),
+                    recording.testId, recording.file);
+            } catch (IOException e) {
+                logger.error("Failed to write network archive {}: {}", recording.file, e.getMessage());
+            }
+            return Collections.emptyList();
+        }
+        synchronized (recording.misses) {
+            return new ArrayList<>(recording.misses);
+        }
+    }
+
+    /**
+     * Handle a session's intercepted request: serve it from the archive, or send it on and record the response
+     */
+    private static HttpResponse handle(Channel channel, HttpRequest request, HttpHandler next) {
+        Recording recording = channel.current;
+        if (recording == null) {
+            return NetworkInterceptor.PROCEED_WITH_REQUEST;
+        }
+        String method = request.getMethod().toString();
+        String url = request.getUri();
+
+        if (recording.replay) {
+            ArchiveEntry entry = recording.archive.next(method, url);
+            if (entry != null) {
+                return entry.toResponse();
+            }
+            if (!recording.strict) {
+                return NetworkInterceptor.PROCEED_WITH_REQUEST;
+            }
+            synchronized (recording.misses) {
+                recording.misses.add(method + " " + url);
+            }
+            return new HttpResponse().setStatus(404)
+                .addHeader("Content-Type", "text/plain; charset=utf-8")
+                .setContent(Contents.string("Not in network archive: " + method + " " + url, StandardCharsets.UTF_8));
+        }
+
+        long start = System.nanoTime();
+        HttpResponse response = next.execute(request);
+        byte[] body = Contents.bytes(response.getContent());
+        response.setContent(Contents.bytes(body));
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        for (String name : response.getHeaderNames()) {
+            if (ArchiveEntry.isRecordedHeader(name)) {
+                for (String value : response.getHeaders(name)) {
+                    headers.add(new AbstractMap.SimpleImmutableEntry<>(name, value));
+                }
+            }
+        }
+        recording.archive.add(new ArchiveEntry(method, url, response.getStatus(), headers, body,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        return response;
+    }
+
+    /**
+     * Archive file of a test; names are made file-system safe and long ones shortened with a hash
+     */
+    static Path archiveFile(String testId) {
+        return Paths.get(TestConfig.getInstance().getNetworkArchiveDir(), fileName(testId) + ".har.gz");
+    }
+
+    /**
+     * File name for a test's files; long names are cut and made unique with a hash of the test id
+     */
+    static String fileName(String testId) {
+        String name = testId.replaceAll("[^A-Za-z0-9._-]", "_");
+        if (name.length() > MAX_NAME_LENGTH) {
+            name = name.substring(0, MAX_NAME_LENGTH) + "_" + String.format(Locale.ROOT, "%08x", testId.hashCode());
+        }
+        return name;
+    }
+
+    /**
+     * Recording of the test running on one thread, read by the interceptors of the sessions set up on it
+     */
+    private static final class Channel {
+        private volatile Recording current;
+    }
+
+    private static final class Recording {
+        private final String testId;
+        private final Path file;
+        private final boolean replay;
+        private final boolean strict;
+        private final NetworkArchive archive;
+        private final List<String> misses = new ArrayList<>();
+
+        private Recording(String testId, Path file, boolean replay, boolean strict, NetworkArchive archive) {
+            this.testId = testId;
+            this.file = file;
+            this.replay = replay;
+            this.strict = strict;
+            this.archive = archive;
+        }
+    }
+}
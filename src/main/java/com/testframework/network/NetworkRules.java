@@ -0,0 +1,118 @@
+package com.testframework.network;
+
+import com.testframework.config.TestConfig;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Requests a browser session must not make (blocklist) or must not send to the network (route stubs)
+ * Instances are immutable; use the with-methods to derive variants.
+ */
+public final class NetworkRules {
+    public static final NetworkRules NONE = new NetworkRules(Collections.emptyList(), Collections.emptyList());
+
+    private static final String STUB_PREFIX = "test.network.stub.";
+
+    private final List<String> blocked;
+    private final List<RouteStub> stubs;
+
+    private NetworkRules(List<String> blocked, List<RouteStub> stubs) {
+        this.blocked = Collections.unmodifiableList(new ArrayList<>(blocked));
+        this.stubs = Collections.unmodifiableList(new ArrayList<>(stubs));
+    }
+
+    /**
+     * Read rules from test.network.block and test.network.stub.{name}.* settings
+     * Stub fixtures are resolved against the test data directory.
+     */
+    public static NetworkRules fromConfig() {
+        TestConfig config = TestConfig.getInstance();
+        List<String> blocked = new ArrayList<>();
+        for (String pattern : config.getProperty("test.network.block", "").split(",")) {
+            if (!pattern.trim().isEmpty()) {
+                blocked.add(pattern.trim());
+            }
+        }
+
+        Set<String> names = new TreeSet<>();
+        for (String key : config.getSnapshot().asMap().keySet()) {
+            if (key.startsWith(STUB_PREFIX) && key.lastIndexOf('.') > STUB_PREFIX.length()) {
+                names.add(key.substring(STUB_PREFIX.length(), key.lastIndexOf('.')));
+            }
+        }
+        List<RouteStub> stubs = new ArrayList<>();
+        for (String name : names) {
+            String prefix = STUB_PREFIX + name + ".";
+            String url = config.getProperty(prefix + "url", "");
+            String fixture = config.getProperty(prefix + "fixture", "");
+            if (url.isEmpty() || fixture.isEmpty()) {
+                throw new IllegalArgumentException("Route stub '" + name + "' needs both " + prefix + "url and "
+                    + prefix + "fixture");
+            }
+            Path file = Paths.get(config.getTestDataDir()).resolve(fixture);
+            if (!Files.isRegularFile(file)) {
+                throw new IllegalArgumentException("Fixture of route stub '" + name + "' not found: " + file);
+            }
+            stubs.add(new RouteStub(url, file, config.getIntProperty(prefix + "status", 200),
+                config.getProperty(prefix + "contentType", "")));
+        }
+        return new NetworkRules(blocked, stubs);
+    }
+
+    /**
+     * Get URL patterns that are blocked
+     */
+    public List<String> getBlocked() {
+        return blocked;
+    }
+
+    /**
+     * Get route stubs, first match wins
+     */
+    public List<RouteStub> getStubs() {
+        return stubs;
+    }
+
+    /**
+     * Check if the rules change anything
+     */
+    public boolean isEmpty() {
+        return blocked.isEmpty() && stubs.isEmpty();
+    }
+
+    /**
+     * Get the stub answering a URL, or null if it goes to the network
+     */
+    public RouteStub stubFor(String url) {
+        for (RouteStub stub : stubs) {
+            if (stub.getUrl().matches(url)) {
+                return stub;
+            }
+        }
+        return null;
+    }
+
+    public NetworkRules withBlocked(String pattern) {
+        List<String> patterns = new ArrayList<>(blocked);
+        patterns.add(pattern);
+        return new NetworkRules(patterns, stubs);
+    }
+
+    public NetworkRules withStub(RouteStub stub) {
+        List<RouteStub> routes = new ArrayList<>(stubs);
+        routes.add(stub);
+        return new NetworkRules(blocked, routes);
+    }
+
+    @Override
+    public String toString() {
+        return "blocked " + blocked + ", stubs " + stubs;
+    }
+}
@@ -0,0 +1,120 @@
+package com.testframework.network;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Summary of a test's network log: totals, render-blocking requests and the slowest requests
+ */
+public final class NetworkSummary {
+    /** Result attribute holding the summary of a test's network log */
+    public static final String ATTRIBUTE = "testframework.networkLog";
+
+    private final int requests;
+    private final int failed;
+    private final long bytes;
+    private final int blocking;
+    private final double blockingMillis;
+    private final List<Request> slowest;
+    private final Path file;
+
+    NetworkSummary(int requests, int failed, long bytes, int blocking, double blockingMillis, List<Request> slowest,
+                   Path file) {
+        this.requests = requests;
+        this.failed = failed;
+        this.bytes = bytes;
+        this.blocking = blocking;
+        this.blockingMillis = blockingMillis;
+        this.slowest = Collections.unmodifiableList(slowest);
+        this.file = file;
+    }
+
+    /**
+     * Get number of requests logged
+     */
+    public int getRequests() {
+        return requests;
+    }
+
+    /**
+     * Get number of requests that failed or answered with an error status
+     */
+    public int getFailed() {
+        return failed;
+    }
+
+    /**
+     * Get bytes transferred over the network
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Get number of render-blocking requests (documents, stylesheets, high-priority scripts)
+     */
+    public int getBlocking() {
+        return blocking;
+    }
+
+    /**
+     * Get summed duration of render-blocking requests
+     */
+    public double getBlockingMillis() {
+        return blockingMillis;
+    }
+
+    /**
+     * Get the slowest requests, slowest first
+     */
+    public List<Request> getSlowest() {
+        return slowest;
+    }
+
+    /**
+     * Get HAR file the requests were written to
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * One request in the summary
+     */
+    public static final class Request {
+        private final String method;
+        private final String url;
+        private final int status;
+        private final double millis;
+        private final boolean blocking;
+
+        Request(String method, String url, int status, double millis, boolean blocking) {
+            this.method = method;
+            this.url = url;
+            this.status = status;
+            this.millis = millis;
+            this.blocking = blocking;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public double getMillis() {
+            return millis;
+        }
+
+        public boolean isBlocking() {
+            return blocking;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.testframework.network;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Answer requests matching a URL pattern with a fixture file instead of the network
+ */
+public final class RouteStub {
+    private final UrlPattern url;
+    private final Path fixture;
+    private final int status;
+    private final String contentType;
+
+    public RouteStub(String url, Path fixture, int status, String contentType) {
+        this.url = new UrlPattern(url);
+        this.fixture = fixture;
+        this.status = status;
+        this.contentType = contentType != null && !contentType.isEmpty() ? contentType : contentTypeOf(fixture);
+    }
+
+    /**
+     * Get pattern of URLs answered by this stub
+     */
+    public UrlPattern getUrl() {
+        return url;
+    }
+
+    /**
+     * Get file served as the response body
+     */
+    public Path getFixture() {
+        return fixture;
+    }
+
+    /**
+     * Get response status
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Get response content type
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Read the response body
+     */
+    public byte[] body() throws IOException {
+        return Files.readAllBytes(fixture);
+    }
+
+    private static String contentTypeOf(Path fixture) {
+        String name = fixture.getFileName().toString().toLowerCase();
+        if (name.endsWith(".json")) {
+            return "application/json; charset=utf-8";
+        }
+        if (name.endsWith(".html") || name.endsWith(".htm")) {
+            return "text/html; charset=utf-8";
+        }
+        if (name.endsWith(".js")) {
+            return "text/javascript; charset=utf-8";
+        }
+        if (name.endsWith(".css")) {
+            return "text/css; charset=utf-8";
+        }
+        if (name.endsWith(".txt")) {
+            return "text/plain; charset=utf-8";
+        }
+        try {
+            String probed = Files.probeContentType(fixture);
+            return probed != null ? probed : "application/octet-stream";
+        } catch (IOException e) {
+            return "application/octet-stream";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return url + " -> " + fixture + " (" + status + ")";
+    }
+}
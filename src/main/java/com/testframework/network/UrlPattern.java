@@ -0,0 +1,36 @@
+package com.testframework.network;
+
+import java.util.regex.Pattern;
+
+/**
+ * URL pattern in the DevTools blocklist syntax, where * matches any run of characters
+ * "*doubleclick.net*" matches every URL containing doubleclick.net; a pattern without * must match the whole URL.
+ */
+public final class UrlPattern {
+    private final String pattern;
+    private final Pattern regex;
+
+    public UrlPattern(String pattern) {
+        this.pattern = pattern;
+        StringBuilder regex = new StringBuilder();
+        for (String literal : pattern.split("\\*", -1)) {
+            if (regex.length() > 0) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(literal));
+        }
+        this.regex = Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Check if a URL matches
+     */
+    public boolean matches(String url) {
+        return regex.matcher(url).matches();
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
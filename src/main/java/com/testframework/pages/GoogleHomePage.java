@@ -1,6 +1,8 @@
 package com.testframework.pages;
 
+import com.testframework.config.TestConfig;
 import com.testframework.core.BasePage;
+import com.testframework.metrics.PerformanceBudget;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
@@ -10,6 +12,7 @@ import org.slf4j.LoggerFactory;
  * Page Object for Google Homepage
  * Demonstrates how to create page objects using the framework
  */
+@PerformanceBudget(loadMillis = 5000, lcpMillis = 4000, cls = 0.25, requests = 150)
 public class GoogleHomePage extends BasePage {
     private static final Logger logger = LoggerFactory.getLogger(GoogleHomePage.class);
     
@@ -28,7 +31,7 @@ public class GoogleHomePage extends BasePage {
      */
     public void navigateToHomePage() {
         logger.info("Navigating to Google homepage");
-        driver.get("https://www.google.com");
+        open(TestConfig.getInstance().getBaseUrl());
         waitForElementVisible(SEARCH_BOX);
     }
     
@@ -0,0 +1,77 @@
+package com.testframework.reporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Append-only NDJSON file of result records
+ * Every record is written and flushed as one line as soon as it is appended, so the file can be
+ * tailed while the run is in progress and nothing is held in memory between records.
+ */
+public class ResultStream implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ResultStream.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path file;
+    private final BufferedWriter writer;
+    private long count;
+
+    public ResultStream(Path file) throws IOException {
+        this.file = file;
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        logger.info("Streaming results to {}", file.toAbsolutePath());
+    }
+
+    /**
+     * Create an empty record to fill and append
+     */
+    public static ObjectNode newRecord(String type) {
+        ObjectNode record = MAPPER.createObjectNode();
+        record.put("type", type);
+        record.put("timestamp", System.currentTimeMillis());
+        return record;
+    }
+
+    /**
+     * Append a record as one line and flush it
+     */
+    public synchronized void append(ObjectNode record) {
+        try {
+            writer.write(MAPPER.writeValueAsString(record));
+            writer.write('\n');
+            writer.flush();
+            count++;
+        } catch (IOException e) {
+            logger.error("Failed to append result to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Get number of records appended
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Get file being written
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,243 @@
+package com.testframework.reporting;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Builds HTML and JUnit XML views from an NDJSON result stream
+ * The stream is read twice, once for totals and once to write each view, so memory use stays
+ * constant no matter how many results the run produced.
+ */
+public class StreamReportGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(StreamReportGenerator.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path stream;
+
+    public StreamReportGenerator(Path stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * Write results.html and junit-results.xml next to each other in a directory
+     */
+    public void generate(Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        Totals totals = totals();
+        writeHtml(outputDir.resolve("results.html"), totals);
+        writeJUnit(outputDir.resolve("junit-results.xml"), totals);
+        logger.info("Generated reports for {} results in {}", totals.tests, outputDir.toAbsolutePath());
+    }
+
+    /**
+     * Generate reports from a stream file: StreamReportGenerator results.ndjson [outputDir]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: StreamReportGenerator <results.ndjson> [outputDir]");
+            System.exit(1);
+        }
+        Path stream = Paths.get(args[0]);
+        Path outputDir = args.length > 1 ? Paths.get(args[1]) : stream.toAbsolutePath().getParent();
+        new StreamReportGenerator(stream).generate(outputDir);
+    }
+
+    private Totals totals() throws IOException {
+        Totals totals = new Totals();
+        try (BufferedReader reader = Files.newBufferedReader(stream, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonNode record = parse(line);
+                if (record == null) {
+                    continue;
+                }
+                String type = record.path("type").asText();
+                if (type.equals("run-start")) {
+                    totals.name = record.path("name").asText(totals.name);
+                } else if (type.equals("test")) {
+                    totals.tests++;
+                    totals.millis += record.path("durationMs").asLong();
+                    switch (record.path("status").asText()) {
+                        case "passed":
+                            totals.passed++;
+                            break;
+                        case "failed":
+                            totals.failed++;
+                            break;
+                        default:
+                            totals.skipped++;
+                    }
+                }
+            }
+        }
+        return totals;
+    }
+
+    private void writeHtml(Path file, Totals totals) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+             BufferedReader reader = Files.newBufferedReader(stream, StandardCharsets.UTF_8)) {
+            out.write("<!DOCTYPE html>\n<html><head><meta charset=\"UTF-8\"><title>" + html(totals.name)
+                + "</title>\n<style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse;width:100%}"
+                + "td,th{border:1px solid #ddd;padding:4px 8px;text-align:left;vertical-align:top}"
+                + ".passed{color:#080}.failed{color:#c00}.skipped{color:#888}pre{white-space:pre-wrap;margin:0}"
+                + "</style></head><body>\n");
+            out.write("<h1>" + html(totals.name) + "</h1>\n");
+            out.write(String.format(Locale.ROOT, "<p>%d tests: <span class=\"passed\">%d passed</span>, "
+                    + "<span class=\"failed\">%d failed</span>, <span class=\"skipped\">%d skipped</span> "
+                    + "(%.1f s total test time)</p>\n",
+                totals.tests, totals.passed, totals.failed, totals.skipped, totals.millis / 1000.0));
+            out.write("<table><tr><th>Status</th><th>Test</th><th>Duration (ms)</th><th>Phases (ms)</th>"
+                + "<th>Artifacts</th><th>Failure</th></tr>\n");
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonNode record = parse(line);
+                if (record == null || !record.path("type").asText().equals("test")) {
+                    continue;
+                }
+                String status = record.path("status").asText();
+                out.write("<tr><td class=\"" + html(status) + "\">" + html(status) + "</td><td>"
+                    + html(record.path("testId").asText()) + "</td><td>" + record.path("durationMs").asLong()
+                    + "</td><td>");
+                Iterator<Map.Entry<String, JsonNode>> phases = record.path("phases").fields();
+                while (phases.hasNext()) {
+                    Map.Entry<String, JsonNode> phase = phases.next();
+                    if (phase.getValue().asDouble() > 0) {
+                        out.write(String.format(Locale.ROOT, "%s&nbsp;%.1f ", html(phase.getKey()),
+                            phase.getValue().asDouble()));
+                    }
+                }
+                out.write("</td><td>");
+                for (JsonNode artifact : record.path("artifacts")) {
+                    String reference = artifact.asText();
+                    String path = reference.substring(reference.indexOf(':') + 1);
+                    out.write("<a href=\"" + html(link(file, path)) + "\">" + html(reference) + "</a><br>");
+                }
+                out.write("</td><td>");
+                JsonNode failure = record.path("failure");
+                if (!failure.isMissingNode()) {
+                    out.write("<details><summary>" + html(failure.path("type").asText()) + ": "
+                        + html(failure.path("message").asText()) + "</summary><pre>"
+                        + html(failure.path("stackTrace").asText()) + "</pre></details>");
+                }
+                out.write("</td></tr>\n");
+            }
+            out.write("</table></body></html>\n");
+        }
+    }
+
+    private void writeJUnit(Path file, Totals totals) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file);
+             BufferedReader reader = Files.newBufferedReader(stream, StandardCharsets.UTF_8)) {
+            XMLStreamWriter xml = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeCharacters("\n");
+            xml.writeStartElement("testsuite");
+            xml.writeAttribute("name", totals.name);
+            xml.writeAttribute("tests", String.valueOf(totals.tests));
+            xml.writeAttribute("failures", String.valueOf(totals.failed));
+            xml.writeAttribute("errors", "0");
+            xml.writeAttribute("skipped", String.valueOf(totals.skipped));
+            xml.writeAttribute("time", seconds(totals.millis));
+            xml.writeCharacters("\n");
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonNode record = parse(line);
+                if (record == null || !record.path("type").asText().equals("test")) {
+                    continue;
+                }
+                xml.writeStartElement("testcase");
+                xml.writeAttribute("classname", record.path("className").asText());
+                xml.writeAttribute("name", record.path("testId").asText());
+                xml.writeAttribute("time", seconds(record.path("durationMs").asLong()));
+                String status = record.path("status").asText();
+                if (status.equals("failed")) {
+                    JsonNode failure = record.path("failure");
+                    xml.writeStartElement("failure");
+                    xml.writeAttribute("type", failure.path("type").asText());
+                    xml.writeAttribute("message", failure.path("message").asText());
+                    xml.writeCharacters(failure.path("stackTrace").asText());
+                    xml.writeEndElement();
+                } else if (!status.equals("passed")) {
+                    xml.writeEmptyElement("skipped");
+                }
+                if (record.path("artifacts").size() > 0) {
+                    StringBuilder artifacts = new StringBuilder();
+                    for (JsonNode artifact : record.path("artifacts")) {
+                        artifacts.append("[[ATTACHMENT|").append(artifact.asText()).append("]]\n");
+                    }
+                    xml.writeStartElement("system-out");
+                    xml.writeCharacters(artifacts.toString());
+                    xml.writeEndElement();
+                }
+                xml.writeEndElement();
+                xml.writeCharacters("\n");
+            }
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to write JUnit report " + file, e);
+        }
+    }
+
+    /**
+     * Link to an artifact relative to the report, so the report directory can be moved with its artifacts
+     */
+    private static String link(Path report, String artifact) {
+        try {
+            Path relative = report.toAbsolutePath().getParent().relativize(Paths.get(artifact).toAbsolutePath());
+            return relative.toString().replace('\\', '/');
+        } catch (IllegalArgumentException e) {
+            return artifact;
+        }
+    }
+
+    private JsonNode parse(String line) {
+        if (line.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return MAPPER.readTree(line);
+        } catch (IOException e) {
+            // A run killed mid-write leaves a truncated last line
+            logger.warn("Skipping unreadable result record: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String seconds(long millis) {
+        return String.format(Locale.ROOT, "%.3f", millis / 1000.0);
+    }
+
+    private static String html(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static final class Totals {
+        private String name = "Test Results";
+        private int tests;
+        private int passed;
+        private int failed;
+        private int skipped;
+        private long millis;
+    }
+}
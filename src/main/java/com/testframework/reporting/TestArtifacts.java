@@ -0,0 +1,46 @@
+package com.testframework.reporting;
+
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Associates files written during a test (screenshots, logs, ...) with its result
+ * References are kept as an attribute of the running test's result and end up in the result stream.
+ */
+public final class TestArtifacts {
+    static final String ATTRIBUTE = "testframework.artifacts";
+
+    private TestArtifacts() {
+    }
+
+    /**
+     * Attach an artifact to the test running on the current thread, if any
+     */
+    public static void add(String type, String path) {
+        ITestResult result = Reporter.getCurrentTestResult();
+        if (result != null && path != null) {
+            synchronized (result) {
+                get(result).add(type + ":" + Paths.get(path).toAbsolutePath());
+            }
+        }
+    }
+
+    /**
+     * Get artifacts attached to a result as "type:path" references
+     */
+    @SuppressWarnings("unchecked")
+    public static List<String> get(ITestResult result) {
+        Object value = result.getAttribute(ATTRIBUTE);
+        if (value == null) {
+            List<String> artifacts = new ArrayList<>();
+            result.setAttribute(ATTRIBUTE, artifacts);
+            return artifacts;
+        }
+        return value instanceof List ? (List<String>) value : Collections.emptyList();
+    }
+}
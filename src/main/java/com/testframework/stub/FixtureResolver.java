@@ -0,0 +1,112 @@
+package com.testframework.stub;
+
+import org.jsoup.nodes.Entities;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps URLs to HTML fixture files and fills in their templates
+ * Shared by the stub driver and the fixture server so both serve the same pages.
+ *
+ * A path resolves to {fixtureDir}/{host}/{path}, then {fixtureDir}/{path};
+ * "/" maps to index.html and paths without an extension get ".html".
+ * Fixtures may reference query parameters as {{name}}; values are HTML-escaped.
+ */
+public final class FixtureResolver {
+    private final Path fixtureDir;
+
+    public FixtureResolver(Path fixtureDir) {
+        this.fixtureDir = fixtureDir;
+    }
+
+    /**
+     * Get fixture root directory
+     */
+    public Path getFixtureDir() {
+        return fixtureDir;
+    }
+
+    /**
+     * Resolve a fixture file for a host and path, or null if none exists
+     */
+    public Path resolve(String host, String path) {
+        String file = path == null || path.isEmpty() || path.endsWith("/")
+            ? (path == null ? "" : path) + "index.html"
+            : path;
+        if (!file.substring(file.lastIndexOf('/') + 1).contains(".")) {
+            file = file + ".html";
+        }
+        String relative = file.startsWith("/") ? file.substring(1) : file;
+
+        List<Path> candidates = new ArrayList<>();
+        if (host != null && !host.isEmpty()) {
+            candidates.add(fixtureDir.resolve(host).resolve(relative));
+        }
+        candidates.add(fixtureDir.resolve(relative));
+        for (Path candidate : candidates) {
+            // Never serve anything outside the fixture directory
+            if (candidate.normalize().startsWith(fixtureDir.normalize()) && Files.isRegularFile(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check if a fixture file is an HTML template
+     */
+    public static boolean isHtml(Path fixture) {
+        String name = fixture.getFileName().toString().toLowerCase();
+        return name.endsWith(".html") || name.endsWith(".htm");
+    }
+
+    /**
+     * Parse a raw query string; the first value of a repeated parameter wins
+     */
+    public static Map<String, String> queryParameters(String rawQuery) {
+        Map<String, String> params = new LinkedHashMap<>();
+        if (rawQuery != null && !rawQuery.isEmpty()) {
+            for (String pair : rawQuery.split("&")) {
+                int eq = pair.indexOf('=');
+                String key = decode(eq >= 0 ? pair.substring(0, eq) : pair);
+                String value = eq >= 0 ? decode(pair.substring(eq + 1)) : "";
+                params.putIfAbsent(key, value);
+            }
+        }
+        return params;
+    }
+
+    static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Replace {{name}} placeholders with HTML-escaped parameter values
+     */
+    public static String applyTemplate(String html, Map<String, String> params) {
+        if (!html.contains("{{")) {
+            return html;
+        }
+        StringBuilder result = new StringBuilder(html.length());
+        int pos = 0;
+        while (true) {
+            int start = html.indexOf("{{", pos);
+            int end = start >= 0 ? html.indexOf("}}", start) : -1;
+            if (start < 0 || end < 0) {
+                result.append(html, pos, html.length());
+                return result.toString();
+            }
+            result.append(html, pos, start);
+            String name = html.substring(start + 2, end).trim();
+            result.append(Entities.escape(params.getOrDefault(name, "")));
+            pos = end + 2;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.testframework.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.testframework.config.TestConfig;
+import com.testframework.utils.RandomDataGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Embedded HTTP server serving HTML fixtures to real browsers
+ * Pages are resolved and templated like the stub driver's (see {@link FixtureResolver}), using the
+ * configured site as host. Each request can be shaped with latency, a bandwidth limit and an error
+ * rate, globally or per route, so wait and readiness logic can be exercised reproducibly offline.
+ *
+ * Routes are glob patterns on the request path ("*" matches within a segment, "**" across segments);
+ * the longest matching pattern wins. Injected errors are drawn from a random stream seeded with the
+ * suite seed, so a given request sequence fails the same way on every run with the same seed.
+ */
+public class FixtureServer {
+    private static final Logger logger = LoggerFactory.getLogger(FixtureServer.class);
+    private static final String ROUTE_PREFIX = "test.fixtureServer.route.";
+    private static final int CHUNK_SIZE = 1024;
+    private static final Map<String, String> CONTENT_TYPES = new HashMap<>();
+
+    static {
+        CONTENT_TYPES.put("html", "text/html; charset=utf-8");
+        CONTENT_TYPES.put("htm", "text/html; charset=utf-8");
+        CONTENT_TYPES.put("css", "text/css; charset=utf-8");
+        CONTENT_TYPES.put("js", "application/javascript; charset=utf-8");
+        CONTENT_TYPES.put("json", "application/json");
+        CONTENT_TYPES.put("txt", "text/plain; charset=utf-8");
+        CONTENT_TYPES.put("svg", "image/svg+xml");
+        CONTENT_TYPES.put("png", "image/png");
+        CONTENT_TYPES.put("jpg", "image/jpeg");
+        CONTENT_TYPES.put("jpeg", "image/jpeg");
+        CONTENT_TYPES.put("gif", "image/gif");
+        CONTENT_TYPES.put("ico", "image/x-icon");
+    }
+
+    private final FixtureResolver fixtures;
+    private final String site;
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final SplittableRandom errorRandom;
+    private volatile RouteShaping defaultShaping = RouteShaping.NONE;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public FixtureServer(Path fixtureDir, String site) {
+        this.fixtures = new FixtureResolver(fixtureDir);
+        this.site = site;
+        this.errorRandom = new SplittableRandom(RandomDataGenerator.getSuiteSeed());
+    }
+
+    /**
+     * Create a server from configuration, including default and per-route shaping
+     */
+    public static FixtureServer fromConfig() {
+        TestConfig config = TestConfig.getInstance();
+        FixtureServer server = new FixtureServer(Paths.get(config.getStubFixtureDir()), config.getFixtureServerSite());
+        server.setDefaultShaping(shaping(config, "test.fixtureServer.", RouteShaping.NONE));
+
+        for (String key : config.getSnapshot().asMap().keySet()) {
+            if (key.startsWith(ROUTE_PREFIX) && key.lastIndexOf('.') > ROUTE_PREFIX.length()) {
+                String pattern = key.substring(ROUTE_PREFIX.length(), key.lastIndexOf('.'));
+                if (!server.routes.containsKey(pattern)) {
+                    server.route(pattern, shaping(config, ROUTE_PREFIX + pattern + ".", server.defaultShaping));
+                }
+            }
+        }
+        return server;
+    }
+
+    private static RouteShaping shaping(TestConfig config, String prefix, RouteShaping defaults) {
+        RouteShaping shaping = defaults
+            .withLatencyMillis(config.getLongProperty(prefix + "latencyMillis", defaults.getLatencyMillis()))
+            .withBandwidthKbps(config.getLongProperty(prefix + "bandwidthKbps", defaults.getBandwidthKbps()))
+            .withErrorStatus(config.getIntProperty(prefix + "errorStatus", defaults.getErrorStatus()));
+        String errorRate = config.getProperty(prefix + "errorRate");
+        if (errorRate != null && !errorRate.trim().isEmpty()) {
+            try {
+                shaping = shaping.withErrorRate(Double.parseDouble(errorRate.trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid error rate for {}: {}", prefix + "errorRate", errorRate);
+            }
+        }
+        return shaping;
+    }
+
+    /**
+     * Set shaping applied to requests matching no route
+     */
+    public void setDefaultShaping(RouteShaping shaping) {
+        this.defaultShaping = shaping;
+    }
+
+    /**
+     * Shape requests whose path matches a glob pattern
+     */
+    public void route(String pattern, RouteShaping shaping) {
+        routes.put(pattern, new Route(pattern, shaping));
+        logger.debug("Fixture server route {}: {}", pattern, shaping);
+    }
+
+    /**
+     * Remove all per-route shaping
+     */
+    public void clearRoutes() {
+        routes.clear();
+    }
+
+    /**
+     * Start listening on the loopback interface; port 0 picks a free port
+     */
+    public synchronized void start(int port) {
+        if (server != null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start fixture server on port " + port, e);
+        }
+        AtomicInteger threads = new AtomicInteger();
+        // Unbounded so that a slow, throttled response never delays other requests
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fixture-server-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("Fixture server serving {} at {} ({})", fixtures.getFixtureDir().toAbsolutePath(), getBaseUrl(),
+            defaultShaping);
+    }
+
+    /**
+     * Stop the server
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        logger.info("Fixture server stopped after {} requests", requestCount.get());
+        server = null;
+        executor = null;
+    }
+
+    /**
+     * Get base URL of the running server
+     */
+    public String getBaseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("Fixture server is not running");
+        }
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Get number of requests handled so far
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Get shaping applied to a request path
+     */
+    RouteShaping shapingFor(String path) {
+        Route best = null;
+        for (Route route : routes.values()) {
+            if (route.regex.matcher(path).matches()
+                    && (best == null || route.pattern.length() > best.pattern.length())) {
+                best = route;
+            }
+        }
+        return best != null ? best.shaping : defaultShaping;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        String path = exchange.getRequestURI().getPath();
+        RouteShaping shaping = shapingFor(path);
+        try {
+            if (shaping.getLatencyMillis() > 0) {
+                Thread.sleep(shaping.getLatencyMillis());
+            }
+
+            if (shaping.getErrorRate() > 0 && nextErrorDraw() < shaping.getErrorRate()) {
+                logger.debug("Injecting {} for {}", shaping.getErrorStatus(), path);
+                respond(exchange, shaping.getErrorStatus(), "text/plain; charset=utf-8",
+                    ("Injected error " + shaping.getErrorStatus()).getBytes(StandardCharsets.UTF_8), shaping);
+                return;
+            }
+
+            Path fixture = fixtures.resolve(site, path);
+            if (fixture == null) {
+                logger.warn("No fixture for {}", path);
+                respond(exchange, 404, CONTENT_TYPES.get("html"),
+                    "<html><head><title>404 Not Found</title></head><body><h1>Not Found</h1></body></html>"
+                        .getBytes(StandardCharsets.UTF_8), shaping);
+                return;
+            }
+
+            byte[] body = Files.readAllBytes(fixture);
+            if (FixtureResolver.isHtml(fixture)) {
+                String html = new String(body, StandardCharsets.UTF_8);
+                body = FixtureResolver.applyTemplate(html,
+                    FixtureResolver.queryParameters(exchange.getRequestURI().getRawQuery()))
+                    .getBytes(StandardCharsets.UTF_8);
+            }
+            respond(exchange, 200, contentType(fixture), body, shaping);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private synchronized double nextErrorDraw() {
+        return errorRandom.nextDouble();
+    }
+
+    private void respond(HttpExchange exchange, int status, String contentType, byte[] body, RouteShaping shaping)
+            throws IOException, InterruptedException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        boolean head = "HEAD".equalsIgnoreCase(exchange.getRequestMethod());
+        exchange.sendResponseHeaders(status, head ? -1 : body.length);
+        if (head) {
+            return;
+        }
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            if (shaping.getBandwidthKbps() <= 0) {
+                out.write(body);
+                return;
+            }
+            // Release each chunk only when the bandwidth budget allows its last byte to have arrived
+            long bytesPerSecond = Math.max(1, shaping.getBandwidthKbps() * 1000 / 8);
+            int chunkSize = (int) Math.max(1, Math.min(CHUNK_SIZE, bytesPerSecond / 10));
+            long start = System.nanoTime();
+            for (int offset = 0; offset < body.length; offset += chunkSize) {
+                int length = Math.min(chunkSize, body.length - offset);
+                long due = TimeUnit.SECONDS.toNanos(offset + length) / bytesPerSecond;
+                long ahead = due - (System.nanoTime() - start);
+                if (ahead > 0) {
+                    TimeUnit.NANOSECONDS.sleep(ahead);
+                }
+                out.write(body, offset, length);
+                out.flush();
+            }
+        }
+    }
+
+    private static String contentType(Path fixture) {
+        String name = fixture.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String extension = dot >= 0 ? name.substring(dot + 1).toLowerCase() : "";
+        return CONTENT_TYPES.getOrDefault(extension, "application/octet-stream");
+    }
+
+    /**
+     * Convert a path glob to a regular expression
+     */
+    static Pattern compileGlob(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*') {
+                if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                    regex.append(".*");
+                    i++;
+                } else {
+                    regex.append("[^/]*");
+                }
+            } else if (c == '?') {
+                regex.append("[^/]");
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static final class Route {
+        private final String pattern;
+        private final Pattern regex;
+        private final RouteShaping shaping;
+
+        private Route(String pattern, RouteShaping shaping) {
+            this.pattern = pattern;
+            this.regex = compileGlob(pattern);
+            this.shaping = shaping;
+        }
+    }
+}
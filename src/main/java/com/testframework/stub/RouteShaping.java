@@ -0,0 +1,78 @@
+package com.testframework.stub;
+
+/**
+ * Network conditions injected by the fixture server for matching requests
+ * Latency delays the first byte, bandwidth throttles the body and the error rate
+ * answers a fraction of requests with an error status instead of the fixture.
+ */
+public final class RouteShaping {
+    public static final RouteShaping NONE = new RouteShaping(0, 0, 0.0, 503);
+
+    private final long latencyMillis;
+    private final long bandwidthKbps;
+    private final double errorRate;
+    private final int errorStatus;
+
+    public RouteShaping(long latencyMillis, long bandwidthKbps, double errorRate, int errorStatus) {
+        if (latencyMillis < 0 || bandwidthKbps < 0) {
+            throw new IllegalArgumentException("Latency and bandwidth must not be negative");
+        }
+        if (errorRate < 0.0 || errorRate > 1.0) {
+            throw new IllegalArgumentException("Error rate must be between 0 and 1: " + errorRate);
+        }
+        this.latencyMillis = latencyMillis;
+        this.bandwidthKbps = bandwidthKbps;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+    }
+
+    /**
+     * Get delay before the response starts
+     */
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    /**
+     * Get bandwidth limit in kilobits per second, 0 for unlimited
+     */
+    public long getBandwidthKbps() {
+        return bandwidthKbps;
+    }
+
+    /**
+     * Get fraction of requests failed with the error status
+     */
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    /**
+     * Get status code returned for injected errors
+     */
+    public int getErrorStatus() {
+        return errorStatus;
+    }
+
+    public RouteShaping withLatencyMillis(long value) {
+        return new RouteShaping(value, bandwidthKbps, errorRate, errorStatus);
+    }
+
+    public RouteShaping withBandwidthKbps(long value) {
+        return new RouteShaping(latencyMillis, value, errorRate, errorStatus);
+    }
+
+    public RouteShaping withErrorRate(double value) {
+        return new RouteShaping(latencyMillis, bandwidthKbps, value, errorStatus);
+    }
+
+    public RouteShaping withErrorStatus(int value) {
+        return new RouteShaping(latencyMillis, bandwidthKbps, errorRate, value);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("latency=%dms, bandwidth=%s, errorRate=%.3f, errorStatus=%d", latencyMillis,
+            bandwidthKbps > 0 ? bandwidthKbps + "kbps" : "unlimited", errorRate, errorStatus);
+    }
+}
@@ -0,0 +1,1137 @@
+package com.testframework.stub;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testframework.auth.StorageStateCache;
+import com.testframework.config.TestConfig;
+import com.testframework.console.ConsoleEntry;
+import com.testframework.console.HasConsoleEvents;
+import com.testframework.events.HasPageEvents;
+import com.testframework.metrics.PagePerformanceCollector;
+import com.testframework.network.UrlPattern;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.interactions.Interactive;
+import org.openqa.selenium.interactions.Sequence;
+import org.openqa.selenium.logging.LogEntries;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.Logs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * In-memory WebDriver for hermetic framework tests and benchmarks
+ * Pages are loaded from HTML fixture files into a jsoup DOM and element lookups run against it,
+ * so no browser or network is needed. Selected with test.browser=stub.
+ *
+ * URLs map to fixtures as described in {@link FixtureResolver}: https://example.com/search resolves to
+ * {fixtureDir}/example.com/search.html, then {fixtureDir}/search.html. Per-command latency is configured with
+ * test.stub.latencyMillis and test.stub.latency.{command}. With test.networkLog.enabled=true page loads are
+ * reported as DevTools network events through the performance log, like a Chromium session. Page loads and DOM
+ * changes made through elements are reported to {@link HasPageEvents} listeners. The stub runs no JavaScript, so
+ * console entries only reach {@link HasConsoleEvents} listeners through {@link #reportConsole(ConsoleEntry)}.
+ */
+public class StubWebDriver implements WebDriver, JavascriptExecutor, TakesScreenshot, Interactive, HasCdp,
+    HasConsoleEvents, HasPageEvents {
+    private static final Logger logger = LoggerFactory.getLogger(StubWebDriver.class);
+    private static final String WINDOW_HANDLE = "stub-window-1";
+    private static final Map<String, BiFunction<StubWebDriver, Object[], Object>> SCRIPTS = new ConcurrentHashMap<>();
+    private static final HttpClient HTTP = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final FixtureResolver fixtures;
+    private final Map<String, Long> latencies = new ConcurrentHashMap<>();
+    private final long defaultLatency;
+    private final boolean performanceLog;
+    private final List<LogEntry> performanceEntries = new ArrayList<>();
+    private final List<Consumer<ConsoleEntry>> consoleListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<String>> pageListeners = new CopyOnWriteArrayList<>();
+    private final AtomicInteger requestIds = new AtomicInteger();
+    private final Map<String, WindowState> windows = new LinkedHashMap<>();
+    private final Map<String, ContextState> browserContexts = new HashMap<>();
+    private final AtomicInteger targetIds = new AtomicInteger(1);
+    private String windowHandle = WINDOW_HANDLE;
+    private List<String> history = new ArrayList<>();
+    private final ContextState defaultContext = new ContextState();
+    private ContextState context = defaultContext;
+    private Map<String, Map<String, String>> sessionStorage = new HashMap<>();
+    private int historyIndex = -1;
+    private volatile long emulatedLatency;
+    private volatile double cpuSlowdown = 1;
+    private volatile List<UrlPattern> blockedUrls = Collections.emptyList();
+    private Document document = Jsoup.parse("<html><head><title></title></head><body></body></html>");
+    private String currentUrl = "about:blank";
+    private Dimension windowSize = new Dimension(1280, 800);
+    private Point windowPosition = new Point(0, 0);
+    private byte[] screenshot;
+    private Duration implicitWait = Duration.ZERO;
+    private boolean quit;
+
+    static {
+        registerScript("arguments[0].click()", (driver, args) -> {
+            ((WebElement) args[0]).click();
+            return null;
+        });
+        registerScript("arguments[0].scrollIntoView(true)", (driver, args) -> null);
+        BiFunction<StubWebDriver, Object[], Object> setStyle = (driver, args) -> {
+            ((StubWebElement) unwrap(args[0])).getNode().attr("style",
+                args.length > 1 && args[1] != null ? args[1].toString() : "");
+            driver.pageEvent("mutation");
+            return null;
+        };
+        registerScript("arguments[0].setAttribute('style', arguments[1])", setStyle);
+        registerScript("arguments[0].setAttribute('style', '')", setStyle);
+        registerScript("document.readyState", (driver, args) -> "complete");
+        registerScript("document.title", (driver, args) -> driver.getTitle());
+        registerScript("window.location.href", (driver, args) -> driver.getCurrentUrl());
+        registerScript(PagePerformanceCollector.SCRIPT, (driver, args) -> driver.pagePerformance());
+        registerScript(StorageStateCache.SCRIPT, (driver, args) -> driver.storageState(args));
+        registerScript("localStorage.clear(); sessionStorage.clear()", (driver, args) -> {
+            driver.context.localStorage.remove(origin(driver.currentUrl));
+            driver.sessionStorage.remove(origin(driver.currentUrl));
+            return null;
+        });
+    }
+
+    public StubWebDriver() {
+        this(Paths.get(TestConfig.getInstance().getStubFixtureDir()));
+    }
+
+    public StubWebDriver(Path fixtureDir) {
+        TestConfig config = TestConfig.getInstance();
+        this.fixtures = new FixtureResolver(fixtureDir);
+        this.defaultLatency = config.getLongProperty("test.stub.latencyMillis", 0);
+        this.performanceLog = config.isNetworkLogEnabled();
+        for (Map.Entry<String, String> entry : config.getSnapshot().asMap().entrySet()) {
+            if (entry.getKey().startsWith("test.stub.latency.")) {
+                String command = entry.getKey().substring("test.stub.latency.".length());
+                latencies.put(command, config.getLongProperty(entry.getKey(), defaultLatency));
+            }
+        }
+        windows.put(WINDOW_HANDLE, new WindowState(null, context));
+        logger.info("Stub WebDriver created with fixtures from {}", fixtureDir.toAbsolutePath());
+    }
+
+    /**
+     * Register a handler for a script
+     * Scripts are matched whole, ignoring surrounding whitespace, a leading return and a trailing semicolon,
+     * so "return document.title;" is handled by the handler registered for "document.title".
+     */
+    public static void registerScript(String script, BiFunction<StubWebDriver, Object[], Object> handler) {
+        SCRIPTS.put(normalizeScript(script), handler);
+    }
+
+    /**
+     * Get the stub element behind an element argument wrapped by a decorator
+     */
+    private static Object unwrap(Object argument) {
+        Object element = argument;
+        while (element instanceof WrapsElement) {
+            element = ((WrapsElement) element).getWrappedElement();
+        }
+        return element;
+    }
+
+    private static String normalizeScript(String script) {
+        String normalized = script.trim();
+        if (normalized.startsWith("return ")) {
+            normalized = normalized.substring("return ".length()).trim();
+        }
+        while (normalized.endsWith(";")) {
+            normalized = normalized.substring(0, normalized.length() - 1).trim();
+        }
+        return normalized;
+    }
+
+    /**
+     * Set latency in milliseconds for a command (get, findElement, click, sendKeys, executeScript, ...)
+     */
+    public void setLatency(String command, long millis) {
+        latencies.put(command, millis);
+    }
+
+    /**
+     * Simulate per-command latency
+     */
+    void command(String name) {
+        if (quit) {
+            throw new WebDriverException("Stub session has been quit");
+        }
+        pause(latencies.getOrDefault(name, defaultLatency));
+    }
+
+    private static void pause(long millis) {
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WebDriverException("Interrupted while simulating latency", e);
+            }
+        }
+    }
+
+    /**
+     * Get current in-memory document
+     */
+    public Document getDocument() {
+        return document;
+    }
+
+    /**
+     * Load HTML content directly as the current page
+     */
+    public void loadHtml(String url, String html) {
+        document = Jsoup.parse(html, url);
+        currentUrl = url;
+        pushHistory(url);
+        pageEvent("load");
+    }
+
+    @Override
+    public void get(String url) {
+        command("get");
+        load(url);
+        pushHistory(url);
+    }
+
+    /**
+     * Page load metrics of the current document; timings are the simulated navigation latency
+     */
+    private Map<String, Object> pagePerformance() {
+        double loadMillis = latencies.getOrDefault("get", defaultLatency) + emulatedLatency;
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("ttfb", loadMillis);
+        metrics.put("dom_content_loaded", loadMillis);
+        metrics.put("load", loadMillis);
+        metrics.put("cls", 0.0);
+        metrics.put("transfer_bytes", document.outerHtml().getBytes(StandardCharsets.UTF_8).length);
+        metrics.put("requests", 1 + document.select("img[src], script[src], link[rel=stylesheet][href]").size());
+        return metrics;
+    }
+
+    /**
+     * Copy or replace the web storage of the current origin, like the storage-state script in a browser
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> storageState(Object[] args) {
+        String origin = origin(currentUrl);
+        Map<String, String> local = context.localStorage.computeIfAbsent(origin, key -> new LinkedHashMap<>());
+        Map<String, String> session = sessionStorage.computeIfAbsent(origin, key -> new LinkedHashMap<>());
+        if (args.length > 0 && "restore".equals(args[0])) {
+            local.putAll((Map<String, String>) args[1]);
+            session.putAll((Map<String, String>) args[2]);
+            return null;
+        }
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("localStorage", new LinkedHashMap<>(local));
+        state.put("sessionStorage", new LinkedHashMap<>(session));
+        return state;
+    }
+
+    private static String origin(String url) {
+        try {
+            URI uri = URI.create(url);
+            return uri.getScheme() + "://" + uri.getAuthority();
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private void pushHistory(String url) {
+        while (history.size() > historyIndex + 1) {
+            history.remove(history.size() - 1);
+        }
+        history.add(url);
+        historyIndex = history.size() - 1;
+    }
+
+    private void load(String url) {
+        pageEvent("navigationStarted");
+        loadDocument(url);
+        pageEvent("domContentLoaded");
+        pageEvent("load");
+    }
+
+    @Override
+    public void addPageEventListener(Consumer<String> listener) {
+        pageListeners.add(listener);
+    }
+
+    /**
+     * Report a page event to page event listeners
+     */
+    void pageEvent(String event) {
+        for (Consumer<String> listener : pageListeners) {
+            listener.accept(event);
+        }
+    }
+
+    /**
+     * Report a console message or uncaught exception to console listeners, as a page's script would
+     */
+    public void reportConsole(ConsoleEntry entry) {
+        for (Consumer<ConsoleEntry> listener : consoleListeners) {
+            listener.accept(entry);
+        }
+    }
+
+    @Override
+    public void addConsoleListener(Consumer<ConsoleEntry> listener) {
+        consoleListeners.add(listener);
+    }
+
+    private void loadDocument(String url) {
+        logger.debug("Stub navigating to: {}", url);
+        currentUrl = url;
+        if (url.startsWith("about:")) {
+            document = Jsoup.parse("<html><head><title></title></head><body></body></html>", url);
+            return;
+        }
+        String requestId = performanceLog ? "stub." + requestIds.incrementAndGet() : null;
+        double requestTime = System.nanoTime() / 1e9;
+        if (requestId != null && !url.startsWith("data:")) {
+            requestWillBeSent(requestId, url, requestTime);
+        }
+        for (UrlPattern blocked : blockedUrls) {
+            if (blocked.matches(url)) {
+                document = Jsoup.parse("<html><head><title>" + url + "</title></head><body><h1>This page has been "
+                    + "blocked</h1><p>ERR_BLOCKED_BY_CLIENT</p></body></html>", url);
+                if (requestId != null) {
+                    networkEvent("Network.loadingFailed", requestId, "errorText", "net::ERR_BLOCKED_BY_CLIENT");
+                }
+                return;
+            }
+        }
+        // Emulated network conditions only delay pages that would come over the network
+        pause(emulatedLatency);
+        if (url.startsWith("data:text/html,")) {
+            document = Jsoup.parse(FixtureResolver.decode(url.substring("data:text/html,".length())), url);
+            return;
+        }
+
+        URI uri = URI.create(url);
+        Path fixture = resolveFixture(uri);
+        int status = 200;
+        if (fixture == null && isLoopback(uri)) {
+            HttpResponse<String> response = fetch(uri);
+            status = response.statusCode();
+            document = Jsoup.parse(response.body(), url);
+        } else if (fixture == null) {
+            logger.warn("No stub fixture for {}", url);
+            status = 404;
+            document = Jsoup.parse("<html><head><title>404 Not Found</title></head><body><h1>Not Found</h1></body></html>", url);
+        } else {
+            try {
+                String html = new String(Files.readAllBytes(fixture), StandardCharsets.UTF_8);
+                document = Jsoup.parse(FixtureResolver.applyTemplate(html, FixtureResolver.queryParameters(uri.getRawQuery())), url);
+            } catch (IOException e) {
+                throw new WebDriverException("Failed to read stub fixture " + fixture, e);
+            }
+        }
+        if (requestId != null) {
+            responseReceived(requestId, url, requestTime, status);
+        }
+    }
+
+    /**
+     * Report the start of a document request as Chromium does in its performance log
+     */
+    private void requestWillBeSent(String requestId, String url, double requestTime) {
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("url", url);
+        request.put("method", "GET");
+        request.put("initialPriority", "VeryHigh");
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("requestId", requestId);
+        params.put("request", request);
+        params.put("timestamp", requestTime);
+        params.put("wallTime", System.currentTimeMillis() / 1000.0);
+        params.put("type", "Document");
+        networkEvent("Network.requestWillBeSent", params);
+    }
+
+    /**
+     * Report the response and completion of a document request; the whole load counts as waiting for headers
+     */
+    private void responseReceived(String requestId, String url, double requestTime, int status) {
+        double now = System.nanoTime() / 1e9;
+        long bytes = document.outerHtml().getBytes(StandardCharsets.UTF_8).length;
+        Map<String, Object> timing = new LinkedHashMap<>();
+        timing.put("requestTime", requestTime);
+        timing.put("dnsStart", -1);
+        timing.put("connectStart", -1);
+        timing.put("sslStart", -1);
+        timing.put("sendStart", 0);
+        timing.put("sendEnd", 0);
+        timing.put("receiveHeadersEnd", (now - requestTime) * 1000);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("url", url);
+        response.put("status", status);
+        response.put("statusText", status == 200 ? "OK" : "");
+        response.put("mimeType", "text/html");
+        response.put("encodedDataLength", bytes);
+        response.put("timing", timing);
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("requestId", requestId);
+        params.put("timestamp", now);
+        params.put("type", "Document");
+        params.put("response", response);
+        networkEvent("Network.responseReceived", params);
+        networkEvent("Network.loadingFinished", requestId, "encodedDataLength", bytes);
+    }
+
+    private void networkEvent(String method, String requestId, String key, Object value) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("requestId", requestId);
+        params.put("timestamp", System.nanoTime() / 1e9);
+        params.put(key, value);
+        networkEvent(method, params);
+    }
+
+    private void networkEvent(String method, Map<String, Object> params) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("method", method);
+        message.put("params", params);
+        try {
+            String json = MAPPER.writeValueAsString(Collections.singletonMap("message", message));
+            synchronized (performanceEntries) {
+                performanceEntries.add(new LogEntry(Level.INFO, System.currentTimeMillis(), json));
+            }
+        } catch (JsonProcessingException e) {
+            throw new WebDriverException("Failed to encode network event " + method, e);
+        }
+    }
+
+    /**
+     * Check if a URL points at a server on this machine, such as the fixture server
+     */
+    private static boolean isLoopback(URI uri) {
+        String host = uri.getHost();
+        return ("http".equals(uri.getScheme()) || "https".equals(uri.getScheme()))
+            && host != null && (host.equals("localhost") || host.equals("127.0.0.1") || host.equals("[::1]"));
+    }
+
+    /**
+     * Load a page over HTTP; only used for loopback servers so runs stay hermetic
+     */
+    private HttpResponse<String> fetch(URI uri) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .timeout(Duration.ofSeconds(TestConfig.getInstance().getPageLoadTimeout()))
+            .GET()
+            .build();
+        try {
+            return HTTP.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new WebDriverException("Failed to load " + uri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while loading " + uri, e);
+        }
+    }
+
+    private Path resolveFixture(URI uri) {
+        if ("file".equals(uri.getScheme())) {
+            Path file = Paths.get(uri);
+            return Files.exists(file) ? file : null;
+        }
+        return fixtures.resolve(uri.getHost(), uri.getPath());
+    }
+
+    /**
+     * Submit a form: navigate to its action with the named control values as query parameters
+     */
+    void submit(Element form, Element submitter) {
+        StringBuilder query = new StringBuilder();
+        for (Element control : form.select("input[name], textarea[name], select[name]")) {
+            String type = control.attr("type").toLowerCase();
+            if ((type.equals("submit") || type.equals("button") || type.equals("image")) && control != submitter) {
+                continue;
+            }
+            if ((type.equals("checkbox") || type.equals("radio")) && !control.hasAttr("checked")) {
+                continue;
+            }
+            appendParameter(query, control.attr("name"), StubWebElement.valueOf(control));
+        }
+        if (submitter != null && submitter.tagName().equals("button") && submitter.hasAttr("name")) {
+            appendParameter(query, submitter.attr("name"), submitter.attr("value"));
+        }
+
+        String action = form.hasAttr("action") ? form.absUrl("action") : currentUrl;
+        if (action.isEmpty()) {
+            action = URI.create(currentUrl).resolve(form.attr("action")).toString();
+        }
+        int hash = action.indexOf('#');
+        if (hash >= 0) {
+            action = action.substring(0, hash);
+        }
+        int question = action.indexOf('?');
+        if (question >= 0) {
+            action = action.substring(0, question);
+        }
+        String target = query.length() > 0 ? action + "?" + query : action;
+        load(target);
+        pushHistory(target);
+    }
+
+    private static void appendParameter(StringBuilder query, String name, String value) {
+        if (query.length() > 0) {
+            query.append('&');
+        }
+        query.append(URLEncoder.encode(name, StandardCharsets.UTF_8))
+            .append('=')
+            .append(URLEncoder.encode(value == null ? "" : value, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Follow a link
+     */
+    void follow(Element link) {
+        String href = link.absUrl("href");
+        if (href.isEmpty() || link.attr("href").startsWith("#")) {
+            return;
+        }
+        load(href);
+        pushHistory(href);
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        command("getCurrentUrl");
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle() {
+        command("getTitle");
+        return document.title();
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        command("findElements");
+        return wrap(select(document, by, null));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        command("findElement");
+        return first(select(document, by, null), by);
+    }
+
+    List<WebElement> wrap(List<Element> elements) {
+        List<WebElement> result = new ArrayList<>(elements.size());
+        for (Element element : elements) {
+            result.add(new StubWebElement(this, element));
+        }
+        return result;
+    }
+
+    WebElement first(List<Element> elements, By by) {
+        if (elements.isEmpty()) {
+            throw new NoSuchElementException("Unable to locate element: " + by);
+        }
+        return new StubWebElement(this, elements.get(0));
+    }
+
+    /**
+     * Evaluate a locator against a root element, excluding the root itself when given
+     */
+    static List<Element> select(Element root, By by, Element exclude) {
+        if (!(by instanceof By.Remotable)) {
+            throw new InvalidSelectorException("Unsupported locator for stub driver: " + by);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+        String value = String.valueOf(parameters.value());
+        Elements found;
+        switch (parameters.using()) {
+            case "css selector":
+                found = root.select(value);
+                break;
+            case "xpath":
+                found = root.selectXpath(value);
+                break;
+            case "tag name":
+                found = root.getElementsByTag(value);
+                break;
+            case "id":
+                found = root.getElementsByAttributeValue("id", value);
+                break;
+            case "name":
+                found = root.getElementsByAttributeValue("name", value);
+                break;
+            case "class name":
+                found = root.getElementsByClass(value);
+                break;
+            case "link text":
+                found = filterLinks(root, value, true);
+                break;
+            case "partial link text":
+                found = filterLinks(root, value, false);
+                break;
+            default:
+                throw new InvalidSelectorException("Unsupported locator strategy for stub driver: " + parameters.using());
+        }
+        List<Element> result = new ArrayList<>(found);
+        if (exclude != null) {
+            result.remove(exclude);
+        }
+        return result;
+    }
+
+    private static Elements filterLinks(Element root, String text, boolean exact) {
+        Elements links = new Elements();
+        for (Element link : root.select("a")) {
+            String linkText = link.text().trim();
+            if (exact ? linkText.equals(text) : linkText.contains(text)) {
+                links.add(link);
+            }
+        }
+        return links;
+    }
+
+    @Override
+    public String getPageSource() {
+        command("getPageSource");
+        return document.outerHtml();
+    }
+
+    /**
+     * Close the current window; closing the last one ends the session
+     */
+    @Override
+    public void close() {
+        command("close");
+        closeWindow(windowHandle);
+        if (windows.isEmpty()) {
+            quit();
+        }
+    }
+
+    @Override
+    public void quit() {
+        quit = true;
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return new LinkedHashSet<>(windows.keySet());
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return windowHandle;
+    }
+
+    /**
+     * Make another window current; the state of the current one is kept for switching back
+     */
+    private void switchWindow(String handle) {
+        WindowState target = windows.get(handle);
+        if (target == null) {
+            throw new NoSuchWindowException("No window with handle: " + handle);
+        }
+        if (handle.equals(windowHandle)) {
+            return;
+        }
+        WindowState current = windows.get(windowHandle);
+        if (current != null) {
+            current.save(this);
+        }
+        target.restore(this);
+        windowHandle = handle;
+    }
+
+    /**
+     * Close a window; closing the current one makes the first remaining window current
+     */
+    private void closeWindow(String handle) {
+        if (windows.remove(handle) == null) {
+            throw new NoSuchWindowException("No window with handle: " + handle);
+        }
+        if (handle.equals(windowHandle) && !windows.isEmpty()) {
+            String next = windows.keySet().iterator().next();
+            windows.get(next).restore(this);
+            windowHandle = next;
+        }
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        return new StubTargetLocator();
+    }
+
+    @Override
+    public Navigation navigate() {
+        return new StubNavigation();
+    }
+
+    @Override
+    public Options manage() {
+        return new StubOptions();
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        command("executeScript");
+        BiFunction<StubWebDriver, Object[], Object> handler = SCRIPTS.get(normalizeScript(script));
+        if (handler != null) {
+            return handler.apply(this, args);
+        }
+        logger.debug("Stub driver ignoring script: {}", script);
+        return null;
+    }
+
+    /**
+     * Emulate the DevTools commands used for client profiles, blocklists and browser contexts: network latency
+     * is added to page loads, blocked pages show an error page, and each browser context's windows share a
+     * cookie jar and local storage of their own
+     */
+    @Override
+    public Map<String, Object> executeCdpCommand(String commandName, Map<String, Object> parameters) {
+        command("executeCdpCommand");
+        switch (commandName) {
+            case "Network.enable":
+                break;
+            case "Network.emulateNetworkConditions":
+                Object latency = parameters.get("latency");
+                emulatedLatency = latency instanceof Number ? ((Number) latency).longValue() : 0;
+                break;
+            case "Network.setBlockedURLs":
+                List<UrlPattern> patterns = new ArrayList<>();
+                Object urls = parameters.get("urls");
+                if (urls instanceof Collection) {
+                    for (Object url : (Collection<?>) urls) {
+                        patterns.add(new UrlPattern(String.valueOf(url)));
+                    }
+                }
+                blockedUrls = patterns;
+                break;
+            case "Emulation.setCPUThrottlingRate":
+                Object rate = parameters.get("rate");
+                cpuSlowdown = rate instanceof Number ? ((Number) rate).doubleValue() : 1;
+                break;
+            case "Target.createBrowserContext":
+                String contextId = "stub-context-" + targetIds.incrementAndGet();
+                browserContexts.put(contextId, new ContextState());
+                return Collections.singletonMap("browserContextId", contextId);
+            case "Target.createTarget":
+                Object requested = parameters.get("browserContextId");
+                ContextState owner = requested == null ? defaultContext : browserContexts.get(requested);
+                if (owner == null) {
+                    throw new WebDriverException("No browser context with id " + requested);
+                }
+                String targetId = "stub-window-" + targetIds.incrementAndGet();
+                windows.put(targetId, new WindowState(requested == null ? null : requested.toString(), owner));
+                return Collections.singletonMap("targetId", targetId);
+            case "Target.closeTarget":
+                closeWindow(String.valueOf(parameters.get("targetId")));
+                return Collections.singletonMap("success", true);
+            case "Target.disposeBrowserContext":
+                Object disposed = parameters.get("browserContextId");
+                for (Map.Entry<String, WindowState> window : new ArrayList<>(windows.entrySet())) {
+                    if (disposed.equals(window.getValue().contextId)) {
+                        closeWindow(window.getKey());
+                    }
+                }
+                browserContexts.remove(disposed);
+                break;
+            default:
+                throw new UnsupportedCommandException("Stub driver does not support DevTools command " + commandName);
+        }
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Get network latency set through DevTools, added to pages the stub loads from the network
+     */
+    public long getEmulatedLatency() {
+        return emulatedLatency;
+    }
+
+    /**
+     * Get CPU slowdown set through DevTools; the stub records it but does not slow down
+     */
+    public double getCpuSlowdown() {
+        return cpuSlowdown;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return executeScript(script, args);
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        command("screenshot");
+        return target.convertFromPngBytes(screenshotBytes());
+    }
+
+    /**
+     * Render a placeholder image of the window size; cached until the window is resized
+     */
+    synchronized byte[] screenshotBytes() {
+        if (screenshot == null) {
+            BufferedImage image = new BufferedImage(windowSize.getWidth(), windowSize.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = image.createGraphics();
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, windowSize.getWidth(), windowSize.getHeight());
+            graphics.dispose();
+            try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+                ImageIO.write(image, "PNG", out);
+                screenshot = out.toByteArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return screenshot;
+    }
+
+    @Override
+    public void perform(Collection<Sequence> actions) {
+        command("perform");
+    }
+
+    @Override
+    public void resetInputState() {
+    }
+
+    private class StubNavigation implements Navigation {
+        @Override
+        public void back() {
+            command("back");
+            if (historyIndex > 0) {
+                historyIndex--;
+                load(history.get(historyIndex));
+            }
+        }
+
+        @Override
+        public void forward() {
+            command("forward");
+            if (historyIndex < history.size() - 1) {
+                historyIndex++;
+                load(history.get(historyIndex));
+            }
+        }
+
+        @Override
+        public void to(String url) {
+            get(url);
+        }
+
+        @Override
+        public void to(URL url) {
+            get(url.toString());
+        }
+
+        @Override
+        public void refresh() {
+            command("refresh");
+            load(currentUrl);
+        }
+    }
+
+    private class StubOptions implements Options {
+        @Override
+        public void addCookie(Cookie cookie) {
+            context.cookies.put(cookie.getName(), cookie);
+        }
+
+        @Override
+        public void deleteCookieNamed(String name) {
+            context.cookies.remove(name);
+        }
+
+        @Override
+        public void deleteCookie(Cookie cookie) {
+            context.cookies.remove(cookie.getName());
+        }
+
+        @Override
+        public void deleteAllCookies() {
+            context.cookies.clear();
+        }
+
+        @Override
+        public Set<Cookie> getCookies() {
+            return new HashSet<>(context.cookies.values());
+        }
+
+        @Override
+        public Cookie getCookieNamed(String name) {
+            return context.cookies.get(name);
+        }
+
+        @Override
+        public Timeouts timeouts() {
+            return new StubTimeouts();
+        }
+
+        @Override
+        public Window window() {
+            return new StubWindow();
+        }
+
+        @Override
+        public Logs logs() {
+            return new StubLogs();
+        }
+    }
+
+    /**
+     * Log access; only the performance log exists, and only when network logging is enabled
+     * Reading a log returns the entries recorded since the last read, like a browser session.
+     */
+    private class StubLogs implements Logs {
+        @Override
+        public LogEntries get(String logType) {
+            if (!LogType.PERFORMANCE.equals(logType) || !performanceLog) {
+                throw new UnsupportedCommandException("Stub driver has no " + logType + " log");
+            }
+            synchronized (performanceEntries) {
+                List<LogEntry> entries = new ArrayList<>(performanceEntries);
+                performanceEntries.clear();
+                return new LogEntries(entries);
+            }
+        }
+
+        @Override
+        public Set<String> getAvailableLogTypes() {
+            return performanceLog ? Collections.singleton(LogType.PERFORMANCE) : Collections.emptySet();
+        }
+    }
+
+    private class StubTimeouts implements Timeouts {
+        @Override
+        public Timeouts implicitlyWait(long time, TimeUnit unit) {
+            implicitWait = Duration.ofMillis(unit.toMillis(time));
+            return this;
+        }
+
+        @Override
+        public Timeouts implicitlyWait(Duration duration) {
+            implicitWait = duration;
+            return this;
+        }
+
+        @Override
+        public Duration getImplicitWaitTimeout() {
+            return implicitWait;
+        }
+
+        @Override
+        public Timeouts setScriptTimeout(long time, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public Timeouts scriptTimeout(Duration duration) {
+            return this;
+        }
+
+        @Override
+        public Timeouts pageLoadTimeout(long time, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public Timeouts pageLoadTimeout(Duration duration) {
+            return this;
+        }
+    }
+
+    private class StubWindow implements Window {
+        @Override
+        public Dimension getSize() {
+            return windowSize;
+        }
+
+        @Override
+        public void setSize(Dimension targetSize) {
+            synchronized (StubWebDriver.this) {
+                windowSize = targetSize;
+                screenshot = null;
+            }
+        }
+
+        @Override
+        public Point getPosition() {
+            return windowPosition;
+        }
+
+        @Override
+        public void setPosition(Point targetPosition) {
+            windowPosition = targetPosition;
+        }
+
+        @Override
+        public void maximize() {
+            setSize(new Dimension(1920, 1080));
+        }
+
+        @Override
+        public void minimize() {
+        }
+
+        @Override
+        public void fullscreen() {
+            maximize();
+        }
+    }
+
+    private class StubTargetLocator implements TargetLocator {
+        @Override
+        public WebDriver frame(int index) {
+            return StubWebDriver.this;
+        }
+
+        @Override
+        public WebDriver frame(String nameOrId) {
+            return StubWebDriver.this;
+        }
+
+        @Override
+        public WebDriver frame(WebElement frameElement) {
+            return StubWebDriver.this;
+        }
+
+        @Override
+        public WebDriver parentFrame() {
+            return StubWebDriver.this;
+        }
+
+        @Override
+        public WebDriver window(String nameOrHandle) {
+            command("switchToWindow");
+            switchWindow(nameOrHandle);
+            return StubWebDriver.this;
+        }
+
+        @Override
+        public WebDriver newWindow(WindowType typeHint) {
+            command("newWindow");
+            WindowState current = windows.get(windowHandle);
+            String handle = "stub-window-" + targetIds.incrementAndGet();
+            windows.put(handle, new WindowState(current != null ? current.contextId : null, context));
+            switchWindow(handle);
+            return StubWebDriver.this;
+        }
+
+        @Override
+        public WebDriver defaultContent() {
+            return StubWebDriver.this;
+        }
+
+        @Override
+        public WebElement activeElement() {
+            return new StubWebElement(StubWebDriver.this, document.body());
+        }
+
+        @Override
+        public Alert alert() {
+            throw new NoAlertPresentException("Stub driver has no alerts");
+        }
+    }
+
+    /**
+     * Cookies and local storage (per origin) shared by the windows of a browser context
+     */
+    private static final class ContextState {
+        private final Map<String, Cookie> cookies = new LinkedHashMap<>();
+        private final Map<String, Map<String, String>> localStorage = new HashMap<>();
+    }
+
+    /**
+     * Page state of a window; browser contexts give their windows cookies and storage of their own
+     */
+    private static final class WindowState {
+        private final String contextId;
+        private final ContextState context;
+        private Document document = Jsoup.parse("<html><head><title></title></head><body></body></html>");
+        private String currentUrl = "about:blank";
+        private List<String> history = new ArrayList<>();
+        private int historyIndex = -1;
+        private Map<String, Map<String, String>> sessionStorage = new HashMap<>();
+
+        private WindowState(String contextId, ContextState context) {
+            this.contextId = contextId;
+            this.context = context;
+        }
+
+        private void save(StubWebDriver driver) {
+            document = driver.document;
+            currentUrl = driver.currentUrl;
+            history = driver.history;
+            historyIndex = driver.historyIndex;
+            sessionStorage = driver.sessionStorage;
+        }
+
+        private void restore(StubWebDriver driver) {
+            driver.document = document;
+            driver.currentUrl = currentUrl;
+            driver.history = history;
+            driver.historyIndex = historyIndex;
+            driver.sessionStorage = sessionStorage;
+            driver.context = context;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.testframework.stub;
+
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * WebElement backed by a node of the stub driver's in-memory DOM
+ * Form control values are kept in the DOM itself so that form submission sees typed text
+ */
+public class StubWebElement implements WebElement {
+    private final StubWebDriver driver;
+    private final Element node;
+
+    StubWebElement(StubWebDriver driver, Element node) {
+        this.driver = driver;
+        this.node = node;
+    }
+
+    /**
+     * Get underlying DOM node
+     */
+    public Element getNode() {
+        return node;
+    }
+
+    private void checkAttached() {
+        if (node.ownerDocument() != driver.getDocument()) {
+            throw new StaleElementReferenceException("Element is no longer attached to the page: " + node.cssSelector());
+        }
+    }
+
+    /**
+     * Get current value of a form control
+     */
+    static String valueOf(Element element) {
+        if (element.tagName().equals("textarea")) {
+            return element.hasAttr("data-stub-value") ? element.attr("data-stub-value") : element.text();
+        }
+        if (element.tagName().equals("select")) {
+            Element selected = element.selectFirst("option[selected]");
+            if (selected == null) {
+                selected = element.selectFirst("option");
+            }
+            return selected == null ? "" : selected.hasAttr("value") ? selected.attr("value") : selected.text();
+        }
+        return element.attr("value");
+    }
+
+    private void setValue(String value) {
+        if (node.tagName().equals("textarea")) {
+            node.attr("data-stub-value", value);
+        } else {
+            node.attr("value", value);
+        }
+        driver.pageEvent("mutation");
+    }
+
+    private boolean isTextControl() {
+        if (node.tagName().equals("textarea")) {
+            return true;
+        }
+        if (!node.tagName().equals("input")) {
+            return false;
+        }
+        String type = node.attr("type").toLowerCase();
+        return type.isEmpty() || type.equals("text") || type.equals("search") || type.equals("email")
+            || type.equals("password") || type.equals("tel") || type.equals("url") || type.equals("number");
+    }
+
+    @Override
+    public void click() {
+        driver.command("click");
+        checkAttached();
+        if (!isDisplayed()) {
+            throw new ElementNotInteractableException("Element is not visible: " + node.cssSelector());
+        }
+
+        String type = node.attr("type").toLowerCase();
+        if (node.tagName().equals("input") && (type.equals("checkbox") || type.equals("radio"))) {
+            if (type.equals("radio") || !node.hasAttr("checked")) {
+                node.attr("checked", "checked");
+            } else {
+                node.removeAttr("checked");
+            }
+            driver.pageEvent("mutation");
+            return;
+        }
+        if (node.tagName().equals("option")) {
+            Element select = node.closest("select");
+            if (select != null) {
+                select.select("option[selected]").removeAttr("selected");
+            }
+            node.attr("selected", "selected");
+            driver.pageEvent("mutation");
+            return;
+        }
+
+        Element link = node.closest("a[href]");
+        if (link != null) {
+            driver.follow(link);
+            return;
+        }
+
+        boolean submitButton = (node.tagName().equals("button") && !type.equals("button") && !type.equals("reset"))
+            || (node.tagName().equals("input") && (type.equals("submit") || type.equals("image")));
+        Element form = node.closest("form");
+        if (submitButton && form != null) {
+            driver.submit(form, node);
+        }
+    }
+
+    @Override
+    public void submit() {
+        driver.command("submit");
+        checkAttached();
+        Element form = node.closest("form");
+        if (form != null) {
+            driver.submit(form, null);
+        }
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        driver.command("sendKeys");
+        checkAttached();
+        if (!isEnabled()) {
+            throw new ElementNotInteractableException("Element is disabled: " + node.cssSelector());
+        }
+        StringBuilder value = new StringBuilder(valueOf(node));
+        for (CharSequence keys : keysToSend) {
+            for (int i = 0; i < keys.length(); i++) {
+                char c = keys.charAt(i);
+                if (c == Keys.ENTER.charAt(0) || c == Keys.RETURN.charAt(0)) {
+                    setValue(value.toString());
+                    Element form = node.closest("form");
+                    if (form != null) {
+                        driver.submit(form, null);
+                    }
+                    return;
+                } else if (c == Keys.BACK_SPACE.charAt(0)) {
+                    if (value.length() > 0) {
+                        value.setLength(value.length() - 1);
+                    }
+                } else if (c < '\uE000' || c > '\uF8FF') {
+                    // Other WebDriver special keys live in the private use area and are skipped
+                    value.append(c);
+                }
+            }
+        }
+        if (isTextControl()) {
+            setValue(value.toString());
+        }
+    }
+
+    @Override
+    public void clear() {
+        driver.command("clear");
+        checkAttached();
+        if (isTextControl()) {
+            setValue("");
+        }
+    }
+
+    @Override
+    public String getTagName() {
+        return node.tagName();
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        driver.command("getAttribute");
+        checkAttached();
+        if (name.equals("value")) {
+            return valueOf(node);
+        }
+        if (name.equals("checked") || name.equals("selected") || name.equals("disabled")) {
+            return node.hasAttr(name) ? "true" : null;
+        }
+        return node.hasAttr(name) ? node.attr(name) : null;
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return node.hasAttr(name) ? node.attr(name) : null;
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return getAttribute(name);
+    }
+
+    @Override
+    public boolean isSelected() {
+        return node.hasAttr("checked") || node.hasAttr("selected");
+    }
+
+    @Override
+    public boolean isEnabled() {
+        driver.command("isEnabled");
+        return !node.hasAttr("disabled");
+    }
+
+    @Override
+    public String getText() {
+        driver.command("getText");
+        checkAttached();
+        return isDisplayed() ? node.text() : "";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        driver.command("findElements");
+        checkAttached();
+        return driver.wrap(StubWebDriver.select(node, by, node));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        driver.command("findElement");
+        checkAttached();
+        return driver.first(StubWebDriver.select(node, by, node), by);
+    }
+
+    /**
+     * An element is displayed unless it or an ancestor is hidden by attribute, inline style or tag
+     */
+    @Override
+    public boolean isDisplayed() {
+        checkAttached();
+        if (node.tagName().equals("input") && node.attr("type").equalsIgnoreCase("hidden")) {
+            return false;
+        }
+        for (Element current = node; current != null; current = current.parent()) {
+            String tag = current.tagName();
+            if (tag.equals("head") || tag.equals("script") || tag.equals("style") || tag.equals("template")) {
+                return false;
+            }
+            if (current.hasAttr("hidden")) {
+                return false;
+            }
+            String style = current.attr("style").replace(" ", "").toLowerCase();
+            if (style.contains("display:none") || style.contains("visibility:hidden")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Point getLocation() {
+        return new Point(0, node.elementSiblingIndex() * 20);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return isDisplayed() ? new Dimension(200, 20) : new Dimension(0, 0);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return new Rectangle(getLocation(), getSize());
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        for (String declaration : node.attr("style").split(";")) {
+            int colon = declaration.indexOf(':');
+            if (colon > 0 && declaration.substring(0, colon).trim().equalsIgnoreCase(propertyName)) {
+                return declaration.substring(colon + 1).trim();
+            }
+        }
+        return "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return target.convertFromPngBytes(driver.screenshotBytes());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof StubWebElement && ((StubWebElement) other).node == node;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(System.identityHashCode(node));
+    }
+
+    @Override
+    public String toString() {
+        return "[StubWebElement " + node.cssSelector() + "]";
+    }
+}
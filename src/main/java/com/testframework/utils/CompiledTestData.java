@@ -0,0 +1,250 @@
+package com.testframework.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only view of a test data file produced by {@link TestDataCompiler}
+ * The file is memory-mapped, so JVMs reading the same file share the OS page cache
+ * and rows are decoded lazily on access
+ */
+public class CompiledTestData {
+    private final Path path;
+    private final Map<String, Table> tables;
+    private final long sourceSize;
+    private final long sourceModified;
+
+    private CompiledTestData(Path path, Map<String, Table> tables, long sourceSize, long sourceModified) {
+        this.path = path;
+        this.tables = tables;
+        this.sourceSize = sourceSize;
+        this.sourceModified = sourceModified;
+    }
+
+    /**
+     * Memory-map a compiled test data file
+     */
+    public static CompiledTestData open(Path path) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        ByteBuffer buffer = mapped.asReadOnlyBuffer();
+        readHeader(buffer, path);
+        long sourceSize = buffer.getLong();
+        long sourceModified = buffer.getLong();
+        int tableCount = buffer.getInt();
+
+        Map<String, Table> tables = new LinkedHashMap<>();
+        for (int i = 0; i < tableCount; i++) {
+            String name = readString(buffer);
+            int rowCount = buffer.getInt();
+            int columnCount = buffer.getInt();
+            List<String> columns = new ArrayList<>(columnCount);
+            for (int c = 0; c < columnCount; c++) {
+                columns.add(readString(buffer));
+            }
+            long indexOffset = buffer.getLong();
+            tables.put(name, new Table(name, buffer, rowCount, Collections.unmodifiableList(columns), (int) indexOffset));
+        }
+        return new CompiledTestData(path, Collections.unmodifiableMap(tables), sourceSize, sourceModified);
+    }
+
+    /**
+     * Check whether this data was compiled from a source of the given size and timestamp
+     */
+    boolean matchesSource(long size, long modified) {
+        return sourceSize == size && sourceModified == modified;
+    }
+
+    /**
+     * Check whether the compiled file was produced from a source of the given size and timestamp
+     */
+    static boolean matchesSource(Path path, long sourceSize, long sourceModified) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(24);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // read fully
+            }
+            header.flip();
+            if (header.remaining() < 24) {
+                return false;
+            }
+            return header.getInt() == TestDataCompiler.MAGIC
+                && header.getInt() == TestDataCompiler.VERSION
+                && header.getLong() == sourceSize
+                && header.getLong() == sourceModified;
+        }
+    }
+
+    private static void readHeader(ByteBuffer buffer, Path path) throws IOException {
+        if (buffer.remaining() < 28 || buffer.getInt() != TestDataCompiler.MAGIC) {
+            throw new IOException("Not a compiled test data file: " + path);
+        }
+        int version = buffer.getInt();
+        if (version != TestDataCompiler.VERSION) {
+            throw new IOException("Unsupported compiled test data version " + version + ": " + path);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get path of the mapped file
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Get table names
+     */
+    public List<String> getTableNames() {
+        return new ArrayList<>(tables.keySet());
+    }
+
+    /**
+     * Get table by name, or null if not present
+     */
+    public Table getTable(String name) {
+        return tables.get(name);
+    }
+
+    /**
+     * Columnar view of one table with random access by row
+     */
+    public static class Table {
+        private final String name;
+        private final ByteBuffer buffer;
+        private final int rowCount;
+        private final List<String> columns;
+        private final int indexOffset;
+
+        Table(String name, ByteBuffer buffer, int rowCount, List<String> columns, int indexOffset) {
+            this.name = name;
+            this.buffer = buffer;
+            this.rowCount = rowCount;
+            this.columns = columns;
+            this.indexOffset = indexOffset;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        public List<String> getColumns() {
+            return columns;
+        }
+
+        /**
+         * Get column index by name, or -1 if not present
+         */
+        public int getColumnIndex(String column) {
+            return columns.indexOf(column);
+        }
+
+        /**
+         * Get cell bytes as a read-only slice of the mapped file without copying, or null for null cells
+         */
+        public ByteBuffer getBytes(int row, int column) {
+            int cell = cellPosition(row, column);
+            int offset = buffer.getInt(cell);
+            int length = buffer.getInt(cell + 4);
+            if (length < 0) {
+                return null;
+            }
+            ByteBuffer slice = buffer.duplicate();
+            slice.position(offset).limit(offset + length);
+            return slice.slice();
+        }
+
+        /**
+         * Get cell value as string
+         */
+        public String getString(int row, int column) {
+            int cell = cellPosition(row, column);
+            int offset = buffer.getInt(cell);
+            int length = buffer.getInt(cell + 4);
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset);
+            view.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Get cell value as string by column name
+         */
+        public String getString(int row, String column) {
+            int index = getColumnIndex(column);
+            if (index < 0) {
+                throw new IllegalArgumentException("Unknown column '" + column + "' in table " + name);
+            }
+            return getString(row, index);
+        }
+
+        /**
+         * Get row as column name to value map
+         */
+        public Map<String, String> getRow(int row) {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int c = 0; c < columns.size(); c++) {
+                values.put(columns.get(c), getString(row, c));
+            }
+            return values;
+        }
+
+        /**
+         * Get selected columns of all rows in TestNG data provider form
+         */
+        public Object[][] toDataProvider(String... selectedColumns) {
+            int[] indexes = new int[selectedColumns.length];
+            for (int i = 0; i < selectedColumns.length; i++) {
+                indexes[i] = getColumnIndex(selectedColumns[i]);
+                if (indexes[i] < 0) {
+                    throw new IllegalArgumentException("Unknown column '" + selectedColumns[i] + "' in table " + name);
+                }
+            }
+            Object[][] data = new Object[rowCount][indexes.length];
+            for (int r = 0; r < rowCount; r++) {
+                for (int i = 0; i < indexes.length; i++) {
+                    data[r][i] = getString(r, indexes[i]);
+                }
+            }
+            return data;
+        }
+
+        private int cellPosition(int row, int column) {
+            if (row < 0 || row >= rowCount) {
+                throw new IndexOutOfBoundsException("Row " + row + " out of range for table " + name);
+            }
+            if (column < 0 || column >= columns.size()) {
+                throw new IndexOutOfBoundsException("Column " + column + " out of range for table " + name);
+            }
+            return indexOffset + (row * columns.size() + column) * 8;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.testframework.utils;
+
+import java.util.SplittableRandom;
+
+/**
+ * Typed random value generator
+ * Implementations must draw all randomness from the supplied source so that values
+ * are reproducible from the suite seed
+ */
+@FunctionalInterface
+public interface DataGenerator<T> {
+
+    /**
+     * Generate next value
+     */
+    T next(SplittableRandom random);
+}
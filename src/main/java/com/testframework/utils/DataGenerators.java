@@ -0,0 +1,150 @@
+package com.testframework.utils;
+
+import java.util.SplittableRandom;
+
+/**
+ * Built-in typed generators for common test data
+ * Generators write into a single char buffer per value instead of concatenating strings
+ */
+public final class DataGenerators {
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda",
+        "William", "Elizabeth", "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis",
+        "Rodriguez", "Martinez", "Hernandez", "Lopez", "Wilson", "Anderson", "Thomas", "Taylor"
+    };
+    private static final String[] STREETS = {
+        "Main St", "Oak Ave", "Maple Dr", "Cedar Ln", "Pine St", "Elm St", "Park Ave", "Lake Rd"
+    };
+    private static final String[] CITIES = {
+        "Springfield", "Riverside", "Franklin", "Greenville", "Fairview", "Madison", "Georgetown", "Salem"
+    };
+    private static final char[] LOWERCASE = "abcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+
+    private DataGenerators() {
+    }
+
+    /**
+     * Random alphanumeric string of fixed length
+     */
+    public static DataGenerator<String> alphanumeric(int length) {
+        return random -> RandomDataGenerator.randomString(random, length, RandomDataGenerator.ALPHANUMERIC);
+    }
+
+    /**
+     * Random email of the form xxxxxxxx@yyyyyy.com
+     */
+    public static DataGenerator<String> email() {
+        return random -> {
+            char[] chars = new char[8 + 1 + 6 + 4];
+            int pos = 0;
+            for (int i = 0; i < 8; i++) {
+                chars[pos++] = RandomDataGenerator.ALPHANUMERIC[random.nextInt(RandomDataGenerator.ALPHANUMERIC.length)];
+            }
+            chars[pos++] = '@';
+            for (int i = 0; i < 6; i++) {
+                chars[pos++] = LOWERCASE[random.nextInt(LOWERCASE.length)];
+            }
+            ".com".getChars(0, 4, chars, pos);
+            return new String(chars);
+        };
+    }
+
+    /**
+     * Random US phone number of the form +1-NNN-NNN-NNNN
+     */
+    public static DataGenerator<String> phoneNumber() {
+        return random -> {
+            char[] chars = "+1-000-000-0000".toCharArray();
+            writeDigits(chars, 3, random.nextInt(100, 1000), 3);
+            writeDigits(chars, 7, random.nextInt(100, 1000), 3);
+            writeDigits(chars, 11, random.nextInt(1000, 10000), 4);
+            return new String(chars);
+        };
+    }
+
+    /**
+     * Random full name
+     */
+    public static DataGenerator<String> fullName() {
+        return random -> {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            char[] chars = new char[first.length() + 1 + last.length()];
+            first.getChars(0, first.length(), chars, 0);
+            chars[first.length()] = ' ';
+            last.getChars(0, last.length(), chars, first.length() + 1);
+            return new String(chars);
+        };
+    }
+
+    /**
+     * Random street address of the form "NNNN Street, City"
+     */
+    public static DataGenerator<String> address() {
+        return random -> {
+            int number = random.nextInt(1, 10000);
+            int numberLength = number < 10 ? 1 : number < 100 ? 2 : number < 1000 ? 3 : 4;
+            String street = STREETS[random.nextInt(STREETS.length)];
+            String city = CITIES[random.nextInt(CITIES.length)];
+            char[] chars = new char[numberLength + 1 + street.length() + 2 + city.length()];
+            writeDigits(chars, 0, number, numberLength);
+            int pos = numberLength;
+            chars[pos++] = ' ';
+            street.getChars(0, street.length(), chars, pos);
+            pos += street.length();
+            chars[pos++] = ',';
+            chars[pos++] = ' ';
+            city.getChars(0, city.length(), chars, pos);
+            return new String(chars);
+        };
+    }
+
+    /**
+     * Random German IBAN with valid ISO 7064 mod-97 check digits
+     */
+    public static DataGenerator<String> iban() {
+        return iban("DE", 18);
+    }
+
+    /**
+     * Random IBAN with numeric BBAN of the given length and valid check digits
+     */
+    public static DataGenerator<String> iban(String countryCode, int bbanLength) {
+        if (countryCode.length() != 2) {
+            throw new IllegalArgumentException("Country code must have two letters: " + countryCode);
+        }
+        String country = countryCode.toUpperCase();
+        return random -> {
+            char[] chars = new char[4 + bbanLength];
+            chars[0] = country.charAt(0);
+            chars[1] = country.charAt(1);
+            for (int i = 4; i < chars.length; i++) {
+                chars[i] = (char) ('0' + random.nextInt(10));
+            }
+
+            // Check digits: 98 - mod97(BBAN + country digits + "00")
+            int remainder = 0;
+            for (int i = 4; i < chars.length; i++) {
+                remainder = (remainder * 10 + (chars[i] - '0')) % 97;
+            }
+            for (int i = 0; i < 2; i++) {
+                remainder = (remainder * 100 + (chars[i] - 'A' + 10)) % 97;
+            }
+            remainder = (remainder * 100) % 97;
+            int check = 98 - remainder;
+            chars[2] = (char) ('0' + check / 10);
+            chars[3] = (char) ('0' + check % 10);
+            return new String(chars);
+        };
+    }
+
+    private static void writeDigits(char[] chars, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.testframework.utils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Deterministic assignment of data provider rows to shards
+ * Assignment depends only on row contents (and recorded durations in weighted mode),
+ * so every JVM and every run agrees on which shard owns a row
+ */
+public final class DataSharding {
+    private static final char SEPARATOR = '\u001f';
+
+    private DataSharding() {
+    }
+
+    /**
+     * Get duration history key for a test method
+     */
+    public static String testKey(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    /**
+     * Get duration history key for one invocation of a data-driven test method
+     */
+    public static String testKey(String methodKey, Object[] parameters) {
+        if (parameters == null || parameters.length == 0) {
+            return methodKey;
+        }
+        return methodKey + "[" + rowKey(parameters) + "]";
+    }
+
+    /**
+     * Build stable key from row contents
+     */
+    public static String rowKey(Object[] row) {
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                key.append(SEPARATOR);
+            }
+            Object value = row[i];
+            key.append(value != null && value.getClass().isArray() ? Arrays.deepToString(new Object[] {value}) : value);
+        }
+        return key.toString();
+    }
+
+    /**
+     * 64-bit FNV-1a hash over the UTF-16 code units of a string, with a final avalanche step
+     */
+    static long stableHash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            hash ^= (c & 0xff);
+            hash *= 0x100000001b3L;
+            hash ^= (c >>> 8);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Get shard that owns a row under hash assignment
+     */
+    public static int shardOf(String dataset, Object[] row, int shardCount) {
+        return (int) Long.remainderUnsigned(stableHash(dataset + SEPARATOR + rowKey(row)), shardCount);
+    }
+
+    /**
+     * Select rows owned by a shard using hash assignment
+     */
+    public static Object[][] byHash(String dataset, Object[][] rows, int shardIndex, int shardCount) {
+        validate(shardIndex, shardCount);
+        List<Object[]> selected = new ArrayList<>();
+        for (Object[] row : rows) {
+            if (shardOf(dataset, row, shardCount) == shardIndex) {
+                selected.add(row);
+            }
+        }
+        return selected.toArray(new Object[0][]);
+    }
+
+    /**
+     * Select rows owned by a shard using longest-first balancing on recorded durations
+     * Rows without history are weighted with the average recorded duration.
+     * All shards must pass the same history to agree on the assignment; compare {@link DurationHistory#fingerprint()}.
+     */
+    public static Object[][] byDuration(String dataset, Object[][] rows, int shardIndex, int shardCount,
+                                        DurationHistory history) {
+        validate(shardIndex, shardCount);
+        double defaultCost = history.getAverageDuration(1.0);
+
+        int n = rows.length;
+        double[] cost = new double[n];
+        long[] hash = new long[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            String rowKey = rowKey(rows[i]);
+            Double recorded = history.getDuration(dataset + "[" + rowKey + "]");
+            cost[i] = recorded != null ? recorded : defaultCost;
+            hash[i] = stableHash(rowKey);
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingDouble(i -> -cost[i])
+            .thenComparing(i -> hash[i], Long::compareUnsigned));
+
+        double[] load = new double[shardCount];
+        int[] owner = new int[n];
+        for (int i : order) {
+            int target = 0;
+            for (int s = 1; s < shardCount; s++) {
+                if (load[s] < load[target]) {
+                    target = s;
+                }
+            }
+            owner[i] = target;
+            load[target] += cost[i];
+        }
+
+        List<Object[]> selected = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (owner[i] == shardIndex) {
+                selected.add(rows[i]);
+            }
+        }
+        return selected.toArray(new Object[0][]);
+    }
+
+    private static void validate(int shardIndex, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1: " + shardCount);
+        }
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("Shard index " + shardIndex + " out of range for " + shardCount + " shards");
+        }
+    }
+}
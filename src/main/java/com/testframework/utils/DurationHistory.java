@@ -0,0 +1,170 @@
+package com.testframework.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testframework.config.TestConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * On-disk history of test durations
+ * Durations are kept as an exponentially weighted moving average per test key,
+ * so one slow outlier does not dominate later scheduling decisions
+ */
+public class DurationHistory {
+    private static final Logger logger = LoggerFactory.getLogger(DurationHistory.class);
+    private static final double SMOOTHING = 0.3;
+    private static DurationHistory instance;
+
+    private final Path file;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Double> durations = new ConcurrentHashMap<>();
+    private final DurationHistory stored;
+
+    /**
+     * Load the history kept in a file; the run's own history is {@link #getInstance()}
+     */
+    public DurationHistory(Path file) {
+        this.file = file;
+        load();
+        stored = new DurationHistory(file, new HashMap<>(durations));
+    }
+
+    private DurationHistory(Path file, Map<String, Double> durations) {
+        this.file = file;
+        this.durations.putAll(durations);
+        this.stored = this;
+    }
+
+    public static synchronized DurationHistory getInstance() {
+        if (instance == null) {
+            instance = new DurationHistory(Paths.get(TestConfig.getInstance().getDurationHistoryFile()));
+        }
+        return instance;
+    }
+
+    /**
+     * Load history from file if present
+     */
+    private void load() {
+        if (!Files.exists(file)) {
+            logger.debug("No duration history found at {}", file);
+            return;
+        }
+        try {
+            Map<String, Double> stored = objectMapper.readValue(file.toFile(), new TypeReference<Map<String, Double>>() {});
+            durations.putAll(stored);
+            logger.info("Loaded {} test durations from {}", durations.size(), file);
+        } catch (IOException e) {
+            logger.warn("Failed to load duration history from {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Get the history as it was loaded from the file, without durations recorded since
+     * Shards balance on this copy, so tests that finished before a data provider ran do not change its rows.
+     */
+    public DurationHistory stored() {
+        return stored;
+    }
+
+    /**
+     * Get a fingerprint of the recorded durations: the first 16 hex digits of a SHA-256 over the sorted
+     * key=value lines. Histories with the same contents have the same fingerprint, whatever their file layout.
+     */
+    public String fingerprint() {
+        StringBuilder lines = new StringBuilder();
+        for (Map.Entry<String, Double> entry : new TreeMap<>(durations).entrySet()) {
+            lines.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(lines.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Get recorded duration in milliseconds, or null if unknown
+     */
+    public Double getDuration(String key) {
+        return durations.get(key);
+    }
+
+    /**
+     * Get recorded duration of a test method in milliseconds, summed over its data-driven invocations,
+     * or null if unknown
+     */
+    public Double getMethodDuration(String methodKey) {
+        String rowPrefix = methodKey + "[";
+        double total = 0;
+        boolean found = false;
+        for (Map.Entry<String, Double> entry : durations.entrySet()) {
+            if (entry.getKey().equals(methodKey) || entry.getKey().startsWith(rowPrefix)) {
+                total += entry.getValue();
+                found = true;
+            }
+        }
+        return found ? total : null;
+    }
+
+    /**
+     * Get average of all recorded durations, or the given default if history is empty
+     */
+    public double getAverageDuration(double defaultValue) {
+        return durations.values().stream().mapToDouble(Double::doubleValue).average().orElse(defaultValue);
+    }
+
+    /**
+     * Record a duration for a test key
+     */
+    public void record(String key, long millis) {
+        durations.merge(key, (double) millis, (previous, current) -> previous + SMOOTHING * (current - previous));
+    }
+
+    /**
+     * Get number of recorded keys
+     */
+    public int size() {
+        return durations.size();
+    }
+
+    /**
+     * Save history to file, replacing it atomically
+     */
+    public synchronized void save() {
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), new TreeMap<>(durations));
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            logger.info("Saved {} test durations to {} (fingerprint {})", durations.size(), file, fingerprint());
+        } catch (IOException e) {
+            logger.error("Failed to save duration history to {}: {}", file, e.getMessage(), e);
+        }
+    }
+}
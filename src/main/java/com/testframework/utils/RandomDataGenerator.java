@@ -0,0 +1,187 @@
+package com.testframework.utils;
+
+import com.testframework.config.TestConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Reproducible random data engine
+ * Every thread draws from its own SplittableRandom, so generation does not contend across threads.
+ * Streams are derived from a single suite seed (testdata.seed, or a random seed that is logged),
+ * and can be reseeded per test so that a failing test can be replayed with the same data.
+ */
+public final class RandomDataGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(RandomDataGenerator.class);
+
+    static final char[] ALPHANUMERIC =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+
+    private static final long SUITE_SEED = resolveSuiteSeed();
+    private static final SplittableRandom ROOT = new SplittableRandom(SUITE_SEED);
+    private static final ThreadLocal<SplittableRandom> CURRENT = ThreadLocal.withInitial(RandomDataGenerator::splitRoot);
+
+    private RandomDataGenerator() {
+    }
+
+    private static long resolveSuiteSeed() {
+        Long configured = TestConfig.getInstance().getRandomSeed();
+        long seed = configured != null ? configured : System.nanoTime() ^ System.currentTimeMillis();
+        logger.info("Random data suite seed: {} (replay with -Dtestdata.seed={})", seed, seed);
+        return seed;
+    }
+
+    private static SplittableRandom splitRoot() {
+        synchronized (ROOT) {
+            return ROOT.split();
+        }
+    }
+
+    /**
+     * Get suite seed all streams are derived from
+     */
+    public static long getSuiteSeed() {
+        return SUITE_SEED;
+    }
+
+    /**
+     * Get random source for the calling thread
+     */
+    public static SplittableRandom current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Reseed the calling thread's stream for a test
+     * The seed depends only on the suite seed and the test id, not on scheduling order
+     */
+    public static long reseedForTest(String testId) {
+        long seed = mix(SUITE_SEED ^ mix(testId.hashCode()));
+        CURRENT.set(new SplittableRandom(seed));
+        logger.info("Random data seed for {}: {} (suite seed {})", testId, seed, SUITE_SEED);
+        return seed;
+    }
+
+    /**
+     * Reseed the calling thread's stream with an explicit seed
+     */
+    public static void reseed(long seed) {
+        CURRENT.set(new SplittableRandom(seed));
+    }
+
+    /**
+     * Generate random alphanumeric string
+     */
+    public static String randomString(int length) {
+        return randomString(current(), length, ALPHANUMERIC);
+    }
+
+    /**
+     * Generate random string from an alphabet using a single char buffer
+     */
+    public static String randomString(SplittableRandom random, int length, char[] alphabet) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = alphabet[random.nextInt(alphabet.length)];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Generate random number within inclusive range
+     */
+    public static int randomInt(int min, int max) {
+        return nextInt(current(), min, max);
+    }
+
+    /**
+     * Generate a batch of random alphanumeric strings
+     */
+    public static String[] randomStrings(int count, int length) {
+        SplittableRandom random = current();
+        String[] values = new String[count];
+        char[] chars = new char[length];
+        for (int n = 0; n < count; n++) {
+            for (int i = 0; i < length; i++) {
+                chars[i] = ALPHANUMERIC[random.nextInt(ALPHANUMERIC.length)];
+            }
+            values[n] = new String(chars);
+        }
+        return values;
+    }
+
+    /**
+     * Fill array with random numbers within inclusive range
+     */
+    public static int[] fillInts(int[] target, int min, int max) {
+        SplittableRandom random = current();
+        for (int i = 0; i < target.length; i++) {
+            target[i] = nextInt(random, min, max);
+        }
+        return target;
+    }
+
+    /**
+     * Draw from an inclusive range; max + 1 is computed as a long so max may be Integer.MAX_VALUE
+     */
+    private static int nextInt(SplittableRandom random, int min, int max) {
+        return (int) random.nextLong(min, (long) max + 1);
+    }
+
+    /**
+     * Generate a value with a typed generator
+     */
+    public static <T> T generate(DataGenerator<T> generator) {
+        return generator.next(current());
+    }
+
+    /**
+     * Generate a batch of values with a typed generator
+     */
+    public static <T> List<T> generate(DataGenerator<T> generator, int count) {
+        SplittableRandom random = current();
+        List<T> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(generator.next(random));
+        }
+        return values;
+    }
+
+    /**
+     * Generate a large batch in parallel; each chunk gets its own split stream,
+     * so the result is identical for a given seed regardless of thread count
+     */
+    public static <T> List<T> generateParallel(DataGenerator<T> generator, int count, int chunkSize) {
+        SplittableRandom random = current();
+        int chunks = (count + chunkSize - 1) / chunkSize;
+        List<SplittableRandom> streams = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            streams.add(random.split());
+        }
+
+        @SuppressWarnings("unchecked")
+        T[] values = (T[]) new Object[count];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            SplittableRandom stream = streams.get(chunk);
+            int end = Math.min(count, (chunk + 1) * chunkSize);
+            for (int i = chunk * chunkSize; i < end; i++) {
+                values[i] = generator.next(stream);
+            }
+        });
+        return Arrays.asList(values);
+    }
+
+    /**
+     * Stafford variant 13 finalizer, used to spread seed bits
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
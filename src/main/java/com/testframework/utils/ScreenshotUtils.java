@@ -8,6 +8,8 @@ import ru.yandex.qatools.ashot.AShot;
 import ru.yandex.qatools.ashot.Screenshot;
 import ru.yandex.qatools.ashot.shooting.ShootingStrategies;
 import com.testframework.config.TestConfig;
+import com.testframework.metrics.TraceRecorder;
+import com.testframework.reporting.TestArtifacts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -224,7 +226,13 @@ public class ScreenshotUtils {
         }
         
         Path filePath = dir.resolve(filename);
-        ImageIO.write(screenshot.getImage(), "PNG", filePath.toFile());
+        TraceRecorder.begin("write screenshot", "artifact", filename);
+        try {
+            ImageIO.write(screenshot.getImage(), "PNG", filePath.toFile());
+        } finally {
+            TraceRecorder.end();
+        }
+        TestArtifacts.add("screenshot", filePath.toString());
         
         return filePath.toString();
     }
@@ -241,7 +249,13 @@ public class ScreenshotUtils {
         }
         
         Path filePath = dir.resolve(filename);
-        Files.copy(screenshot.toPath(), filePath);
+        TraceRecorder.begin("write screenshot", "artifact", filename);
+        try {
+            Files.copy(screenshot.toPath(), filePath);
+        } finally {
+            TraceRecorder.end();
+        }
+        TestArtifacts.add("screenshot", filePath.toString());
         
         return filePath.toString();
     }
@@ -0,0 +1,301 @@
+package com.testframework.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testframework.config.TestConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles JSON test data files into the binary layout read by {@link CompiledTestData}
+ * The JSON file remains the source of truth; the binary file is a disposable cache
+ *
+ * Layout (big-endian):
+ * <pre>
+ * header : magic(int) version(int) sourceSize(long) sourceModified(long) tableCount(int)
+ * tables : name(str) rowCount(int) columnCount(int) columnNames(str...) cellIndexOffset(long)
+ * index  : per table, rowCount * columnCount cells of offset(int) length(int), length -1 for null
+ * heap   : UTF-8 bytes of every cell value
+ * str    : length(int) followed by UTF-8 bytes
+ * </pre>
+ */
+public class TestDataCompiler {
+    private static final Logger logger = LoggerFactory.getLogger(TestDataCompiler.class);
+    static final int MAGIC = 0x54444231; // "TDB1"
+    static final int VERSION = 1;
+    static final String EXTENSION = ".tdb";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Compile all JSON files in the test data directory
+     */
+    public static void main(String[] args) throws IOException {
+        TestConfig config = TestConfig.getInstance();
+        Path sourceDir = Paths.get(args.length > 0 ? args[0] : config.getTestDataDir());
+        Path targetDir = Paths.get(args.length > 1 ? args[1] : config.getCompiledTestDataDir());
+
+        TestDataCompiler compiler = new TestDataCompiler();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(sourceDir, "*.json")) {
+            for (Path source : files) {
+                compiler.compileIfStale(source, targetDir.resolve(compiledFileName(source)));
+            }
+        }
+    }
+
+    /**
+     * Get compiled file name for a JSON source file
+     */
+    static String compiledFileName(Path source) {
+        String name = source.getFileName().toString();
+        if (name.endsWith(".json")) {
+            name = name.substring(0, name.length() - ".json".length());
+        }
+        return name + EXTENSION;
+    }
+
+    /**
+     * Compile source into target unless target is already up to date
+     */
+    public Path compileIfStale(Path source, Path target) throws IOException {
+        if (isUpToDate(source, target)) {
+            logger.debug("Compiled test data is up to date: {}", target);
+            return target;
+        }
+        return compile(source, target);
+    }
+
+    /**
+     * Check whether compiled file matches the current source file
+     */
+    public boolean isUpToDate(Path source, Path target) {
+        if (!Files.exists(target)) {
+            return false;
+        }
+        try {
+            return CompiledTestData.matchesSource(target, Files.size(source),
+                Files.getLastModifiedTime(source).toMillis());
+        } catch (IOException e) {
+            logger.debug("Unable to check compiled test data {}: {}", target, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Compile JSON source file into binary target file
+     * The file is written to a temporary name and moved into place so that
+     * concurrent JVMs never observe a partially written file
+     */
+    public Path compile(Path source, Path target) throws IOException {
+        long sourceSize = Files.size(source);
+        long sourceModified = Files.getLastModifiedTime(source).toMillis();
+        JsonNode root = objectMapper.readTree(source.toFile());
+
+        List<Table> tables = collectTables(root);
+
+        Path dir = target.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                write(out, tables, sourceSize, sourceModified);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        logger.info("Compiled test data {} -> {} ({} tables)", source, target, tables.size());
+        return target;
+    }
+
+    /**
+     * Collect tables from JSON root
+     * A top-level array becomes a single table named "rows",
+     * each top-level field holding an array becomes a table of that name
+     */
+    private List<Table> collectTables(JsonNode root) {
+        List<Table> tables = new ArrayList<>();
+        if (root.isArray()) {
+            tables.add(toTable("rows", root));
+        } else if (root.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = root.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (field.getValue().isArray()) {
+                    tables.add(toTable(field.getKey(), field.getValue()));
+                } else {
+                    logger.debug("Skipping non-array field in test data: {}", field.getKey());
+                }
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Convert JSON array into a table; columns are the union of object field names
+     */
+    private Table toTable(String name, JsonNode array) {
+        Set<String> columns = new LinkedHashSet<>();
+        for (JsonNode row : array) {
+            if (row.isObject()) {
+                row.fieldNames().forEachRemaining(columns::add);
+            } else {
+                columns.add("value");
+            }
+        }
+
+        List<String> columnList = new ArrayList<>(columns);
+        List<byte[][]> rows = new ArrayList<>(array.size());
+        for (JsonNode row : array) {
+            byte[][] cells = new byte[columnList.size()][];
+            for (int i = 0; i < columnList.size(); i++) {
+                String column = columnList.get(i);
+                JsonNode cell = row.isObject() ? row.get(column) : ("value".equals(column) ? row : null);
+                cells[i] = encodeCell(cell);
+            }
+            rows.add(cells);
+        }
+        return new Table(name, columnList, rows);
+    }
+
+    /**
+     * Encode a cell value; scalars as text, containers as JSON
+     */
+    private byte[] encodeCell(JsonNode cell) {
+        if (cell == null || cell.isNull() || cell.isMissingNode()) {
+            return null;
+        }
+        String text = cell.isValueNode() ? cell.asText() : cell.toString();
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write tables to output stream
+     */
+    private void write(OutputStream target, List<Table> tables, long sourceSize, long sourceModified)
+            throws IOException {
+        // Directory is written first into a buffer so that absolute offsets are known
+        ByteArrayOutputStream directoryBytes = new ByteArrayOutputStream();
+        DataOutputStream directory = new DataOutputStream(directoryBytes);
+        int headerSize = 4 + 4 + 8 + 8 + 4;
+
+        // First pass: measure directory size with placeholder offsets
+        for (Table table : tables) {
+            table.writeDirectoryEntry(directory, 0L);
+        }
+        long position = headerSize + directoryBytes.size();
+
+        long[] indexOffsets = new long[tables.size()];
+        for (int i = 0; i < tables.size(); i++) {
+            indexOffsets[i] = position;
+            position += (long) tables.get(i).cellCount() * 8;
+        }
+        long heapStart = position;
+
+        directoryBytes.reset();
+        for (int i = 0; i < tables.size(); i++) {
+            tables.get(i).writeDirectoryEntry(directory, indexOffsets[i]);
+        }
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(sourceSize);
+        out.writeLong(sourceModified);
+        out.writeInt(tables.size());
+        directoryBytes.writeTo(out);
+
+        long heapPosition = heapStart;
+        for (Table table : tables) {
+            for (byte[][] row : table.rows) {
+                for (byte[] cell : row) {
+                    if (cell == null) {
+                        out.writeInt(0);
+                        out.writeInt(-1);
+                    } else {
+                        out.writeInt(toIntOffset(heapPosition));
+                        out.writeInt(cell.length);
+                        heapPosition += cell.length;
+                    }
+                }
+            }
+        }
+
+        for (Table table : tables) {
+            for (byte[][] row : table.rows) {
+                for (byte[] cell : row) {
+                    if (cell != null) {
+                        out.write(cell);
+                    }
+                }
+            }
+        }
+        out.flush();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static int toIntOffset(long position) throws IOException {
+        if (position > Integer.MAX_VALUE) {
+            throw new IOException("Compiled test data exceeds 2GB limit");
+        }
+        return (int) position;
+    }
+
+    /**
+     * In-memory table used while compiling
+     */
+    private static class Table {
+        private final String name;
+        private final List<String> columns;
+        private final List<byte[][]> rows;
+
+        Table(String name, List<String> columns, List<byte[][]> rows) {
+            this.name = name;
+            this.columns = columns;
+            this.rows = rows;
+        }
+
+        int cellCount() {
+            return rows.size() * columns.size();
+        }
+
+        void writeDirectoryEntry(DataOutputStream out, long indexOffset) throws IOException {
+            writeString(out, name);
+            out.writeInt(rows.size());
+            out.writeInt(columns.size());
+            for (String column : columns) {
+                writeString(out, column);
+            }
+            out.writeLong(indexOffset);
+        }
+    }
+}
@@ -10,9 +10,14 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Test data manager utility class
@@ -21,8 +26,10 @@ import java.util.HashMap;
 public class TestDataManager {
     private static final Logger logger = LoggerFactory.getLogger(TestDataManager.class);
     private static TestDataManager instance;
+    private static volatile boolean historyHashWarned;
     private ObjectMapper objectMapper;
     private Map<String, Object> cachedData;
+    private final Map<String, CompiledTestData> compiledData = new ConcurrentHashMap<>();
     
     private TestDataManager() {
         this.objectMapper = new ObjectMapper();
@@ -137,6 +144,149 @@ public class TestDataManager {
         }
     }
     
+    /**
+     * Load test data through its compiled binary form
+     * The JSON file is compiled on first use and the result is memory-mapped; every access checks the source's
+     * size and modification time, and a changed source is compiled and mapped again
+     */
+    public CompiledTestData loadCompiledTestData(String filename) {
+        CompiledTestData cached = compiledData.get(filename);
+        if (cached != null && !isCurrent(filename, cached)) {
+            logger.info("Test data {} changed, compiling it again", filename);
+            compiledData.remove(filename, cached);
+        }
+        return compiledData.computeIfAbsent(filename, this::openCompiledTestData);
+    }
+    
+    private boolean isCurrent(String filename, CompiledTestData data) {
+        Path source = Paths.get(TestConfig.getInstance().getTestDataDir(), filename);
+        try {
+            return data.matchesSource(Files.size(source), Files.getLastModifiedTime(source).toMillis());
+        } catch (IOException e) {
+            // A source that disappeared keeps its last compiled form
+            return true;
+        }
+    }
+    
+    /**
+     * Load a table from compiled test data in TestNG data provider form
+     */
+    public Object[][] loadDataProvider(String filename, String table, String... columns) {
+        CompiledTestData data = loadCompiledTestData(filename);
+        if (data != null && data.getTable(table) != null) {
+            return data.getTable(table).toDataProvider(columns);
+        }
+        
+        // Fall back to parsing the JSON source directly
+        JsonNode root = loadTestData(filename);
+        JsonNode rows = root != null ? root.get(table) : null;
+        if (rows == null || !rows.isArray()) {
+            logger.warn("Test data table {} not found in {}", table, filename);
+            return new Object[0][];
+        }
+        Object[][] result = new Object[rows.size()][columns.length];
+        for (int r = 0; r < rows.size(); r++) {
+            for (int c = 0; c < columns.length; c++) {
+                JsonNode cell = rows.get(r).get(columns[c]);
+                result[r][c] = cell == null || cell.isNull() ? null : cell.asText();
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Load a table from compiled test data and keep only the rows owned by this shard
+     * Rows are keyed by the test method, as durations are recorded, so they can be balanced by duration;
+     * declare a Method parameter on the data provider to receive it
+     */
+    public Object[][] loadShardedDataProvider(Method testMethod, String filename, String table, String... columns) {
+        return shard(testMethod, loadDataProvider(filename, table, columns));
+    }
+    
+    /**
+     * Keep only the data provider rows owned by this shard
+     * Rows are keyed by the test method so that recorded durations can be used for balancing;
+     * declare a Method parameter on the data provider to receive it
+     */
+    public Object[][] shard(Method testMethod, Object[][] rows) {
+        return shard(DataSharding.testKey(testMethod), rows);
+    }
+    
+    /**
+     * Keep only the data provider rows of a named dataset owned by this shard
+     * Duration balancing is only consistent if every shard reads the same history, so it needs the history's
+     * fingerprint in test.shardHistoryHash: without it rows are balanced by hash, and a shard whose history has
+     * another fingerprint is refused rather than dropping or repeating rows.
+     */
+    public Object[][] shard(String dataset, Object[][] rows) {
+        TestConfig config = TestConfig.getInstance();
+        int shardCount = config.getShardCount();
+        int shardIndex = config.getShardIndex();
+        if (shardCount <= 1) {
+            return rows;
+        }
+        
+        Object[][] selected;
+        DurationHistory history = DurationHistory.getInstance().stored();
+        if ("duration".equalsIgnoreCase(config.getShardBalancing()) && isSharedHistory(history)) {
+            selected = DataSharding.byDuration(dataset, rows, shardIndex, shardCount, history);
+        } else {
+            selected = DataSharding.byHash(dataset, rows, shardIndex, shardCount);
+        }
+        logger.info("Shard {}/{} selected {} of {} rows for {}", shardIndex, shardCount, selected.length, rows.length, dataset);
+        return selected;
+    }
+    
+    /**
+     * Check that the duration history is the one all shards were told to read (test.shardHistoryHash)
+     * Returns false, once warned, if no fingerprint was given; throws if it does not match.
+     */
+    private boolean isSharedHistory(DurationHistory history) {
+        String expected = TestConfig.getInstance().getShardHistoryHash().trim();
+        String actual = history.fingerprint();
+        if (expected.isEmpty()) {
+            if (!historyHashWarned) {
+                historyHashWarned = true;
+                logger.warn("Duration balancing needs test.shardHistoryHash to check that all shards read the same"
+                    + " history; balancing by hash. This shard's history has fingerprint {}", actual);
+            }
+            return false;
+        }
+        if (!expected.equalsIgnoreCase(actual)) {
+            throw new IllegalStateException("Duration history has fingerprint " + actual + " but test.shardHistoryHash is "
+                + expected + ": shards reading different histories would drop or repeat rows");
+        }
+        return true;
+    }
+    
+    /**
+     * Compile if needed and map the binary form of a JSON test data file
+     */
+    private CompiledTestData openCompiledTestData(String filename) {
+        TestConfig config = TestConfig.getInstance();
+        if (!config.isCompiledTestDataEnabled()) {
+            return null;
+        }
+        
+        Path source = Paths.get(config.getTestDataDir(), filename);
+        if (!Files.exists(source)) {
+            logger.warn("Test data file not found: {}", source);
+            return null;
+        }
+        
+        try {
+            Path target = Paths.get(config.getCompiledTestDataDir())
+                .resolve(TestDataCompiler.compiledFileName(source));
+            new TestDataCompiler().compileIfStale(source, target);
+            CompiledTestData data = CompiledTestData.open(target);
+            logger.info("Mapped compiled test data: {}", target);
+            return data;
+        } catch (IOException e) {
+            logger.error("Failed to load compiled test data for {}: {}", filename, e.getMessage(), e);
+            return null;
+        }
+    }
+    
     /**
      * Cache test data for later use
      */
@@ -163,6 +313,7 @@ public class TestDataManager {
      */
     public void clearCache() {
         cachedData.clear();
+        compiledData.clear();
         logger.debug("Cleared test data cache");
     }
     
@@ -170,39 +321,28 @@ public class TestDataManager {
      * Generate random test data
      */
     public String generateRandomString(int length) {
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < length; i++) {
-            int index = (int) (Math.random() * chars.length());
-            sb.append(chars.charAt(index));
-        }
-        return sb.toString();
+        return RandomDataGenerator.randomString(length);
     }
     
     /**
      * Generate random email
      */
     public String generateRandomEmail() {
-        String username = generateRandomString(8);
-        String domain = generateRandomString(6);
-        return username + "@" + domain + ".com";
+        return RandomDataGenerator.generate(DataGenerators.email());
     }
     
     /**
      * Generate random phone number
      */
     public String generateRandomPhoneNumber() {
-        return String.format("+1-%03d-%03d-%04d", 
-            (int) (Math.random() * 900) + 100,
-            (int) (Math.random() * 900) + 100,
-            (int) (Math.random() * 9000) + 1000);
+        return RandomDataGenerator.generate(DataGenerators.phoneNumber());
     }
     
     /**
      * Generate random number within range
      */
     public int generateRandomNumber(int min, int max) {
-        return (int) (Math.random() * (max - min + 1)) + min;
+        return RandomDataGenerator.randomInt(min, max);
     }
     
     /**
@@ -0,0 +1,121 @@
+package com.testframework.tests;
+
+import com.testframework.config.TestConfig;
+import com.testframework.core.BasePage;
+import com.testframework.core.DriverManager;
+import com.testframework.events.BrowserEvents;
+import com.testframework.stub.StubWebDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Page events of a stub session and waits woken by them
+ */
+public class BrowserEventsTest {
+    private static final String EMPTY_PAGE = "<html><head><title>Events</title></head><body></body></html>";
+    private static final String LATE_PAGE = "<html><head><title>Events</title></head><body>"
+        + "<div id='late'>ready</div></body></html>";
+
+    private String previousBidi;
+    private String previousFallbackPoll;
+    private WebDriver session;
+    private BrowserEvents events;
+
+    @BeforeMethod
+    public void setUp() {
+        TestConfig config = TestConfig.getInstance();
+        previousBidi = config.setOverride("test.bidi.enabled", "true");
+        // A wait that polled instead of waking on events would sleep a day and hit the test's time-out
+        previousFallbackPoll = config.setOverride("test.bidi.fallbackPollMillis",
+            String.valueOf(TimeUnit.DAYS.toMillis(1)));
+        session = DriverManager.createDriver("stub", 0, true);
+        events = BrowserEvents.get(session);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        DriverManager.quitSession(session);
+        TestConfig config = TestConfig.getInstance();
+        config.setOverride("test.bidi.enabled", previousBidi);
+        config.setOverride("test.bidi.fallbackPollMillis", previousFallbackPoll);
+    }
+
+    @Test(description = "Navigations and DOM changes are counted as page events")
+    public void testSessionReportsPageEvents() {
+        Assert.assertNotNull(events, "A stub session should report page events");
+        long before = events.generation();
+
+        session.get("data:text/html," + LATE_PAGE);
+        Assert.assertEquals(events.generation(), before + 3,
+            "A navigation should report navigationStarted, domContentLoaded and load");
+        Assert.assertEquals(events.getLastEvent(), "load");
+
+        WebElement late = session.findElement(By.id("late"));
+        ((JavascriptExecutor) session).executeScript("arguments[0].setAttribute('style', arguments[1]);", late,
+            "color: red");
+        Assert.assertEquals(events.generation(), before + 4);
+        Assert.assertEquals(events.getLastEvent(), "mutation", "A style change should report a mutation");
+    }
+
+    @Test(description = "A wait re-checks its condition as soon as the page reports an event",
+        timeOut = 60_000)
+    public void testWaitsAreEventDriven() {
+        session.get("data:text/html," + EMPTY_PAGE);
+        StubWebDriver stub = (StubWebDriver) ((WrapsDriver) session).getWrappedDriver();
+        long before = events.generation();
+        DriverManager.bindDriver(session);
+        try {
+            AtomicInteger checks = new AtomicInteger();
+            WebElement late = new LatePage().waitForLateElement(() -> {
+                if (checks.incrementAndGet() == 1) {
+                    stub.loadHtml("https://events.example.test/", LATE_PAGE);
+                }
+            });
+
+            Assert.assertEquals(late.getText(), "ready");
+            Assert.assertEquals(checks.get(), 2, "The wait should check again right after the load event");
+            Assert.assertEquals(events.generation(), before + 1, "Loading the page should report one event");
+            Assert.assertEquals(events.getLastEvent(), "load");
+        } finally {
+            DriverManager.unbindDriver();
+        }
+    }
+
+    @Test(description = "A sleeper returns at once for an event that arrived since the previous sleep",
+        timeOut = 60_000)
+    public void testSleeperWakesOnPendingEvent() throws InterruptedException {
+        BrowserEvents.EventSleeper sleeper = events.newSleeper();
+        long before = events.generation();
+
+        session.get("data:text/html," + EMPTY_PAGE);
+        sleeper.sleep(Duration.ofDays(1));
+
+        Assert.assertEquals(events.generation(), before + 3,
+            "The sleep should have ended on the navigation's events");
+    }
+
+    /**
+     * Page whose element only shows up once the page changes
+     */
+    private static final class LatePage extends BasePage {
+        WebElement waitForLateElement(Runnable onCheck) {
+            return wait.until(driver -> {
+                List<WebElement> found = driver.findElements(By.id("late"));
+                onCheck.run();
+                return found.isEmpty() ? null : found.get(0);
+            });
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.testframework.tests;
+
+import com.testframework.config.TestConfig;
+import com.testframework.utils.CompiledTestData;
+import com.testframework.utils.TestDataCompiler;
+import com.testframework.utils.TestDataManager;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Round trip of JSON test data through the compiled binary format
+ */
+public class CompiledTestDataTest {
+    private Path dir;
+
+    @BeforeClass
+    public void createDirectory() throws IOException {
+        dir = Files.createTempDirectory("compiled-test-data-");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test(description = "Tables, nulls, scalar rows, containers and multi-byte text survive compilation")
+    public void testRoundTrip() throws IOException {
+        Path source = write("round-trip.json", "{"
+            + "\"users\": ["
+            + "  {\"name\": \"Zoë\", \"city\": \"Zürich\", \"note\": null},"
+            + "  {\"name\": \"李雷\", \"age\": 42, \"tags\": [\"a\", \"b\"]},"
+            + "  \"plain 😀\","
+            + "  null"
+            + "],"
+            + "\"terms\": [\"Grüße\", \"日本語\", \"\", 7, true],"
+            + "\"settings\": {\"ignored\": true}"
+            + "}");
+        CompiledTestData data = compile(source);
+
+        Assert.assertEquals(data.getTableNames(), Arrays.asList("users", "terms"),
+            "Every top-level array should become a table, in source order");
+
+        CompiledTestData.Table users = data.getTable("users");
+        Assert.assertEquals(users.getRowCount(), 4);
+        Assert.assertEquals(users.getColumns(), Arrays.asList("name", "city", "note", "age", "tags", "value"),
+            "Columns should be the union of the row fields, plus value for non-object rows");
+        Assert.assertEquals(users.getString(0, "name"), "Zoë");
+        Assert.assertEquals(users.getString(0, "city"), "Zürich");
+        Assert.assertNull(users.getString(0, "note"), "A JSON null should stay null");
+        Assert.assertNull(users.getString(0, "age"), "A missing field should be null");
+        Assert.assertNull(users.getBytes(0, users.getColumnIndex("note")));
+        Assert.assertEquals(users.getString(1, "name"), "李雷");
+        Assert.assertEquals(users.getString(1, "age"), "42");
+        Assert.assertEquals(users.getString(1, "tags"), "[\"a\",\"b\"]", "Containers should be kept as JSON");
+        Assert.assertEquals(users.getString(2, "value"), "plain 😀");
+        Assert.assertNull(users.getString(2, "name"), "A scalar row should only fill the value column");
+        Assert.assertNull(users.getString(3, "value"), "A null row should be all nulls");
+        Assert.assertEquals(users.getBytes(1, 0).remaining(), "李雷".getBytes(StandardCharsets.UTF_8).length,
+            "Cells should be stored as UTF-8");
+
+        CompiledTestData.Table terms = data.getTable("terms");
+        Assert.assertEquals(terms.getColumns(), Arrays.asList("value"));
+        Object[][] rows = terms.toDataProvider("value");
+        Assert.assertEquals(rows, new Object[][] {{"Grüße"}, {"日本語"}, {""}, {"7"}, {"true"}});
+        Assert.assertNull(data.getTable("settings"), "Non-array fields should not become tables");
+    }
+
+    @Test(description = "A top-level array compiles to a single table named rows")
+    public void testTopLevelArray() throws IOException {
+        CompiledTestData data = compile(write("array.json", "[{\"id\": 1}, {\"id\": 2, \"label\": \"zwei\"}]"));
+
+        Assert.assertEquals(data.getTableNames(), Arrays.asList("rows"));
+        CompiledTestData.Table rows = data.getTable("rows");
+        Assert.assertEquals(rows.getRow(0).get("id"), "1");
+        Assert.assertNull(rows.getRow(0).get("label"));
+        Assert.assertEquals(rows.getRow(1).get("label"), "zwei");
+    }
+
+    @Test(description = "Compiled data is recompiled when its source changes after it was loaded")
+    public void testChangedSourceIsRecompiled() throws IOException {
+        TestConfig config = TestConfig.getInstance();
+        String previousDataDir = config.setOverride("test.testDataDir", dir.toString());
+        String previousCompiledDir = config.setOverride("testdata.compiledDir", dir.resolve("compiled").toString());
+        try {
+            Path source = write("changing.json", "{\"terms\": [\"first\"]}");
+            TestDataManager manager = TestDataManager.getInstance();
+            Assert.assertEquals(manager.loadDataProvider("changing.json", "terms", "value"),
+                new Object[][] {{"first"}});
+
+            Files.write(source, "{\"terms\": [\"second\", \"third\"]}".getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(source, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+            Assert.assertEquals(manager.loadDataProvider("changing.json", "terms", "value"),
+                new Object[][] {{"second"}, {"third"}}, "A changed source should be compiled again");
+        } finally {
+            config.setOverride("test.testDataDir", previousDataDir);
+            config.setOverride("testdata.compiledDir", previousCompiledDir);
+        }
+    }
+
+    private Path write(String name, String json) throws IOException {
+        return Files.write(dir.resolve(name), json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private CompiledTestData compile(Path source) throws IOException {
+        Path target = dir.resolve("compiled").resolve(source.getFileName() + ".tdb");
+        return CompiledTestData.open(new TestDataCompiler().compile(source, target));
+    }
+}
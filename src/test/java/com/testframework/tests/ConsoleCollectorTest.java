@@ -0,0 +1,96 @@
+package com.testframework.tests;
+
+import com.testframework.config.TestConfig;
+import com.testframework.console.ConsoleCollector;
+import com.testframework.console.ConsoleEntry;
+import com.testframework.console.ConsoleRules;
+import com.testframework.console.ConsoleSummary;
+import com.testframework.stub.StubWebDriver;
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Console entries pushed by a session are collected per test and matched against the rules
+ */
+public class ConsoleCollectorTest {
+    private StubWebDriver driver;
+    private String previousEnabled;
+    private String previousBufferSize;
+
+    @BeforeMethod
+    public void setUp() {
+        TestConfig config = TestConfig.getInstance();
+        previousEnabled = config.setOverride("test.console.enabled", "true");
+        previousBufferSize = config.setOverride("test.console.bufferSize", "3");
+        driver = new StubWebDriver(Paths.get("test-data", "fixtures"));
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        driver.quit();
+        TestConfig config = TestConfig.getInstance();
+        config.setOverride("test.console.enabled", previousEnabled);
+        config.setOverride("test.console.bufferSize", previousBufferSize);
+    }
+
+    @Test(description = "Entries of the running test are collected in order and matched against rules")
+    public void testConsoleErrorsAreCollected() {
+        driver.reportConsole(entry("info", "before the test", false));
+        ConsoleCollector.begin(driver, "ConsoleCollectorTest.testConsoleErrorsAreCollected");
+        driver.reportConsole(entry("info", "page ready", false));
+        driver.reportConsole(entry("error", "widget failed to load", false));
+        driver.reportConsole(entry("error", "TypeError: config is undefined", true));
+
+        List<ConsoleEntry> entries = ConsoleCollector.getEntries();
+        Assert.assertEquals(entries.size(), 3, "Entries reported before the test should not be collected");
+        Assert.assertEquals(entries.get(0).getMessage(), "page ready");
+        Assert.assertEquals(entries.get(1).getLevel(), "error");
+        Assert.assertTrue(entries.get(2).isException(), "Uncaught exception should be collected");
+
+        ConsoleRules rules = ConsoleRules.none();
+        Assert.assertEquals(rules.violations(entries).size(), 0, "No entry should fail the test by default");
+        Assert.assertEquals(rules.withFailOn(ConsoleRules.FailOn.EXCEPTION).violations(entries).size(), 1,
+            "Only the exception should fail the test");
+        Assert.assertEquals(rules.withFailOn(ConsoleRules.FailOn.ERROR).violations(entries).size(), 2,
+            "Console errors and exceptions should fail the test");
+        Assert.assertEquals(rules.withFailOn(ConsoleRules.FailOn.ERROR)
+                .withIgnored(Collections.singletonList("widget")).violations(entries).size(), 1,
+            "Ignored messages should not fail the test");
+
+        ConsoleSummary summary = ConsoleCollector.finish(Reporter.getCurrentTestResult());
+        Assert.assertEquals(summary.getEntries(), 3);
+        Assert.assertEquals(summary.getErrors(), 2, "console.error and the exception should count as errors");
+        Assert.assertEquals(summary.getExceptions(), 1);
+        driver.reportConsole(entry("error", "after the test", false));
+        Assert.assertTrue(ConsoleCollector.getEntries().isEmpty(), "Nothing should be collected after the test");
+    }
+
+    @Test(description = "A test keeps its last test.console.bufferSize entries and counts the dropped ones")
+    public void testOldestEntriesAreDropped() {
+        ConsoleCollector.begin(driver, "ConsoleCollectorTest.testOldestEntriesAreDropped");
+        for (int i = 1; i <= 5; i++) {
+            driver.reportConsole(entry("log", "message " + i, false));
+        }
+
+        List<ConsoleEntry> entries = ConsoleCollector.getEntries();
+        Assert.assertEquals(entries.size(), 3);
+        Assert.assertEquals(entries.get(0).getMessage(), "message 3", "The oldest entries should be dropped first");
+        ITestResult result = Reporter.getCurrentTestResult();
+        ConsoleSummary summary = ConsoleCollector.finish(result);
+        Assert.assertEquals(summary.getEntries(), 5);
+        Assert.assertEquals(summary.getDropped(), 2);
+        Assert.assertSame(ConsoleCollector.get(result), summary, "The summary should be attached to the result");
+    }
+
+    private static ConsoleEntry entry(String level, String message, boolean exception) {
+        return new ConsoleEntry(System.currentTimeMillis(), level, message, exception);
+    }
+}
@@ -0,0 +1,118 @@
+package com.testframework.tests;
+
+import com.testframework.config.TestConfig;
+import com.testframework.utils.DataSharding;
+import com.testframework.utils.DurationHistory;
+import com.testframework.utils.TestDataManager;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Splitting data provider rows over shards, by hash and by recorded durations
+ */
+public class DataShardingTest {
+    private static final String DATASET = "DataShardingTest.rows";
+
+    private Path dir;
+    private DurationHistory history;
+    private Object[][] rows;
+    private final Map<String, String> previous = new HashMap<>();
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("data-sharding-test-");
+        history = new DurationHistory(dir.resolve("test-durations.json"));
+        rows = new Object[25][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new Object[] {"user-" + i, i};
+            // Every other row has history, the slowest ones at the end
+            if (i % 2 == 0) {
+                history.record(DataSharding.testKey(DATASET, rows[i]), 10L * (i + 1));
+            }
+        }
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        for (Map.Entry<String, String> entry : previous.entrySet()) {
+            TestConfig.getInstance().setOverride(entry.getKey(), entry.getValue());
+        }
+        previous.clear();
+        Files.deleteIfExists(dir);
+    }
+
+    @Test(description = "The shards' selections together hold every row exactly once, by hash and by duration")
+    public void testShardsCoverEveryRowOnce() {
+        for (int shardCount = 1; shardCount <= 5; shardCount++) {
+            int[] hashCount = new int[rows.length];
+            int[] durationCount = new int[rows.length];
+            for (int shard = 0; shard < shardCount; shard++) {
+                count(DataSharding.byHash(DATASET, rows, shard, shardCount), hashCount);
+                count(DataSharding.byDuration(DATASET, rows, shard, shardCount, history), durationCount);
+            }
+            for (int i = 0; i < rows.length; i++) {
+                Assert.assertEquals(hashCount[i], 1, "Row " + i + " by hash over " + shardCount + " shards");
+                Assert.assertEquals(durationCount[i], 1, "Row " + i + " by duration over " + shardCount + " shards");
+            }
+        }
+    }
+
+    @Test(description = "Histories with the same durations have the same fingerprint, others a different one")
+    public void testHistoryFingerprint() throws IOException {
+        DurationHistory same = new DurationHistory(dir.resolve("same.json"));
+        for (int i = rows.length - 1; i >= 0; i--) {
+            if (i % 2 == 0) {
+                same.record(DataSharding.testKey(DATASET, rows[i]), 10L * (i + 1));
+            }
+        }
+        Assert.assertEquals(same.fingerprint(), history.fingerprint(), "Recording order should not matter");
+
+        same.record(DataSharding.testKey(DATASET, rows[1]), 5);
+        Assert.assertNotEquals(same.fingerprint(), history.fingerprint(), "Another row should change it");
+
+        history.save();
+        Assert.assertEquals(new DurationHistory(dir.resolve("test-durations.json")).fingerprint(),
+            history.fingerprint(), "A saved history should keep its fingerprint when loaded again");
+        Files.deleteIfExists(dir.resolve("test-durations.json"));
+    }
+
+    @Test(description = "Duration balancing needs the fingerprint of the history all shards read")
+    public void testDurationBalancingChecksTheHistory() {
+        override("test.shardIndex", "1");
+        override("test.shardCount", "3");
+        override("test.shardBalancing", "duration");
+        override("test.shardHistoryHash", null);
+        TestDataManager data = TestDataManager.getInstance();
+
+        Assert.assertEquals(data.shard(DATASET, rows), DataSharding.byHash(DATASET, rows, 1, 3),
+            "Without a fingerprint rows should be balanced by hash");
+
+        override("test.shardHistoryHash", "0000000000000000");
+        Assert.assertThrows(IllegalStateException.class, () -> data.shard(DATASET, rows));
+
+        DurationHistory stored = DurationHistory.getInstance().stored();
+        override("test.shardHistoryHash", stored.fingerprint());
+        Assert.assertEquals(data.shard(DATASET, rows), DataSharding.byDuration(DATASET, rows, 1, 3, stored));
+    }
+
+    private void override(String key, String value) {
+        String before = TestConfig.getInstance().setOverride(key, value);
+        if (!previous.containsKey(key)) {
+            previous.put(key, before);
+        }
+    }
+
+    private void count(Object[][] selected, int[] counts) {
+        for (Object[] row : selected) {
+            counts[(Integer) row[1]]++;
+        }
+    }
+}
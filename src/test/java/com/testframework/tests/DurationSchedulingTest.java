@@ -0,0 +1,172 @@
+package com.testframework.tests;
+
+import com.testframework.config.TestConfig;
+import com.testframework.listeners.DurationSchedulingInterceptor;
+import com.testframework.utils.DurationHistory;
+import org.testng.Assert;
+import org.testng.IMethodInstance;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.testng.internal.ConstructorOrMethod;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Order in which the duration scheduling interceptor hands test classes to the workers
+ */
+public class DurationSchedulingTest {
+    private Path dir;
+    private DurationHistory history;
+    private String previousScheduling;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("duration-scheduling-test-");
+        history = new DurationHistory(dir.resolve("test-durations.json"));
+        history.record("QuickClass.first", 10);
+        history.record("QuickClass.second", 10);
+        history.record("MediumClass.first", 150);
+        history.record("MediumClass.second", 50);
+        // The second method is the slowest of the run, but stays behind the first one of its class
+        history.record("SlowClass.first", 100);
+        history.record("SlowClass.second", 400);
+        previousScheduling = TestConfig.getInstance().setOverride("test.scheduling", "duration");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        TestConfig.getInstance().setOverride("test.scheduling", previousScheduling);
+        Files.deleteIfExists(dir);
+    }
+
+    @Test(description = "With parallel classes whole classes run longest first and keep their method order")
+    public void testClassesAreScheduledLongestFirst() {
+        List<IMethodInstance> declared = methods(QuickClass.class, MediumClass.class, SlowClass.class);
+
+        List<IMethodInstance> scheduled = new DurationSchedulingInterceptor(history)
+            .intercept(declared, context(XmlSuite.ParallelMode.CLASSES, 2));
+
+        Assert.assertEquals(names(scheduled), List.of(
+            "SlowClass.first", "SlowClass.second",
+            "MediumClass.first", "MediumClass.second",
+            "QuickClass.first", "QuickClass.second"));
+    }
+
+    @Test(description = "Runs on one worker and test.scheduling=declared keep the declared order")
+    public void testDeclaredOrderIsKept() {
+        List<IMethodInstance> declared = methods(QuickClass.class, MediumClass.class, SlowClass.class);
+        DurationSchedulingInterceptor interceptor = new DurationSchedulingInterceptor(history);
+
+        Assert.assertEquals(interceptor.intercept(declared, context(XmlSuite.ParallelMode.CLASSES, 1)), declared);
+        TestConfig.getInstance().setOverride("test.scheduling", "declared");
+        Assert.assertEquals(interceptor.intercept(declared, context(XmlSuite.ParallelMode.CLASSES, 2)), declared);
+    }
+
+    private static List<IMethodInstance> methods(Class<?>... classes) {
+        List<IMethodInstance> methods = new ArrayList<>();
+        for (Class<?> type : classes) {
+            for (String name : new String[] {"first", "second"}) {
+                try {
+                    methods.add(methodInstance(type.getDeclaredMethod(name)));
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return methods;
+    }
+
+    private static IMethodInstance methodInstance(Method method) {
+        ITestNGMethod testMethod = stub(ITestNGMethod.class, (proxy, called, args) -> {
+            switch (called.getName()) {
+                case "getConstructorOrMethod":
+                    return new ConstructorOrMethod(method);
+                case "getRealClass":
+                    return method.getDeclaringClass();
+                case "getMethodName":
+                    return method.getName();
+                default:
+                    return null;
+            }
+        });
+        return stub(IMethodInstance.class, (proxy, called, args) -> {
+            switch (called.getName()) {
+                case "getMethod":
+                    return testMethod;
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private static ITestContext context(XmlSuite.ParallelMode mode, int threads) {
+        XmlTest test = new XmlTest(new XmlSuite());
+        test.setName("Scheduled");
+        test.setParallel(mode);
+        test.setThreadCount(threads);
+        return stub(ITestContext.class, (proxy, called, args) ->
+            called.getName().equals("getCurrentXmlTest") ? test : null);
+    }
+
+    /**
+     * Implement a TestNG interface with just the calls the interceptor makes; identity for Object's methods
+     */
+    private static <T> T stub(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(DurationSchedulingTest.class.getClassLoader(),
+            new Class<?>[] {type}, (proxy, called, args) -> {
+                switch (called.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return handler.invoke(proxy, called, args);
+                }
+            }));
+    }
+
+    private static List<String> names(List<IMethodInstance> methods) {
+        List<String> names = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            Method javaMethod = method.getMethod().getConstructorOrMethod().getMethod();
+            names.add(javaMethod.getDeclaringClass().getSimpleName() + "." + javaMethod.getName());
+        }
+        return names;
+    }
+
+    public static class QuickClass {
+        public void first() {
+        }
+
+        public void second() {
+        }
+    }
+
+    public static class MediumClass {
+        public void first() {
+        }
+
+        public void second() {
+        }
+    }
+
+    public static class SlowClass {
+        public void first() {
+        }
+
+        public void second() {
+        }
+    }
+}
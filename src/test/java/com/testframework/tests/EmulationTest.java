@@ -0,0 +1,58 @@
+package com.testframework.tests;
+
+import com.testframework.config.ClientProfile;
+import com.testframework.config.TestConfig;
+import com.testframework.core.BaseTest;
+import com.testframework.core.ClientEmulation;
+import com.testframework.core.Emulate;
+import com.testframework.stub.StubWebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Client profile of a test annotated with {@link Emulate}, applied to a stub session through DevTools
+ */
+public class EmulationTest extends BaseTest {
+    private String previousBrowser;
+    private ClientProfile sessionProfile;
+
+    @BeforeClass
+    public void useStubDriver() {
+        // Runs before the base class sets up the first test, so the shared session is a stub one
+        previousBrowser = TestConfig.getInstance().setOverride("test.browser", "stub");
+        sessionProfile = TestConfig.getInstance().getEmulationProfile();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restoreBrowser() {
+        TestConfig.getInstance().setOverride("test.browser", previousBrowser);
+    }
+
+    @Test(description = "An annotated test runs under its profile's network latency and CPU slowdown")
+    @Emulate("low-end-mobile")
+    public void testAnnotatedTestRunsUnderItsProfile() {
+        ClientProfile profile = ClientProfile.builtIn().get("low-end-mobile");
+        StubWebDriver stub = stub();
+
+        Assert.assertEquals(ClientEmulation.getActive(driver).getName(), "low-end-mobile");
+        Assert.assertEquals(stub.getEmulatedLatency(), profile.getLatencyMillis(), "Network latency");
+        Assert.assertEquals(stub.getCpuSlowdown(), profile.getCpuSlowdown(), "CPU slowdown");
+    }
+
+    @Test(description = "The session's own profile is back once the annotated test is done",
+        dependsOnMethods = "testAnnotatedTestRunsUnderItsProfile")
+    public void testSessionProfileIsRestored() {
+        StubWebDriver stub = stub();
+
+        Assert.assertEquals(ClientEmulation.getActive(driver).getName(), sessionProfile.getName());
+        Assert.assertEquals(stub.getEmulatedLatency(), sessionProfile.getLatencyMillis(), "Network latency");
+        Assert.assertEquals(stub.getCpuSlowdown(), sessionProfile.getCpuSlowdown(), "CPU slowdown");
+    }
+
+    private StubWebDriver stub() {
+        return (StubWebDriver) ((WrapsDriver) driver).getWrappedDriver();
+    }
+}
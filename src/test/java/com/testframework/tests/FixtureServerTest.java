@@ -0,0 +1,107 @@
+package com.testframework.tests;
+
+import com.testframework.stub.FixtureServer;
+import com.testframework.stub.RouteShaping;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixture server's confinement to the fixture directory and its latency and error shaping
+ */
+public class FixtureServerTest {
+    private FixtureServer server;
+
+    @AfterMethod(alwaysRun = true)
+    public void stopServer() {
+        if (server != null) {
+            server.stop();
+            server = null;
+        }
+    }
+
+    @Test(description = "Paths climbing out of the fixture directory are not served")
+    public void testPathTraversalIsRefused() throws IOException {
+        server = start(RouteShaping.NONE);
+
+        Assert.assertTrue(get("/").startsWith("HTTP/1.1 200"), "The fixture site's index should be served");
+        for (String path : new String[] {"/../pom.xml", "/../../pom.xml", "/%2e%2e/%2e%2e/pom.xml",
+            "/search/../../../pom.xml"}) {
+            String response = get(path);
+            Assert.assertTrue(response.startsWith("HTTP/1.1 404") || response.startsWith("HTTP/1.1 403"),
+                path + " should be refused: " + response.lines().findFirst().orElse(""));
+            Assert.assertFalse(response.contains("<artifactId>"), path + " should not serve the project's pom.xml");
+        }
+    }
+
+    @Test(description = "Injected errors follow the suite seed, so the same requests fail the same way every run")
+    public void testErrorSequenceIsReproducible() throws IOException {
+        RouteShaping flaky = RouteShaping.NONE.withErrorRate(0.5).withErrorStatus(503);
+        server = start(flaky);
+        List<Integer> first = statuses(20);
+        server.stop();
+        server = start(flaky);
+        List<Integer> second = statuses(20);
+
+        Assert.assertEquals(second, first, "A server with the same seed should fail the same requests");
+        Assert.assertTrue(first.contains(503) && first.contains(200), "About half the requests should fail: " + first);
+    }
+
+    @Test(description = "Route latency applies to the longest matching route only")
+    public void testRouteLatency() throws IOException {
+        server = start(RouteShaping.NONE);
+        server.route("/**", RouteShaping.NONE.withLatencyMillis(300));
+        server.route("/search*", RouteShaping.NONE);
+
+        long start = System.nanoTime();
+        Assert.assertTrue(get("/index.html").startsWith("HTTP/1.1 200"));
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 300,
+            "A request on the slow route should take at least its latency");
+        Assert.assertTrue(get("/search?q=shaping").contains("shaping"), "A more specific route should win");
+    }
+
+    private static FixtureServer start(RouteShaping shaping) {
+        FixtureServer server = new FixtureServer(Paths.get("test-data", "fixtures"), "www.google.com");
+        server.setDefaultShaping(shaping);
+        server.start(0);
+        return server;
+    }
+
+    private List<Integer> statuses(int requests) throws IOException {
+        List<Integer> statuses = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            statuses.add(Integer.parseInt(get("/").substring(9, 12)));
+        }
+        return statuses;
+    }
+
+    /**
+     * Send a GET with the path exactly as given, which HTTP clients would normalize, and read the whole response
+     */
+    private String get(String path) throws IOException {
+        URI base = URI.create(server.getBaseUrl());
+        try (Socket socket = new Socket(InetAddress.getByName(base.getHost()), base.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET " + path + " HTTP/1.1\r\nHost: " + base.getAuthority() + "\r\nConnection: close\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            ByteArrayOutputStream response = new ByteArrayOutputStream();
+            InputStream in = socket.getInputStream();
+            in.transferTo(response);
+            return response.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.testframework.tests;
+
+import com.testframework.config.TestConfig;
+import com.testframework.core.BrowserContexts;
+import com.testframework.listeners.FixtureServerListener;
+import com.testframework.load.LoadProfile;
+import com.testframework.load.LoadReport;
+import com.testframework.load.LoadRunner;
+import com.testframework.pages.GoogleHomePage;
+import com.testframework.stub.FixtureServer;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+/**
+ * Example load run reusing the Google page objects as a journey
+ * Runs against the local fixture server so the load never leaves the machine.
+ */
+public class GoogleSearchLoadTest {
+    private static final String BASE_URL_KEY = "test.baseUrl";
+    private static final String CONTEXTS_KEY = "test.browserContexts.enabled";
+
+    private FixtureServer server;
+    private String previousBaseUrl;
+
+    @BeforeClass
+    public void startFixtureServer() {
+        if (FixtureServerListener.getServer() != null) {
+            return;
+        }
+        server = FixtureServer.fromConfig();
+        server.start(0);
+        previousBaseUrl = TestConfig.getInstance().setOverride(BASE_URL_KEY, server.getBaseUrl());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopFixtureServer() {
+        if (server == null) {
+            return;
+        }
+        server.stop();
+        TestConfig.getInstance().setOverride(BASE_URL_KEY, previousBaseUrl);
+    }
+
+    @Test(description = "Concurrent users search through the page objects without errors")
+    public void testConcurrentSearchJourney() {
+        LoadProfile profile = LoadProfile.fromConfig()
+            .withUsers(3)
+            .withRampUp(Duration.ofMillis(300))
+            .withIterations(2);
+
+        LoadReport report = new LoadRunner(profile, user -> {
+            GoogleHomePage home = new GoogleHomePage();
+            user.step("GoogleHomePage.navigateToHomePage", home::navigateToHomePage);
+            user.step("GoogleHomePage.search", () -> home.search("load " + user.getId()));
+            String title = user.step("GoogleHomePage.getPageTitle", home::getPageTitle);
+            Assert.assertTrue(title.contains("load " + user.getId()), "Results should be for the user's search: " + title);
+        }).run();
+
+        Assert.assertEquals(report.getFailedIterations(), 0, "No journey should fail");
+        Assert.assertEquals(report.getIterations(), 6, "Every user should complete every iteration");
+        Assert.assertEquals(report.getStep("GoogleHomePage.search").getCount(), 6);
+        Assert.assertEquals(report.getStep("session start").getCount(), 3, "Each user should reuse one session");
+        Assert.assertFalse(report.isBrowserContexts());
+        Assert.assertEquals(report.getStep("GoogleHomePage.search").getLockWaitMaxMillis(), 0.0,
+            "Users with sessions of their own should not wait for each other");
+        Assert.assertTrue(report.getThroughput() > 0, "Throughput should be reported");
+        FixtureServer used = server != null ? server : FixtureServerListener.getServer();
+        Assert.assertTrue(used.getRequestCount() >= 12, "Pages should be served by the fixture server");
+    }
+
+    @Test(description = "Concurrent users share one browser process through isolated browser contexts")
+    public void testConcurrentUsersInBrowserContexts() {
+        String previousContexts = TestConfig.getInstance().setOverride(CONTEXTS_KEY, "true");
+        BrowserContexts.resetPeakProcessCount();
+        try {
+            LoadProfile profile = LoadProfile.fromConfig()
+                .withUsers(3)
+                .withRampUp(Duration.ofMillis(300))
+                .withIterations(2);
+
+            LoadReport report = new LoadRunner(profile, user -> {
+                GoogleHomePage home = new GoogleHomePage();
+                user.step("GoogleHomePage.navigateToHomePage", home::navigateToHomePage);
+                WebDriver.Options options = user.getDriver().manage();
+                options.addCookie(new Cookie("user", String.valueOf(user.getId())));
+                user.step("GoogleHomePage.search", () -> home.search("context " + user.getId()));
+                Assert.assertEquals(options.getCookieNamed("user").getValue(), String.valueOf(user.getId()),
+                    "Each context should keep its own cookies");
+                Assert.assertEquals(options.getCookies().size(), 1, "Cookies should not leak between contexts");
+            }).run();
+
+            Assert.assertEquals(report.getFailedIterations(), 0, "No journey should fail");
+            Assert.assertEquals(report.getIterations(), 6, "Every user should complete every iteration");
+            Assert.assertEquals(BrowserContexts.getPeakProcessCount(), 1, "Users should share one browser process");
+            Assert.assertTrue(report.isBrowserContexts(), "The report should say users shared browser processes");
+            Assert.assertEquals(BrowserContexts.getProcessCount(), 0, "The process should quit with its last context");
+        } finally {
+            TestConfig.getInstance().setOverride(CONTEXTS_KEY, previousContexts);
+        }
+    }
+}
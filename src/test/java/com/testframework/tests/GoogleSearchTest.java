@@ -9,6 +9,8 @@ import org.testng.annotations.Test;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
 
+import java.lang.reflect.Method;
+
 /**
  * Example test class demonstrating Google search functionality
  * Shows how to use the framework for real-world testing scenarios
@@ -74,13 +76,13 @@ public class GoogleSearchTest extends BaseTest {
     }
     
     @DataProvider(name = "searchTerms")
-    public Object[][] getSearchTerms() {
-        return new Object[][] {
+    public Object[][] getSearchTerms(Method testMethod) {
+        return testDataManager.shard(testMethod, new Object[][] {
             {"Java programming", "Java programming"},
             {"Test automation", "Test automation"},
             {"Selenium framework", "Selenium framework"},
             {"WebDriver tutorial", "WebDriver tutorial"}
-        };
+        });
     }
     
     @Test(description = "Test search box functionality")
@@ -193,4 +195,4 @@ public class GoogleSearchTest extends BaseTest {
         logVerification("Verify search box is still displayed");
         assertTrue(googleHomePage.isSearchBoxDisplayed(), "Search box should still be displayed");
     }
-} 
\ No newline at end of file
+}
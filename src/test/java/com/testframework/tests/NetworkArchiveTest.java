@@ -0,0 +1,199 @@
+package com.testframework.tests;
+
+import com.testframework.config.TestConfig;
+import com.testframework.listeners.NetworkArchiveListener;
+import com.testframework.network.ArchiveEntry;
+import com.testframework.network.NetworkArchive;
+import com.testframework.network.NetworkRecording;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.testng.Assert;
+import org.testng.IClass;
+import org.testng.IInvokedMethod;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Recording a test's traffic into its network archive and serving it back in strict replay
+ */
+public class NetworkArchiveTest {
+    private static final String PAGE = "https://archive.example.test/page";
+    private static final String MISSING = "https://archive.example.test/missing";
+    private static final String BODY = "<p>recorded</p>";
+
+    private final NetworkArchiveListener listener = new NetworkArchiveListener();
+    private final Map<String, String> previous = new HashMap<>();
+    private Path dir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("network-archive-test-");
+        override("test.network.archive.dir", dir.toString());
+        override("test.network.archive.strict", "true");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        // A failed test may have left its recording open on this thread
+        NetworkRecording.finish();
+        for (Map.Entry<String, String> entry : previous.entrySet()) {
+            TestConfig.getInstance().setOverride(entry.getKey(), entry.getValue());
+        }
+        previous.clear();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test(description = "Recorded traffic reads back from the archive and is served without the network")
+    public void testRecordedTrafficIsReplayed() throws IOException {
+        override("test.network.archive.mode", "record");
+        ITestResult recorded = run("recorded", request -> {
+            Assert.assertEquals(request.getUri(), PAGE);
+            return new HttpResponse().setStatus(200)
+                .addHeader("Content-Type", "text/html; charset=utf-8")
+                .setContent(Contents.utf8String(BODY));
+        }, PAGE);
+        Assert.assertEquals(recorded.getStatus(), ITestResult.SUCCESS);
+
+        List<ArchiveEntry> entries = NetworkArchive.read(dir.resolve("NetworkArchiveTest.recorded.har.gz"))
+            .getEntries();
+        Assert.assertEquals(entries.size(), 1, "The archive should hold the recorded request");
+        ArchiveEntry entry = entries.get(0);
+        Assert.assertEquals(entry.getMethod(), "GET");
+        Assert.assertEquals(entry.getUrl(), PAGE);
+        Assert.assertEquals(entry.getStatus(), 200);
+        Assert.assertEquals(new String(entry.getBody(), StandardCharsets.UTF_8), BODY);
+        Assert.assertTrue(entry.getHeaders().contains(
+            new AbstractMap.SimpleImmutableEntry<>("Content-Type", "text/html; charset=utf-8")),
+            "Headers should be recorded: " + entry.getHeaders());
+
+        override("test.network.archive.mode", "replay");
+        ITestResult replayed = run("recorded", NetworkArchiveTest::offline, PAGE);
+        Assert.assertEquals(replayed.getStatus(), ITestResult.SUCCESS, "A replay of recorded requests should pass");
+    }
+
+    @Test(description = "A request missing from the archive gets a 404 in strict replay and fails the test")
+    public void testStrictReplayMissFailsTheTest() throws IOException {
+        NetworkArchive archive = new NetworkArchive();
+        archive.add(new ArchiveEntry("GET", PAGE, 200,
+            Collections.singletonList(new AbstractMap.SimpleImmutableEntry<>("Content-Type", "text/html")),
+            BODY.getBytes(StandardCharsets.UTF_8), 5));
+        archive.write(dir.resolve("NetworkArchiveTest.written.har.gz"));
+        override("test.network.archive.mode", "replay");
+
+        ITestResult result = run("written", NetworkArchiveTest::offline, PAGE, MISSING);
+
+        Assert.assertEquals(result.getStatus(), ITestResult.FAILURE, "A strict replay miss should fail the test");
+        Assert.assertTrue(result.getThrowable() instanceof AssertionError);
+        String message = result.getThrowable().getMessage();
+        Assert.assertTrue(message.startsWith("Requests not found in the network archive of NetworkArchiveTest.written"),
+            message);
+        Assert.assertTrue(message.contains("GET " + MISSING), "The miss should be listed: " + message);
+        Assert.assertFalse(message.contains("GET " + PAGE), "The hit should not be listed: " + message);
+    }
+
+    /**
+     * Run a test method through the listener, sending the given requests through the recording filter
+     * Responses are checked against the recorded page, or the 404 of a strict replay miss.
+     */
+    private ITestResult run(String methodName, HttpHandler network, String... urls) {
+        ITestResult result = result(methodName);
+        IInvokedMethod invoked = stub(IInvokedMethod.class, (proxy, called, args) ->
+            called.getName().equals("isTestMethod") ? true : null);
+        listener.beforeInvocation(invoked, result);
+        HttpHandler handler = NetworkRecording.filter().apply(network);
+        for (String url : urls) {
+            HttpResponse response = handler.execute(new HttpRequest(HttpMethod.GET, url));
+            if (url.equals(PAGE)) {
+                Assert.assertEquals(response.getStatus(), 200, url);
+                Assert.assertEquals(Contents.string(response), BODY, url);
+            } else {
+                Assert.assertEquals(response.getStatus(), 404, url);
+            }
+        }
+        listener.afterInvocation(invoked, result);
+        return result;
+    }
+
+    private static HttpResponse offline(HttpRequest request) {
+        throw new AssertionError("Replay should not reach the network: " + request.getUri());
+    }
+
+    /**
+     * Result of a passed test method of this class, keeping the status and throwable the listener sets
+     */
+    private static ITestResult result(String methodName) {
+        IClass testClass = stub(IClass.class, (proxy, called, args) ->
+            called.getName().equals("getRealClass") ? NetworkArchiveTest.class : null);
+        ITestNGMethod method = stub(ITestNGMethod.class, (proxy, called, args) ->
+            called.getName().equals("getMethodName") ? methodName : null);
+        Object[] state = {ITestResult.SUCCESS, null};
+        return stub(ITestResult.class, (proxy, called, args) -> {
+            switch (called.getName()) {
+                case "getTestClass":
+                    return testClass;
+                case "getMethod":
+                    return method;
+                case "getParameters":
+                    return new Object[0];
+                case "getStatus":
+                    return state[0];
+                case "setStatus":
+                    state[0] = args[0];
+                    return null;
+                case "getThrowable":
+                    return state[1];
+                case "setThrowable":
+                    state[1] = args[0];
+                    return null;
+                default:
+                    return null;
+            }
+        });
+    }
+
+    /**
+     * Implement a TestNG interface with just the calls the listener makes; identity for Object's methods
+     */
+    private static <T> T stub(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(NetworkArchiveTest.class.getClassLoader(),
+            new Class<?>[] {type}, (proxy, called, args) -> {
+                switch (called.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return handler.invoke(proxy, called, args);
+                }
+            }));
+    }
+
+    private void override(String key, String value) {
+        String before = TestConfig.getInstance().setOverride(key, value);
+        if (!previous.containsKey(key)) {
+            previous.put(key, before);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.testframework.tests;
+
+import com.testframework.config.TestConfig;
+import com.testframework.core.BaseTest;
+import com.testframework.core.DriverManager;
+import com.testframework.listeners.ParallelSuiteListener;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parallelism the suite listener applies, and the combinations it refuses because threads would share a driver
+ */
+public class ParallelSuiteListenerTest {
+    private final Map<String, String> previous = new HashMap<>();
+    private boolean previousPerWorker;
+
+    @BeforeMethod
+    public void setUp() {
+        previousPerWorker = DriverManager.isDriverPerWorker();
+        override("test.parallel", "classes");
+        override("test.parallelThreads", "2");
+        override("test.dataProviderThreads", "0");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        for (Map.Entry<String, String> entry : previous.entrySet()) {
+            TestConfig.getInstance().setOverride(entry.getKey(), entry.getValue());
+        }
+        previous.clear();
+        DriverManager.setDriverPerWorker(previousPerWorker);
+    }
+
+    @Test(description = "Parallel methods of a BaseTest class are refused, naming the class")
+    public void testParallelMethodsAreRefused() {
+        override("test.parallel", "methods");
+        XmlSuite suite = suite(SharedDriverTest.class);
+
+        IllegalStateException refused = Assert.expectThrows(IllegalStateException.class,
+            () -> new ParallelSuiteListener().alter(Collections.singletonList(suite)));
+
+        Assert.assertEquals(refused.getMessage(), "Test 'Checked' runs methods in parallel on 2 threads, but the"
+            + " methods of SharedDriverTest share one WebDriver. Run with test.parallel=classes (or tests), or"
+            + " test.parallelThreads=1.");
+    }
+
+    @Test(description = "Rows of a parallel data provider feeding a BaseTest class are refused, naming the method")
+    public void testParallelDataProviderIsRefused() {
+        override("test.dataProviderThreads", "3");
+        XmlSuite suite = suite(ParallelRowsTest.class);
+
+        IllegalStateException refused = Assert.expectThrows(IllegalStateException.class,
+            () -> new ParallelSuiteListener().alter(Collections.singletonList(suite)));
+
+        Assert.assertEquals(refused.getMessage(), "Test 'Checked' runs data provider rows on 3 threads, but the"
+            + " rows of ParallelRowsTest.search share one WebDriver. Remove parallel = true from the data provider,"
+            + " or run with test.dataProviderThreads=1.");
+    }
+
+    @Test(description = "A test with a parallel mode of its own keeps it, and needs no driver per worker")
+    public void testExplicitTestModeIsKept() {
+        override("test.parallel", "methods");
+        XmlSuite suite = suite(SharedDriverTest.class);
+        XmlTest test = suite.getTests().get(0);
+        test.setParallel(XmlSuite.ParallelMode.NONE);
+
+        new ParallelSuiteListener().alter(Collections.singletonList(suite));
+
+        Assert.assertEquals(suite.getParallel(), XmlSuite.ParallelMode.METHODS);
+        Assert.assertEquals(suite.getThreadCount(), 2);
+        Assert.assertEquals(test.getParallel(), XmlSuite.ParallelMode.NONE, "The test's own mode should be kept");
+        Assert.assertFalse(DriverManager.isDriverPerWorker(), "A test run on one thread should share its driver");
+    }
+
+    private static XmlSuite suite(Class<?> testClass) {
+        XmlSuite suite = new XmlSuite();
+        suite.setName("Checked suite");
+        XmlTest test = new XmlTest(suite);
+        test.setName("Checked");
+        test.setXmlClasses(Collections.singletonList(new XmlClass(testClass)));
+        return suite;
+    }
+
+    private void override(String key, String value) {
+        String before = TestConfig.getInstance().setOverride(key, value);
+        if (!previous.containsKey(key)) {
+            previous.put(key, before);
+        }
+    }
+
+    /**
+     * Classes checked by the listener; TestNG also runs nested classes, so they have no test methods to run
+     */
+    public static class SharedDriverTest extends BaseTest {
+        public void first() {
+        }
+
+        public void second() {
+        }
+    }
+
+    public static class ParallelRowsTest extends BaseTest {
+        @DataProvider(name = "terms", parallel = true)
+        public Object[][] terms() {
+            return new Object[][] {{"selenium"}, {"testng"}};
+        }
+
+        @Test(dataProvider = "terms", enabled = false)
+        public void search(String term) {
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.testframework.tests;
+
+import com.testframework.auth.LoginFlow;
+import com.testframework.auth.StorageStateCache;
+import com.testframework.config.TestConfig;
+import com.testframework.stub.StubWebDriver;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Stored logins on the stub driver, against a site of its own
+ */
+public class StorageStateCacheTest {
+    private static final String URL = "https://app.example.test/account";
+    private static final String USER = "storage-state-user";
+
+    private Path dir;
+    private String previousStateDir;
+    private StubWebDriver driver;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("storage-state-test-");
+        Path site = Files.createDirectories(dir.resolve("fixtures").resolve("app.example.test"));
+        Files.write(site.resolve("index.html"), page("Home"));
+        Files.write(site.resolve("login.html"), page("Log in"));
+        Files.write(site.resolve("account.html"), page("Account"));
+        previousStateDir = TestConfig.getInstance().setOverride("test.storageState.dir", dir.resolve("state").toString());
+        driver = new StubWebDriver(dir.resolve("fixtures"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() throws IOException {
+        driver.quit();
+        TestConfig.getInstance().setOverride("test.storageState.dir", previousStateDir);
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test(description = "A stored login is reused and replaced once it stops validating")
+    public void testStoredLoginIsReused() {
+        AtomicInteger logins = new AtomicInteger();
+        AtomicReference<String> token = new AtomicReference<>("token-1");
+        LoginFlow flow = (session, username, password) -> {
+            logins.incrementAndGet();
+            session.get("https://app.example.test/login");
+            session.manage().addCookie(new Cookie("SID", token.get()));
+        };
+        Predicate<WebDriver> loggedIn = session -> session.manage().getCookieNamed("SID") != null
+            && token.get().equals(session.manage().getCookieNamed("SID").getValue());
+        StorageStateCache.invalidate(USER, URL);
+
+        Assert.assertFalse(StorageStateCache.logIn(driver, URL, USER, "", flow, loggedIn),
+            "First login should run the flow");
+        Assert.assertEquals(driver.getTitle(), "Account", "Login should end on the requested page");
+
+        driver.manage().deleteAllCookies();
+        Assert.assertTrue(StorageStateCache.logIn(driver, URL, USER, "", flow, loggedIn),
+            "Stored login should be reused");
+        Assert.assertEquals(logins.get(), 1, "Login flow should run once");
+        Assert.assertEquals(driver.manage().getCookieNamed("SID").getValue(), "token-1",
+            "Stored cookies should be restored");
+
+        token.set("token-2");
+        driver.manage().deleteAllCookies();
+        Assert.assertFalse(StorageStateCache.logIn(driver, URL, USER, "", flow, loggedIn),
+            "Invalid login should be replaced");
+        Assert.assertEquals(logins.get(), 2, "Login flow should run again");
+    }
+
+    private static byte[] page(String title) {
+        return ("<html><head><title>" + title + "</title></head><body></body></html>")
+            .getBytes(StandardCharsets.UTF_8);
+    }
+}
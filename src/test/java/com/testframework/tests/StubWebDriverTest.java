@@ -0,0 +1,63 @@
+package com.testframework.tests;
+
+import com.testframework.stub.StubWebDriver;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WindowType;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Window handling and script dispatch of the stub driver
+ */
+public class StubWebDriverTest {
+    private StubWebDriver driver;
+
+    @BeforeMethod
+    public void createDriver() {
+        driver = new StubWebDriver(Paths.get("test-data", "fixtures"));
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void quitDriver() {
+        driver.quit();
+    }
+
+    @Test(description = "New windows get their own page and closing one returns to the remaining window")
+    public void testNewWindow() {
+        driver.loadHtml("https://first.example.test/", "<html><head><title>First</title></head></html>");
+        String first = driver.getWindowHandle();
+
+        driver.switchTo().newWindow(WindowType.TAB);
+        String second = driver.getWindowHandle();
+        Assert.assertNotEquals(second, first, "The new window should become current");
+        Assert.assertEquals(driver.getCurrentUrl(), "about:blank", "A new window should start blank");
+        driver.loadHtml("https://second.example.test/", "<html><head><title>Second</title></head></html>");
+
+        Assert.assertEquals(new ArrayList<>(driver.getWindowHandles()), Arrays.asList(first, second));
+        driver.switchTo().window(first);
+        Assert.assertEquals(driver.getTitle(), "First", "Each window should keep its page");
+
+        driver.switchTo().window(second);
+        driver.close();
+        Assert.assertEquals(driver.getWindowHandles(), Collections.singleton(first));
+        Assert.assertEquals(driver.getTitle(), "First", "Closing a window should leave the session usable");
+    }
+
+    @Test(description = "Scripts are matched whole, not by a fragment they contain")
+    public void testScriptsAreMatchedWhole() {
+        driver.loadHtml("https://first.example.test/", "<html><head><title>Scripted</title></head></html>");
+        JavascriptExecutor js = driver;
+
+        Assert.assertEquals(js.executeScript("return document.title;"), "Scripted");
+        Assert.assertEquals(js.executeScript("document.title"), "Scripted");
+        Assert.assertNull(js.executeScript("return document.title + window.location.href;"),
+            "A script only containing a registered one should not be handled by it");
+    }
+}
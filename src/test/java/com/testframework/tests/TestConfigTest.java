@@ -0,0 +1,124 @@
+package com.testframework.tests;
+
+import com.testframework.config.ConfigSnapshot;
+import com.testframework.config.TestConfig;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Resolution of a configuration of its own from files in a temporary directory, and live reload of those files
+ */
+public class TestConfigTest {
+    private Path dir;
+    private TestConfig config;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("test-config-test-");
+        write("config.properties",
+            "test.environment=qa",
+            "sample.file=file",
+            "sample.envFile=file",
+            "sample.system=file",
+            "sample.variable=file",
+            "sample.override=file",
+            "sample.apiToken=abc123",
+            "sample.timeout=5");
+        write("config-qa.properties",
+            "sample.envFile=env file",
+            "sample.system=env file",
+            "sample.variable=env file",
+            "sample.override=env file");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        if (config != null) {
+            config.stopWatching();
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test(description = "Later sources win: file, environment file, system property, environment variable, override")
+    public void testSourcePrecedence() {
+        Properties system = new Properties();
+        system.setProperty("sample.system", "system");
+        system.setProperty("sample.variable", "system");
+        system.setProperty("sample.override", "system");
+        Map<String, String> environment = new HashMap<>();
+        environment.put("SAMPLE_VARIABLE", "variable");
+        environment.put("SAMPLE_OVERRIDE", "variable");
+        environment.put("SAMPLE_ONLYINENVIRONMENT", "42");
+        config = TestConfig.fromSources(dir, system, environment);
+        config.setOverride("sample.override", "override");
+        ConfigSnapshot snapshot = config.getSnapshot();
+
+        assertResolved(snapshot, "sample.file", "file", "config.properties");
+        assertResolved(snapshot, "sample.envFile", "env file", "config-qa.properties");
+        assertResolved(snapshot, "sample.system", "system", "system property");
+        assertResolved(snapshot, "sample.variable", "variable", "environment variable SAMPLE_VARIABLE");
+        assertResolved(snapshot, "sample.override", "override", "override");
+        assertResolved(snapshot, "sample.onlyInEnvironment", "42", "environment variable SAMPLE_ONLYINENVIRONMENT");
+        Assert.assertEquals(config.getIntProperty("sample.onlyInEnvironment", 0), 42,
+            "A key only the environment sets should still be typed");
+        Assert.assertEquals(config.getIntProperty("sample.timeout", 0), 5);
+
+        List<String> dump = snapshot.dump();
+        Assert.assertTrue(dump.contains("sample.apiToken=****  [config.properties]"), "Tokens should be masked: " + dump);
+        Assert.assertTrue(dump.contains("sample.file=file  [config.properties]"), "Other values should be shown: " + dump);
+    }
+
+    @Test(description = "A burst of writes to a watched file is reloaded once and reported to listeners",
+        timeOut = 60_000)
+    public void testChangedFileIsReloadedOnce() throws IOException, InterruptedException {
+        config = TestConfig.fromSources(dir, new Properties(), Collections.emptyMap());
+        List<String> reloaded = new CopyOnWriteArrayList<>();
+        CountDownLatch notified = new CountDownLatch(1);
+        config.addChangeListener((previous, current) -> {
+            reloaded.add(previous.getString("sample.file", null) + " -> " + current.getString("sample.file", null));
+            notified.countDown();
+        });
+        config.startWatching();
+
+        // Editors often save a file in several writes; the watcher should wait for the last of them
+        write("config.properties", "test.environment=qa", "sample.file=first edit");
+        write("config.properties", "test.environment=qa", "sample.file=second edit");
+        write("config.properties", "test.environment=qa", "sample.file=saved", "sample.timeout=7");
+        notified.await();
+        // Let further events of the burst arrive; they would trigger another reload after the debounce delay
+        TimeUnit.MILLISECONDS.sleep(1000);
+
+        Assert.assertEquals(reloaded, Collections.singletonList("file -> saved"), "The burst should reload once");
+        Assert.assertEquals(config.getIntProperty("sample.timeout", 0), 7);
+        Assert.assertEquals(config.getSnapshot().getSource("sample.envFile"), "config-qa.properties",
+            "Other files should be read again on reload");
+    }
+
+    private static void assertResolved(ConfigSnapshot snapshot, String key, String value, String source) {
+        Assert.assertEquals(snapshot.getString(key, null), value, "Value of " + key);
+        Assert.assertEquals(snapshot.getSource(key), source, "Source of " + key);
+    }
+
+    private void write(String name, String... lines) throws IOException {
+        Files.write(dir.resolve(name), String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
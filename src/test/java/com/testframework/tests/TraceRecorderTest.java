@@ -0,0 +1,136 @@
+package com.testframework.tests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testframework.config.TestConfig;
+import com.testframework.core.DriverManager;
+import com.testframework.metrics.TraceRecorder;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+
+/**
+ * Session tracks of the trace timeline when workers drive sessions of their own
+ */
+public class TraceRecorderTest {
+    private static final int SESSIONS_PID = 2;
+
+    private String previousTrace;
+    private Path file;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        previousTrace = TestConfig.getInstance().setOverride("test.trace.enabled", "true");
+        file = Files.createTempFile("trace-recorder-test-", ".json");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        TestConfig.getInstance().setOverride("test.trace.enabled", previousTrace);
+        Files.deleteIfExists(file);
+    }
+
+    @Test(description = "Tests of two workers land on the tracks of their own sessions", timeOut = 60_000)
+    public void testWorkersKeepTheirSessionTracks() throws Exception {
+        Map<String, WebDriver> sessions = new ConcurrentHashMap<>();
+        List<Throwable> failures = new ArrayList<>();
+        // Both sessions start before either worker runs a test, as with parallel workers
+        CyclicBarrier started = new CyclicBarrier(2);
+        List<Thread> workers = new ArrayList<>();
+        for (String worker : new String[] {"worker-1", "worker-2"}) {
+            Thread thread = new Thread(() -> {
+                try {
+                    WebDriver session = DriverManager.createDriver("stub", 0, true);
+                    sessions.put(worker, session);
+                    TraceRecorder.sessionStarted(session, "stub");
+                    started.await();
+                    TraceRecorder.begin(spanName(worker), "test");
+                    TraceRecorder.end();
+                } catch (Exception | AssertionError e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            }, "trace-recorder-test-" + worker);
+            workers.add(thread);
+            thread.start();
+        }
+        for (Thread thread : workers) {
+            thread.join();
+        }
+        Assert.assertTrue(failures.isEmpty(), "Workers failed: " + failures);
+
+        // A later test class picks up worker-1's session on another thread
+        TraceRecorder.sessionUsed(sessions.get("worker-1"));
+        TraceRecorder.begin(spanName("picked up"), "test");
+        TraceRecorder.end();
+        DriverManager.quitSession(sessions.get("worker-1"));
+        DriverManager.quitSession(sessions.get("worker-2"));
+        TraceRecorder.write(file);
+
+        JsonNode events = new ObjectMapper().readTree(file.toFile()).get("traceEvents");
+        JsonNode first = sessionEvent(events, spanName("worker-1"));
+        JsonNode second = sessionEvent(events, spanName("worker-2"));
+        JsonNode pickedUp = sessionEvent(events, spanName("picked up"));
+        Assert.assertNotEquals(first.get("tid").asInt(), second.get("tid").asInt(),
+            "Each worker's test should be on its own session's track");
+        Assert.assertEquals(pickedUp.get("tid").asInt(), first.get("tid").asInt(),
+            "A session picked up on another thread should keep its track");
+
+        for (JsonNode test : new JsonNode[] {first, second, pickedUp}) {
+            JsonNode lifetime = lifetime(events, test.get("tid").asInt());
+            Assert.assertTrue(lifetime.get("ts").asDouble() <= test.get("ts").asDouble()
+                    && lifetime.get("ts").asDouble() + lifetime.get("dur").asDouble()
+                    >= test.get("ts").asDouble() + test.get("dur").asDouble(),
+                test.get("name").asText() + " should fall within its session's lifetime");
+            Assert.assertTrue(threadName(events, test.get("tid").asInt()).endsWith("(stub)"),
+                "The session track should be named after the session");
+        }
+    }
+
+    private static String spanName(String worker) {
+        return "TraceRecorderTest " + worker;
+    }
+
+    private static JsonNode sessionEvent(JsonNode events, String name) {
+        for (JsonNode event : events) {
+            if (event.get("pid").asInt() == SESSIONS_PID && name.equals(event.get("name").asText())) {
+                return event;
+            }
+        }
+        throw new AssertionError("No session track event for " + name);
+    }
+
+    private static JsonNode lifetime(JsonNode events, int tid) {
+        List<JsonNode> found = new ArrayList<>();
+        for (JsonNode event : events) {
+            if (event.get("pid").asInt() == SESSIONS_PID && event.get("tid").asInt() == tid
+                && "session".equals(event.path("cat").asText())) {
+                found.add(event);
+            }
+        }
+        Assert.assertEquals(found.size(), 1, "Session " + tid + " should end exactly once");
+        return found.get(0);
+    }
+
+    private static String threadName(JsonNode events, int tid) {
+        for (JsonNode event : events) {
+            if ("M".equals(event.get("ph").asText()) && event.get("pid").asInt() == SESSIONS_PID
+                && event.get("tid").asInt() == tid) {
+                return event.get("args").get("name").asText();
+            }
+        }
+        throw new AssertionError("No name for session track " + tid);
+    }
+}